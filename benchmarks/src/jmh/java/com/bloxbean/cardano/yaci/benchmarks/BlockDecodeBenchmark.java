@@ -0,0 +1,57 @@
+package com.bloxbean.cardano.yaci.benchmarks;
+
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.serializers.BlockSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.AuxDataExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.TransactionBodyExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.WitnessUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full block decode and the raw extractors used by the block parsing path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockDecodeBenchmark {
+
+    @Param({"preprod286677.txt", "preview1300024.txt", "preview_definite_length_4134992.txt"})
+    private String fixture;
+
+    private byte[] blockBytes;
+
+    @Setup
+    public void setup() {
+        blockBytes = BlockFixtures.load(fixture);
+    }
+
+    @Benchmark
+    public Block fullBlockDecode() {
+        return BlockSerializer.INSTANCE.deserialize(blockBytes);
+    }
+
+    @Benchmark
+    public Object txBodyExtraction() {
+        return TransactionBodyExtractor.getTxBodiesFromBlock(blockBytes);
+    }
+
+    @Benchmark
+    public List<byte[]> witnessRawExtraction() throws Exception {
+        return WitnessUtil.getWitnessRawData(blockBytes);
+    }
+
+    @Benchmark
+    public Map<Integer, byte[]> auxDataExtraction() {
+        return AuxDataExtractor.getAuxDataFromBlock(blockBytes);
+    }
+
+    @Benchmark
+    public Object blockPartsExtraction() {
+        return BlockExtractor.extract(blockBytes);
+    }
+}
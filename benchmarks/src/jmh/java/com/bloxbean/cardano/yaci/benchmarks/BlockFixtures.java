@@ -0,0 +1,29 @@
+package com.bloxbean.cardano.yaci.benchmarks;
+
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the hex encoded block fixtures from core/src/test/resources/block
+ */
+final class BlockFixtures {
+
+    private BlockFixtures() {
+    }
+
+    static byte[] load(String name) {
+        String path = "block/" + name;
+        try (InputStream in = BlockFixtures.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null)
+                throw new IllegalArgumentException("Block fixture not found: " + path);
+
+            return HexUtil.decodeHexString(new String(in.readAllBytes(), StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
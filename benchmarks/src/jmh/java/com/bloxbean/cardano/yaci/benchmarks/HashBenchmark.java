@@ -0,0 +1,53 @@
+package com.bloxbean.cardano.yaci.benchmarks;
+
+import com.bloxbean.cardano.client.crypto.Blake2bUtil;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockHashUtil;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.TransactionBodyExtractor;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Block hash, tx hash and hex encoding / decoding of hashes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HashBenchmark {
+
+    private byte[] headerBytes;
+    private byte[] txBodyBytes;
+    private byte[] hash;
+    private String hashHex;
+
+    @Setup
+    public void setup() {
+        byte[] blockBytes = BlockFixtures.load("preprod286677.txt");
+        headerBytes = BlockExtractor.getHeaderBytes(blockBytes);
+        txBodyBytes = TransactionBodyExtractor.getTxBodiesFromBlock(blockBytes).get(0)._2;
+        hash = BlockHashUtil.blockHash(headerBytes);
+        hashHex = HexUtil.encodeHexString(hash);
+    }
+
+    @Benchmark
+    public byte[] blockHash() {
+        return BlockHashUtil.blockHash(headerBytes);
+    }
+
+    @Benchmark
+    public byte[] txHash() {
+        return Blake2bUtil.blake2bHash256(txBodyBytes);
+    }
+
+    @Benchmark
+    public String hexEncode() {
+        return HexUtil.encodeHexString(hash);
+    }
+
+    @Benchmark
+    public byte[] hexDecode() {
+        return HexUtil.decodeHexString(hashHex);
+    }
+}
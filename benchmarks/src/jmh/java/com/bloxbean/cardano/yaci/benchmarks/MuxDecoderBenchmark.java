@@ -0,0 +1,89 @@
+package com.bloxbean.cardano.yaci.benchmarks;
+
+import com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoIncrementalByteToMessageDecoder;
+import com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoStreamingByteToMessageDecoder;
+import com.bloxbean.cardano.yaci.core.protocol.Segment;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SDU reassembly of a block-fetch MsgBlock received as a stream of 12 KB SDUs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MuxDecoderBenchmark {
+    private static final int SDU_SIZE = 12288;
+    private static final int BLOCKFETCH_PROTOCOL = 3;
+
+    @Param({"streaming", "incremental"})
+    private String decoder;
+
+    @Param({"preprod286677.txt", "preview_definite_length_4134992.txt"})
+    private String fixture;
+
+    private List<byte[]> sdus;
+    private EmbeddedChannel channel;
+
+    @Setup
+    public void setup() {
+        byte[] block = BlockFixtures.load(fixture);
+        //MsgBlock [4, #6.24(bytes .cbor block)]
+        ByteBuf msgBlock = Unpooled.buffer();
+        msgBlock.writeBytes(new byte[]{(byte) 0x82, 0x04, (byte) 0xd8, 0x18, 0x5a});
+        msgBlock.writeInt(block.length);
+        msgBlock.writeBytes(block);
+
+        sdus = new ArrayList<>();
+        while (msgBlock.isReadable()) {
+            int len = Math.min(SDU_SIZE, msgBlock.readableBytes());
+            ByteBuf sdu = Unpooled.buffer(8 + len);
+            sdu.writeInt(0);
+            sdu.writeShort(BLOCKFETCH_PROTOCOL | 0x8000); //Responder
+            sdu.writeShort(len);
+            sdu.writeBytes(msgBlock, len);
+            sdus.add(sdu.array());
+        }
+
+        channel = new EmbeddedChannel(createDecoder());
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public int reassemble() {
+        for (byte[] sdu : sdus) {
+            channel.writeInbound(Unpooled.wrappedBuffer(sdu));
+        }
+
+        int size = 0;
+        Segment segment;
+        while ((segment = channel.readInbound()) != null) {
+            size += segment.getPayload().length;
+            segment.release();
+        }
+
+        if (size == 0)
+            throw new IllegalStateException("Block not reassembled");
+
+        return size;
+    }
+
+    private ChannelHandler createDecoder() {
+        if ("incremental".equals(decoder))
+            return new MiniProtoIncrementalByteToMessageDecoder(new BlockfetchAgent());
+        else
+            return new MiniProtoStreamingByteToMessageDecoder(new BlockfetchAgent());
+    }
+}
@@ -9,11 +9,13 @@ public enum YaciConfig {
     private boolean returnBlockCbor;
     private boolean returnTxBodyCbor;
     private boolean returnFullTxCbor;
+    private boolean byteBackedHashes;
 
     YaciConfig() {
         returnBlockCbor = false;
         returnTxBodyCbor = false;
         returnFullTxCbor = false;
+        byteBackedHashes = false;
     }
 
     /**
@@ -63,4 +65,22 @@ public enum YaciConfig {
     public void setReturnFullTxCbor(boolean returnFullTxCbor) {
         this.returnFullTxCbor = returnFullTxCbor;
     }
+
+    /**
+     * Returns true if transaction ids, tx hashes, block header hashes and datum hashes are kept as raw bytes
+     * @return
+     */
+    public boolean isByteBackedHashes() {
+        return byteBackedHashes;
+    }
+
+    /**
+     * Set to true to keep transaction ids, tx hashes, block header hashes and datum hashes as raw bytes
+     * ({@link com.bloxbean.cardano.yaci.core.model.Hash32}) instead of hex strings. The hex strings are still
+     * available through the existing getters and are created on first access.
+     * @param byteBackedHashes
+     */
+    public void setByteBackedHashes(boolean byteBackedHashes) {
+        this.byteBackedHashes = byteBackedHashes;
+    }
 }
@@ -7,7 +7,9 @@ import com.bloxbean.cardano.client.exception.CborDeserializationException;
 import com.bloxbean.cardano.client.plutus.spec.PlutusData;
 import com.bloxbean.cardano.client.util.JsonUtil;
 import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import com.bloxbean.cardano.yaci.core.config.YaciConfig;
 import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.util.Objects;
@@ -21,6 +23,10 @@ public class Datum {
     private String hash;
     private String cbor;
     private String json;
+    //Set instead of hash when byte backed hashes are enabled in YaciConfig
+    @JsonIgnore
+    @ToString.Exclude
+    private Hash32 hashRaw;
 
     public static Datum from(DataItem plutusDataDI)
             throws CborDeserializationException, CborException {
@@ -30,12 +36,24 @@ public class Datum {
         }
 
         var cbor = CborSerializationUtil.serialize(plutusDataDI, false);
-        var datumHash = HexUtil.encodeHexString(Blake2bUtil.blake2bHash256(cbor));
-        return Datum.builder()
-                .hash(datumHash)
+        var datumBuilder = Datum.builder()
                 .cbor(HexUtil.encodeHexString(cbor))
-                .json(JsonUtil.getPrettyJson(plutusData))
-                .build();
+                .json(JsonUtil.getPrettyJson(plutusData));
+
+        if (YaciConfig.INSTANCE.isByteBackedHashes())
+            datumBuilder.hashRaw(Hash32.of(Blake2bUtil.blake2bHash256(cbor)));
+        else
+            datumBuilder.hash(HexUtil.encodeHexString(Blake2bUtil.blake2bHash256(cbor)));
+
+        return datumBuilder.build();
+    }
+
+    public String getHash() {
+        return hash != null || hashRaw == null ? hash : hashRaw.toHex();
+    }
+
+    public Hash32 getHashRaw() {
+        return hash != null ? Hash32.fromHex(hash) : hashRaw;
     }
 
     public static String cborToHash(byte[] cborByte) {
@@ -0,0 +1,24 @@
+package com.bloxbean.cardano.yaci.core.model;
+
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * 28 bytes hash, e.g. policy id, key hash or script hash
+ */
+public final class Hash28 extends HashValue {
+    public static final int LENGTH = 28;
+
+    private Hash28(byte[] bytes) {
+        super(bytes, LENGTH);
+    }
+
+    public static Hash28 of(byte[] bytes) {
+        return new Hash28(bytes);
+    }
+
+    @JsonCreator
+    public static Hash28 fromHex(String hex) {
+        return new Hash28(HexUtil.decodeHexString(hex));
+    }
+}
@@ -0,0 +1,24 @@
+package com.bloxbean.cardano.yaci.core.model;
+
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * 32 bytes hash or key, e.g. block hash, transaction id, datum hash or vkey
+ */
+public final class Hash32 extends HashValue {
+    public static final int LENGTH = 32;
+
+    private Hash32(byte[] bytes) {
+        super(bytes, LENGTH);
+    }
+
+    public static Hash32 of(byte[] bytes) {
+        return new Hash32(bytes);
+    }
+
+    @JsonCreator
+    public static Hash32 fromHex(String hex) {
+        return new Hash32(HexUtil.decodeHexString(hex));
+    }
+}
@@ -0,0 +1,69 @@
+package com.bloxbean.cardano.yaci.core.model;
+
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+
+/**
+ * Immutable hash or key value backed by raw bytes. The hex string is created on first access and cached.
+ * <p>
+ * {@link #hashCode()} returns the same value as the hash code of the hex string, so that a class which holds either
+ * form (e.g. {@link TransactionInput}) has the same hash code for both. A value is never equal to its hex string.
+ */
+public abstract class HashValue {
+    private final byte[] bytes;
+    private int hash;
+    private String hex;
+
+    protected HashValue(byte[] bytes, int length) {
+        if (bytes == null || bytes.length != length)
+            throw new IllegalArgumentException("Invalid hash length. Expected: " + length + ", found: "
+                    + (bytes != null ? bytes.length : null));
+
+        this.bytes = bytes.clone();
+    }
+
+    /**
+     * @return copy of the raw bytes
+     */
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+    public int length() {
+        return bytes.length;
+    }
+
+    @JsonValue
+    public String toHex() {
+        String result = hex;
+        if (result == null) {
+            result = HexUtil.encodeHexString(bytes);
+            hex = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(bytes, ((HashValue) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = HexUtil.hexStringHashCode(bytes);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
@@ -1,5 +1,6 @@
 package com.bloxbean.cardano.yaci.core.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 @Getter
@@ -23,5 +24,43 @@ public class HeaderBody {
     private ProtocolVersion protocolVersion;
     //Derived value
     private String blockHash;
+
+    //Set instead of the hex strings when byte backed hashes are enabled in YaciConfig
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Hash32 prevHashRaw;
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Hash32 issuerVkeyRaw;
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Hash32 blockHashRaw;
+
+    public String getPrevHash() {
+        return prevHash != null || prevHashRaw == null ? prevHash : prevHashRaw.toHex();
+    }
+
+    public String getIssuerVkey() {
+        return issuerVkey != null || issuerVkeyRaw == null ? issuerVkey : issuerVkeyRaw.toHex();
+    }
+
+    public String getBlockHash() {
+        return blockHash != null || blockHashRaw == null ? blockHash : blockHashRaw.toHex();
+    }
+
+    public Hash32 getPrevHashRaw() {
+        return prevHash != null ? Hash32.fromHex(prevHash) : prevHashRaw;
+    }
+
+    public Hash32 getIssuerVkeyRaw() {
+        return issuerVkey != null ? Hash32.fromHex(issuerVkey) : issuerVkeyRaw;
+    }
+
+    public Hash32 getBlockHashRaw() {
+        return blockHash != null ? Hash32.fromHex(blockHash) : blockHashRaw;
+    }
 }
 
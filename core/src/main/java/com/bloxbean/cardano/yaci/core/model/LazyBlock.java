@@ -0,0 +1,181 @@
+package com.bloxbean.cardano.yaci.core.model;
+
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.DataItem;
+import co.nstant.in.cbor.model.Special;
+import com.bloxbean.cardano.yaci.core.common.EraUtil;
+import com.bloxbean.cardano.yaci.core.config.YaciConfig;
+import com.bloxbean.cardano.yaci.core.model.serializers.BlockHeaderSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.BlockSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.LazyBlockSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.TransactionBodySerializer;
+import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+
+import java.util.*;
+
+/**
+ * Read-only view of a Shelley or post-Shelley era block, created by {@link LazyBlockSerializer}.
+ * <p>
+ * Only the offsets of the top level parts (header, tx bodies, witness sets, auxiliary data and invalid transactions)
+ * are recorded when the view is created. {@link TransactionBody}, {@link Witnesses} and {@link AuxData} are decoded
+ * on first access and cached. Use {@link #toBlock()} to get a fully decoded {@link Block}.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class LazyBlock {
+    private final byte[] bytes;
+    private final int eraValue;
+    private final int[] headerRange;
+    private final int[] txBodyRanges;
+    private final int[] witnessRanges;
+    private final Map<Integer, int[]> auxDataRanges;
+    private final int[] invalidTxRange;
+
+    private BlockHeader header;
+    private final TransactionBody[] txBodies;
+    private final Witnesses[] witnesses;
+    private final Map<Integer, AuxData> auxDataMap = new HashMap<>();
+    private List<Integer> invalidTransactions;
+
+    /**
+     * @param bytes block bytes
+     * @param eraValue era value
+     * @param headerRange start and end offset of the header
+     * @param txBodyRanges start and end offsets of tx bodies. [start0, end0, start1, end1 ...]
+     * @param witnessRanges start and end offsets of witness sets. [start0, end0, start1, end1 ...]
+     * @param auxDataRanges tx index to start and end offset of auxiliary data
+     * @param invalidTxRange start and end offset of invalid transactions array. Null if not available
+     */
+    public LazyBlock(byte[] bytes, int eraValue, int[] headerRange, int[] txBodyRanges, int[] witnessRanges,
+                     Map<Integer, int[]> auxDataRanges, int[] invalidTxRange) {
+        this.bytes = bytes;
+        this.eraValue = eraValue;
+        this.headerRange = headerRange;
+        this.txBodyRanges = txBodyRanges;
+        this.witnessRanges = witnessRanges;
+        this.auxDataRanges = auxDataRanges;
+        this.invalidTxRange = invalidTxRange;
+
+        this.txBodies = new TransactionBody[txBodyRanges.length / 2];
+        this.witnesses = new Witnesses[witnessRanges.length / 2];
+    }
+
+    public Era getEra() {
+        return EraUtil.getEra(eraValue);
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public BlockHeader getHeader() {
+        if (header == null) {
+            Array headerArray = (Array) decode(headerRange, 0);
+            header = BlockHeaderSerializer.INSTANCE.getBlockHeaderFromHeaderArray(headerArray, getHeaderBytes());
+        }
+        return header;
+    }
+
+    public byte[] getHeaderBytes() {
+        return copy(headerRange, 0);
+    }
+
+    public int getTransactionCount() {
+        return txBodies.length;
+    }
+
+    public TransactionBody getTransactionBody(int index) {
+        if (txBodies[index] == null) {
+            byte[] txBodyBytes = copy(txBodyRanges, index);
+            txBodies[index] = TransactionBodySerializer.INSTANCE
+                    .deserializeDI(CborSerializationUtil.deserializeOne(txBodyBytes), txBodyBytes);
+        }
+        return txBodies[index];
+    }
+
+    public byte[] getTransactionBodyBytes(int index) {
+        return copy(txBodyRanges, index);
+    }
+
+    public List<TransactionBody> getTransactionBodies() {
+        List<TransactionBody> list = new ArrayList<>(txBodies.length);
+        for (int i = 0; i < txBodies.length; i++) {
+            list.add(getTransactionBody(i));
+        }
+        return list;
+    }
+
+    public Witnesses getWitnesses(int index) {
+        if (witnesses[index] == null) {
+            byte[] witnessBytes = copy(witnessRanges, index);
+            witnesses[index] = BlockSerializer.INSTANCE.deserializeWitnesses(getHeader().getHeaderBody().getBlockNumber(),
+                    CborSerializationUtil.deserializeOne(witnessBytes), witnessBytes);
+        }
+        return witnesses[index];
+    }
+
+    public byte[] getWitnessesBytes(int index) {
+        return copy(witnessRanges, index);
+    }
+
+    public Set<Integer> getAuxDataTxIndexes() {
+        return Collections.unmodifiableSet(auxDataRanges.keySet());
+    }
+
+    /**
+     * Get auxiliary data of a transaction
+     * @param txIndex transaction index
+     * @return AuxData or null if the transaction doesn't have auxiliary data
+     */
+    public AuxData getAuxData(int txIndex) {
+        int[] range = auxDataRanges.get(txIndex);
+        if (range == null)
+            return null;
+
+        return auxDataMap.computeIfAbsent(txIndex, key -> {
+            byte[] auxBytes = copy(range, 0);
+            //The tx body is only needed to check the aux data hash for the cbor
+            TransactionBody txBody = YaciConfig.INSTANCE.isReturnFullTxCbor() && txIndex < txBodies.length
+                    ? getTransactionBody(txIndex) : null;
+            return BlockSerializer.INSTANCE.deserializeAuxData(getHeader().getHeaderBody().getBlockNumber(), txIndex,
+                    txBody, CborSerializationUtil.deserializeOne(auxBytes), auxBytes);
+        });
+    }
+
+    public byte[] getAuxDataBytes(int txIndex) {
+        int[] range = auxDataRanges.get(txIndex);
+        return range != null ? copy(range, 0) : null;
+    }
+
+    public List<Integer> getInvalidTransactions() {
+        if (invalidTxRange == null)
+            return null;
+
+        if (invalidTransactions == null) {
+            List<Integer> list = new ArrayList<>();
+            for (DataItem di : ((Array) decode(invalidTxRange, 0)).getDataItems()) {
+                if (di == Special.BREAK)
+                    continue;
+                list.add(CborSerializationUtil.toInt(di));
+            }
+            invalidTransactions = list;
+        }
+        return invalidTransactions;
+    }
+
+    /**
+     * Decode the full block
+     * @return Block
+     */
+    public Block toBlock() {
+        return BlockSerializer.INSTANCE.deserialize(bytes);
+    }
+
+    private DataItem decode(int[] ranges, int index) {
+        return CborSerializationUtil.deserializeOne(copy(ranges, index));
+    }
+
+    private byte[] copy(int[] ranges, int index) {
+        return Arrays.copyOfRange(bytes, ranges[index * 2], ranges[index * 2 + 1]);
+    }
+}
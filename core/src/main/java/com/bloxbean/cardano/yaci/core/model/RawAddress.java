@@ -0,0 +1,104 @@
+package com.bloxbean.cardano.yaci.core.model;
+
+import com.bloxbean.cardano.client.address.util.AddressUtil;
+import com.bloxbean.cardano.yaci.core.exception.CborRuntimeException;
+import com.bloxbean.cardano.yaci.core.util.AddressCache;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Arrays;
+
+/**
+ * Address kept as raw bytes. The Bech32 (Shelley) or Base58 (Byron) string is created on first access through
+ * {@link #toAddress()}, or taken from {@link AddressCache} if enabled.
+ */
+public final class RawAddress {
+    public static final int BYRON_HEADER_TYPE = 0b1000;
+
+    private final byte[] bytes;
+    private int hash;
+    private String address;
+
+    private RawAddress(byte[] bytes) {
+        if (bytes == null || bytes.length == 0)
+            throw new IllegalArgumentException("Address bytes can't be empty");
+
+        this.bytes = bytes;
+    }
+
+    public static RawAddress of(byte[] bytes) {
+        return new RawAddress(bytes.clone());
+    }
+
+    /**
+     * @return copy of the raw address bytes
+     */
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+    /**
+     * @return address type from the header, i.e. the upper 4 bits of the first byte
+     */
+    public int getHeaderType() {
+        return (bytes[0] & 0xF0) >> 4;
+    }
+
+    /**
+     * @return network id from the header. Not applicable to Byron addresses.
+     */
+    public int getNetworkId() {
+        return bytes[0] & 0x0F;
+    }
+
+    public boolean isByron() {
+        return getHeaderType() == BYRON_HEADER_TYPE;
+    }
+
+    /**
+     * @return Bech32 address or Base58 address for Byron
+     */
+    @JsonValue
+    public String toAddress() {
+        String result = address;
+        if (result == null) {
+            AddressCache cache = AddressCache.INSTANCE;
+            result = cache.get(this);
+            if (result == null) {
+                result = encode();
+                cache.put(this, result);
+            }
+            address = result;
+        }
+        return result;
+    }
+
+    private String encode() {
+        try {
+            return AddressUtil.bytesToAddress(bytes);
+        } catch (Exception e) {
+            throw new CborRuntimeException("Bytes cannot be converted to bech32 address", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RawAddress)) return false;
+        return Arrays.equals(bytes, ((RawAddress) o).bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Arrays.hashCode(bytes);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return toAddress();
+    }
+}
@@ -3,6 +3,7 @@ package com.bloxbean.cardano.yaci.core.model;
 import com.bloxbean.cardano.yaci.core.model.certs.Certificate;
 import com.bloxbean.cardano.yaci.core.model.governance.ProposalProcedure;
 import com.bloxbean.cardano.yaci.core.model.governance.VotingProcedures;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.math.BigInteger;
@@ -51,4 +52,18 @@ public class TransactionBody {
     private List<ProposalProcedure> proposalProcedures;
     private BigInteger currentTreasuryValue;
     private BigInteger donation;
+
+    //Set instead of txHash when byte backed hashes are enabled in YaciConfig
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Hash32 txHashRaw;
+
+    public String getTxHash() {
+        return txHash != null || txHashRaw == null ? txHash : txHashRaw.toHex();
+    }
+
+    public Hash32 getTxHashRaw() {
+        return txHash != null ? Hash32.fromHex(txHash) : txHashRaw;
+    }
 }
@@ -1,14 +1,55 @@
 package com.bloxbean.cardano.yaci.core.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
+import java.util.Objects;
+
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
-@EqualsAndHashCode
 @Builder
 public class TransactionInput {
     private String transactionId;
     private int index;
+    //Set instead of transactionId when byte backed hashes are enabled in YaciConfig
+    @JsonIgnore
+    @ToString.Exclude
+    private Hash32 transactionIdRaw;
+
+    public TransactionInput(String transactionId, int index) {
+        this.transactionId = transactionId;
+        this.index = index;
+    }
+
+    public String getTransactionId() {
+        return transactionId != null || transactionIdRaw == null ? transactionId : transactionIdRaw.toHex();
+    }
+
+    public Hash32 getTransactionIdRaw() {
+        return transactionId != null ? Hash32.fromHex(transactionId) : transactionIdRaw;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransactionInput)) return false;
+
+        TransactionInput that = (TransactionInput) o;
+        if (index != that.index)
+            return false;
+
+        if (transactionId == null && that.transactionId == null)
+            return Objects.equals(transactionIdRaw, that.transactionIdRaw);
+        else
+            return Objects.equals(getTransactionId(), that.getTransactionId());
+    }
+
+    @Override
+    public int hashCode() {
+        //Hash32's hash code is the same as its hex string's hash code
+        Object id = transactionId != null ? transactionId : transactionIdRaw;
+        return 31 * (id != null ? id.hashCode() : 0) + index;
+    }
 }
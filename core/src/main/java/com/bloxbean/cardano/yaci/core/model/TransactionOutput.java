@@ -1,5 +1,6 @@
 package com.bloxbean.cardano.yaci.core.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.util.List;
@@ -20,4 +21,14 @@ public class TransactionOutput {
     //babbage
     private String inlineDatum;
     private String scriptRef;
+
+    //Raw address bytes set by the deserializer. The address string is created on first access
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RawAddress addressRaw;
+
+    public String getAddress() {
+        return address != null || addressRaw == null ? address : addressRaw.toAddress();
+    }
 }
@@ -1,8 +1,9 @@
 package com.bloxbean.cardano.yaci.core.model.serializers;
 
 import co.nstant.in.cbor.model.*;
-import com.bloxbean.cardano.client.crypto.Blake2bUtil;
+import com.bloxbean.cardano.yaci.core.config.YaciConfig;
 import com.bloxbean.cardano.yaci.core.model.*;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockHashUtil;
 import com.bloxbean.cardano.yaci.core.protocol.Serializer;
 import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
 import com.bloxbean.cardano.yaci.core.util.HexUtil;
@@ -23,22 +24,37 @@ public enum BlockHeaderSerializer implements Serializer<BlockHeader> {
     public BlockHeader deserializeDI(DataItem di) {
         byte[] headerBytes = ((ByteString)di).getBytes();
         Array headerArray = (Array)CborSerializationUtil.deserializeOne(headerBytes);
-        return getBlockHeaderFromHeaderArray(headerArray);
+        return getBlockHeaderFromHeaderArray(headerArray, headerBytes);
     }
 
     public BlockHeader getBlockHeaderFromHeaderArray(Array headerArray) {
+        return getBlockHeaderFromHeaderArray(headerArray, null);
+    }
+
+    /**
+     * Create a BlockHeader from the decoded header
+     *
+     * @param headerArray decoded header
+     * @param headerBytes original header bytes used for block hash. If null, the header is serialized again to
+     *                    calculate the block hash
+     * @return BlockHeader
+     */
+    public BlockHeader getBlockHeaderFromHeaderArray(Array headerArray, byte[] headerBytes) {
         //Assumption: Last two header parameters are for protocol version
         List<DataItem> headerBodyArr = ((Array) headerArray.getDataItems().get(0)).getDataItems();
         DataItem protoVersionDI = headerBodyArr.get(headerBodyArr.size() - 1);
 
+        if (headerBytes == null)
+            headerBytes = CborSerializationUtil.serialize(headerArray);
+
         if (protoVersionDI.getMajorType() == MajorType.UNSIGNED_INTEGER) { //pre Babbage
-            return preBabbageHeader(headerArray);
+            return preBabbageHeader(headerArray, headerBytes);
         } else {
-            return postBabbageHeader(headerArray);
+            return postBabbageHeader(headerArray, headerBytes);
         }
     }
 
-    private BlockHeader postBabbageHeader(Array headerArray) {
+    private BlockHeader postBabbageHeader(Array headerArray, byte[] headerBytes) {
         List<DataItem> headerBodyArr = ((Array) headerArray.getDataItems().get(0)).getDataItems();
         String bodySignature = CborSerializationUtil.toHex(headerArray.getDataItems().get(1));
 
@@ -47,9 +63,9 @@ public enum BlockHeaderSerializer implements Serializer<BlockHeader> {
         headerBodyBuilder.slot(CborSerializationUtil.toBigInteger(headerBodyArr.get(1)).longValue());
 
         if (headerBodyArr.get(2) != SimpleValue.NULL) //Required for block = 0
-            headerBodyBuilder.prevHash(CborSerializationUtil.toHex(headerBodyArr.get(2)));
+            prevHash(headerBodyBuilder, headerBodyArr.get(2));
 
-        headerBodyBuilder.issuerVkey(CborSerializationUtil.toHex(headerBodyArr.get(3)));
+        issuerVkey(headerBodyBuilder, headerBodyArr.get(3));
         headerBodyBuilder.vrfVkey(CborSerializationUtil.toHex(headerBodyArr.get(4)));
 
         Array vrtResultArr = (Array) headerBodyArr.get(5);
@@ -71,14 +87,13 @@ public enum BlockHeaderSerializer implements Serializer<BlockHeader> {
                 CborSerializationUtil.toBigInteger(protocolVersionArr.get(1)).longValue());
         headerBodyBuilder.protocolVersion(protocolVersion);
 
-        //Derive blockHash
-        String blockHash = HexUtil.encodeHexString(Blake2bUtil.blake2bHash256(CborSerializationUtil.serialize(headerArray)));
-        headerBodyBuilder.blockHash(blockHash);
+        //Derive blockHash from the original header bytes
+        blockHash(headerBodyBuilder, BlockHashUtil.blockHash(headerBytes));
 
         return new BlockHeader(headerBodyBuilder.build(), bodySignature);
     }
 
-    private BlockHeader preBabbageHeader(Array headerArray) {
+    private BlockHeader preBabbageHeader(Array headerArray, byte[] headerBytes) {
         List<DataItem> headerBodyArr = ((Array) headerArray.getDataItems().get(0)).getDataItems();
         String bodySignature = CborSerializationUtil.toHex(headerArray.getDataItems().get(1));
 
@@ -86,8 +101,8 @@ public enum BlockHeaderSerializer implements Serializer<BlockHeader> {
         headerBodyBuilder.blockNumber(CborSerializationUtil.toBigInteger(headerBodyArr.get(0)).longValue());
         headerBodyBuilder.slot(CborSerializationUtil.toBigInteger(headerBodyArr.get(1)).longValue());
         if (headerBodyArr.get(2) != SimpleValue.NULL) //In Preview network, block 0 starts from Alonzo era
-            headerBodyBuilder.prevHash(CborSerializationUtil.toHex(headerBodyArr.get(2)));
-        headerBodyBuilder.issuerVkey(CborSerializationUtil.toHex(headerBodyArr.get(3)));
+            prevHash(headerBodyBuilder, headerBodyArr.get(2));
+        issuerVkey(headerBodyBuilder, headerBodyArr.get(3));
         headerBodyBuilder.vrfVkey(CborSerializationUtil.toHex(headerBodyArr.get(4)));
 
         Array nonceVrfArr = (Array) headerBodyArr.get(5);
@@ -111,10 +126,30 @@ public enum BlockHeaderSerializer implements Serializer<BlockHeader> {
                 CborSerializationUtil.toBigInteger(headerBodyArr.get(14)).longValue());
         headerBodyBuilder.protocolVersion(protocolVersion);
 
-        //Derive blockHash
-        String blockHash = HexUtil.encodeHexString(Blake2bUtil.blake2bHash256(CborSerializationUtil.serialize(headerArray)));
-        headerBodyBuilder.blockHash(blockHash);
+        //Derive blockHash from the original header bytes
+        blockHash(headerBodyBuilder, BlockHashUtil.blockHash(headerBytes));
 
         return new BlockHeader(headerBodyBuilder.build(), bodySignature);
     }
+
+    private static void prevHash(HeaderBody.HeaderBodyBuilder headerBodyBuilder, DataItem di) {
+        if (YaciConfig.INSTANCE.isByteBackedHashes())
+            headerBodyBuilder.prevHashRaw(Hash32.of(CborSerializationUtil.toBytes(di)));
+        else
+            headerBodyBuilder.prevHash(CborSerializationUtil.toHex(di));
+    }
+
+    private static void issuerVkey(HeaderBody.HeaderBodyBuilder headerBodyBuilder, DataItem di) {
+        if (YaciConfig.INSTANCE.isByteBackedHashes())
+            headerBodyBuilder.issuerVkeyRaw(Hash32.of(CborSerializationUtil.toBytes(di)));
+        else
+            headerBodyBuilder.issuerVkey(CborSerializationUtil.toHex(di));
+    }
+
+    private static void blockHash(HeaderBody.HeaderBodyBuilder headerBodyBuilder, byte[] hash) {
+        if (YaciConfig.INSTANCE.isByteBackedHashes())
+            headerBodyBuilder.blockHashRaw(Hash32.of(hash));
+        else
+            headerBodyBuilder.blockHash(HexUtil.encodeHexString(hash));
+    }
 }
@@ -4,11 +4,10 @@ import co.nstant.in.cbor.model.*;
 import com.bloxbean.cardano.yaci.core.common.EraUtil;
 import com.bloxbean.cardano.yaci.core.config.YaciConfig;
 import com.bloxbean.cardano.yaci.core.model.*;
-import com.bloxbean.cardano.yaci.core.model.serializers.util.AuxDataExtractor;
-import com.bloxbean.cardano.yaci.core.model.serializers.util.TransactionBodyExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockParts;
 import com.bloxbean.cardano.yaci.core.model.serializers.util.WitnessUtil;
 import com.bloxbean.cardano.yaci.core.protocol.Serializer;
-import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
 import com.bloxbean.cardano.yaci.core.util.HexUtil;
 import com.bloxbean.cardano.yaci.core.util.Tuple;
 import lombok.SneakyThrows;
@@ -29,41 +28,31 @@ public enum BlockSerializer implements Serializer<Block> {
 
     @Override
     public Block deserialize(byte[] bytes) {
-        DataItem dataItem = CborSerializationUtil.deserializeOne(bytes);
-        return deserializeBlock(dataItem, bytes);
+        return deserialize(BlockExtractor.extract(bytes), bytes);
     }
 
-    private Block deserializeBlock(DataItem di, byte[] blockBody) {
-        Array array = (Array) di;
-        int eraValue = ((UnsignedInteger)array.getDataItems().get(0)).getValue().intValue();
-        Era era = EraUtil.getEra(eraValue);
+    /**
+     * Create a Block from the block parts extracted by {@link BlockExtractor}
+     *
+     * @param blockParts block parts
+     * @param blockBody block bytes
+     * @return Block
+     */
+    public Block deserialize(BlockParts blockParts, byte[] blockBody) {
+        Era era = EraUtil.getEra(blockParts.getEraValue());
 
         Block.BlockBuilder blockBuilder = Block.builder();
         blockBuilder.era(era);
 
-        Array blockArray = (Array) (array.getDataItems().get(1));
         //header 0
-        Array headerArr = (Array) blockArray.getDataItems().get(0);
-        BlockHeader blockHeader = BlockHeaderSerializer.INSTANCE.getBlockHeaderFromHeaderArray(headerArr);
+        BlockHeader blockHeader = BlockHeaderSerializer.INSTANCE.getBlockHeaderFromHeaderArray(blockParts.getHeader(),
+                blockParts.getHeaderBytes());
         blockBuilder.header(blockHeader);
 
         //transaction bodies 1
-        /**
-        Array txnBodiesArr = (Array) blockArray.getDataItems().get(1);
-
+        //Transaction bodies are decoded from the original bytes to keep the tx hash same
         List<TransactionBody> txnBodies = new ArrayList<>();
-        for (DataItem txnBodyDI: txnBodiesArr.getDataItems()) {
-            if (txnBodyDI == Special.BREAK)
-                continue;
-            TransactionBody txBody = TransactionBodySerializer.INSTANCE.deserializeDI(txnBodyDI);
-            txnBodies.add(txBody);
-        }
-        **/
-
-        //Extract transaction bodies from block bytes directly to keep the tx hash same
-        List<Tuple<DataItem, byte[]>> txBodyTuples = TransactionBodyExtractor.getTxBodiesFromBlock(blockBody);
-        List<TransactionBody> txnBodies = new ArrayList<>();
-        for (var tuple: txBodyTuples) {
+        for (var tuple: blockParts.getTransactionBodies()) {
             TransactionBody txBody = TransactionBodySerializer.INSTANCE.deserializeDI(tuple._1, tuple._2);
             txnBodies.add(txBody);
         }
@@ -71,26 +60,15 @@ public enum BlockSerializer implements Serializer<Block> {
 
         //witnesses
         List<Witnesses> witnessesSet = new ArrayList<>();
-        Array witnessesListArr = (Array) blockArray.getDataItems().get(2);
-        for (DataItem witnessesDI: witnessesListArr.getDataItems()) {
-            if (witnessesDI == SimpleValue.BREAK)
-                continue;
-            Witnesses witnesses = WitnessesSerializer.INSTANCE.deserializeDI(witnessesDI);
+        List<byte[]> transactionWitnessRawBytes = new ArrayList<>();
+        for (var tuple: blockParts.getTransactionWitnesses()) {
+            Witnesses witnesses = WitnessesSerializer.INSTANCE.deserializeDI(tuple._1);
             witnessesSet.add(witnesses);
+            transactionWitnessRawBytes.add(tuple._2);
         }
 
-        List<byte[]> transactionWitnessRawBytes = null;
-        if (!witnessesSet.isEmpty()) {
-            try {
-                transactionWitnessRawBytes = WitnessUtil.getWitnessRawData(blockBody);
-                if (YaciConfig.INSTANCE.isReturnFullTxCbor()) {
-                    setWitnessCbor(blockHeader.getHeaderBody().getBlockNumber(), witnessesSet, transactionWitnessRawBytes);
-                }
-            } catch (Exception e) {
-                //If extraction fails due to some reason
-                log.error("Extraction of witness bytes without serialization/deserialization failed for block : "
-                        + blockHeader.getHeaderBody().getBlockNumber(), e);
-            }
+        if (!witnessesSet.isEmpty() && YaciConfig.INSTANCE.isReturnFullTxCbor()) {
+            setWitnessCbor(blockHeader.getHeaderBody().getBlockNumber(), witnessesSet, transactionWitnessRawBytes);
         }
 
         //To fix #37 incorrect redeemer & datum hash due to cbor serialization <--> deserialization issue
@@ -104,52 +82,27 @@ public enum BlockSerializer implements Serializer<Block> {
 
         blockBuilder.transactionWitness(witnessesSet);
 
-        java.util.Map<Integer, byte[]> auxDataRawBytes = Collections.emptyMap();
-        if (YaciConfig.INSTANCE.isReturnFullTxCbor()) {
-            try {
-                auxDataRawBytes = AuxDataExtractor.getAuxDataFromBlock(blockBody);
-            } catch (Exception e) {
-                log.error("Extraction of auxiliary data bytes failed for block : "
-                        + blockHeader.getHeaderBody().getBlockNumber(), e);
-            }
-        }
-
         //auxiliary data
         java.util.Map<Integer, AuxData> auxDataMap = new LinkedHashMap<>();
-        Map auxDataMapDI = (Map) blockArray.getDataItems().get(3);
-        for (DataItem txIdDI: auxDataMapDI.getKeys()) {
-            if (txIdDI == SimpleValue.BREAK)
-                continue;
-            int txIndex = toInt(txIdDI);
-            AuxData auxData = AuxDataSerializer.INSTANCE.deserializeDI(auxDataMapDI.get(txIdDI));
-            if (YaciConfig.INSTANCE.isReturnFullTxCbor()) {
-                byte[] auxBytes = auxDataRawBytes.get(txIndex);
-                if (auxBytes != null && isAuxDataHashValid(blockHeader.getHeaderBody().getBlockNumber(),
-                        txIndex, txnBodies, auxBytes)) {
-                    auxData = auxData.toBuilder()
-                            .cbor(HexUtil.encodeHexString(auxBytes))
-                            .build();
-                } else if (auxBytes == null) {
-                    log.debug("Missing raw auxiliary data bytes for block: {}, tx index: {}",
-                            blockHeader.getHeaderBody().getBlockNumber(), txIndex);
-                }
-            }
+        for (var entry: blockParts.getAuxiliaryData().entrySet()) {
+            int txIndex = entry.getKey();
+            TransactionBody txBody = txIndex < txnBodies.size() ? txnBodies.get(txIndex) : null;
+            AuxData auxData = deserializeAuxData(blockHeader.getHeaderBody().getBlockNumber(), txIndex, txBody,
+                    entry.getValue()._1, entry.getValue()._2);
             auxDataMap.put(txIndex, auxData);
         }
         blockBuilder.auxiliaryDataMap(auxDataMap);
 
-        if (blockArray.getDataItems().size() > 4) {
+        if (blockParts.getInvalidTransactions() != null) {
             //Invalid transactions
             java.util.List<Integer> invalidTransactions = null;
-            List<DataItem> invalidTxnDIList = ((Array) blockArray.getDataItems().get(4)).getDataItems();
+            List<DataItem> invalidTxnDIList = blockParts.getInvalidTransactions();
             if (invalidTxnDIList.size() > 0)
                 invalidTransactions = new ArrayList<>();
             else
                 invalidTransactions = Collections.EMPTY_LIST;
 
             for (DataItem txIndexDI : invalidTxnDIList) {
-                if (txIndexDI == SimpleValue.BREAK)
-                    continue;
                 invalidTransactions.add(toInt(txIndexDI));
             }
             blockBuilder.invalidTransactions(invalidTransactions);
@@ -162,6 +115,55 @@ public enum BlockSerializer implements Serializer<Block> {
         return blockBuilder.build();
     }
 
+    /**
+     * Deserialize the auxiliary data of a transaction. If full tx cbor is enabled, the cbor is taken from the original
+     * auxiliary data bytes when they match the auxiliary data hash of the transaction body, same as
+     * {@link #deserialize(byte[])}.
+     *
+     * @param block block number
+     * @param txIndex transaction index
+     * @param txBody transaction body, or null if the index is outside the transaction body list
+     * @param di auxiliary data DataItem
+     * @param auxBytes original auxiliary data bytes
+     * @return AuxData
+     */
+    public AuxData deserializeAuxData(long block, int txIndex, TransactionBody txBody, DataItem di, byte[] auxBytes) {
+        AuxData auxData = AuxDataSerializer.INSTANCE.deserializeDI(di);
+        if (YaciConfig.INSTANCE.isReturnFullTxCbor() && isAuxDataHashValid(block, txIndex, txBody, auxBytes)) {
+            auxData = auxData.toBuilder()
+                    .cbor(HexUtil.encodeHexString(auxBytes))
+                    .build();
+        }
+        return auxData;
+    }
+
+    /**
+     * Deserialize a single transaction witness set of a block. Datum and redeemer cbor and hashes are
+     * taken from the original witness bytes, same as {@link #deserialize(byte[])}.
+     *
+     * @param block block number
+     * @param di witness set DataItem
+     * @param witnessBytes original witness set bytes
+     * @return Witnesses
+     */
+    public Witnesses deserializeWitnesses(long block, DataItem di, byte[] witnessBytes) {
+        Witnesses witnesses = WitnessesSerializer.INSTANCE.deserializeDI(di);
+        if (YaciConfig.INSTANCE.isReturnFullTxCbor()) {
+            witnesses = witnesses.toBuilder()
+                    .cbor(HexUtil.encodeHexString(witnessBytes))
+                    .build();
+        }
+
+        try {
+            handleWitnessDatumRedeemer(block, witnesses, witnessBytes);
+        } catch (Exception e) {
+            log.error("Extraction of redeemer and datum bytes without serialization/deserialization failed for block : "
+                    + block, e);
+        }
+
+        return witnesses;
+    }
+
     @SneakyThrows
     private void handleWitnessDatumRedeemer(long block, List<Witnesses> witnesses, List<byte[]> transactionWitness) {
         if (witnesses != null && !witnesses.isEmpty()) {
@@ -172,153 +174,157 @@ public enum BlockSerializer implements Serializer<Block> {
             }
 
             for (int witnessIndex = 0; witnessIndex < transactionWitness.size(); witnessIndex++) {
+                handleWitnessDatumRedeemer(block, witnesses.get(witnessIndex), transactionWitness.get(witnessIndex));
+            }
+        }
+    }
 
-                final var witnessFields = WitnessUtil.getWitnessFields(
-                        transactionWitness.get(witnessIndex));
-                Witnesses witness = witnesses.get(witnessIndex);
+    @SneakyThrows
+    private void handleWitnessDatumRedeemer(long block, Witnesses witness, byte[] witnessBytes) {
+        final var witnessFields = WitnessUtil.getWitnessFields(witnessBytes);
 
-                if (witness.getDatums() != null && !witness.getDatums().isEmpty()) {
+        if (witness.getDatums() != null && !witness.getDatums().isEmpty()) {
 
-                    var datumBytes = getArrayBytes(witnessFields.get(BigInteger.valueOf(4L)));
-                    final List<Datum> datums = witness.getDatums();
+            var datumBytes = getArrayBytes(witnessFields.get(BigInteger.valueOf(4L)));
+            final List<Datum> datums = witness.getDatums();
 
-                    if (datumBytes.size() != datums.size()) {
-                        log.error("block: {} datum does not have the same size", block);
-                    } else {
-                        if (datums != null && !datums.isEmpty()) {
-                            for (int datumIndex = 0; datumIndex < datums.size(); datumIndex++) {
+            if (datumBytes.size() != datums.size()) {
+                log.error("block: {} datum does not have the same size", block);
+            } else {
+                if (datums != null && !datums.isEmpty()) {
+                    for (int datumIndex = 0; datumIndex < datums.size(); datumIndex++) {
 
-                                final Datum datum = datums.get(datumIndex);
-                                final byte[] rawCbor = datumBytes.get(datumIndex);
+                        final Datum datum = datums.get(datumIndex);
+                        final byte[] rawCbor = datumBytes.get(datumIndex);
 
-                                final var cbor = HexUtil.encodeHexString(rawCbor);
-                                final var hash = Datum.cborToHash(rawCbor);
+                        final var cbor = HexUtil.encodeHexString(rawCbor);
+                        final var hash = Datum.cborToHash(rawCbor);
 
-                                if (!datum.getHash().equals(hash)) {
-                                    log.debug("Datum Hash Mismatch : {} - {} - {}", block, datum.getHash(), hash);
-                                }
+                        if (!datum.getHash().equals(hash)) {
+                            log.debug("Datum Hash Mismatch : {} - {} - {}", block, datum.getHash(), hash);
+                        }
 
-                                var updatedDatum = datum.toBuilder()
-                                        .cbor(cbor)
-                                        .hash(hash)
-                                        .build();
+                        var datumBuilder = datum.toBuilder().cbor(cbor);
+                        if (YaciConfig.INSTANCE.isByteBackedHashes())
+                            datumBuilder.hash(null).hashRaw(Hash32.fromHex(hash));
+                        else
+                            datumBuilder.hash(hash);
 
-                                datums.set(datumIndex, updatedDatum);
-                            }
-                        }
+                        var updatedDatum = datumBuilder.build();
+
+                        datums.set(datumIndex, updatedDatum);
                     }
                 }
+            }
+        }
+
+        /*
+         * redeemers =
+         *     [ + [ tag: redeemer_tag, index: uint, data: plutus_data, ex_units: ex_units ] ]
+         *     / { + [ tag: redeemer_tag, index: uint ] => [ data: plutus_data, ex_units: ex_units ] }
+         */
+        List<Redeemer> redeemers = witness.getRedeemers();
+        if (redeemers != null && !redeemers.isEmpty()) {
+
+            var redeemersBytes = witnessFields.get(BigInteger.valueOf(5L));
+
+            //Isolate the first 3 bits of the byte, which represent the "major type" in CBOR's encoding structure. (0xe0 = 11100000)
+            var majorType = MajorType.ofByte(redeemersBytes[0] & 0xe0);
+
+             if (majorType == MajorType.ARRAY) {
+                List<byte[]> redeemerArrayBytes = null;
+                try {
+                    redeemerArrayBytes = getArrayBytes(redeemersBytes);
+                } catch (Exception e) {
+                    log.error("Error parsing redeemer array bytes", e);
+                    redeemerArrayBytes = new ArrayList<>();
+                }
 
-                /*
-                 * redeemers =
-                 *     [ + [ tag: redeemer_tag, index: uint, data: plutus_data, ex_units: ex_units ] ]
-                 *     / { + [ tag: redeemer_tag, index: uint ] => [ data: plutus_data, ex_units: ex_units ] }
-                 */
-                List<Redeemer> redeemers = witness.getRedeemers();
-                if (redeemers != null && !redeemers.isEmpty()) {
-
-                    var redeemersBytes = witnessFields.get(BigInteger.valueOf(5L));
-
-                    //Isolate the first 3 bits of the byte, which represent the "major type" in CBOR's encoding structure. (0xe0 = 11100000)
-                    var majorType = MajorType.ofByte(redeemersBytes[0] & 0xe0);
-
-                     if (majorType == MajorType.ARRAY) {
-                        List<byte[]> redeemerArrayBytes = null;
-                        try {
-                            redeemerArrayBytes = getArrayBytes(redeemersBytes);
-                        } catch (Exception e) {
-                            log.error("Error parsing redeemer array bytes", e);
-                            redeemerArrayBytes = new ArrayList<>();
+                if (redeemerArrayBytes.size() != redeemers.size()) {
+                    log.error("block: {} redeemer does not have the same size", block);
+                } else {
+                    for (int redeemerIdx = 0; redeemerIdx < redeemers.size(); redeemerIdx++) {
+                        var redeemer = redeemers.get(redeemerIdx);
+                        var redeemerBytes = redeemerArrayBytes.get(redeemerIdx);
+                        var redeemerFields = getRedeemerFields(redeemerBytes);
+
+                        if (redeemerFields.size() != 4) {
+                            log.error("Missing redeemer fields. Expected size 4, but found {}", redeemerFields.size());
+                            continue;
+                            //throw new IllegalStateException("Redeemer missing field");
                         }
 
-                        if (redeemerArrayBytes.size() != redeemers.size()) {
-                            log.error("block: {} redeemer does not have the same size", block);
-                        } else {
-                            for (int redeemerIdx = 0; redeemerIdx < redeemers.size(); redeemerIdx++) {
-                                var redeemer = redeemers.get(redeemerIdx);
-                                var redeemerBytes = redeemerArrayBytes.get(redeemerIdx);
-                                var redeemerFields = getRedeemerFields(redeemerBytes);
-
-                                if (redeemerFields.size() != 4) {
-                                    log.error("Missing redeemer fields. Expected size 4, but found {}", redeemerFields.size());
-                                    continue;
-                                    //throw new IllegalStateException("Redeemer missing field");
-                                }
-
-                                var actualRedeemerData = redeemerFields.get(2);
-                                var redeemerData = redeemer.getData();
-                                final var cbor = HexUtil.encodeHexString(actualRedeemerData);
-                                final var hash = Datum.cborToHash(actualRedeemerData);
-
-                                if (!redeemerData.getHash().equals(hash)) {
-                                    log.debug("Redeemer data hash mismatch : {} - {} - {}",
-                                            block, redeemerData.getHash(), hash);
-                                }
-
-                                var updatedRedeemerData = redeemerData.toBuilder()
-                                        .cbor(cbor)
-                                        .hash(hash)
-                                        .build();
-
-                                var updatedRedeemer = redeemer.toBuilder()
-                                        .cbor(HexUtil.encodeHexString(redeemerBytes))
-                                        .data(updatedRedeemerData)
-                                        .build();
-
-                                redeemers.set(redeemerIdx, updatedRedeemer);
-                            }
+                        var actualRedeemerData = redeemerFields.get(2);
+                        var redeemerData = redeemer.getData();
+                        final var cbor = HexUtil.encodeHexString(actualRedeemerData);
+                        final var hash = Datum.cborToHash(actualRedeemerData);
+
+                        if (!redeemerData.getHash().equals(hash)) {
+                            log.debug("Redeemer data hash mismatch : {} - {} - {}",
+                                    block, redeemerData.getHash(), hash);
                         }
-                    } else if (majorType == MajorType.MAP) {
-                         List<Tuple<byte[], byte[]>> redeemerMapEntriesBytes = null;
-                         try {
-                            redeemerMapEntriesBytes = getRedeemerMapBytes(redeemersBytes);
-                        } catch (Exception e) {
-                            log.error("Error parsing redeemer map bytes", e);
-                            redeemerMapEntriesBytes = new ArrayList<>();
+
+                        var updatedRedeemerData = redeemerData.toBuilder()
+                                .cbor(cbor)
+                                .hash(hash)
+                                .build();
+
+                        var updatedRedeemer = redeemer.toBuilder()
+                                .cbor(HexUtil.encodeHexString(redeemerBytes))
+                                .data(updatedRedeemerData)
+                                .build();
+
+                        redeemers.set(redeemerIdx, updatedRedeemer);
+                    }
+                }
+            } else if (majorType == MajorType.MAP) {
+                 List<Tuple<byte[], byte[]>> redeemerMapEntriesBytes = null;
+                 try {
+                    redeemerMapEntriesBytes = getRedeemerMapBytes(redeemersBytes);
+                } catch (Exception e) {
+                    log.error("Error parsing redeemer map bytes", e);
+                    redeemerMapEntriesBytes = new ArrayList<>();
+                }
+                if (redeemerMapEntriesBytes.size() != redeemers.size()) {
+                    log.error("block: {} redeemer does not have the same size", block);
+                } else {
+                    for (int redeemerIdx = 0; redeemerIdx < redeemers.size(); redeemerIdx++) {
+                        var redeemer = redeemers.get(redeemerIdx);
+                        var redeemerBytesKeyValueTuple = redeemerMapEntriesBytes.get(redeemerIdx);
+
+                        //Get value field, as we only need redeemer data
+                        var redeemerFields = getRedeemerFields(redeemerBytesKeyValueTuple._2);
+
+                        if (redeemerFields.size() != 2) {
+                            log.error("Missing redeemer fields in value. Expected size 2, but found {}", redeemerFields.size());
+                            continue;
                         }
-                        if (redeemerMapEntriesBytes.size() != redeemers.size()) {
-                            log.error("block: {} redeemer does not have the same size", block);
-                        } else {
-                            for (int redeemerIdx = 0; redeemerIdx < redeemers.size(); redeemerIdx++) {
-                                var redeemer = redeemers.get(redeemerIdx);
-                                var redeemerBytesKeyValueTuple = redeemerMapEntriesBytes.get(redeemerIdx);
-
-                                //Get value field, as we only need redeemer data
-                                var redeemerFields = getRedeemerFields(redeemerBytesKeyValueTuple._2);
-
-                                if (redeemerFields.size() != 2) {
-                                    log.error("Missing redeemer fields in value. Expected size 2, but found {}", redeemerFields.size());
-                                    continue;
-                                }
-
-                                var actualRedeemerData = redeemerFields.get(0);
-                                var redeemerData = redeemer.getData();
-                                final var cbor = HexUtil.encodeHexString(actualRedeemerData);
-                                final var hash = Datum.cborToHash(actualRedeemerData);
-
-                                if (!redeemerData.getHash().equals(hash)) {
-                                    log.debug("Redeemer data hash mismatch : {} - {} - {}",
-                                            block, redeemerData.getHash(), hash);
-                                }
-
-                                var updatedRedeemerData = redeemerData.toBuilder()
-                                        .cbor(cbor)
-                                        .hash(hash)
-                                        .build();
-
-                                var updatedRedeemer = redeemer.toBuilder()
-                                        //.cbor(HexUtil.encodeHexString(redeemerBytes))
-                                        .data(updatedRedeemerData)
-                                        .build();
-
-                                redeemers.set(redeemerIdx, updatedRedeemer);
-                            }
+
+                        var actualRedeemerData = redeemerFields.get(0);
+                        var redeemerData = redeemer.getData();
+                        final var cbor = HexUtil.encodeHexString(actualRedeemerData);
+                        final var hash = Datum.cborToHash(actualRedeemerData);
+
+                        if (!redeemerData.getHash().equals(hash)) {
+                            log.debug("Redeemer data hash mismatch : {} - {} - {}",
+                                    block, redeemerData.getHash(), hash);
                         }
-                    } else {
-                        throw new IllegalStateException("Invalid major type for redeemer list bytes : " + majorType);
+
+                        var updatedRedeemerData = redeemerData.toBuilder()
+                                .cbor(cbor)
+                                .hash(hash)
+                                .build();
+
+                        var updatedRedeemer = redeemer.toBuilder()
+                                //.cbor(HexUtil.encodeHexString(redeemerBytes))
+                                .data(updatedRedeemerData)
+                                .build();
+
+                        redeemers.set(redeemerIdx, updatedRedeemer);
                     }
                 }
-
+            } else {
+                throw new IllegalStateException("Invalid major type for redeemer list bytes : " + majorType);
             }
         }
     }
@@ -338,13 +344,13 @@ public enum BlockSerializer implements Serializer<Block> {
         }
     }
 
-    private boolean isAuxDataHashValid(long block, int txIndex, List<TransactionBody> txnBodies, byte[] auxBytes) {
-        if (txIndex >= txnBodies.size()) {
+    private boolean isAuxDataHashValid(long block, int txIndex, TransactionBody txBody, byte[] auxBytes) {
+        if (txBody == null) {
             log.debug("Auxiliary data index outside transaction body list. block: {}, tx index: {}", block, txIndex);
             return false;
         }
 
-        String expectedHash = txnBodies.get(txIndex).getAuxiliaryDataHash();
+        String expectedHash = txBody.getAuxiliaryDataHash();
         if (expectedHash == null) {
             return true;
         }
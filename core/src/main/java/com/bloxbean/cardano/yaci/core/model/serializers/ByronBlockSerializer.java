@@ -2,7 +2,6 @@ package com.bloxbean.cardano.yaci.core.model.serializers;
 
 import co.nstant.in.cbor.model.*;
 import com.bloxbean.cardano.client.crypto.Base58;
-import com.bloxbean.cardano.client.crypto.Blake2bUtil;
 import com.bloxbean.cardano.client.util.JsonUtil;
 import com.bloxbean.cardano.yaci.core.common.EraUtil;
 import com.bloxbean.cardano.yaci.core.config.YaciConfig;
@@ -11,6 +10,8 @@ import com.bloxbean.cardano.yaci.core.model.Era;
 import com.bloxbean.cardano.yaci.core.model.byron.*;
 import com.bloxbean.cardano.yaci.core.model.byron.payload.*;
 import com.bloxbean.cardano.yaci.core.model.byron.signature.BlockSignature;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockHashUtil;
 import com.bloxbean.cardano.yaci.core.protocol.Serializer;
 import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
 import com.bloxbean.cardano.yaci.core.util.HexUtil;
@@ -51,7 +52,7 @@ public enum ByronBlockSerializer implements Serializer<ByronMainBlock> {
         //TODO Extra
         Array extraArr = (Array) mainBlkArray.getDataItems().get(2);
 
-        ByronBlockHead header = deserializeHeader(headerArr);
+        ByronBlockHead header = deserializeHeader(headerArr, BlockExtractor.getHeaderBytes(blockBytes));
         ByronBlockBody body = deserializeBlockBody(bodyArr);
 
         String cbor = YaciConfig.INSTANCE.isReturnBlockCbor()? HexUtil.encodeHexString(blockBytes) : null;
@@ -64,15 +65,23 @@ public enum ByronBlockSerializer implements Serializer<ByronMainBlock> {
     }
 
     public ByronBlockHead deserializeHeader(Array headerArr) {
+        return deserializeHeader(headerArr, null);
+    }
+
+    /**
+     * Create the header from the decoded header
+     * @param headerArr decoded header
+     * @param headerBytes original header bytes used for block hash. If null, the header is serialized again
+     * @return header
+     */
+    public ByronBlockHead deserializeHeader(Array headerArr, byte[] headerBytes) {
         long protocolMagic = toLong(headerArr.getDataItems().get(0));
         String prevBlockId = toHex(headerArr.getDataItems().get(1));
 
-        //Calculate block hash
-        Array blockHashArray = new Array();
-        // hash expects to have a prefix for the type of block
-        blockHashArray.add(new UnsignedInteger(1)); //For main block 1
-        blockHashArray.add(headerArr);
-        String blockHash = HexUtil.encodeHexString(Blake2bUtil.blake2bHash256(CborSerializationUtil.serialize(blockHashArray)));
+        //Calculate block hash. Byron block hash is calculated from [type, header]
+        if (headerBytes == null)
+            headerBytes = CborSerializationUtil.serialize(headerArr);
+        String blockHash = HexUtil.encodeHexString(BlockHashUtil.byronBlockHash(1, headerBytes));
 
         ByronBlockProof bodyProof = deserializeBodyProof(headerArr.getDataItems().get(2));
         ByronBlockCons consensusData = deserializeConsensusData(headerArr.getDataItems().get(3));
@@ -3,7 +3,6 @@ package com.bloxbean.cardano.yaci.core.model.serializers;
 import co.nstant.in.cbor.model.Array;
 import co.nstant.in.cbor.model.DataItem;
 import co.nstant.in.cbor.model.UnsignedInteger;
-import com.bloxbean.cardano.client.crypto.Blake2bUtil;
 import com.bloxbean.cardano.client.util.JsonUtil;
 import com.bloxbean.cardano.yaci.core.common.EraUtil;
 import com.bloxbean.cardano.yaci.core.config.YaciConfig;
@@ -12,6 +11,8 @@ import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlock;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlockCons;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBody;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockHashUtil;
 import com.bloxbean.cardano.yaci.core.protocol.Serializer;
 import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
 import com.bloxbean.cardano.yaci.core.util.HexUtil;
@@ -44,7 +45,7 @@ public enum ByronEbBlockSerializer implements Serializer<ByronEbBlock> {
         //header
         Array headerArr = (Array) mainBlkArray.getDataItems().get(0);
         Array bodyArr = (Array) mainBlkArray.getDataItems().get(1);
-        ByronEbHead header = deserializeHeader(headerArr);
+        ByronEbHead header = deserializeHeader(headerArr, BlockExtractor.getHeaderBytes(blockBody));
         ByronEbBody body = deserializeBody(bodyArr);
         //TODO -- Other fields
 
@@ -58,15 +59,23 @@ public enum ByronEbBlockSerializer implements Serializer<ByronEbBlock> {
     }
 
     public static ByronEbHead deserializeHeader(Array headerArr) {
+        return deserializeHeader(headerArr, null);
+    }
+
+    /**
+     * Create the header from the decoded header
+     * @param headerArr decoded header
+     * @param headerBytes original header bytes used for block hash. If null, the header is serialized again
+     * @return header
+     */
+    public static ByronEbHead deserializeHeader(Array headerArr, byte[] headerBytes) {
         long protocolMagic = toLong(headerArr.getDataItems().get(0));
         String prevBlockId = toHex(headerArr.getDataItems().get(1));
 
-        //Calculate block hash
-        Array blockHashArray = new Array();
-        // hash expects to have a prefix for the type of block
-        blockHashArray.add(new UnsignedInteger(0)); //For Eb block
-        blockHashArray.add(headerArr);
-        String blockHash = HexUtil.encodeHexString(Blake2bUtil.blake2bHash256(CborSerializationUtil.serialize(blockHashArray)));
+        //Calculate block hash. Byron block hash is calculated from [type, header]
+        if (headerBytes == null)
+            headerBytes = CborSerializationUtil.serialize(headerArr);
+        String blockHash = HexUtil.encodeHexString(BlockHashUtil.byronBlockHash(0, headerBytes));
 
         String bodyProof = HexUtil.encodeHexString(
                 CborSerializationUtil.serialize(headerArr.getDataItems().get(2)));
@@ -0,0 +1,72 @@
+package com.bloxbean.cardano.yaci.core.model.serializers;
+
+import com.bloxbean.cardano.yaci.core.model.LazyBlock;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.RawCborReader;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.TransactionBodyExtractor;
+import com.bloxbean.cardano.yaci.core.protocol.Serializer;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates a {@link LazyBlock} by indexing the top level structure of a Shelley or post-Shelley era block.
+ * No DataItem is created during indexing.
+ */
+public enum LazyBlockSerializer implements Serializer<LazyBlock> {
+    INSTANCE;
+
+    @Override
+    public LazyBlock deserialize(byte[] bytes) {
+        RawCborReader reader = new RawCborReader(bytes);
+
+        reader.readArrayHeader();
+        int eraValue = (int) reader.readUnsignedInteger();
+        if (eraValue < 2)
+            throw new IllegalArgumentException("LazyBlock is only supported for Shelley and post-Shelley era blocks. Era: " + eraValue);
+
+        long blockArrayLength = reader.readArrayHeader();
+
+        int[] headerRange = new int[] {reader.position(), reader.skip()};
+        int[] txBodyRanges = readArrayRanges(reader);
+        int[] witnessRanges = readArrayRanges(reader);
+        Map<Integer, int[]> auxDataRanges = readAuxDataRanges(reader);
+
+        int[] invalidTxRange = null;
+        if (blockArrayLength > 4 || (blockArrayLength == TransactionBodyExtractor.INFINITY && reader.hasNext()
+                && !reader.readBreak())) {
+            invalidTxRange = new int[] {reader.position(), reader.skip()};
+        }
+
+        return new LazyBlock(bytes, eraValue, headerRange, txBodyRanges, witnessRanges, auxDataRanges, invalidTxRange);
+    }
+
+    private int[] readArrayRanges(RawCborReader reader) {
+        long length = reader.readArrayHeader();
+
+        int[] ranges = new int[length != TransactionBodyExtractor.INFINITY ? (int) length * 2 : 16];
+        int count = 0;
+        while (length == TransactionBodyExtractor.INFINITY ? !reader.readBreak() : count < length) {
+            if (count * 2 == ranges.length)
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+
+            ranges[count * 2] = reader.position();
+            ranges[count * 2 + 1] = reader.skip();
+            count++;
+        }
+
+        return ranges.length == count * 2 ? ranges : Arrays.copyOf(ranges, count * 2);
+    }
+
+    private Map<Integer, int[]> readAuxDataRanges(RawCborReader reader) {
+        long length = reader.readMapHeader();
+
+        Map<Integer, int[]> auxDataRanges = new LinkedHashMap<>();
+        for (long i = 0; length == TransactionBodyExtractor.INFINITY ? !reader.readBreak() : i < length; i++) {
+            int txIndex = (int) reader.readUnsignedInteger();
+            auxDataRanges.put(txIndex, new int[] {reader.position(), reader.skip()});
+        }
+
+        return auxDataRanges;
+    }
+}
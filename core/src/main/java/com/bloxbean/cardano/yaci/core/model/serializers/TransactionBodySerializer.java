@@ -3,6 +3,7 @@ package com.bloxbean.cardano.yaci.core.model.serializers;
 import co.nstant.in.cbor.model.Map;
 import co.nstant.in.cbor.model.*;
 import com.bloxbean.cardano.client.api.util.AssetUtil;
+import com.bloxbean.cardano.client.crypto.Blake2bUtil;
 import com.bloxbean.cardano.yaci.core.config.YaciConfig;
 import com.bloxbean.cardano.yaci.core.model.*;
 import com.bloxbean.cardano.yaci.core.model.certs.Certificate;
@@ -33,8 +34,10 @@ public enum TransactionBodySerializer implements Serializer<TransactionBody> {
         TransactionBody.TransactionBodyBuilder transactionBodyBuilder = TransactionBody.builder();
 
         //derive
-        String txHash = TxUtil.calculateTxHash(txBytes);
-        transactionBodyBuilder.txHash(txHash);
+        if (YaciConfig.INSTANCE.isByteBackedHashes())
+            transactionBodyBuilder.txHashRaw(Hash32.of(Blake2bUtil.blake2bHash256(txBytes)));
+        else
+            transactionBodyBuilder.txHash(TxUtil.calculateTxHash(txBytes));
 
         if (YaciConfig.INSTANCE.isReturnTxBodyCbor() || YaciConfig.INSTANCE.isReturnFullTxCbor()) {
             transactionBodyBuilder.cbor(HexUtil.encodeHexString(txBytes));
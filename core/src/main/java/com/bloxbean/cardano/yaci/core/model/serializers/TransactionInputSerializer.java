@@ -4,7 +4,9 @@ import co.nstant.in.cbor.model.Array;
 import co.nstant.in.cbor.model.ByteString;
 import co.nstant.in.cbor.model.DataItem;
 import co.nstant.in.cbor.model.UnsignedInteger;
+import com.bloxbean.cardano.yaci.core.config.YaciConfig;
 import com.bloxbean.cardano.yaci.core.exception.CborRuntimeException;
+import com.bloxbean.cardano.yaci.core.model.Hash32;
 import com.bloxbean.cardano.yaci.core.model.TransactionInput;
 import com.bloxbean.cardano.yaci.core.protocol.Serializer;
 import com.bloxbean.cardano.yaci.core.util.HexUtil;
@@ -26,8 +28,12 @@ public enum TransactionInputSerializer implements Serializer<TransactionInput> {
         TransactionInput.TransactionInputBuilder transactionInput = TransactionInput.builder();
 
         ByteString txnIdBytes = (ByteString) items.get(0);
-        if(txnIdBytes != null)
-            transactionInput.transactionId(HexUtil.encodeHexString(txnIdBytes.getBytes()));
+        if(txnIdBytes != null) {
+            if (YaciConfig.INSTANCE.isByteBackedHashes())
+                transactionInput.transactionIdRaw(Hash32.of(txnIdBytes.getBytes()));
+            else
+                transactionInput.transactionId(HexUtil.encodeHexString(txnIdBytes.getBytes()));
+        }
 
         UnsignedInteger indexUI = (UnsignedInteger) items.get(1);
         if(indexUI != null)
@@ -2,10 +2,10 @@ package com.bloxbean.cardano.yaci.core.model.serializers;
 
 import co.nstant.in.cbor.model.Number;
 import co.nstant.in.cbor.model.*;
-import com.bloxbean.cardano.client.address.util.AddressUtil;
 import com.bloxbean.cardano.client.api.util.AssetUtil;
 import com.bloxbean.cardano.yaci.core.exception.CborRuntimeException;
 import com.bloxbean.cardano.yaci.core.model.Amount;
+import com.bloxbean.cardano.yaci.core.model.RawAddress;
 import com.bloxbean.cardano.yaci.core.model.TransactionOutput;
 import com.bloxbean.cardano.yaci.core.protocol.Serializer;
 import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
@@ -38,13 +38,8 @@ public enum TransactionOutputSerializer implements Serializer<TransactionOutput>
 
         //address
         ByteString addrByteStr = (ByteString) ouptutItem.get(new UnsignedInteger(0));
-        if(addrByteStr != null) {
-            try {
-                outputBuilder.address(AddressUtil.bytesToAddress(addrByteStr.getBytes()));
-            } catch (Exception e) {
-                throw new CborRuntimeException("Bytes cannot be converted to bech32 address", e);
-            }
-        }
+        if(addrByteStr != null)
+            outputBuilder.addressRaw(RawAddress.of(addrByteStr.getBytes()));
 
         //value
         DataItem valueItem = ouptutItem.get(new UnsignedInteger(1));
@@ -89,13 +84,8 @@ public enum TransactionOutputSerializer implements Serializer<TransactionOutput>
         }
 
         ByteString addrByteStr = (ByteString)items.get(0);
-        if(addrByteStr != null) {
-            try {
-                outputBuilder.address(AddressUtil.bytesToAddress(addrByteStr.getBytes()));
-            } catch (Exception e) {
-                throw new CborRuntimeException("Bytes cannot be converted to bech32 address", e);
-            }
-        }
+        if(addrByteStr != null)
+            outputBuilder.addressRaw(RawAddress.of(addrByteStr.getBytes()));
 
         DataItem valueItem = items.get(1);
         List<Amount> amounts = parseValue(valueItem);
@@ -0,0 +1,203 @@
+package com.bloxbean.cardano.yaci.core.model.serializers.util;
+
+import co.nstant.in.cbor.CborDecoder;
+import co.nstant.in.cbor.CborException;
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.DataItem;
+import co.nstant.in.cbor.model.MajorType;
+import co.nstant.in.cbor.model.Special;
+import com.bloxbean.cardano.yaci.core.common.GenesisConfig;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.util.Tuple;
+import lombok.SneakyThrows;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.bloxbean.cardano.yaci.core.util.CborSerializationUtil.toInt;
+
+/**
+ * Splits a block into its top level parts in a single pass. Each part is decoded once and its original bytes are
+ * captured at the same time, so callers don't need to walk the block bytes again to get tx body, witness set or
+ * auxiliary data bytes.
+ *
+ * This is only for Shelley and post Shelley era blocks
+ */
+public class BlockExtractor {
+
+    /**
+     * Read the era value of a block without decoding the block
+     * @param blockBytes block bytes ([era, block])
+     * @return era value
+     */
+    public static int getEraValue(byte[] blockBytes) {
+        RawCborReader reader = new RawCborReader(blockBytes);
+        reader.readArrayHeader();
+        return (int) reader.readUnsignedInteger();
+    }
+
+    /**
+     * Find the header of a block without decoding the block. This works for Byron blocks too.
+     * @param blockBytes block bytes ([era, [header, ...]])
+     * @return header bytes as in the block
+     */
+    public static byte[] getHeaderBytes(byte[] blockBytes) {
+        RawCborReader reader = new RawCborReader(blockBytes);
+        reader.readArrayHeader();
+        reader.readUnsignedInteger();
+        reader.readArrayHeader();
+        int start = reader.position();
+        int end = reader.skip();
+        return Arrays.copyOfRange(blockBytes, start, end);
+    }
+
+    /**
+     * Read the absolute slot of a block from its header without decoding the block. This works for Byron blocks too.
+     * @param blockBytes block bytes ([era, [header, ...]])
+     * @return absolute slot
+     */
+    public static long getSlot(byte[] blockBytes) {
+        int era = getEraValue(blockBytes);
+        RawCborReader reader = new RawCborReader(getHeaderBytes(blockBytes));
+        reader.readArrayHeader();
+
+        if (era == 0) { //Byron epoch boundary block
+            reader.skip(); //protocol magic
+            reader.skip(); //prev block
+            reader.skip(); //body proof
+            reader.readArrayHeader(); //consensus data
+            long epoch = reader.readUnsignedInteger();
+            return GenesisConfig.getInstance().absoluteSlot(Era.Byron, epoch, 0);
+        } else if (era == 1) { //Byron main block
+            reader.skip(); //protocol magic
+            reader.skip(); //prev block
+            reader.skip(); //body proof
+            reader.readArrayHeader(); //consensus data
+            reader.readArrayHeader();
+            long epoch = reader.readUnsignedInteger();
+            long slotInEpoch = reader.readUnsignedInteger();
+            return GenesisConfig.getInstance().absoluteSlot(Era.Byron, epoch, slotInEpoch);
+        } else { //[header_body, body_signature]
+            reader.readArrayHeader();
+            reader.readUnsignedInteger(); //block number
+            return reader.readUnsignedInteger();
+        }
+    }
+
+    /**
+     * Decode block bytes to {@link BlockParts}
+     * @param blockBytes block bytes ([era, block])
+     * @return BlockParts
+     */
+    @SneakyThrows
+    public static BlockParts extract(byte[] blockBytes) {
+        ByteArrayInputStream stream = new ByteArrayInputStream(blockBytes);
+        CborDecoder decoder = new CborDecoder(stream);
+
+        readHeader(blockBytes, stream, MajorType.ARRAY);
+        int eraValue = toInt(decoder.decodeNext());
+
+        long blockArrayLength = readHeader(blockBytes, stream, MajorType.ARRAY);
+
+        //header
+        Tuple<DataItem, byte[]> header = readNext(blockBytes, stream, decoder);
+
+        List<Tuple<DataItem, byte[]>> txBodies = readArray(blockBytes, stream, decoder);
+        List<Tuple<DataItem, byte[]>> witnesses = readArray(blockBytes, stream, decoder);
+        Map<Integer, Tuple<DataItem, byte[]>> auxData = readAuxDataMap(blockBytes, stream, decoder);
+
+        List<DataItem> invalidTxs = null;
+        if (blockArrayLength > 4 || (blockArrayLength == TransactionBodyExtractor.INFINITY && !isBreak(blockBytes, stream))) {
+            List<Tuple<DataItem, byte[]>> invalidTxTuples = readArray(blockBytes, stream, decoder);
+            invalidTxs = new ArrayList<>(invalidTxTuples.size());
+            for (var tuple : invalidTxTuples) {
+                invalidTxs.add(tuple._1);
+            }
+        }
+
+        return BlockParts.builder()
+                .eraValue(eraValue)
+                .header((Array) header._1)
+                .headerBytes(header._2)
+                .transactionBodies(txBodies)
+                .transactionWitnesses(witnesses)
+                .auxiliaryData(auxData)
+                .invalidTransactions(invalidTxs)
+                .build();
+    }
+
+    private static List<Tuple<DataItem, byte[]>> readArray(byte[] bytes, ByteArrayInputStream stream,
+                                                           CborDecoder decoder) throws CborException {
+        long length = readHeader(bytes, stream, MajorType.ARRAY);
+
+        List<Tuple<DataItem, byte[]>> items;
+        if (length != TransactionBodyExtractor.INFINITY) {
+            items = new ArrayList<>((int) length);
+            for (int i = 0; i < length; i++) {
+                items.add(readNext(bytes, stream, decoder));
+            }
+        } else {
+            items = new ArrayList<>();
+            for (;;) {
+                Tuple<DataItem, byte[]> item = readNext(bytes, stream, decoder);
+                if (Special.BREAK.equals(item._1))
+                    break;
+                items.add(item);
+            }
+        }
+
+        return items;
+    }
+
+    private static Map<Integer, Tuple<DataItem, byte[]>> readAuxDataMap(byte[] bytes, ByteArrayInputStream stream,
+                                                                       CborDecoder decoder) throws CborException {
+        long length = readHeader(bytes, stream, MajorType.MAP);
+
+        Map<Integer, Tuple<DataItem, byte[]>> auxDataMap = new LinkedHashMap<>();
+        for (int i = 0; length == TransactionBodyExtractor.INFINITY || i < length; i++) {
+            DataItem txIndexDI = decoder.decodeNext();
+            if (txIndexDI == null)
+                throw new CborException("Unexpected end of stream");
+            if (Special.BREAK.equals(txIndexDI))
+                break;
+
+            auxDataMap.put(toInt(txIndexDI), readNext(bytes, stream, decoder));
+        }
+
+        return auxDataMap;
+    }
+
+    private static Tuple<DataItem, byte[]> readNext(byte[] bytes, ByteArrayInputStream stream,
+                                                    CborDecoder decoder) throws CborException {
+        int start = bytes.length - stream.available();
+        DataItem dataItem = decoder.decodeNext();
+        if (dataItem == null)
+            throw new CborException("Unexpected end of stream");
+
+        int end = bytes.length - stream.available();
+        byte[] raw = new byte[end - start];
+        System.arraycopy(bytes, start, raw, 0, raw.length);
+        return new Tuple<>(dataItem, raw);
+    }
+
+    private static boolean isBreak(byte[] bytes, ByteArrayInputStream stream) {
+        int pos = bytes.length - stream.available();
+        return pos >= bytes.length || (bytes[pos] & 0xff) == 0xff;
+    }
+
+    /**
+     * Read the header of an array or map at the position of the stream
+     * @return length or {@link TransactionBodyExtractor#INFINITY} for indefinite length
+     */
+    private static long readHeader(byte[] bytes, ByteArrayInputStream stream, MajorType expectedType) {
+        int start = bytes.length - stream.available();
+        RawCborReader reader = new RawCborReader(bytes, start);
+        long length = reader.readHeader(expectedType);
+        stream.skip(reader.position() - start);
+        return length;
+    }
+}
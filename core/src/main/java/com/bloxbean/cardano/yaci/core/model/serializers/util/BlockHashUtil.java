@@ -0,0 +1,34 @@
+package com.bloxbean.cardano.yaci.core.model.serializers.util;
+
+import com.bloxbean.cardano.client.crypto.Blake2bUtil;
+
+/**
+ * Block hash calculation from the header bytes as received from the node. Hashing the original bytes avoids a
+ * re-serialization of the decoded header and gives the correct hash for non-canonical encodings.
+ */
+public class BlockHashUtil {
+    private static final int ARRAY_OF_TWO = 0x82;
+
+    /**
+     * Block hash of a Shelley or later era header
+     * @param headerBytes header bytes
+     * @return blake2b-256 hash
+     */
+    public static byte[] blockHash(byte[] headerBytes) {
+        return Blake2bUtil.blake2bHash256(headerBytes);
+    }
+
+    /**
+     * Block hash of a Byron header. Byron hashes cover [type, header]
+     * @param type 0 for epoch boundary block, 1 for main block
+     * @param headerBytes header bytes
+     * @return blake2b-256 hash
+     */
+    public static byte[] byronBlockHash(int type, byte[] headerBytes) {
+        byte[] bytes = new byte[headerBytes.length + 2];
+        bytes[0] = (byte) ARRAY_OF_TWO;
+        bytes[1] = (byte) type;
+        System.arraycopy(headerBytes, 0, bytes, 2, headerBytes.length);
+        return Blake2bUtil.blake2bHash256(bytes);
+    }
+}
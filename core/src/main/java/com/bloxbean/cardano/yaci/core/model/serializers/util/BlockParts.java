@@ -0,0 +1,36 @@
+package com.bloxbean.cardano.yaci.core.model.serializers.util;
+
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.DataItem;
+import com.bloxbean.cardano.yaci.core.util.Tuple;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top level parts of a Shelley and post-Shelley era block with the decoded DataItem and the original bytes of each part.
+ * Created by {@link BlockExtractor} in a single pass over the block bytes.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class BlockParts {
+    private final int eraValue;
+    private final Array header;
+    private final byte[] headerBytes;
+
+    //Transaction body DataItem and raw bytes
+    private final List<Tuple<DataItem, byte[]>> transactionBodies;
+
+    //Witness set DataItem and raw bytes
+    private final List<Tuple<DataItem, byte[]>> transactionWitnesses;
+
+    //tx index -> auxiliary data DataItem and raw bytes
+    private final Map<Integer, Tuple<DataItem, byte[]>> auxiliaryData;
+
+    //Null for pre-Alonzo blocks
+    private final List<DataItem> invalidTransactions;
+}
@@ -0,0 +1,218 @@
+package com.bloxbean.cardano.yaci.core.model.serializers.util;
+
+import co.nstant.in.cbor.model.MajorType;
+import com.bloxbean.cardano.yaci.core.exception.CborRuntimeException;
+
+import java.util.Arrays;
+
+/**
+ * Cursor over CBOR bytes which reads item headers and skips items without creating DataItems.
+ * It is used to index the structure of large CBOR payloads like blocks.
+ * <p>
+ * {@link #argumentLength(int)} is shared with other raw CBOR readers, e.g. the frame scanner of the network layer.
+ */
+public class RawCborReader {
+    /**
+     * Additional information of indefinite length items and break
+     */
+    public static final int INDEFINITE = 31;
+
+    private final byte[] bytes;
+    private int position;
+
+    public RawCborReader(byte[] bytes) {
+        this(bytes, 0);
+    }
+
+    public RawCborReader(byte[] bytes, int position) {
+        this.bytes = bytes;
+        this.position = position;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Read an array header
+     * @return length of the array or {@link TransactionBodyExtractor#INFINITY} for indefinite length
+     */
+    public long readArrayHeader() {
+        return readHeader(MajorType.ARRAY);
+    }
+
+    /**
+     * Read a map header
+     * @return number of entries or {@link TransactionBodyExtractor#INFINITY} for indefinite length
+     */
+    public long readMapHeader() {
+        return readHeader(MajorType.MAP);
+    }
+
+    public long readUnsignedInteger() {
+        return readHeader(MajorType.UNSIGNED_INTEGER);
+    }
+
+    /**
+     * Check if the next byte is a break. The break is consumed if found.
+     * @return true if break
+     */
+    public boolean readBreak() {
+        if (position >= bytes.length)
+            throw new CborRuntimeException("Unexpected end of stream");
+
+        if ((bytes[position] & 0xff) == 0xff) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Read a definite length byte string
+     * @return bytes
+     */
+    public byte[] readByteString() {
+        long length = readHeader(MajorType.BYTE_STRING);
+        if (length < 0 || length > bytes.length - position)
+            throw new CborRuntimeException("Unexpected end of stream");
+
+        byte[] value = Arrays.copyOfRange(bytes, position, position + (int) length);
+        position += (int) length;
+        return value;
+    }
+
+    /**
+     * Check if the next item is null. The null is consumed if found.
+     * @return true if null
+     */
+    public boolean readNull() {
+        if (position >= bytes.length)
+            throw new CborRuntimeException("Unexpected end of stream");
+
+        if ((bytes[position] & 0xff) == 0xf6) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skip the tag of the next item if there is one
+     */
+    public void skipTag() {
+        if (position < bytes.length && MajorType.ofByte(bytes[position] & 0xff) == MajorType.TAG)
+            readHeader(MajorType.TAG);
+    }
+
+    public boolean hasNext() {
+        return position < bytes.length;
+    }
+
+    /**
+     * Skip the next data item including all nested items
+     * @return position after the skipped item
+     */
+    public int skip() {
+        int initialByte = next();
+        int majorType = initialByte >>> 5;
+        int additionalInfo = initialByte & 0x1f;
+
+        if (additionalInfo == INDEFINITE) {
+            if (majorType < 2 || majorType > 5)
+                throw new CborRuntimeException("Unexpected indefinite length or break at " + (position - 1));
+
+            while (!readBreak()) {
+                skip();
+            }
+            return position;
+        }
+
+        long arg = readArgument(additionalInfo);
+        switch (majorType) {
+            case 2: //byte string
+            case 3: //text string
+                if (arg < 0 || arg > bytes.length - position)
+                    throw new CborRuntimeException("Unexpected end of stream");
+                position += (int) arg;
+                break;
+            case 4: //array
+                for (long i = 0; i < arg; i++) {
+                    skip();
+                }
+                break;
+            case 5: //map
+                for (long i = 0; i < arg; i++) {
+                    skip();
+                    skip();
+                }
+                break;
+            case 6: //tag
+                skip();
+                break;
+            default:
+                break;
+        }
+
+        return position;
+    }
+
+    /**
+     * Read the header of an item of the expected type
+     * @param expectedType expected major type
+     * @return length or argument of the item, or {@link TransactionBodyExtractor#INFINITY} for indefinite length
+     */
+    public long readHeader(MajorType expectedType) {
+        int initialByte = next();
+        MajorType majorType = MajorType.ofByte(initialByte);
+        if (majorType != expectedType)
+            throw new CborRuntimeException("Expected " + expectedType + ", found : " + majorType + " at " + (position - 1));
+
+        int additionalInfo = initialByte & 0x1f;
+        if (additionalInfo == INDEFINITE)
+            return TransactionBodyExtractor.INFINITY;
+
+        return readArgument(additionalInfo);
+    }
+
+    /**
+     * Number of argument bytes which follow the initial byte
+     * @param additionalInfo additional information of the initial byte (low 5 bits)
+     * @return 0, 1, 2, 4 or 8
+     */
+    public static int argumentLength(int additionalInfo) {
+        if (additionalInfo < 24 || additionalInfo == INDEFINITE)
+            return 0;
+
+        switch (additionalInfo) {
+            case 24:
+                return 1;
+            case 25:
+                return 2;
+            case 26:
+                return 4;
+            case 27:
+                return 8;
+            default:
+                throw new CborRuntimeException("Reserved additional information : " + additionalInfo);
+        }
+    }
+
+    private long readArgument(int additionalInfo) {
+        if (additionalInfo < 24)
+            return additionalInfo;
+
+        int size = argumentLength(additionalInfo);
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            value = (value << 8) | next();
+        }
+        return value;
+    }
+
+    private int next() {
+        if (position >= bytes.length)
+            throw new CborRuntimeException("Unexpected end of stream");
+        return bytes[position++] & 0xff;
+    }
+}
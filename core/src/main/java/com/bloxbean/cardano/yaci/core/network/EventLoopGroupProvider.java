@@ -0,0 +1,103 @@
+package com.bloxbean.cardano.yaci.core.network;
+
+import io.netty.channel.EventLoopGroup;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Shares {@link EventLoopGroup}s between {@link NodeClient} instances.
+ * <p>
+ * One group is created per channel type (e.g. NIO, epoll socket, epoll domain socket) on first use and is reference
+ * counted. The group is shut down when the last client using it is shut down. Set the provider through
+ * {@link NodeClientConfig#getEventLoopGroupProvider()}.
+ *
+ * <pre>{@code
+ * NodeClientConfig config = NodeClientConfig.builder()
+ *     .eventLoopGroupProvider(EventLoopGroupProvider.getDefault())
+ *     .build();
+ * }</pre>
+ */
+@Slf4j
+public class EventLoopGroupProvider {
+    private static final EventLoopGroupProvider DEFAULT = new EventLoopGroupProvider();
+
+    private final Map<Class<?>, SharedGroup> groups = new HashMap<>();
+
+    /**
+     * Get the JVM wide provider
+     *
+     * @return default provider
+     */
+    public static EventLoopGroupProvider getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the group for the channel type, or create it if there is no active group
+     *
+     * @param channelClass channel class used with the group
+     * @param factory      creates the group if required
+     * @return shared group
+     */
+    public synchronized EventLoopGroup acquire(Class<?> channelClass, Supplier<EventLoopGroup> factory) {
+        SharedGroup sharedGroup = groups.get(channelClass);
+        if (sharedGroup == null || sharedGroup.group.isShuttingDown()) {
+            sharedGroup = new SharedGroup(factory.get());
+            groups.put(channelClass, sharedGroup);
+
+            if (log.isDebugEnabled())
+                log.debug("Created shared event loop group for {}", channelClass.getSimpleName());
+        }
+
+        sharedGroup.refCount++;
+        return sharedGroup.group;
+    }
+
+    /**
+     * Release a group acquired through {@link #acquire(Class, Supplier)}. The group is shut down when it's not used
+     * by any client.
+     *
+     * @param group group to release
+     */
+    public synchronized void release(EventLoopGroup group) {
+        for (Map.Entry<Class<?>, SharedGroup> entry : groups.entrySet()) {
+            SharedGroup sharedGroup = entry.getValue();
+            if (sharedGroup.group != group)
+                continue;
+
+            if (--sharedGroup.refCount == 0) {
+                groups.remove(entry.getKey());
+                group.shutdownGracefully();
+
+                if (log.isDebugEnabled())
+                    log.debug("Shutdown shared event loop group for {}", entry.getKey().getSimpleName());
+            }
+            return;
+        }
+
+        log.warn("Event loop group is not managed by this provider. Ignoring release");
+    }
+
+    /**
+     * Get the number of clients using the group for the channel type
+     *
+     * @param channelClass channel class
+     * @return number of clients
+     */
+    public synchronized int getRefCount(Class<?> channelClass) {
+        SharedGroup sharedGroup = groups.get(channelClass);
+        return sharedGroup != null ? sharedGroup.refCount : 0;
+    }
+
+    private static class SharedGroup {
+        private final EventLoopGroup group;
+        private int refCount;
+
+        private SharedGroup(EventLoopGroup group) {
+            this.group = group;
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.bloxbean.cardano.yaci.core.network;
 
+import com.bloxbean.cardano.yaci.core.exception.YaciRuntimeException;
 import com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoClientInboundHandler;
+import com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoIncrementalByteToMessageDecoder;
+import com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoMuxEncoder;
 import com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoRequestDataEncoder;
 import com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoStreamingByteToMessageDecoder;
+import com.bloxbean.cardano.yaci.core.network.metrics.NetworkMetrics;
 import com.bloxbean.cardano.yaci.core.protocol.Agent;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgent;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.Reason;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.EventLoopGroup;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.SocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 @Slf4j
 public abstract class NodeClient {
@@ -21,7 +29,9 @@ public abstract class NodeClient {
     private HandshakeAgent handshakeAgent;
     private Agent[] agents;
     private EventLoopGroup workerGroup;
-    private Session session;
+    private boolean workerGroupReleased;
+    private volatile Session session;
+    private volatile CompletableFuture<Void> handshakeFuture;
     protected NodeClientConfig config;
 
     public NodeClient() {
@@ -41,7 +51,16 @@ public abstract class NodeClient {
 
         this.handshakeAgent = handshakeAgent;
         this.agents = agents;
-        this.workerGroup = configureEventLoopGroup();
+        handshakeAgent.setMetrics(this.config.getMetrics());
+        for (Agent agent: agents) {
+            agent.setMetrics(this.config.getMetrics());
+        }
+
+        EventLoopGroupProvider eventLoopGroupProvider = this.config.getEventLoopGroupProvider();
+        if (eventLoopGroupProvider != null)
+            this.workerGroup = eventLoopGroupProvider.acquire(getChannelClass(), this::configureEventLoopGroup);
+        else
+            this.workerGroup = configureEventLoopGroup();
 
         attachHandshakeListener();
     }
@@ -63,6 +82,10 @@ public abstract class NodeClient {
                 for (Agent agent: agents) {
                     agent.setProtocolVersion(handshakeAgent.getProtocolVersion());
                 }
+
+                CompletableFuture<Void> future = handshakeFuture;
+                if (future != null)
+                    future.complete(null);
             }
 
             @Override
@@ -70,14 +93,38 @@ public abstract class NodeClient {
                 for (Agent agent: agents) {
                     agent.setProtocolVersion(handshakeAgent.getProtocolVersion());
                 }
+
+                failHandshake(new YaciRuntimeException("Handshake failed: " + reason));
             }
         });
     }
 
+    /**
+     * Establish the connection and complete the handshake. This method blocks until the handshake is done.
+     * Use {@link #startAsync()} to connect without blocking the caller.
+     */
     public void start() {
+        await(startAsync());
+    }
+
+    /**
+     * Establish the connection without blocking the caller.
+     *
+     * @return future which completes when the handshake is successful. It fails if the connection can't be
+     * established or the handshake is refused.
+     */
+    public CompletableFuture<Void> startAsync() {
         if (session != null)
             throw new RuntimeException("Session already available. Only one session is allowed per N2NClient. To start again, please call shutdown() first.");
 
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        handshakeFuture = future;
+        connect();
+        return future;
+    }
+
+    private void connect() {
+        Session newSession;
         try {
             Bootstrap b = new Bootstrap();
             b.group(workerGroup);
@@ -91,20 +138,62 @@ public abstract class NodeClient {
                 public void initChannel(Channel ch)
                         throws Exception {
                     //ch.pipeline().addLast("readTimeoutHandler", new ReadTimeoutHandler(30));
-                    ch.pipeline().addLast(new MiniProtoRequestDataEncoder(),
-                            new MiniProtoStreamingByteToMessageDecoder(agents),
-                            new MiniProtoClientInboundHandler(handshakeAgent, agents));
+                    ch.pipeline().addLast(createMuxEncoder(),
+                            createMuxDecoder(),
+                            new MiniProtoClientInboundHandler(handshakeAgent, agents, config.getMetrics()));
                 }
             });
 
-            session = new Session(this::createSocketAddress, b, config, handshakeAgent, agents);
-            session.setSessionListener(sessionListener);
-            session.start();
+            newSession = new Session(this::createSocketAddress, b, config, handshakeAgent, agents);
+            newSession.setSessionListener(sessionListener);
+            session = newSession;
         } catch (Exception e) {
             log.error("Error", e);
+            failHandshake(e);
+            return;
+        }
+
+        newSession.startAsync().whenComplete((s, throwable) -> {
+            if (throwable != null) {
+                //Connection attempts are over
+                if (session == newSession)
+                    session = null;
+                failHandshake(throwable);
+            }
+        });
+    }
+
+    private void failHandshake(Throwable throwable) {
+        CompletableFuture<Void> future = handshakeFuture;
+        if (future != null)
+            future.completeExceptionally(throwable);
+    }
+
+    private void await(CompletableFuture<Void> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while waiting for the connection", e);
+        } catch (ExecutionException e) {
+            log.error("Error", e.getCause());
         }
     }
 
+    private ChannelHandler createMuxEncoder() {
+        if (config.isMuxEncoder())
+            return new MiniProtoMuxEncoder(config.getMaxSduSize(), config.getMetrics());
+        else
+            return new MiniProtoRequestDataEncoder(config.getMetrics());
+    }
+
+    private ChannelHandler createMuxDecoder() {
+        if (config.isIncrementalMuxDecoder())
+            return new MiniProtoIncrementalByteToMessageDecoder(config.getMetrics(), agents);
+        else
+            return new MiniProtoStreamingByteToMessageDecoder(config.getMetrics(), agents);
+    }
+
     public boolean isRunning() {
         return session != null;
     }
@@ -130,29 +219,64 @@ public abstract class NodeClient {
         }
 
         if (workerGroup != null) {
-            workerGroup.shutdownGracefully();
+            EventLoopGroupProvider eventLoopGroupProvider = config.getEventLoopGroupProvider();
+            if (eventLoopGroupProvider != null) {
+                //Release only once. The shared group may still be used by other clients
+                if (!workerGroupReleased) {
+                    workerGroupReleased = true;
+                    eventLoopGroupProvider.release(workerGroup);
+                }
+            } else {
+                workerGroup.shutdownGracefully();
+            }
         }
     }
 
+    /**
+     * Close the current connection and connect again. This method blocks until the handshake is done.
+     */
     public void restartSession() {
+        await(restartSessionAsync());
+    }
+
+    /**
+     * Close the current connection and connect again once the channel is closed.
+     *
+     * @return future which completes when the handshake of the new connection is successful
+     */
+    public CompletableFuture<Void> restartSessionAsync() {
+        ChannelFuture closeFuture = null;
         if (session != null) {
             session.disableReconnection();
-            session.dispose();
+            closeFuture = session.close();
             session = null;
         }
 
-        //TODO -- find a better way to wait for session to close
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-        }
+        CompletableFuture<Void> restarted = new CompletableFuture<>();
+        Runnable restart = () -> {
+            for (var agent: agents) {
+                agent.reset();
+            }
 
-        for (var agent: agents) {
-            agent.reset();
-        }
+            try {
+                startAsync().whenComplete((result, throwable) -> {
+                    if (throwable != null)
+                        restarted.completeExceptionally(throwable);
+                    else
+                        restarted.complete(null);
+                });
+            } catch (Exception e) {
+                restarted.completeExceptionally(e);
+            }
+        };
+
+        //Start only after the disconnection of the current session is processed
+        if (closeFuture != null)
+            closeFuture.addListener(future -> restart.run());
+        else
+            restart.run();
 
-        start();
+        return restarted;
     }
 
     /**
@@ -163,7 +287,9 @@ public abstract class NodeClient {
     protected abstract SocketAddress createSocketAddress();
 
     /**
-     * Create and configure an EventLoopGroup. This method is invoked from {@link #start()}
+     * Create and configure an EventLoopGroup. This method is invoked from the constructor. If an
+     * {@link EventLoopGroupProvider} is configured, it's invoked only when the provider has no group for
+     * {@link #getChannelClass()}.
      *
      * @return
      */
@@ -192,6 +318,7 @@ public abstract class NodeClient {
         public void disconnected() {
             if (showConnectionLog())
                 log.info("Connection closed !!!");
+            metrics().disconnected();
             if (session != null) {
                 session.dispose();
             }
@@ -200,12 +327,14 @@ public abstract class NodeClient {
                 agent.disconnected();
             }
 
-            //TODO some delay
-            //Try to start again
+            //Try to start again. The handshake future of the first connection is completed only once
             if (session != null && session.shouldReconnect()) {
                 log.warn("Trying to reconnect !!!");
+                metrics().reconnectAttempt();
                 session = null; //reset session before creating a new one.
-                start();
+                connect();
+            } else {
+                failHandshake(new YaciRuntimeException("Connection closed"));
             }
         }
 
@@ -213,9 +342,14 @@ public abstract class NodeClient {
         public void connected() {
             if (showConnectionLog())
                 log.info("Connected !!!");
+            metrics().connected();
         }
     }
 
+    private NetworkMetrics metrics() {
+        return config != null ? config.getMetrics() : NetworkMetrics.NOOP;
+    }
+
     private boolean showConnectionLog() {
         return (config != null && config.isEnableConnectionLogging()) &&
                 (log.isDebugEnabled() || (handshakeAgent != null && !handshakeAgent.isSuppressConnectionInfoLog()));
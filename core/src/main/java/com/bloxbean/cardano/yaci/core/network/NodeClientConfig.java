@@ -1,5 +1,6 @@
 package com.bloxbean.cardano.yaci.core.network;
 
+import com.bloxbean.cardano.yaci.core.network.metrics.NetworkMetrics;
 import lombok.*;
 
 /**
@@ -62,6 +63,82 @@ public class NodeClientConfig {
     @Builder.Default
     private final int connectionTimeoutMs = 30000;
 
+    /**
+     * Whether to use {@link com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoIncrementalByteToMessageDecoder}
+     * to reassemble mini-protocol messages. It scans CBOR item boundaries incrementally and emits zero-copy slices
+     * instead of re-decoding the buffered bytes for every SDU.
+     * Default: false ({@link com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoStreamingByteToMessageDecoder})
+     */
+    @Builder.Default
+    private final boolean incrementalMuxDecoder = false;
+
+    /**
+     * Whether to use {@link com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoMuxEncoder} to write outbound
+     * messages. It writes payloads without copying, splits large messages into SDUs of {@link #maxSduSize},
+     * interleaves protocols fairly and coalesces the messages of an event loop tick into a single write.
+     * Default: false ({@link com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoRequestDataEncoder})
+     */
+    @Builder.Default
+    private final boolean muxEncoder = false;
+
+    /**
+     * Max payload size of an outbound SDU, used with {@link #muxEncoder}. Max 65535.
+     * Default: 12288
+     */
+    @Builder.Default
+    private final int maxSduSize = 12288;
+
+    /**
+     * Whether {@link TCPNodeClient} should use the native epoll transport when it is available (Linux).
+     * Falls back to NIO when epoll is not available.
+     * Default: true
+     */
+    @Builder.Default
+    private final boolean nativeTransport = true;
+
+    /**
+     * Whether to enable TCP_QUICKACK on TCP connections. Only applied with the native epoll transport.
+     * Default: false
+     */
+    @Builder.Default
+    private final boolean tcpQuickAck = false;
+
+    /**
+     * Whether the native epoll transport uses edge-triggered mode. Set to false to use level-triggered mode.
+     * Only applied with the native epoll transport.
+     * Default: true (Netty's default)
+     */
+    @Builder.Default
+    private final boolean epollEdgeTriggered = true;
+
+    /**
+     * SO_RCVBUF size in bytes for TCP connections. 0 keeps the OS default.
+     * Default: 0
+     */
+    @Builder.Default
+    private final int receiveBufferSize = 0;
+
+    /**
+     * SO_SNDBUF size in bytes for TCP connections. 0 keeps the OS default.
+     * Default: 0
+     */
+    @Builder.Default
+    private final int sendBufferSize = 0;
+
+    /**
+     * Provider to share event loop groups with other clients.
+     * Default: null (each client creates its own event loop group)
+     */
+    private final EventLoopGroupProvider eventLoopGroupProvider;
+
+    /**
+     * Metrics of the connection, e.g. bytes, SDUs and messages per protocol, decode time and reconnects.
+     * Use a separate instance per client to get per-connection metrics.
+     * Default: {@link NetworkMetrics#NOOP}
+     */
+    @Builder.Default
+    private final NetworkMetrics metrics = NetworkMetrics.NOOP;
+
     /**
      * Creates a default configuration with backward-compatible settings.
      * This is equivalent to calling {@code NodeClientConfig.builder().build()}
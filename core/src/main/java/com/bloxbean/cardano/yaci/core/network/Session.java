@@ -1,5 +1,6 @@
 package com.bloxbean.cardano.yaci.core.network;
 
+import com.bloxbean.cardano.yaci.core.exception.YaciRuntimeException;
 import com.bloxbean.cardano.yaci.core.protocol.Agent;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgent;
 import io.netty.bootstrap.Bootstrap;
@@ -8,6 +9,9 @@ import io.netty.channel.ChannelFuture;
 import lombok.extern.slf4j.Slf4j;
 
 import java.net.SocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
@@ -20,6 +24,8 @@ class Session implements Disposable {
     private final Bootstrap clientBootstrap;
     private Channel activeChannel;
     private final AtomicBoolean shouldReconnect;
+    //Set when the session is closed or disposed. A connection attempt in progress is not used after that.
+    private volatile boolean closed;
     private final HandshakeAgent handshakeAgent;
     private final Agent[] agents;
     private final NodeClientConfig config;
@@ -44,25 +50,81 @@ class Session implements Disposable {
         this.sessionListener = sessionListener;
     }
 
+    /**
+     * Open the connection and send the handshake request. This method blocks until the connection is established.
+     *
+     * @return this session
+     */
     public Disposable start() throws InterruptedException {
-        //Create a new connectFuture
-        ChannelFuture connectFuture = null;
-        // Always try to connect at least once, then retry only if shouldReconnect is true
-        do {
-            SocketAddress socketAddress = socketAddressSupplier.get();
-            try {
-                connectFuture = clientBootstrap.connect(socketAddress).sync();
-            } catch (Exception e) {
-                log.error("Connection failed to {}", socketAddress, e);
-                if (shouldReconnect.get()) {
-                    Thread.sleep(config.getInitialRetryDelayMs());
-                    log.debug("Trying to reconnect !!!");
-                } else {
-                    // If auto-reconnect is disabled, fail fast
-                    throw e;
-                }
-            }
-        } while (connectFuture == null && shouldReconnect.get());
+        try {
+            startAsync().get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new YaciRuntimeException("Connection failed", cause instanceof Exception ? (Exception) cause : e);
+        }
+        return this;
+    }
+
+    /**
+     * Open the connection and send the handshake request without blocking the caller.
+     * A failed connection attempt is retried after {@link NodeClientConfig#getInitialRetryDelayMs()} while
+     * reconnection is enabled, up to {@link NodeClientConfig#getMaxRetryAttempts()} times.
+     * Handshake completion is notified through {@link com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener}.
+     *
+     * @return future which completes when the connection is established
+     */
+    public CompletableFuture<Session> startAsync() {
+        CompletableFuture<Session> future = new CompletableFuture<>();
+        connect(future, 0);
+        return future;
+    }
+
+    private void connect(CompletableFuture<Session> future, int retries) {
+        if (closed || (retries > 0 && !shouldReconnect.get())) {
+            future.completeExceptionally(new YaciRuntimeException("Session is closed"));
+            return;
+        }
+
+        SocketAddress socketAddress = socketAddressSupplier.get();
+        ChannelFuture connectFuture;
+        try {
+            connectFuture = clientBootstrap.connect(socketAddress);
+        } catch (Exception e) {
+            onConnectFailure(future, retries, socketAddress, e);
+            return;
+        }
+
+        connectFuture.addListener((ChannelFuture cf) -> {
+            if (cf.isSuccess())
+                onConnected(cf.channel(), future, retries);
+            else
+                onConnectFailure(future, retries, socketAddress, cf.cause());
+        });
+    }
+
+    private void onConnectFailure(CompletableFuture<Session> future, int retries, SocketAddress socketAddress,
+                                  Throwable cause) {
+        log.error("Connection failed to {}", socketAddress, cause);
+        if (shouldReconnect.get() && retries < config.getMaxRetryAttempts()) {
+            log.debug("Trying to reconnect !!!");
+            config.getMetrics().reconnectAttempt();
+            CompletableFuture.delayedExecutor(config.getInitialRetryDelayMs(), TimeUnit.MILLISECONDS)
+                    .execute(() -> connect(future, retries + 1));
+        } else {
+            // If auto-reconnect is disabled, fail fast
+            future.completeExceptionally(cause);
+        }
+    }
+
+    private void onConnected(Channel channel, CompletableFuture<Session> future, int retries) {
+        if (closed || (retries > 0 && !shouldReconnect.get())) {
+            //The agents may already be attached to a new session. The channel would keep the event loop group in use
+            channel.close();
+            future.completeExceptionally(new YaciRuntimeException("Session is closed"));
+            return;
+        }
 
         handshakeAgent.reset();
         for (Agent agent: agents) {
@@ -70,38 +132,42 @@ class Session implements Disposable {
             agent.reset();
         }
 
-        activeChannel = connectFuture.channel();
+        activeChannel = channel;
 
         handshakeAgent.setChannel(activeChannel);
         for (Agent agent: agents) {
             agent.setChannel(activeChannel);
         }
 
-        connectFuture.addListeners((ChannelFuture cf) -> {
-            if (cf.isSuccess()) {
-                if (showConnectionLog())
-                    log.info("Connection established");
-                if (sessionListener != null)
-                    sessionListener.connected();
-                //Listen to the channel closing
-                var closeFuture = activeChannel.closeFuture();
-                closeFuture.addListeners((ChannelFuture closeFut) -> {
-                    if (log.isDebugEnabled())
-                        log.warn("Channel closed !!!");
-                    if (sessionListener != null)
-                        sessionListener.disconnected();
-                });
-
-            } else {
-                log.error("Connection failed");
-
-                if (sessionListener != null)
-                    sessionListener.disconnected();
-            }
+        if (showConnectionLog())
+            log.info("Connection established");
+        if (sessionListener != null)
+            sessionListener.connected();
+
+        //Listen to the channel closing
+        activeChannel.closeFuture().addListener((ChannelFuture closeFut) -> {
+            if (log.isDebugEnabled())
+                log.warn("Channel closed !!!");
+            if (sessionListener != null)
+                sessionListener.disconnected();
         });
 
         handshake();
-        return this;
+        future.complete(this);
+    }
+
+    /**
+     * Close the connection
+     *
+     * @return the channel's close future. Null if the connection was not established
+     */
+    public ChannelFuture close() {
+        closed = true;
+        if (activeChannel == null)
+            return null;
+
+        activeChannel.close();
+        return activeChannel.closeFuture();
     }
 
     /**
@@ -109,6 +175,7 @@ class Session implements Disposable {
      */
     @Override
     public void dispose() {
+        closed = true;
         if (showConnectionLog())
             log.info("Disposing the session !!!");
       //  try {
@@ -128,20 +195,12 @@ class Session implements Disposable {
         return shouldReconnect.get();
     }
 
+    /**
+     * Send the handshake request. The response is processed by {@link HandshakeAgent}.
+     */
     public void handshake() {
-        //Handshake First
-        while (!handshakeAgent.isDone()) {
-            if (handshakeAgent.hasAgency())
-                handshakeAgent.sendNextMessage();
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            }
-        }
-
-        if (log.isDebugEnabled())
-            log.debug("Handshake successful");
+        if (!handshakeAgent.isDone() && handshakeAgent.hasAgency())
+            handshakeAgent.sendNextMessage();
     }
 
     private boolean showConnectionLog() {
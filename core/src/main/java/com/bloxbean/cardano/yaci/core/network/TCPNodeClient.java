@@ -5,6 +5,11 @@ import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgent;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +20,9 @@ import java.net.SocketAddress;
 /**
  * This is the main class to initialize single or multiple agents for Node-to-node mini-protocol and setup channel handlers to send / process
  * network bytes.
+ * <p>
+ * The native epoll transport is used when it is available and {@link NodeClientConfig#isNativeTransport()} is true.
+ * Otherwise NIO transport is used.
  */
 @Slf4j
 public class TCPNodeClient extends NodeClient {
@@ -61,18 +69,46 @@ public class TCPNodeClient extends NodeClient {
 
     @Override
     protected EventLoopGroup configureEventLoopGroup() {
-        return new NioEventLoopGroup();
+        if (useEpoll()) {
+            if (log.isDebugEnabled())
+                log.debug("Using native epoll transport");
+            return new EpollEventLoopGroup();
+        } else
+            return new NioEventLoopGroup();
     }
 
     @Override
     protected Class getChannelClass() {
-        return NioSocketChannel.class;
+        if (useEpoll())
+            return EpollSocketChannel.class;
+        else
+            return NioSocketChannel.class;
     }
 
     @Override
     protected void configureChannel(Bootstrap bootstrap) {
+        NodeClientConfig config = getConfig();
         bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
         bootstrap.option(ChannelOption.TCP_NODELAY, true);
-        bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, getConfig().getConnectionTimeoutMs());
+        bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.getConnectionTimeoutMs());
+
+        if (config.getReceiveBufferSize() > 0)
+            bootstrap.option(ChannelOption.SO_RCVBUF, config.getReceiveBufferSize());
+        if (config.getSendBufferSize() > 0)
+            bootstrap.option(ChannelOption.SO_SNDBUF, config.getSendBufferSize());
+
+        if (useEpoll()) {
+            if (config.isTcpQuickAck())
+                bootstrap.option(EpollChannelOption.TCP_QUICKACK, true);
+            bootstrap.option(EpollChannelOption.EPOLL_MODE,
+                    config.isEpollEdgeTriggered() ? EpollMode.EDGE_TRIGGERED : EpollMode.LEVEL_TRIGGERED);
+        }
+    }
+
+    /**
+     * This method is also called from the super class constructor, so it only depends on the config.
+     */
+    private boolean useEpoll() {
+        return getConfig().isNativeTransport() && Epoll.isAvailable();
     }
 }
@@ -0,0 +1,193 @@
+package com.bloxbean.cardano.yaci.core.network.handlers;
+
+import com.bloxbean.cardano.yaci.core.exception.CborRuntimeException;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.RawCborReader;
+import io.netty.buffer.ByteBuf;
+
+import java.util.Arrays;
+
+import static com.bloxbean.cardano.yaci.core.model.serializers.util.RawCborReader.INDEFINITE;
+
+/**
+ * Resumable scanner to find CBOR item boundaries in a growing buffer without building DataItems.
+ * <p>
+ * The scanner only reads headers and lengths. It keeps the open container stack and the pending
+ * byte/text string length between calls, so every byte is visited once even when an item is spread
+ * across multiple SDUs. Offsets are relative to the buffer's reader index, which must not move
+ * until {@link #reset()} is called. Item headers are decoded with the same rules as {@link RawCborReader}.
+ */
+public class CborItemScanner {
+    private static final int MAJOR_BYTE_STRING = 2;
+    private static final int MAJOR_TEXT_STRING = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+
+    //Remaining items for each open container. -1 for indefinite length containers
+    private long[] pending = new long[16];
+    private int depth;
+    //Remaining bytes of a byte/text string payload
+    private long skip;
+    private int offset;
+
+    /**
+     * Continue scanning from the last position.
+     *
+     * @param buf buffer with the bytes received so far
+     * @return true if a complete top level item ends at {@link #offset()}, false if more bytes are required
+     */
+    public boolean scan(ByteBuf buf) {
+        final int base = buf.readerIndex();
+        final int readable = buf.readableBytes();
+
+        while (true) {
+            if (skip > 0) {
+                int n = (int) Math.min(skip, readable - offset);
+                offset += n;
+                skip -= n;
+                if (skip > 0)
+                    return false;
+
+                if (itemDone())
+                    return true;
+                continue;
+            }
+
+            if (offset >= readable)
+                return false;
+
+            int initialByte = buf.getUnsignedByte(base + offset);
+            int majorType = initialByte >>> 5;
+            int additionalInfo = initialByte & 0x1f;
+
+            int argLen = RawCborReader.argumentLength(additionalInfo);
+            if (readable - offset < 1 + argLen)
+                return false;
+
+            long arg = readArgument(buf, base + offset + 1, additionalInfo);
+            offset += 1 + argLen;
+
+            switch (majorType) {
+                case MAJOR_BYTE_STRING:
+                case MAJOR_TEXT_STRING:
+                    if (additionalInfo == INDEFINITE) {
+                        push(-1);
+                        break;
+                    }
+                    if (arg < 0)
+                        throw new CborRuntimeException("Invalid string length : " + arg);
+                    if (arg > 0) {
+                        skip = arg;
+                        break;
+                    }
+                    if (itemDone())
+                        return true;
+                    break;
+                case MAJOR_ARRAY:
+                case MAJOR_MAP:
+                    if (additionalInfo == INDEFINITE) {
+                        push(-1);
+                        break;
+                    }
+                    long count = majorType == MAJOR_MAP ? arg * 2 : arg;
+                    if (count < 0)
+                        throw new CborRuntimeException("Invalid container length : " + arg);
+                    if (count > 0) {
+                        push(count);
+                        break;
+                    }
+                    if (itemDone())
+                        return true;
+                    break;
+                case MAJOR_TAG:
+                    //Tagged item follows
+                    break;
+                case MAJOR_SIMPLE:
+                    if (additionalInfo == INDEFINITE) { //Break
+                        if (depth == 0 || pending[depth - 1] >= 0)
+                            throw new CborRuntimeException("Unexpected break at offset : " + (offset - 1));
+                        depth--;
+                    }
+                    if (itemDone())
+                        return true;
+                    break;
+                default: //Unsigned and negative integers
+                    if (additionalInfo == INDEFINITE)
+                        throw new CborRuntimeException("Invalid additional information for major type : " + majorType);
+                    if (itemDone())
+                        return true;
+            }
+        }
+    }
+
+    /**
+     * Length of the scanned bytes relative to the reader index
+     *
+     * @return offset
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Returns true if the scanner is not in the middle of an item
+     *
+     * @return true at an item boundary
+     */
+    public boolean atBoundary() {
+        return depth == 0 && skip == 0;
+    }
+
+    /**
+     * Reset the scanner. Call this after the scanned bytes are consumed from the buffer.
+     */
+    public void reset() {
+        depth = 0;
+        skip = 0;
+        offset = 0;
+    }
+
+    /**
+     * Check if the byte is the initial byte of a CBOR array
+     *
+     * @param initialByte initial byte
+     * @return true if major type is array
+     */
+    public static boolean isArrayHeader(int initialByte) {
+        return ((initialByte & 0xff) >>> 5) == MAJOR_ARRAY;
+    }
+
+    private boolean itemDone() {
+        while (depth > 0) {
+            int top = depth - 1;
+            if (pending[top] < 0)
+                return false;
+            if (--pending[top] > 0)
+                return false;
+            depth--;
+        }
+        return true;
+    }
+
+    private void push(long count) {
+        if (depth == pending.length)
+            pending = Arrays.copyOf(pending, depth * 2);
+        pending[depth++] = count;
+    }
+
+    private static long readArgument(ByteBuf buf, int index, int additionalInfo) {
+        switch (additionalInfo) {
+            case 24:
+                return buf.getUnsignedByte(index);
+            case 25:
+                return buf.getUnsignedShort(index);
+            case 26:
+                return buf.getUnsignedInt(index);
+            case 27:
+                return buf.getLong(index);
+            default:
+                return additionalInfo;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.bloxbean.cardano.yaci.core.network.handlers;
 
+import com.bloxbean.cardano.yaci.core.network.metrics.NetworkMetrics;
 import com.bloxbean.cardano.yaci.core.protocol.Agent;
 import com.bloxbean.cardano.yaci.core.protocol.Message;
 import com.bloxbean.cardano.yaci.core.protocol.Segment;
@@ -15,9 +16,16 @@ import java.util.Arrays;
 public class MiniProtoClientInboundHandler extends ChannelInboundHandlerAdapter {
     private final Agent handshakeAgent;
     private final Agent[] agents;
+    private final NetworkMetrics metrics;
+
     public MiniProtoClientInboundHandler(Agent handshakeAgent, Agent[] agents) {
+        this(handshakeAgent, agents, NetworkMetrics.NOOP);
+    }
+
+    public MiniProtoClientInboundHandler(Agent handshakeAgent, Agent[] agents, NetworkMetrics metrics) {
         this.handshakeAgent = handshakeAgent;
         this.agents = agents;
+        this.metrics = metrics;
     }
 
     @Override
@@ -30,13 +38,11 @@ public class MiniProtoClientInboundHandler extends ChannelInboundHandlerAdapter
         try {
             Segment segment = (Segment) msg;
             if (segment.getProtocol() == handshakeAgent.getProtocolId()) {
-                Message message = handshakeAgent.deserializeResponse(segment.getPayload());
-                handshakeAgent.receiveResponse(message);
+                handle(handshakeAgent, segment);
             } else {
                 for (Agent agent : agents) {
                     if (!agent.isDone() && agent.getProtocolId() == segment.getProtocol()) {
-                        Message message = agent.deserializeResponse(segment.getPayload());
-                        agent.receiveResponse(message);
+                        handle(agent, segment);
                         break;
                     }
                 }
@@ -48,6 +54,16 @@ public class MiniProtoClientInboundHandler extends ChannelInboundHandlerAdapter
         }
     }
 
+    private void handle(Agent agent, Segment segment) {
+        long start = System.nanoTime();
+        Message message = agent.deserializeResponse(segment.getPayload());
+        long decoded = System.nanoTime();
+        agent.receiveResponse(message);
+
+        metrics.messageDecoded(segment.getProtocol(), decoded - start);
+        metrics.messageProcessed(segment.getProtocol(), System.nanoTime() - decoded);
+    }
+
     public static void main(String[] args) {
         byte[] bytes = HexUtil.decodeHexString("000001e8000000618200ac011a2d964a091980021a2d964a091980031a2d964a091980041a2d964a091980051a2d964a091980061a2d964a091980071a2d964a091980081a2d964a091980091a2d964a0919800a1a2d964a0919800b1a2d964a0919800c1a2d964a09");
         byte[] slice = Arrays.copyOfRange(bytes, 8, bytes.length);
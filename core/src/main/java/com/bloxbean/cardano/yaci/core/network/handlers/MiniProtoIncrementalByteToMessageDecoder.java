@@ -0,0 +1,142 @@
+package com.bloxbean.cardano.yaci.core.network.handlers;
+
+import com.bloxbean.cardano.yaci.core.network.metrics.NetworkMetrics;
+import com.bloxbean.cardano.yaci.core.protocol.Agent;
+import com.bloxbean.cardano.yaci.core.protocol.Segment;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mux decoder which reassembles mini-protocol messages from SDUs in linear time.
+ * <p>
+ * SDU payloads are appended to a per-protocol {@link CompositeByteBuf} without copying. A {@link CborItemScanner}
+ * tracks CBOR item boundaries incrementally, so bytes already scanned are not decoded again when the next SDU arrives.
+ * Complete messages are emitted as {@link Segment}s backed by retained slices of the composite buffer.
+ * <p>
+ * Like {@link MiniProtoStreamingByteToMessageDecoder}, a top level item followed by non-array items in the same
+ * buffer is considered a single message.
+ */
+@Slf4j
+public class MiniProtoIncrementalByteToMessageDecoder extends ByteToMessageDecoder {
+    private static final int SDU_HEADER_SIZE = 8;
+    private static final int MAX_COMPONENTS = 1024;
+
+    private final Map<Integer, ProtocolBuffer> protocolBufferMap;
+    private final NetworkMetrics metrics;
+
+    public MiniProtoIncrementalByteToMessageDecoder(Agent... agents) {
+        this(NetworkMetrics.NOOP, agents);
+    }
+
+    public MiniProtoIncrementalByteToMessageDecoder(NetworkMetrics metrics, Agent... agents) {
+        this.metrics = metrics;
+        protocolBufferMap = new HashMap<>();
+        protocolBufferMap.put(0, new ProtocolBuffer()); //For handshake channel
+        for (Agent agent: agents) {
+            protocolBufferMap.put(agent.getProtocolId(), new ProtocolBuffer());
+        }
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        if (in.readableBytes() < SDU_HEADER_SIZE)
+            return;
+
+        int payloadLen = in.getUnsignedShort(in.readerIndex() + 6);
+        if (in.readableBytes() < SDU_HEADER_SIZE + payloadLen)
+            return;
+
+        int timestamp = (int) in.readUnsignedInt();
+        //Clear the mode bit (initiator / responder)
+        int protocol = in.readUnsignedShort() & 0x7FFF;
+        in.skipBytes(2);
+        metrics.sduReceived(protocol, payloadLen);
+
+        if (log.isTraceEnabled()) {
+            log.trace("Receive: Segment protocol >> " + protocol);
+            log.trace("Receive: Segment Timestamp >> " + timestamp);
+            log.trace("Receive: Segment len >> " + payloadLen);
+        }
+
+        ProtocolBuffer protocolBuffer = protocolBufferMap.get(protocol);
+        if (protocolBuffer == null) {
+            log.warn("Received segment for unknown protocol: {}, len: {}", protocol, payloadLen);
+            in.skipBytes(payloadLen);
+            return;
+        }
+
+        protocolBuffer.append(ctx, in.readRetainedSlice(payloadLen));
+        int start = out.size();
+        try {
+            protocolBuffer.drain(timestamp, (short) protocol, out);
+        } catch (Exception e) {
+            log.error("Decoding error. Discarding buffered bytes for protocol: " + protocol, e);
+            protocolBuffer.clear();
+        }
+
+        for (int i = start; i < out.size(); i++) {
+            metrics.messageReceived(protocol, ((Segment) out.get(i)).getPayloadLength());
+        }
+        metrics.inboundBuffered(protocol, protocolBuffer.bufferedBytes());
+    }
+
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) {
+        protocolBufferMap.values().forEach(ProtocolBuffer::release);
+    }
+
+    static class ProtocolBuffer {
+        private final CborItemScanner scanner = new CborItemScanner();
+        private CompositeByteBuf buffer;
+
+        void append(ChannelHandlerContext ctx, ByteBuf payload) {
+            if (buffer == null)
+                buffer = ctx.alloc().compositeBuffer(MAX_COMPONENTS);
+
+            buffer.addComponent(true, payload);
+        }
+
+        void drain(int timestamp, short protocol, List<Object> out) {
+            while (scanner.scan(buffer)) {
+                int len = scanner.offset();
+                //Non-array items after the first item are part of the same message.
+                //Exp. Local State Query : Current Protocol Param's maxCollateralInputs always comes as a separate DataItem.
+                if (len < buffer.readableBytes()
+                        && !CborItemScanner.isArrayHeader(buffer.getByte(buffer.readerIndex() + len)))
+                    continue;
+
+                out.add(Segment.ofBuffer(timestamp, protocol, buffer.readRetainedSlice(len)));
+                scanner.reset();
+            }
+
+            buffer.discardReadComponents();
+        }
+
+        int bufferedBytes() {
+            return buffer != null ? buffer.readableBytes() : 0;
+        }
+
+        void clear() {
+            scanner.reset();
+            if (buffer != null) {
+                buffer.skipBytes(buffer.readableBytes());
+                buffer.discardReadComponents();
+            }
+        }
+
+        void release() {
+            scanner.reset();
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.bloxbean.cardano.yaci.core.network.handlers;
+
+import com.bloxbean.cardano.yaci.core.network.metrics.NetworkMetrics;
+import com.bloxbean.cardano.yaci.core.protocol.Segment;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mux encoder which writes outbound {@link Segment}s as SDUs without copying large payloads.
+ * <p>
+ * Messages are queued per protocol and written on flush. Payloads larger than the max SDU size are split into
+ * multiple SDUs, and the protocols with pending messages take turns one SDU at a time, so a large message doesn't
+ * hold back the other protocols. Small payloads are copied into a shared buffer and large payloads are added as
+ * slices. All SDUs ready in the same event loop tick are coalesced into a single write and flush.
+ */
+@Slf4j
+public class MiniProtoMuxEncoder extends ChannelDuplexHandler {
+    public static final int MAX_SDU_SIZE = 65535;
+    public static final int DEFAULT_SDU_SIZE = 12288;
+
+    private static final int SDU_HEADER_SIZE = 8;
+    //Payloads up to this size are copied to the shared buffer instead of being added as a separate component
+    private static final int COPY_THRESHOLD = 1024;
+    private static final int MAX_BYTES_PER_WRITE = 256 * 1024;
+    private static final int MAX_COMPONENTS = 1024;
+
+    private final int maxSduSize;
+    private final NetworkMetrics metrics;
+    private final Map<Short, ProtocolQueue> protocolQueues = new HashMap<>();
+    private final ArrayDeque<ProtocolQueue> readyQueues = new ArrayDeque<>();
+    private boolean drainScheduled;
+
+    public MiniProtoMuxEncoder() {
+        this(DEFAULT_SDU_SIZE);
+    }
+
+    /**
+     * Create a MiniProtoMuxEncoder
+     *
+     * @param maxSduSize max payload size of an SDU. Max 65535
+     */
+    public MiniProtoMuxEncoder(int maxSduSize) {
+        this(maxSduSize, NetworkMetrics.NOOP);
+    }
+
+    /**
+     * Create a MiniProtoMuxEncoder
+     *
+     * @param maxSduSize max payload size of an SDU. Max 65535
+     * @param metrics metrics to report written SDUs and queue depths
+     */
+    public MiniProtoMuxEncoder(int maxSduSize, NetworkMetrics metrics) {
+        if (maxSduSize <= 0 || maxSduSize > MAX_SDU_SIZE)
+            throw new IllegalArgumentException("Invalid max SDU size: " + maxSduSize);
+
+        this.maxSduSize = maxSduSize;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (!(msg instanceof Segment)) {
+            ctx.write(msg, promise);
+            return;
+        }
+
+        Segment segment = (Segment) msg;
+        ByteBuf payload = segment.getPayloadBuf() != null ? segment.getPayloadBuf()
+                : Unpooled.wrappedBuffer(segment.getPayload());
+
+        ProtocolQueue queue = protocolQueues.computeIfAbsent(segment.getProtocol(), ProtocolQueue::new);
+        if (queue.messages.isEmpty())
+            readyQueues.addLast(queue);
+        queue.messages.addLast(new PendingMessage(segment.getTimestamp(), payload, promise));
+        metrics.outboundQueueDepth(queue.protocol, queue.messages.size());
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        //Drain after the current task, so that the messages written in the same tick are sent together
+        if (!readyQueues.isEmpty())
+            scheduleDrain(ctx);
+        //Messages which are not segments are written through and flushed now
+        ctx.flush();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable() && !readyQueues.isEmpty())
+            scheduleDrain(ctx);
+
+        super.channelWritabilityChanged(ctx);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) {
+        //Write the pending messages, e.g. a done message sent just before close. A drain is limited by the
+        //number of buffer components, so drain until all queues are empty.
+        try {
+            while (!readyQueues.isEmpty())
+                drain(ctx, Integer.MAX_VALUE);
+        } finally {
+            failPending(new ClosedChannelException());
+            ctx.close(promise);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        failPending(new ClosedChannelException());
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        failPending(new ClosedChannelException());
+    }
+
+    private void scheduleDrain(ChannelHandlerContext ctx) {
+        if (drainScheduled)
+            return;
+
+        drainScheduled = true;
+        ctx.executor().execute(() -> {
+            drainScheduled = false;
+            drain(ctx, MAX_BYTES_PER_WRITE);
+        });
+    }
+
+    private void drain(ChannelHandlerContext ctx, int maxBytes) {
+        if (readyQueues.isEmpty())
+            return;
+
+        CompositeByteBuf out = ctx.alloc().compositeBuffer(MAX_COMPONENTS);
+        ByteBuf current = null;
+        List<ChannelPromise> completed = new ArrayList<>();
+        int written = 0;
+
+        while (!readyQueues.isEmpty() && written < maxBytes && out.numComponents() < MAX_COMPONENTS - 2) {
+            ProtocolQueue queue = readyQueues.pollFirst();
+            PendingMessage message = queue.messages.peekFirst();
+            int len = Math.min(message.payload.readableBytes(), maxSduSize);
+
+            if (current == null)
+                current = ctx.alloc().buffer();
+
+            current.writeInt(message.timestamp);
+            current.writeShort(queue.protocol);
+            current.writeShort(len);
+
+            if (len <= COPY_THRESHOLD) {
+                current.writeBytes(message.payload, len);
+            } else {
+                out.addComponent(true, current);
+                out.addComponent(true, message.payload.readRetainedSlice(len));
+                current = null;
+            }
+            written += SDU_HEADER_SIZE + len;
+            metrics.sduSent(queue.protocol, len);
+
+            if (!message.payload.isReadable()) {
+                queue.messages.pollFirst();
+                message.payload.release();
+                completed.add(message.promise);
+                metrics.outboundQueueDepth(queue.protocol, queue.messages.size());
+            }
+
+            if (!queue.messages.isEmpty())
+                readyQueues.addLast(queue);
+        }
+
+        if (current != null)
+            out.addComponent(true, current);
+
+        if (log.isTraceEnabled())
+            log.trace("Write {} bytes, completed messages: {}", written, completed.size());
+
+        ctx.write(out).addListener(future -> {
+            for (ChannelPromise promise : completed) {
+                if (future.isSuccess())
+                    promise.trySuccess();
+                else
+                    promise.tryFailure(future.cause());
+            }
+        });
+        ctx.flush();
+
+        if (!readyQueues.isEmpty() && ctx.channel().isWritable())
+            scheduleDrain(ctx);
+    }
+
+    private void failPending(Throwable cause) {
+        for (ProtocolQueue queue : readyQueues) {
+            PendingMessage message;
+            while ((message = queue.messages.pollFirst()) != null) {
+                message.payload.release();
+                message.promise.tryFailure(cause);
+            }
+        }
+        readyQueues.clear();
+    }
+
+    private static class ProtocolQueue {
+        private final short protocol;
+        private final ArrayDeque<PendingMessage> messages = new ArrayDeque<>();
+
+        private ProtocolQueue(short protocol) {
+            this.protocol = protocol;
+        }
+    }
+
+    private static class PendingMessage {
+        private final int timestamp;
+        private final ByteBuf payload;
+        private final ChannelPromise promise;
+
+        private PendingMessage(int timestamp, ByteBuf payload, ChannelPromise promise) {
+            this.timestamp = timestamp;
+            this.payload = payload;
+            this.promise = promise;
+        }
+    }
+}
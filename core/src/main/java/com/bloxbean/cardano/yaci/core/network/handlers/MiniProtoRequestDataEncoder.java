@@ -1,17 +1,44 @@
 package com.bloxbean.cardano.yaci.core.network.handlers;
 
+import com.bloxbean.cardano.yaci.core.network.metrics.NetworkMetrics;
 import com.bloxbean.cardano.yaci.core.protocol.Segment;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class MiniProtoRequestDataEncoder extends MessageToByteEncoder<Segment> {
+    private final NetworkMetrics metrics;
+
+    public MiniProtoRequestDataEncoder() {
+        this(NetworkMetrics.NOOP);
+    }
+
+    public MiniProtoRequestDataEncoder(NetworkMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     @Override
     protected void encode(ChannelHandlerContext ctx,
                           Segment msg, ByteBuf out) throws Exception {
-        msg.serialize(out);
+        if (msg.getPayloadLength() <= MiniProtoMuxEncoder.MAX_SDU_SIZE) {
+            msg.serialize(out);
+            metrics.sduSent(msg.getProtocol(), msg.getPayloadLength());
+            return;
+        }
+
+        //Split payloads which don't fit in the 16 bit length field of a single SDU
+        ByteBuf payload = msg.getPayloadBuf() != null ? msg.getPayloadBuf().duplicate()
+                : Unpooled.wrappedBuffer(msg.getPayload());
+        while (payload.isReadable()) {
+            int len = Math.min(payload.readableBytes(), MiniProtoMuxEncoder.MAX_SDU_SIZE);
+            out.writeInt(msg.getTimestamp());
+            out.writeShort(msg.getProtocol());
+            out.writeShort(len);
+            out.writeBytes(payload, len);
+            metrics.sduSent(msg.getProtocol(), len);
+        }
     }
 }
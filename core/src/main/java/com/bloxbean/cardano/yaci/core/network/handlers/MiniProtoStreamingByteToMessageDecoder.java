@@ -4,6 +4,7 @@ import co.nstant.in.cbor.CborDecoder;
 import co.nstant.in.cbor.model.DataItem;
 import co.nstant.in.cbor.model.MajorType;
 import com.bloxbean.cardano.client.crypto.bip32.util.BytesUtil;
+import com.bloxbean.cardano.yaci.core.network.metrics.NetworkMetrics;
 import com.bloxbean.cardano.yaci.core.protocol.Agent;
 import com.bloxbean.cardano.yaci.core.protocol.Segment;
 import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
@@ -18,8 +19,14 @@ import java.util.*;
 public class MiniProtoStreamingByteToMessageDecoder
         extends ReplayingDecoder<Segment> {
     private final Map<Integer, ProtocolChannel> protocolChannelMap;
+    private final NetworkMetrics metrics;
 
     public MiniProtoStreamingByteToMessageDecoder(Agent... agents) {
+        this(NetworkMetrics.NOOP, agents);
+    }
+
+    public MiniProtoStreamingByteToMessageDecoder(NetworkMetrics metrics, Agent... agents) {
+        this.metrics = metrics;
         protocolChannelMap = new HashMap<>();
         protocolChannelMap.put(0, new ProtocolChannel()); //For handshake channel
         for (Agent agent: agents) {
@@ -42,6 +49,7 @@ public class MiniProtoStreamingByteToMessageDecoder
 
             byte[] payload = new byte[payloadLen];
             in.readBytes(payload);
+            metrics.sduReceived(protocol, payloadLen);
 
             if (log.isTraceEnabled()) {
                 log.trace("Receive: Segment protocol >> " + protocol);
@@ -104,6 +112,7 @@ public class MiniProtoStreamingByteToMessageDecoder
                     int len = segmentBytes.length;
 
                     out.add(segment);
+                    metrics.messageReceived(protocol, len);
 
                     if (bytes.length > len) {
                         bytes = Arrays.copyOfRange(bytes, len, bytes.length);
@@ -112,11 +121,13 @@ public class MiniProtoStreamingByteToMessageDecoder
                 }
 
                 protocolChannel.setBytes(bytes);
+                metrics.inboundBuffered(protocol, bytes.length);
                 in.markReaderIndex();
                 return;
 
             } catch (Exception e) {
                 protocolChannel.setBytes(bytes);
+                metrics.inboundBuffered(protocol, bytes.length);
                 return;
             }
         } catch (Exception e) {
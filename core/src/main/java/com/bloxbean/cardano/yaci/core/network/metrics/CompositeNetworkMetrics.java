@@ -0,0 +1,103 @@
+package com.bloxbean.cardano.yaci.core.network.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link NetworkMetrics} which forwards each event to a list of metrics, e.g. the application's metrics and the
+ * progress tracker of a fetcher.
+ */
+public class CompositeNetworkMetrics implements NetworkMetrics {
+    private final NetworkMetrics[] delegates;
+
+    private CompositeNetworkMetrics(NetworkMetrics[] delegates) {
+        this.delegates = delegates;
+    }
+
+    /**
+     * Combine metrics. Null and {@link NetworkMetrics#NOOP} entries are ignored.
+     *
+     * @param metrics metrics to forward to, in order
+     * @return the only metrics if just one is left, otherwise a composite
+     */
+    public static NetworkMetrics of(NetworkMetrics... metrics) {
+        List<NetworkMetrics> delegates = new ArrayList<>(metrics.length);
+        for (NetworkMetrics m : metrics) {
+            if (m != null && m != NetworkMetrics.NOOP)
+                delegates.add(m);
+        }
+
+        if (delegates.isEmpty())
+            return NetworkMetrics.NOOP;
+        if (delegates.size() == 1)
+            return delegates.get(0);
+
+        return new CompositeNetworkMetrics(delegates.toArray(new NetworkMetrics[0]));
+    }
+
+    @Override
+    public void connected() {
+        for (NetworkMetrics delegate : delegates)
+            delegate.connected();
+    }
+
+    @Override
+    public void disconnected() {
+        for (NetworkMetrics delegate : delegates)
+            delegate.disconnected();
+    }
+
+    @Override
+    public void reconnectAttempt() {
+        for (NetworkMetrics delegate : delegates)
+            delegate.reconnectAttempt();
+    }
+
+    @Override
+    public void sduReceived(int protocolId, int payloadLength) {
+        for (NetworkMetrics delegate : delegates)
+            delegate.sduReceived(protocolId, payloadLength);
+    }
+
+    @Override
+    public void sduSent(int protocolId, int payloadLength) {
+        for (NetworkMetrics delegate : delegates)
+            delegate.sduSent(protocolId, payloadLength);
+    }
+
+    @Override
+    public void messageReceived(int protocolId, int length) {
+        for (NetworkMetrics delegate : delegates)
+            delegate.messageReceived(protocolId, length);
+    }
+
+    @Override
+    public void messageSent(int protocolId, int length) {
+        for (NetworkMetrics delegate : delegates)
+            delegate.messageSent(protocolId, length);
+    }
+
+    @Override
+    public void messageDecoded(int protocolId, long nanos) {
+        for (NetworkMetrics delegate : delegates)
+            delegate.messageDecoded(protocolId, nanos);
+    }
+
+    @Override
+    public void messageProcessed(int protocolId, long nanos) {
+        for (NetworkMetrics delegate : delegates)
+            delegate.messageProcessed(protocolId, nanos);
+    }
+
+    @Override
+    public void inboundBuffered(int protocolId, int bytes) {
+        for (NetworkMetrics delegate : delegates)
+            delegate.inboundBuffered(protocolId, bytes);
+    }
+
+    @Override
+    public void outboundQueueDepth(int protocolId, int depth) {
+        for (NetworkMetrics delegate : delegates)
+            delegate.outboundQueueDepth(protocolId, depth);
+    }
+}
@@ -0,0 +1,108 @@
+package com.bloxbean.cardano.yaci.core.network.metrics;
+
+/**
+ * Metrics SPI for a {@link com.bloxbean.cardano.yaci.core.network.NodeClient} connection. Implement this interface
+ * to forward the wire level events to a metrics library, and set it through
+ * {@link com.bloxbean.cardano.yaci.core.network.NodeClientConfig#getMetrics()}. Use one instance per client to get
+ * per-connection metrics.
+ * <p>
+ * All methods are no-op by default. Except for the connection events, methods are called from the channel's event
+ * loop or the thread which writes a message, so implementations should be thread safe and cheap.
+ * Protocol ids are mini-protocol numbers without the mode bit, e.g. 2 for chain-sync and 3 for block-fetch.
+ *
+ * @see SimpleNetworkMetrics
+ */
+public interface NetworkMetrics {
+    NetworkMetrics NOOP = new NetworkMetrics() {};
+
+    /**
+     * Connection established
+     */
+    default void connected() {
+    }
+
+    /**
+     * Connection closed
+     */
+    default void disconnected() {
+    }
+
+    /**
+     * A reconnection is attempted, either after a disconnection or after a failed connection attempt
+     */
+    default void reconnectAttempt() {
+    }
+
+    /**
+     * An SDU is received. Bytes on the wire are payloadLength + 8 (SDU header)
+     *
+     * @param protocolId mini-protocol id
+     * @param payloadLength SDU payload length
+     */
+    default void sduReceived(int protocolId, int payloadLength) {
+    }
+
+    /**
+     * An SDU is written. Bytes on the wire are payloadLength + 8 (SDU header)
+     *
+     * @param protocolId mini-protocol id
+     * @param payloadLength SDU payload length
+     */
+    default void sduSent(int protocolId, int payloadLength) {
+    }
+
+    /**
+     * A complete message is reassembled from the received SDUs
+     *
+     * @param protocolId mini-protocol id
+     * @param length message length in bytes
+     */
+    default void messageReceived(int protocolId, int length) {
+    }
+
+    /**
+     * A message is serialized and written by an agent
+     *
+     * @param protocolId mini-protocol id
+     * @param length message length in bytes
+     */
+    default void messageSent(int protocolId, int length) {
+    }
+
+    /**
+     * Time taken to deserialize a received message
+     *
+     * @param protocolId mini-protocol id
+     * @param nanos decode time in nanoseconds
+     */
+    default void messageDecoded(int protocolId, long nanos) {
+    }
+
+    /**
+     * Time taken by the agent and its listeners to process a received message
+     *
+     * @param protocolId mini-protocol id
+     * @param nanos processing time in nanoseconds
+     */
+    default void messageProcessed(int protocolId, long nanos) {
+    }
+
+    /**
+     * Bytes buffered for a protocol while waiting for the rest of a message
+     *
+     * @param protocolId mini-protocol id
+     * @param bytes buffered bytes
+     */
+    default void inboundBuffered(int protocolId, int bytes) {
+    }
+
+    /**
+     * No of outbound messages of a protocol waiting to be written by
+     * {@link com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoMuxEncoder}
+     *
+     * @param protocolId mini-protocol id
+     * @param depth queue depth
+     */
+    default void outboundQueueDepth(int protocolId, int depth) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.bloxbean.cardano.yaci.core.network.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@link NetworkMetrics} implementation without any dependency on a metrics library. Counters are kept per
+ * mini-protocol and can be read at any time, e.g. to log or export them periodically.
+ */
+public class SimpleNetworkMetrics implements NetworkMetrics {
+    private static final int SDU_HEADER_SIZE = 8;
+
+    private final Map<Integer, ProtocolStats> protocolStats = new ConcurrentHashMap<>();
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder disconnections = new LongAdder();
+    private final LongAdder reconnectAttempts = new LongAdder();
+
+    @Override
+    public void connected() {
+        connections.increment();
+    }
+
+    @Override
+    public void disconnected() {
+        disconnections.increment();
+    }
+
+    @Override
+    public void reconnectAttempt() {
+        reconnectAttempts.increment();
+    }
+
+    @Override
+    public void sduReceived(int protocolId, int payloadLength) {
+        ProtocolStats stats = stats(protocolId);
+        stats.sdusReceived.increment();
+        stats.bytesReceived.add(payloadLength + SDU_HEADER_SIZE);
+    }
+
+    @Override
+    public void sduSent(int protocolId, int payloadLength) {
+        ProtocolStats stats = stats(protocolId);
+        stats.sdusSent.increment();
+        stats.bytesSent.add(payloadLength + SDU_HEADER_SIZE);
+    }
+
+    @Override
+    public void messageReceived(int protocolId, int length) {
+        stats(protocolId).messagesReceived.increment();
+    }
+
+    @Override
+    public void messageSent(int protocolId, int length) {
+        stats(protocolId).messagesSent.increment();
+    }
+
+    @Override
+    public void messageDecoded(int protocolId, long nanos) {
+        stats(protocolId).decodeTime.record(nanos);
+    }
+
+    @Override
+    public void messageProcessed(int protocolId, long nanos) {
+        stats(protocolId).processTime.record(nanos);
+    }
+
+    @Override
+    public void inboundBuffered(int protocolId, int bytes) {
+        stats(protocolId).inboundBuffered = bytes;
+    }
+
+    @Override
+    public void outboundQueueDepth(int protocolId, int depth) {
+        stats(protocolId).outboundQueueDepth = depth;
+    }
+
+    /**
+     * Get the stats of a mini-protocol
+     *
+     * @param protocolId mini-protocol id
+     * @return stats. Empty stats if nothing is recorded for the protocol yet
+     */
+    public ProtocolStats getProtocolStats(int protocolId) {
+        return stats(protocolId);
+    }
+
+    /**
+     * @return stats of all the protocols with recorded events, by protocol id
+     */
+    public Map<Integer, ProtocolStats> getProtocolStats() {
+        return Collections.unmodifiableMap(protocolStats);
+    }
+
+    public long getBytesReceived() {
+        return protocolStats.values().stream().mapToLong(ProtocolStats::getBytesReceived).sum();
+    }
+
+    public long getBytesSent() {
+        return protocolStats.values().stream().mapToLong(ProtocolStats::getBytesSent).sum();
+    }
+
+    public long getConnections() {
+        return connections.sum();
+    }
+
+    public long getDisconnections() {
+        return disconnections.sum();
+    }
+
+    public long getReconnectAttempts() {
+        return reconnectAttempts.sum();
+    }
+
+    private ProtocolStats stats(int protocolId) {
+        return protocolStats.computeIfAbsent(protocolId, id -> new ProtocolStats());
+    }
+
+    public static class ProtocolStats {
+        private final LongAdder sdusReceived = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder sdusSent = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder messagesReceived = new LongAdder();
+        private final LongAdder messagesSent = new LongAdder();
+        private final LatencyHistogram decodeTime = new LatencyHistogram();
+        private final LatencyHistogram processTime = new LatencyHistogram();
+        private volatile int inboundBuffered;
+        private volatile int outboundQueueDepth;
+
+        public long getSdusReceived() {
+            return sdusReceived.sum();
+        }
+
+        /**
+         * @return bytes received including SDU headers
+         */
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        public long getSdusSent() {
+            return sdusSent.sum();
+        }
+
+        /**
+         * @return bytes sent including SDU headers
+         */
+        public long getBytesSent() {
+            return bytesSent.sum();
+        }
+
+        public long getMessagesReceived() {
+            return messagesReceived.sum();
+        }
+
+        public long getMessagesSent() {
+            return messagesSent.sum();
+        }
+
+        /**
+         * @return histogram of message decode time in nanoseconds
+         */
+        public LatencyHistogram getDecodeTime() {
+            return decodeTime;
+        }
+
+        /**
+         * @return histogram of agent and listener time per message in nanoseconds
+         */
+        public LatencyHistogram getProcessTime() {
+            return processTime;
+        }
+
+        public int getInboundBuffered() {
+            return inboundBuffered;
+        }
+
+        public int getOutboundQueueDepth() {
+            return outboundQueueDepth;
+        }
+
+        @Override
+        public String toString() {
+            return "ProtocolStats{" +
+                    "sdusReceived=" + getSdusReceived() +
+                    ", bytesReceived=" + getBytesReceived() +
+                    ", sdusSent=" + getSdusSent() +
+                    ", bytesSent=" + getBytesSent() +
+                    ", messagesReceived=" + getMessagesReceived() +
+                    ", messagesSent=" + getMessagesSent() +
+                    ", decodeTimeP99=" + decodeTime.getPercentile(99) +
+                    ", processTimeP99=" + processTime.getPercentile(99) +
+                    ", inboundBuffered=" + inboundBuffered +
+                    ", outboundQueueDepth=" + outboundQueueDepth +
+                    '}';
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.bloxbean.cardano.yaci.core.protocol;
 
+import com.bloxbean.cardano.yaci.core.network.metrics.NetworkMetrics;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.AcceptVersion;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,6 +18,7 @@ public abstract class Agent<T extends AgentListener> {
     private Channel channel;
     private final List<T> agentListeners = new ArrayList<>();
     private AcceptVersion acceptVersion;
+    private NetworkMetrics metrics = NetworkMetrics.NOOP;
 
     public void setChannel(Channel channel) {
         if (this.channel != null && this.channel.isActive())
@@ -24,6 +27,23 @@ public abstract class Agent<T extends AgentListener> {
         this.channel = channel;
     }
 
+    protected Channel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Set the metrics to report the written messages. This method is invoked by the NodeClient.
+     *
+     * @param metrics metrics of the connection
+     */
+    public void setMetrics(NetworkMetrics metrics) {
+        this.metrics = metrics != null ? metrics : NetworkMetrics.NOOP;
+    }
+
+    protected NetworkMetrics getMetrics() {
+        return metrics;
+    }
+
     public void sendRequest(Message message) {
         if (currenState.hasAgency()) {
             currenState = currenState.nextState(message);
@@ -52,20 +72,29 @@ public abstract class Agent<T extends AgentListener> {
             if (message == null)
                 return;
 
-            if (instant == null)
-                instant = Instant.now();
+            writeMessage(message);
+            this.sendRequest(message);
+        }
+    }
 
-            int elapseTime = Duration.between(instant, Instant.now()).getNano() / 1000;
+    /**
+     * Write a message to the channel without any state transition. Agents which pipeline requests use this method
+     * to send additional requests while waiting for the responses of the earlier ones.
+     *
+     * @param message message to write
+     */
+    protected final void writeMessage(Message message) {
+        if (instant == null)
             instant = Instant.now();
-            Segment segment = Segment.builder()
-                    .timestamp(elapseTime)
-                    .protocol((short) this.getProtocolId())
-                    .payload(message.serialize())
-                    .build();
 
-            channel.writeAndFlush(segment);
-            this.sendRequest(message);
-        }
+        int elapseTime = Duration.between(instant, Instant.now()).getNano() / 1000;
+        instant = Instant.now();
+        //Wrap the serialized bytes, so that the mux encoder can write the payload without a copy
+        byte[] bytes = message.serialize();
+        Segment segment = Segment.ofBuffer(elapseTime, (short) this.getProtocolId(), Unpooled.wrappedBuffer(bytes));
+
+        channel.writeAndFlush(segment);
+        metrics.messageSent(getProtocolId(), bytes.length);
     }
 
     public final boolean hasAgency() {
@@ -1,6 +1,8 @@
 package com.bloxbean.cardano.yaci.core.protocol;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.ReferenceCounted;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,16 +16,51 @@ import java.io.IOException;
 @AllArgsConstructor
 @Builder(toBuilder = true)
 @Slf4j
-public class Segment {
+public class Segment implements ReferenceCounted {
     private int timestamp;
     private short protocol;
     private byte[] payload;
 
+    //Optional slice of the inbound buffer. When set, payload bytes are copied out only on first access.
+    private ByteBuf payloadBuf;
+
+    public Segment(int timestamp, short protocol, byte[] payload) {
+        this(timestamp, protocol, payload, null);
+    }
+
+    /**
+     * Create a segment backed by a slice of the inbound buffer. The segment takes ownership of the buffer,
+     * which is released through {@link #release()}.
+     *
+     * @param timestamp timestamp
+     * @param protocol protocol id
+     * @param payloadBuf payload slice
+     * @return segment
+     */
+    public static Segment ofBuffer(int timestamp, short protocol, ByteBuf payloadBuf) {
+        return new Segment(timestamp, protocol, null, payloadBuf);
+    }
+
+    public byte[] getPayload() {
+        if (payload == null && payloadBuf != null)
+            payload = ByteBufUtil.getBytes(payloadBuf);
+        return payload;
+    }
+
+    public int getPayloadLength() {
+        if (payload != null)
+            return payload.length;
+        return payloadBuf != null ? payloadBuf.readableBytes() : 0;
+    }
+
     public void serialize(ByteBuf out) throws IOException {
         out.writeInt(timestamp);
         out.writeShort(protocol);
-        out.writeShort(payload.length);
-        out.writeBytes(payload);
+        out.writeShort(getPayloadLength());
+        if (payload == null && payloadBuf != null)
+            out.writeBytes(payloadBuf, payloadBuf.readerIndex(), payloadBuf.readableBytes());
+        else
+            out.writeBytes(payload);
     }
 
     public static Segment deserialize(ByteBuf in) {
@@ -58,4 +95,47 @@ public class Segment {
 
         return segment;
     }
+
+    @Override
+    public int refCnt() {
+        return payloadBuf != null ? payloadBuf.refCnt() : 1;
+    }
+
+    @Override
+    public Segment retain() {
+        if (payloadBuf != null)
+            payloadBuf.retain();
+        return this;
+    }
+
+    @Override
+    public Segment retain(int increment) {
+        if (payloadBuf != null)
+            payloadBuf.retain(increment);
+        return this;
+    }
+
+    @Override
+    public Segment touch() {
+        if (payloadBuf != null)
+            payloadBuf.touch();
+        return this;
+    }
+
+    @Override
+    public Segment touch(Object hint) {
+        if (payloadBuf != null)
+            payloadBuf.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return payloadBuf != null && payloadBuf.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return payloadBuf != null && payloadBuf.release(decrement);
+    }
 }
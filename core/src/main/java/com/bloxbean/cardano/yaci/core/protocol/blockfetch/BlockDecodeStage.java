@@ -0,0 +1,147 @@
+package com.bloxbean.cardano.yaci.core.protocol.blockfetch;
+
+import io.netty.channel.Channel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Decodes blocks on a pool of worker threads and runs the results on the channel's event loop in the order the
+ * messages were received.
+ * <p>
+ * Each submitted task returns the action which notifies the listeners. Tasks are decoded in parallel, but an action
+ * runs only after the actions of all earlier tasks and events. When too many blocks are waiting, reading from the
+ * channel is paused until the backlog is halved.
+ */
+@Slf4j
+class BlockDecodeStage {
+    private static final AtomicInteger poolCounter = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final int maxPendingTasks;
+    private final Deque<CompletableFuture<Runnable>> pending = new ArrayDeque<>();
+    private Channel suspendedChannel;
+
+    BlockDecodeStage(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism should be greater than 0");
+
+        this.executor = Executors.newFixedThreadPool(parallelism, new DecoderThreadFactory());
+        this.maxPendingTasks = parallelism * 4;
+    }
+
+    /**
+     * Decode in a worker thread
+     *
+     * @param task    decode task which returns the action to run on the event loop
+     * @param channel channel the message was received from
+     */
+    void submit(Supplier<Runnable> task, Channel channel) {
+        CompletableFuture<Runnable> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Block decoder is already shutdown. Ignoring the block");
+            return;
+        }
+
+        add(future, channel);
+    }
+
+    /**
+     * Run an action after the actions of all earlier tasks
+     *
+     * @param action  action to run on the event loop
+     * @param channel channel the message was received from
+     */
+    void execute(Runnable action, Channel channel) {
+        add(CompletableFuture.completedFuture(action), channel);
+    }
+
+    /**
+     * Drop the results which are not delivered yet. Called when the connection is reset.
+     */
+    synchronized void clear() {
+        pending.clear();
+        resumeRead();
+    }
+
+    /**
+     * @return true if some results are not delivered yet
+     */
+    synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    void shutdown() {
+        clear();
+        executor.shutdown();
+    }
+
+    private void add(CompletableFuture<Runnable> future, Channel channel) {
+        synchronized (this) {
+            pending.addLast(future);
+
+            if (pending.size() >= maxPendingTasks && suspendedChannel == null) {
+                channel.config().setAutoRead(false);
+                suspendedChannel = channel;
+            }
+        }
+
+        future.whenComplete((action, throwable) -> {
+            try {
+                channel.eventLoop().execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.debug("Event loop is shutdown. Decoded block can't be delivered", e);
+            }
+        });
+    }
+
+    private void drain() {
+        for (;;) {
+            CompletableFuture<Runnable> head;
+            synchronized (this) {
+                head = pending.peekFirst();
+                if (head == null || !head.isDone())
+                    return;
+
+                pending.removeFirst();
+                if (pending.size() <= maxPendingTasks / 2)
+                    resumeRead();
+            }
+
+            try {
+                head.join().run();
+            } catch (Exception e) {
+                log.error("Error in block decoder", e);
+            }
+        }
+    }
+
+    private void resumeRead() {
+        if (suspendedChannel != null) {
+            suspendedChannel.config().setAutoRead(true);
+            suspendedChannel = null;
+        }
+    }
+
+    private static class DecoderThreadFactory implements ThreadFactory {
+        private final int poolNo = poolCounter.incrementAndGet();
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "yaci-block-decoder-" + poolNo + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.bloxbean.cardano.yaci.core.protocol.blockfetch;
+
+import co.nstant.in.cbor.model.Array;
+import com.bloxbean.cardano.yaci.core.common.EraUtil;
+import com.bloxbean.cardano.yaci.core.exception.BlockParseRuntimeException;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlock;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronMainBlock;
+import com.bloxbean.cardano.yaci.core.model.serializers.BlockHeaderSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.BlockSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.ByronBlockSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.ByronEbBlockSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
+import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Decodes raw block bytes as received in MsgBlock ([era, block]) with the era specific serializer.
+ * <p>
+ * The result is the {@link BlockfetchAgentListener} callback for the decoded block, so decoding can be done on any
+ * thread and the listeners can be notified later in the order the blocks were received.
+ */
+@Slf4j
+public final class BlockDecoder {
+
+    private BlockDecoder() {
+
+    }
+
+    /**
+     * Decode block bytes. A parsing error is returned as an {@link BlockfetchAgentListener#onParsingError} callback.
+     *
+     * @param body block bytes
+     * @return callback to invoke on each listener
+     */
+    public static Consumer<BlockfetchAgentListener> decode(byte[] body) {
+        try {
+            //Read era from the initial bytes. The block is decoded only once by the era specific serializer
+            int eraValue = BlockExtractor.getEraValue(body);
+            Era era = EraUtil.getEra(eraValue);
+
+            if (era == Era.Byron) {
+                if (eraValue == 0) { //Epoch boundry block
+                    ByronEbBlock block = ByronEbBlockSerializer.INSTANCE.deserialize(body);
+                    return listener -> listener.byronEbBlockFound(block);
+                } else if (eraValue == 1) {
+                    ByronMainBlock block = ByronBlockSerializer.INSTANCE.deserialize(body);
+                    return listener -> listener.byronBlockFound(block);
+                } else {
+                    return listener -> {};
+                }
+            } else {
+                Block block = BlockSerializer.INSTANCE.deserialize(body);
+                if (log.isDebugEnabled())
+                    log.info("Block >> {}, {}, {}", eraValue, block.getHeader().getHeaderBody().getBlockNumber(), block.getHeader().getHeaderBody().getSlot());
+
+                return listener -> listener.blockFound(block);
+            }
+        } catch (Exception e) {
+            var blockParseException = parseError(body, e);
+            return listener -> listener.onParsingError(blockParseException);
+        }
+    }
+
+    /**
+     * Build the parsing error for a block. The block number is read from the header, if possible.
+     *
+     * @param body block bytes
+     * @param e    cause
+     * @return parsing error
+     */
+    static BlockParseRuntimeException parseError(byte[] body, Exception e) {
+        log.error("Error in parsing", e);
+
+        Long blockNumber = null;
+        //Catch exception to avoid exception propagation
+        try {
+            Array array = (Array) CborSerializationUtil.deserializeOne(body);
+            Array headerArray = (Array) ((Array) array.getDataItems().get(1)).getDataItems().get(0);
+            BlockHeader blockHeader = BlockHeaderSerializer.INSTANCE.getBlockHeaderFromHeaderArray(headerArray);
+            log.error("BlockHeader >> Block No: " + blockHeader.getHeaderBody().getBlockNumber() + ", Slot: " + blockHeader.getHeaderBody().getSlot());
+            blockNumber = blockHeader.getHeaderBody().getBlockNumber();
+        } catch (Exception e1) {
+            log.error("Error in parsing block header", e1);
+        }
+
+        return new BlockParseRuntimeException(blockNumber, body, e);
+    }
+}
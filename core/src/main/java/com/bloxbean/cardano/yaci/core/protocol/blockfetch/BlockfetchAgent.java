@@ -1,26 +1,21 @@
 package com.bloxbean.cardano.yaci.core.protocol.blockfetch;
 
-import co.nstant.in.cbor.model.Array;
-import co.nstant.in.cbor.model.UnsignedInteger;
-import com.bloxbean.cardano.yaci.core.common.EraUtil;
 import com.bloxbean.cardano.yaci.core.common.GenesisConfig;
 import com.bloxbean.cardano.yaci.core.exception.BlockParseRuntimeException;
 import com.bloxbean.cardano.yaci.core.model.Block;
-import com.bloxbean.cardano.yaci.core.model.BlockHeader;
 import com.bloxbean.cardano.yaci.core.model.Era;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlock;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronMainBlock;
-import com.bloxbean.cardano.yaci.core.model.serializers.BlockHeaderSerializer;
-import com.bloxbean.cardano.yaci.core.model.serializers.BlockSerializer;
-import com.bloxbean.cardano.yaci.core.model.serializers.ByronBlockSerializer;
-import com.bloxbean.cardano.yaci.core.model.serializers.ByronEbBlockSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
 import com.bloxbean.cardano.yaci.core.protocol.Agent;
 import com.bloxbean.cardano.yaci.core.protocol.Message;
 import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.*;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
-import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import com.bloxbean.cardano.yaci.core.storage.BlockStore;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.function.Consumer;
+
 import static com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchState.Idle;
 
 @Slf4j
@@ -31,6 +26,10 @@ public class BlockfetchAgent extends Agent<BlockfetchAgentListener> {
     private final long startTime;
     private long counter;
     private long errorBlks;
+    private BlockDecodeStage decodeStage;
+    private BlockStore blockStore;
+    //Rollback point received while a range was in flight. Blocks of that range after this point are dropped.
+    private Point discardAfter;
 
     public BlockfetchAgent() {
         this.currenState = Idle;
@@ -38,6 +37,55 @@ public class BlockfetchAgent extends Agent<BlockfetchAgentListener> {
         this.startTime = System.currentTimeMillis();
     }
 
+    /**
+     * Decode blocks on a pool of worker threads instead of the Netty event loop. Blocks are decoded in parallel,
+     * but listeners are still notified on the event loop in the order the blocks were received. Batch and
+     * no-block events are also notified after the blocks received before them.
+     * <p>
+     * This method should be called before the connection is started.
+     *
+     * @param parallelism number of decoder threads
+     */
+    public void enableParallelDecoding(int parallelism) {
+        if (decodeStage != null)
+            decodeStage.shutdown();
+
+        this.decodeStage = new BlockDecodeStage(parallelism);
+    }
+
+    /**
+     * Write the raw bytes of each received block to the block store before it's decoded. Blocks are written in the
+     * order they are received. Write failures are reported through {@link BlockfetchAgentListener#onBlockStoreError}.
+     *
+     * @param blockStore block store, or null to disable write-through
+     */
+    public void setBlockStore(BlockStore blockStore) {
+        this.blockStore = blockStore;
+    }
+
+    /**
+     * Handle a chain-sync rollback. Blocks of the range in flight which are after the rollback point are from the old
+     * fork. They are not written to the block store and not delivered to the listeners. The block store is rolled
+     * back to the point.
+     *
+     * @param point rollback point
+     */
+    public void rollbackTo(Point point) {
+        if (currenState != Idle || (decodeStage != null && decodeStage.hasPending())) {
+            if (discardAfter == null || point.getSlot() < discardAfter.getSlot())
+                discardAfter = point;
+        }
+
+        if (blockStore != null) {
+            try {
+                blockStore.rollbackTo(point);
+            } catch (Exception e) {
+                log.error("Unable to rollback block store to " + point, e);
+                onBlockStoreError(e);
+            }
+        }
+    }
+
     @Override
     public int getProtocolId() {
         return 3;
@@ -65,11 +113,11 @@ public class BlockfetchAgent extends Agent<BlockfetchAgentListener> {
         if (message instanceof StartBatch) {
             if (log.isDebugEnabled())
                 log.debug("Batch starting !!!");
-            onBachStart();
+            runInOrder(this::onBachStart);
         } else if (message instanceof BatchDone) { //Blocks found
             if (log.isDebugEnabled())
                 log.debug("BatchDone >> {}", message);
-            onBatchDone();
+            runInOrder(this::onBatchDone);
         } else if (message instanceof NoBlocks) {
             if (log.isDebugEnabled()) {
                 log.debug("NoBlocks {}", message);
@@ -77,7 +125,9 @@ public class BlockfetchAgent extends Agent<BlockfetchAgentListener> {
             }
 
             log.warn("NoBlocks : {} to {}", from, to);
-            onNoBlocks(from, to);
+            Point fromPoint = from;
+            Point toPoint = to;
+            runInOrder(() -> onNoBlocks(fromPoint, toPoint));
         } else if (message instanceof MsgBlock) {
             if (log.isDebugEnabled())
                 log.debug("Msg block");
@@ -86,6 +136,7 @@ public class BlockfetchAgent extends Agent<BlockfetchAgentListener> {
     }
 
     private void onNoBlocks(Point fromPoint, Point toPoint) {
+        discardAfter = null;
         getAgentListeners().stream()
                 .forEach(blockfetchAgentListener -> blockfetchAgentListener.noBlockFound(fromPoint, toPoint));
     }
@@ -94,71 +145,120 @@ public class BlockfetchAgent extends Agent<BlockfetchAgentListener> {
         getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.batchStarted());
     }
 
+    private void runInOrder(Runnable action) {
+        if (decodeStage != null)
+            decodeStage.execute(action, getChannel());
+        else
+            action.run();
+    }
+
     private void onReceiveBlocks(MsgBlock message) {
         byte[] body = message.getBytes();
+        if (discardAfter != null && isAfterRollback(body))
+            return;
+
+        if (blockStore != null)
+            storeBlock(body);
 
-        Array array = (Array) CborSerializationUtil.deserializeOne(body);
-        int eraValue = ((UnsignedInteger)array.getDataItems().get(0)).getValue().intValue();
+        if (decodeStage != null)
+            decodeStage.submit(() -> decodeBlock(body), getChannel());
+        else
+            decodeBlock(body).run();
+    }
+
+    private void storeBlock(byte[] body) {
         try {
-            Era era = EraUtil.getEra(eraValue);
-
-            if (era == Era.Byron) {
-                if (eraValue == 0) { //Epoch boundry block
-                    ByronEbBlock block = ByronEbBlockSerializer.INSTANCE.deserialize(body);
-
-                    //move from cursor
-                    counter++;
-                    getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.byronEbBlockFound(block));
-
-                    long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
-                            block.getHeader().getConsensusData().getEpoch(), 0);
-                    this.from = new Point(absoluteSlot, block.getHeader().getBlockHash());
-                } else if (eraValue == 1) {
-                    ByronMainBlock block = ByronBlockSerializer.INSTANCE.deserialize(body);
-
-                    //move from cursor
-                    counter++;
-                    getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.byronBlockFound(block));
-
-                    long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
-                            block.getHeader().getConsensusData().getSlotId().getEpoch(),
-                            block.getHeader().getConsensusData().getSlotId().getSlot());
-                    this.from = new Point(absoluteSlot, block.getHeader().getBlockHash());
-                }
-            } else {
-                Block block = BlockSerializer.INSTANCE.deserialize(body);
-                if (log.isDebugEnabled())
-                    log.info("Block >> {}, {}, {}", eraValue, block.getHeader().getHeaderBody().getBlockNumber(), block.getHeader().getHeaderBody().getSlot());
-
-                //move from cursor
-                counter++;
-                getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.blockFound(block));
-                this.from = new Point(block.getHeader().getHeaderBody().getSlot(), block.getHeader().getHeaderBody().getBlockHash());
-            }
+            blockStore.append(body);
         } catch (Exception e) {
-            errorBlks++;
-            log.error("Error in parsing", e);
-
-            Long blockNumber = null;
-            //Catch exception to avoid exception propagation
-            try {
-                Array headerArray = (Array) ((Array) array.getDataItems().get(1)).getDataItems().get(0);
-                BlockHeader blockHeader = BlockHeaderSerializer.INSTANCE.getBlockHeaderFromHeaderArray(headerArray);
-                log.error("BlockHeader >> Block No: " + blockHeader.getHeaderBody().getBlockNumber() + ", Slot: " + blockHeader.getHeaderBody().getSlot());
-                blockNumber = blockHeader.getHeaderBody().getBlockNumber();
-            } catch (Exception e1) {
-                log.error("Error in parsing block header", e1);
-            }
+            log.error("Unable to write block to the block store", e);
+            runInOrder(() -> onBlockStoreError(e));
+        }
+    }
 
-            var blockParseException = new BlockParseRuntimeException(blockNumber, body, e);
-            getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.onParsingError(blockParseException));
+    private boolean isAfterRollback(byte[] body) {
+        long slot;
+        try {
+            slot = BlockExtractor.getSlot(body);
+        } catch (Exception e) {
+            //Decoding will report the error
+            return false;
         }
+
+        return isDiscarded(new Point(slot, null));
+    }
+
+    private boolean isDiscarded(Point point) {
+        if (discardAfter == null || point.getSlot() <= discardAfter.getSlot())
+            return false;
+
+        if (log.isDebugEnabled())
+            log.debug("Dropping block at slot {} received after rollback to {}", point.getSlot(), discardAfter);
+        return true;
+    }
+
+    /**
+     * Decode block bytes. This method doesn't change the agent state, so it can be called from a decoder thread.
+     *
+     * @param body block bytes
+     * @return the action which notifies the listeners
+     */
+    private Runnable decodeBlock(byte[] body) {
+        Consumer<BlockfetchAgentListener> callback = BlockDecoder.decode(body);
+        return () -> callback.accept(new DecodedBlockHandler(body));
+    }
+
+    private void onByronEbBlock(ByronEbBlock block) {
+        long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
+                block.getHeader().getConsensusData().getEpoch(), 0);
+        Point point = new Point(absoluteSlot, block.getHeader().getBlockHash());
+        if (isDiscarded(point))
+            return;
+
+        //move from cursor
+        counter++;
+        getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.byronEbBlockFound(block));
+        this.from = point;
+    }
+
+    private void onByronBlock(ByronMainBlock block) {
+        long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
+                block.getHeader().getConsensusData().getSlotId().getEpoch(),
+                block.getHeader().getConsensusData().getSlotId().getSlot());
+        Point point = new Point(absoluteSlot, block.getHeader().getBlockHash());
+        if (isDiscarded(point))
+            return;
+
+        //move from cursor
+        counter++;
+        getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.byronBlockFound(block));
+        this.from = point;
+    }
+
+    private void onBlock(Block block) {
+        Point point = new Point(block.getHeader().getHeaderBody().getSlot(), block.getHeader().getHeaderBody().getBlockHash());
+        if (isDiscarded(point))
+            return;
+
+        //move from cursor
+        counter++;
+        getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.blockFound(block));
+        this.from = point;
+    }
+
+    private void onParsingError(BlockParseRuntimeException blockParseException) {
+        errorBlks++;
+        getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.onParsingError(blockParseException));
+    }
+
+    private void onBlockStoreError(Exception e) {
+        getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.onBlockStoreError(e));
     }
 
     private void onBatchDone() {
         getAgentListeners().stream().forEach(blockfetchAgentListener -> blockfetchAgentListener.batchDone());
         from = null;
         to = null;
+        discardAfter = null;
 
         long timeTaken = ((System.currentTimeMillis() - startTime) / 1000) / 60;
 
@@ -179,16 +279,62 @@ public class BlockfetchAgent extends Agent<BlockfetchAgentListener> {
 
     public void shutdown() {
         this.shutDown = true;
+
+        if (decodeStage != null)
+            decodeStage.shutdown();
     }
 
 
     @Override
     public void reset() {
         this.currenState = Idle;
+        this.discardAfter = null;
+
+        //Blocks from the previous connection which are not delivered yet
+        if (decodeStage != null)
+            decodeStage.clear();
     }
 
     public void resetPoints(Point from, Point to) {
         this.from = from;
         this.to = to;
     }
+
+    //Updates the agent state and notifies the listeners for a decoded block. An exception thrown by a listener is
+    //reported as a parsing error of the block.
+    private class DecodedBlockHandler implements BlockfetchAgentListener {
+        private final byte[] body;
+
+        DecodedBlockHandler(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public void blockFound(Block block) {
+            notifyListeners(() -> onBlock(block));
+        }
+
+        @Override
+        public void byronBlockFound(ByronMainBlock byronBlock) {
+            notifyListeners(() -> onByronBlock(byronBlock));
+        }
+
+        @Override
+        public void byronEbBlockFound(ByronEbBlock byronEbBlock) {
+            notifyListeners(() -> onByronEbBlock(byronEbBlock));
+        }
+
+        @Override
+        public void onParsingError(BlockParseRuntimeException e) {
+            BlockfetchAgent.this.onParsingError(e);
+        }
+
+        private void notifyListeners(Runnable notification) {
+            try {
+                notification.run();
+            } catch (Exception e) {
+                onParsingError(BlockDecoder.parseError(body, e));
+            }
+        }
+    }
 }
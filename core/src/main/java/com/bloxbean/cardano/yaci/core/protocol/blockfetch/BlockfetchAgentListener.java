@@ -40,4 +40,13 @@ public interface BlockfetchAgentListener extends AgentListener {
 
     }
 
+    /**
+     * Called when a block can't be written to, or rolled back in, the agent's block store
+     *
+     * @param e cause
+     */
+    default void onBlockStoreError(Exception e) {
+
+    }
+
 }
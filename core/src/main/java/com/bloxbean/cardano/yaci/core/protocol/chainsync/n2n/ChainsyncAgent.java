@@ -5,14 +5,39 @@ import com.bloxbean.cardano.yaci.core.model.Era;
 import com.bloxbean.cardano.yaci.core.protocol.Agent;
 import com.bloxbean.cardano.yaci.core.protocol.Message;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.*;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.serializers.HeaderOnlyRollForwardSerializer;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshkeState;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainSyncState.CanAwait;
 import static com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainSyncState.Done;
 import static com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainSyncState.Idle;
 
+/**
+ * Node-to-node chain-sync agent.
+ * <p>
+ * By default, one RequestNext is sent at a time. With {@link #setPipelineDepth(int)}, up to pipelineDepth RequestNext
+ * messages are kept in flight while the client is far behind the tip. The node replies in request order, so
+ * listeners still receive RollForward / Rollbackward in chain order. Near the tip, requests are sent one at a time.
+ */
 @Slf4j
 public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
+    /**
+     * Pipelining is only used when the client is at least this many blocks (plus the pipeline depth)
+     * behind the tip, so that rollbacks near the tip are handled one request at a time.
+     */
+    private static final int PIPELINE_MIN_TIP_DISTANCE = 50;
+
+    /**
+     * Max number of unconfirmed points kept in addition to the pipeline depth. Blocks fetched in batches are
+     * confirmed once per batch, so points are kept until the batch is confirmed.
+     */
+    private static final int MAX_UNCONFIRMED_POINTS = 4096;
+
     private Point intersact;
     private Tip tip;
     private Point[] knownPoints;
@@ -22,14 +47,48 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
      * successfully processed by the application. Used for FindIntersect during
      * reconnection to ensure no blocks are lost.
      */
-    private Point currentPoint;
+    private volatile Point currentPoint;
 
     /**
-     * The point of the block currently being requested but not yet confirmed.
+     * Points of the blocks received through RollForward but not yet confirmed, in chain order.
      * This implements a two-phase commit pattern where blocks are first requested
-     * (requestedPoint set) then confirmed (moved to currentPoint) after successful processing.
+     * (added to requestedPoints) then confirmed (moved to currentPoint) after successful processing.
+     * <p>
+     * Guarded by the agent's monitor. Responses are processed in the synchronized receiveResponse, and
+     * {@link #confirmBlock(Point)} may be called from an application thread.
+     */
+    private final Deque<Point> requestedPoints = new ArrayDeque<>();
+
+    /**
+     * Slot of the newest point dropped from requestedPoints by the max unconfirmed points limit. -1 if none
      */
-    private Point requestedPoint;
+    private long droppedUpToSlot = -1;
+
+    /**
+     * Max number of RequestNext messages in flight. 1 disables pipelining.
+     */
+    private int pipelineDepth = 1;
+
+    /**
+     * Number of RequestNext messages sent but not yet answered with RollForward or Rollbackward
+     */
+    private int inFlight;
+
+    /**
+     * Set when a rollback needs a new FindIntersect while pipelined requests are still in flight.
+     * Responses are discarded until all of them are received.
+     */
+    private boolean draining;
+
+    /**
+     * Block number of the last RollForward header. -1 if not known yet.
+     */
+    private long lastBlockNumber = -1;
+
+    /**
+     * Decode only slot, block number, block hash and prev hash of RollForward headers
+     */
+    private boolean headerOnly;
     private long stopAt;
     private int agentNo;
     private int counter = 0;
@@ -53,13 +112,96 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
         log.debug("Starting at slot > " + knownPoints[0].getSlot() +" --- To >> " + stopSlotNo +"  -- agent >> " + agentNo);
     }
 
+    /**
+     * Create a ChainsyncAgent with chain-sync pipelining
+     *
+     * @param knownPoints   known points for FindIntersect
+     * @param pipelineDepth max number of RequestNext messages in flight
+     */
+    public ChainsyncAgent(Point[] knownPoints, int pipelineDepth) {
+        this(knownPoints);
+        setPipelineDepth(pipelineDepth);
+    }
+
+    /**
+     * Set the max number of RequestNext messages in flight. Default is 1 (no pipelining).
+     * A depth of 50 - 100 hides the round trip time to a remote node during catch-up.
+     *
+     * @param pipelineDepth pipeline depth, must be greater than 0
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        if (pipelineDepth < 1)
+            throw new IllegalArgumentException("Pipeline depth should be greater than 0");
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    /**
+     * Decode only slot, block number, block hash and prev hash of the headers received through RollForward.
+     * Other header fields are not set. Useful to build slot to hash indexes without block-fetch.
+     * Default is false (full header).
+     *
+     * @param headerOnly true for minimal header decoding
+     */
+    public void setHeaderOnly(boolean headerOnly) {
+        this.headerOnly = headerOnly;
+    }
+
+    public boolean isHeaderOnly() {
+        return headerOnly;
+    }
+
+    /**
+     * Point of the last confirmed block
+     *
+     * @return current point or null if no block is confirmed yet
+     */
+    public Point getCurrentPoint() {
+        return currentPoint;
+    }
+
+    /**
+     * Number of RequestNext messages waiting for a response
+     *
+     * @return no of in-flight requests
+     */
+    public int getInFlightRequests() {
+        return inFlight;
+    }
+
     @Override
     public int getProtocolId() {
         return 2;
     }
 
+    @Override
+    public Message deserializeResponse(byte[] bytes) {
+        if (headerOnly && isRollForward(bytes)) {
+            try {
+                return HeaderOnlyRollForwardSerializer.INSTANCE.deserialize(bytes);
+            } catch (Exception e) {
+                log.error("Parsing error ", e);
+                log.error(HexUtil.encodeHexString(bytes));
+                return null;
+            }
+        }
+
+        return super.deserializeResponse(bytes);
+    }
+
+    private static boolean isRollForward(byte[] bytes) {
+        //[2, header, tip]
+        return bytes.length > 1 && (bytes[0] & 0xff) == 0x83 && bytes[1] == 2;
+    }
+
     @Override
     public Message buildNextMessage() {
+        if (intersact == null && inFlight > 0) //FindIntersect only after all pipelined responses are received
+            return null;
+
         if (intersact == null) { //Find intersacts
             if (currentPoint == null) {
                 if (log.isDebugEnabled())
@@ -78,6 +220,51 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
             return null;
     }
 
+    @Override
+    public void sendRequest(Message message) {
+        boolean agency = hasAgency();
+        super.sendRequest(message);
+
+        if (!agency || !(message instanceof RequestNext))
+            return;
+
+        inFlight++;
+        //Pipeline more requests. Responses are received in the same order
+        while (inFlight < pipelineDepth && canPipeline()) {
+            writeMessage(new RequestNext());
+            inFlight++;
+        }
+    }
+
+    private boolean canPipeline() {
+        return pipelineDepth > 1 && !isDone() && tip != null && lastBlockNumber >= 0
+                && tip.getBlock() - lastBlockNumber > pipelineDepth + PIPELINE_MIN_TIP_DISTANCE;
+    }
+
+    /**
+     * Update in-flight request count for a RollForward or Rollbackward
+     *
+     * @return true if the response should be discarded
+     */
+    private boolean onRequestNextResponse() {
+        if (inFlight > 0)
+            inFlight--;
+
+        if (!draining) {
+            //More responses are pending, but the state is Idle, so more requests can be pipelined
+            return false;
+        }
+
+        if (inFlight == 0) {
+            draining = false;
+            this.currenState = Idle;
+            sendNextMessage(); //FindIntersect from current point
+        } else {
+            this.currenState = CanAwait;
+        }
+        return true;
+    }
+
     @Override
     public void processResponse(Message message) {
         if (message == null) return;
@@ -95,11 +282,17 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
             if (log.isDebugEnabled())
                 log.debug("RollForward - {}", message);
             RollForward rollForward = (RollForward) message;
+            if (onRequestNextResponse())
+                return;
+            tip = rollForward.getTip();
             onRollForward(rollForward);
         } else if (message instanceof Rollbackward) {
             if (log.isDebugEnabled())
                 log.debug("RollBackward - {}", message);
             Rollbackward rollBackward = (Rollbackward) message;
+            if (onRequestNextResponse())
+                return;
+            tip = rollBackward.getTip();
             onRollBackward(rollBackward);
         }
     }
@@ -124,6 +317,11 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
     }
 
     private void onRollBackward(Rollbackward rollBackward) {
+        //Unconfirmed points after the rollback point are not valid anymore
+        requestedPoints.removeIf(point -> point.getSlot() > rollBackward.getPoint().getSlot());
+        droppedUpToSlot = Math.min(droppedUpToSlot, rollBackward.getPoint().getSlot());
+        lastBlockNumber = -1;
+
         if (rollBackward.getPoint().equals(currentPoint)) {//Rollback on same point. So don't rollback. But call listeners
             getAgentListeners().stream().forEach(
                     chainSyncAgentListener -> {
@@ -135,6 +333,12 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
 
         if (currentPoint != null) { //so not first time
             this.intersact = null;
+
+            //Responses of pipelined requests are discarded. FindIntersect is sent after all of them are received
+            if (inFlight > 0) {
+                this.draining = true;
+                this.currenState = CanAwait;
+            }
         }
 
         if (log.isDebugEnabled()) {
@@ -181,18 +385,21 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
         }
 
         if (rollForward.getBlockHeader() != null) { //shelley and later
-            this.requestedPoint = new Point(rollForward.getBlockHeader().getHeaderBody().getSlot(), rollForward.getBlockHeader().getHeaderBody().getBlockHash());
+            addRequestedPoint(new Point(rollForward.getBlockHeader().getHeaderBody().getSlot(), rollForward.getBlockHeader().getHeaderBody().getBlockHash()));
+            lastBlockNumber = rollForward.getBlockHeader().getHeaderBody().getBlockNumber();
         } else if (rollForward.getByronBlockHead() != null) { //Byron Block
             long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
                     rollForward.getByronBlockHead().getConsensusData().getSlotId().getEpoch(),
                     rollForward.getByronBlockHead().getConsensusData().getSlotId().getSlot());
-            this.requestedPoint = new Point(absoluteSlot, rollForward.getByronBlockHead().getBlockHash());
+            addRequestedPoint(new Point(absoluteSlot, rollForward.getByronBlockHead().getBlockHash()));
+            lastBlockNumber = rollForward.getByronBlockHead().getConsensusData().getDifficulty().longValue();
         } else if (rollForward.getByronEbHead() != null) { //Byron Epoch block.
             long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(
                     Era.Byron,
                     rollForward.getByronEbHead().getConsensusData().getEpoch(),
                     0);
-            this.requestedPoint = new Point(absoluteSlot, rollForward.getByronEbHead().getBlockHash());
+            addRequestedPoint(new Point(absoluteSlot, rollForward.getByronEbHead().getBlockHash()));
+            lastBlockNumber = rollForward.getByronEbHead().getConsensusData().getDifficulty().longValue();
         }
 
         if (counter++ % 100 == 0 || (tip.getPoint().getSlot() - currentPoint.getSlot()) < 10) {
@@ -210,6 +417,13 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
         }
     }
 
+    private void addRequestedPoint(Point point) {
+        requestedPoints.addLast(point);
+        //A confirmed point also confirms the earlier points. So older points can be dropped safely
+        while (requestedPoints.size() > pipelineDepth + MAX_UNCONFIRMED_POINTS)
+            droppedUpToSlot = requestedPoints.removeFirst().getSlot();
+    }
+
     @Override
     public boolean isDone() {
         return currenState == Done;
@@ -220,7 +434,7 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
      * <p>
      * This method implements the second phase of a two-phase commit pattern:
      * <ol>
-     *   <li>Phase 1: Block header received via RollForward → requestedPoint set</li>
+     *   <li>Phase 1: Block header received via RollForward → point added to requestedPoints</li>
      *   <li>Phase 2: Block successfully processed → confirmBlock() called → currentPoint updated</li>
      * </ol>
      *
@@ -228,6 +442,9 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
      * after successfully processing each block and before calling sendNextMessage().
      * Failure to do so will result in duplicate block delivery on reconnection.
      *
+     * <p>With pipelining, blocks must be confirmed in chain order. Confirming a point also confirms
+     * all unconfirmed points before it.
+     *
      * <p>Use cases include:
      * <ul>
      *   <li>After successfully fetching and storing a full block body</li>
@@ -237,23 +454,49 @@ public class ChainsyncAgent extends Agent<ChainSyncAgentListener> {
      *
      * @param confirmedPoint the point of the block that has been successfully processed
      */
-    public void confirmBlock(Point confirmedPoint) {
-        if (requestedPoint != null && requestedPoint.equals(confirmedPoint)) {
-            this.currentPoint = confirmedPoint;
-            this.requestedPoint = null;
+    public synchronized void confirmBlock(Point confirmedPoint) {
+        if (confirmedPoint == null)
+            return;
+
+        if (!requestedPoints.contains(confirmedPoint)) {
+            if (confirmedPoint.getSlot() <= droppedUpToSlot
+                    && (currentPoint == null || confirmedPoint.getSlot() > currentPoint.getSlot())) {
+                //Received, but dropped by the unconfirmed points limit. Later points are not confirmed yet
+                log.warn("Confirmed point {} is older than the last {} unconfirmed points. Confirm blocks as they are processed",
+                        confirmedPoint, pipelineDepth + MAX_UNCONFIRMED_POINTS);
+                this.currentPoint = confirmedPoint;
+            } else if (log.isDebugEnabled()) {
+                log.debug("Ignoring confirmation of an already confirmed or rolled back point: {}", confirmedPoint);
+            }
+            return;
         }
+
+        Point point;
+        do {
+            point = requestedPoints.removeFirst();
+        } while (!point.equals(confirmedPoint));
+
+        //A block before a rollback point may be confirmed after the rollback. Don't move the current point back
+        if (currentPoint == null || confirmedPoint.getSlot() > currentPoint.getSlot())
+            this.currentPoint = confirmedPoint;
     }
 
-    public void reset() {
+    @Override
+    public synchronized void reset() {
         this.currenState = Idle;
         this.counter = 0;
-        this.requestedPoint = null;
+        this.requestedPoints.clear();
+        this.droppedUpToSlot = -1;
+        this.inFlight = 0;
+        this.draining = false;
+        this.lastBlockNumber = -1;
     }
 
-    public void reset(Point point) {
+    public synchronized void reset(Point point) {
         this.currentPoint = null;
         this.intersact = null;
         this.knownPoints = new Point[] {point};
-        this.requestedPoint = null;
+        this.requestedPoints.clear();
+        this.droppedUpToSlot = -1;
     }
 }
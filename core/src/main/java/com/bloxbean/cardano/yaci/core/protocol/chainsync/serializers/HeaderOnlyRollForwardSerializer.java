@@ -0,0 +1,136 @@
+package com.bloxbean.cardano.yaci.core.protocol.chainsync.serializers;
+
+import com.bloxbean.cardano.yaci.core.config.YaciConfig;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.Epoch;
+import com.bloxbean.cardano.yaci.core.model.Hash32;
+import com.bloxbean.cardano.yaci.core.model.HeaderBody;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockCons;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlockCons;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockHashUtil;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.RawCborReader;
+import com.bloxbean.cardano.yaci.core.protocol.Serializer;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.RollForward;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Minimal RollForward decoder for header-only sync. Only slot, block number, block hash and prev hash are read from
+ * the wrapped header, without creating DataItems for the rest of the header.
+ * <p>
+ * For Byron headers, the consensus data has only the slot id / epoch and difficulty.
+ */
+public enum HeaderOnlyRollForwardSerializer implements Serializer<RollForward> {
+    INSTANCE;
+
+    @Override
+    public RollForward deserialize(byte[] bytes) {
+        RawCborReader reader = new RawCborReader(bytes);
+        reader.readArrayHeader();
+        reader.readUnsignedInteger(); //msg id
+
+        ByronEbHead byronEbHead = null;
+        ByronBlockHead byronBlockHead = null;
+        BlockHeader blockHeader = null;
+
+        reader.readArrayHeader();
+        long eraVariant = reader.readUnsignedInteger();
+        if (eraVariant == 0) { //Byron
+            reader.readArrayHeader();
+            reader.readArrayHeader();
+            long byronPrefix = reader.readUnsignedInteger();
+            reader.skip();
+
+            reader.skipTag();
+            byte[] headerBytes = reader.readByteString();
+            if (byronPrefix == 0)
+                byronEbHead = byronEbHead(headerBytes);
+            else if (byronPrefix == 1)
+                byronBlockHead = byronBlockHead(headerBytes);
+        } else { //Shelley and later versions
+            reader.skipTag();
+            blockHeader = blockHeader(reader.readByteString());
+        }
+
+        int tipStart = reader.position();
+        int tipEnd = reader.skip();
+        Tip tip = TipSerializer.INSTANCE.deserializeDI(
+                CborSerializationUtil.deserializeOne(Arrays.copyOfRange(bytes, tipStart, tipEnd)));
+
+        return new RollForward(byronEbHead, byronBlockHead, blockHeader, tip);
+    }
+
+    private BlockHeader blockHeader(byte[] headerBytes) {
+        RawCborReader reader = new RawCborReader(headerBytes);
+        reader.readArrayHeader(); //[header_body, body_signature]
+        reader.readArrayHeader();
+
+        HeaderBody.HeaderBodyBuilder headerBodyBuilder = HeaderBody.builder();
+        headerBodyBuilder.blockNumber(reader.readUnsignedInteger());
+        headerBodyBuilder.slot(reader.readUnsignedInteger());
+
+        byte[] prevHash = reader.readNull() ? null : reader.readByteString();
+        byte[] blockHash = BlockHashUtil.blockHash(headerBytes);
+        if (YaciConfig.INSTANCE.isByteBackedHashes()) {
+            headerBodyBuilder.prevHashRaw(prevHash != null ? Hash32.of(prevHash) : null);
+            headerBodyBuilder.blockHashRaw(Hash32.of(blockHash));
+        } else {
+            headerBodyBuilder.prevHash(prevHash != null ? HexUtil.encodeHexString(prevHash) : null);
+            headerBodyBuilder.blockHash(HexUtil.encodeHexString(blockHash));
+        }
+
+        return new BlockHeader(headerBodyBuilder.build(), null);
+    }
+
+    private ByronBlockHead byronBlockHead(byte[] headerBytes) {
+        RawCborReader reader = new RawCborReader(headerBytes);
+        reader.readArrayHeader();
+        long protocolMagic = reader.readUnsignedInteger();
+        String prevBlock = HexUtil.encodeHexString(reader.readByteString());
+        reader.skip(); //body proof
+
+        reader.readArrayHeader(); //consensus data
+        reader.readArrayHeader();
+        long epoch = reader.readUnsignedInteger();
+        long slot = reader.readUnsignedInteger();
+        reader.skip(); //pub key
+        reader.readArrayHeader();
+        long difficulty = reader.readUnsignedInteger();
+
+        return ByronBlockHead.builder()
+                .protocolMagic(protocolMagic)
+                .prevBlock(prevBlock)
+                .consensusData(ByronBlockCons.builder()
+                        .slotId(new Epoch(epoch, slot))
+                        .difficulty(BigInteger.valueOf(difficulty))
+                        .build())
+                .blockHash(HexUtil.encodeHexString(BlockHashUtil.byronBlockHash(1, headerBytes)))
+                .build();
+    }
+
+    private ByronEbHead byronEbHead(byte[] headerBytes) {
+        RawCborReader reader = new RawCborReader(headerBytes);
+        reader.readArrayHeader();
+        long protocolMagic = reader.readUnsignedInteger();
+        String prevBlock = HexUtil.encodeHexString(reader.readByteString());
+        reader.skip(); //body proof
+
+        reader.readArrayHeader(); //consensus data
+        long epoch = reader.readUnsignedInteger();
+        reader.readArrayHeader();
+        long difficulty = reader.readUnsignedInteger();
+
+        return ByronEbHead.builder()
+                .protocolMagic(protocolMagic)
+                .prevBlock(prevBlock)
+                .consensusData(new ByronEbBlockCons(epoch, BigInteger.valueOf(difficulty)))
+                .blockHash(HexUtil.encodeHexString(BlockHashUtil.byronBlockHash(0, headerBytes)))
+                .build();
+    }
+}
@@ -42,13 +42,13 @@ public enum RollForwardSerializer implements Serializer<RollForward> {
             if (byronPrefix_1 == 0) {
                 byte[] headerBytes = ((ByteString) (byronPrefixAndHeaderDI.getDataItems().get(1))).getBytes();
                 DataItem headerDI = CborSerializationUtil.deserializeOne(headerBytes);
-                byronEbHead = ByronEbBlockSerializer.INSTANCE.deserializeHeader((Array) headerDI);
+                byronEbHead = ByronEbBlockSerializer.deserializeHeader((Array) headerDI, headerBytes);
             } else if (byronPrefix_1 == 1) {
                 byte[] headerBytes = ((ByteString) (byronPrefixAndHeaderDI.getDataItems().get(1))).getBytes();
                 DataItem headerDI = CborSerializationUtil.deserializeOne(headerBytes);
-                byronBlockHead = ByronBlockSerializer.INSTANCE.deserializeHeader((Array) headerDI);
+                byronBlockHead = ByronBlockSerializer.INSTANCE.deserializeHeader((Array) headerDI, headerBytes);
             }
-        } else { //Shelley and later versions
+        } else { //Shelley and later versions. Block hash is calculated from the wrapped header bytes
             blockHeader =
                     BlockHeaderSerializer.INSTANCE.deserializeDI(wrappedHeader.getDataItems().get(1));
         }
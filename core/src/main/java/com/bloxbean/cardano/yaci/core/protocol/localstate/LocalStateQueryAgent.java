@@ -11,17 +11,37 @@ import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-
-import static com.bloxbean.cardano.yaci.core.protocol.localstate.LocalStateQueryState.Idle;
-
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.bloxbean.cardano.yaci.core.protocol.localstate.LocalStateQueryState.*;
+
+/**
+ * Agent for the local state query mini protocol.
+ * <p>
+ * Commands are queued and sent in order. Each query gets a request id, which is passed to
+ * {@link LocalStateQueryListener#resultReceived(long, Query, QueryResult)} with the result. Queries can be queued
+ * while the agent is acquiring or waiting for a result. They are sent as soon as the agent is in the acquired state,
+ * so many queries can run against one acquired point without a round trip to the caller.
+ * With {@link #setPipelineDepth(int)}, up to pipelineDepth MsgQuery are in flight. The node replies in the same order,
+ * so each result is matched with the oldest in-flight query.
+ * <p>
+ * Results of queries queued with {@link #query(Query, boolean)} in raw mode are not decoded. They are passed to
+ * {@link LocalStateQueryListener#rawResultReceived(long, Query, byte[])}, e.g. to decode a large result
+ * incrementally with {@link com.bloxbean.cardano.yaci.core.protocol.localstate.api.StreamingQuery}.
+ */
 @Slf4j
 public class LocalStateQueryAgent extends Agent<LocalStateQueryListener> {
     private Point point;
     private boolean shutDown;
 
     private Queue<Message> acquiredCommands;
-    private Queue<Query> pendingQueryCommands;
+    private Queue<MsgQuery> pendingQueryCommands;
+    private final AtomicLong requestIdCounter = new AtomicLong();
+    private final Set<Long> rawResultRequests = ConcurrentHashMap.newKeySet();
+    private volatile int pipelineDepth = 1;
 
     public LocalStateQueryAgent() {
         this.currenState = Idle;
@@ -30,6 +50,28 @@ public class LocalStateQueryAgent extends Agent<LocalStateQueryListener> {
         pendingQueryCommands = new ConcurrentLinkedQueue<>();
     }
 
+    /**
+     * Set the max number of MsgQuery in flight. Default is 1 (no pipelining).
+     *
+     * @param pipelineDepth pipeline depth, must be greater than 0
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        if (pipelineDepth < 1)
+            throw new IllegalArgumentException("Pipeline depth should be greater than 0");
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    /**
+     * @return number of queries waiting for a result
+     */
+    public int getInFlightCount() {
+        return pendingQueryCommands.size();
+    }
+
     @Override
     public int getProtocolId() {
         return 7;
@@ -41,7 +83,7 @@ public class LocalStateQueryAgent extends Agent<LocalStateQueryListener> {
     }
 
     @Override
-    protected Message buildNextMessage() {
+    protected synchronized Message buildNextMessage() {
         if (shutDown && currenState == LocalTxMonitorState.Idle) {
             if (log.isDebugEnabled())
                 log.debug("Shutdown flag set. MsgDone()");
@@ -57,7 +99,7 @@ public class LocalStateQueryAgent extends Agent<LocalStateQueryListener> {
                         log.debug("Found command in acquired commands queue : {}", peekMsg);
 
                     if (peekMsg instanceof MsgQuery)
-                        pendingQueryCommands.add(((MsgQuery) peekMsg).getQuery());
+                        pendingQueryCommands.add((MsgQuery) peekMsg);
 
                     return acquiredCommands.poll();
                 } else {
@@ -71,7 +113,27 @@ public class LocalStateQueryAgent extends Agent<LocalStateQueryListener> {
     }
 
     @Override
-    protected void processResponse(Message message) {
+    public synchronized void sendRequest(Message message) {
+        boolean agency = hasAgency();
+        super.sendRequest(message);
+
+        if (agency && message instanceof MsgQuery)
+            pipeline();
+    }
+
+    /**
+     * Send more queued queries while waiting for the results of the earlier ones
+     */
+    private void pipeline() {
+        while (!shutDown && pendingQueryCommands.size() < pipelineDepth && acquiredCommands.peek() instanceof MsgQuery) {
+            MsgQuery msgQuery = (MsgQuery) acquiredCommands.poll();
+            pendingQueryCommands.add(msgQuery);
+            writeMessage(msgQuery);
+        }
+    }
+
+    @Override
+    protected synchronized void processResponse(Message message) {
         if (message == null) {
             if (log.isDebugEnabled())
                 log.debug("Message is null");
@@ -100,17 +162,44 @@ public class LocalStateQueryAgent extends Agent<LocalStateQueryListener> {
         if (log.isDebugEnabled())
             log.debug("MsgResult ");
 
-        Query query;
-        if (!pendingQueryCommands.isEmpty())
-            query = pendingQueryCommands.poll();
-        else
-            query = null;
+        MsgQuery msgQuery = pendingQueryCommands.poll();
 
-        byte[] result = msgResult.getResult();
-        QueryResult queryResult = query.deserializeResult(getProtocolVersion(), CborSerializationUtil.deserialize(result));
+        //Send the next queries before notifying the listeners, so that the node doesn't wait for the listeners
+        if (!pendingQueryCommands.isEmpty()) {
+            //Results of pipelined queries are pending
+            this.currenState = Querying;
+            pipeline();
+        } else if (!acquiredCommands.isEmpty()) {
+            sendNextMessage();
+        }
+
+        if (msgQuery == null) {
+            log.warn("Result received without a pending query");
+            return;
+        }
+
+        Query query = msgQuery.getQuery();
+        if (rawResultRequests.remove(msgQuery.getRequestId())) {
+            getAgentListeners().stream().forEach(
+                    listener -> listener.rawResultReceived(msgQuery.getRequestId(), query, msgResult.getResult())
+            );
+            return;
+        }
+
+        QueryResult queryResult;
+        try {
+            byte[] result = msgResult.getResult();
+            queryResult = query.deserializeResult(getProtocolVersion(), CborSerializationUtil.deserialize(result));
+        } catch (Exception e) {
+            log.error("Error deserializing result of query: " + query, e);
+            getAgentListeners().stream().forEach(
+                    listener -> listener.queryFailed(msgQuery.getRequestId(), query, "Invalid result: " + e.getMessage())
+            );
+            return;
+        }
 
         getAgentListeners().stream().forEach(
-                listener -> listener.resultReceived(query, queryResult)
+                listener -> listener.resultReceived(msgQuery.getRequestId(), query, queryResult)
         );
     }
 
@@ -121,25 +210,79 @@ public class LocalStateQueryAgent extends Agent<LocalStateQueryListener> {
     }
 
     private void onMessageAcquired() {
+        //Queries queued while acquiring
+        if (!acquiredCommands.isEmpty())
+            sendNextMessage();
+
         getAgentListeners().stream().forEach(
                 listener -> listener.acquired(point)
         );
     }
 
     private void onMessageFailure(MsgFailure msgFailure) {
+        //Drop the queries queued for this acquire, as they can't be sent in the idle state
+        Message command;
+        while ((command = acquiredCommands.peek()) instanceof MsgQuery) {
+            acquiredCommands.poll();
+            MsgQuery msgQuery = (MsgQuery) command;
+            rawResultRequests.remove(msgQuery.getRequestId());
+            getAgentListeners().stream().forEach(
+                    listener -> listener.queryFailed(msgQuery.getRequestId(), msgQuery.getQuery(),
+                            "Acquire failed: " + msgFailure.getReason())
+            );
+        }
+
         getAgentListeners().stream().forEach(
                 listener -> listener.acquireFailed(msgFailure.getReason())
         );
     }
 
+    /**
+     * Queue a query. The query can be queued in the acquired state, or while the agent is acquiring or waiting for
+     * the result of another query.
+     *
+     * @param query query
+     * @return MsgQuery with a unique request id, see {@link MsgQuery#getRequestId()}
+     */
     public MsgQuery query(Query query) {
-        MsgQuery msgQuery = new MsgQuery(query, getProtocolVersion());
-        this.currenState.verifyMessageType(msgQuery);
+        return query(query, false);
+    }
 
+    /**
+     * Queue a query
+     *
+     * @param query     query
+     * @param rawResult if true, the result is not decoded and is passed to
+     *                  {@link LocalStateQueryListener#rawResultReceived(long, Query, byte[])}
+     * @return MsgQuery with a unique request id, see {@link MsgQuery#getRequestId()}
+     * @see #query(Query)
+     */
+    public synchronized MsgQuery query(Query query, boolean rawResult) {
+        MsgQuery msgQuery = new MsgQuery(query, getProtocolVersion(), requestIdCounter.incrementAndGet());
+        if (currenState != Acquiring && currenState != Querying && !isAcquireQueued())
+            this.currenState.verifyMessageType(msgQuery);
+
+        if (rawResult)
+            rawResultRequests.add(msgQuery.getRequestId());
         acquiredCommands.add(msgQuery);
         return msgQuery;
     }
 
+    private boolean isAcquireQueued() {
+        return acquiredCommands.stream().anyMatch(command -> command instanceof MsgAcquire);
+    }
+
+    /**
+     * Send queued commands. If the agent has agency, the next command is sent. If results are pending, more queries
+     * are pipelined up to the pipeline depth.
+     */
+    public synchronized void sendQueuedCommands() {
+        if (hasAgency())
+            sendNextMessage();
+        else if (currenState == Querying && !pendingQueryCommands.isEmpty())
+            pipeline();
+    }
+
     public MsgReAcquire reAcquire(Point point) {
         MsgReAcquire msgReAcquire = new MsgReAcquire(point);
         this.currenState.verifyMessageType(msgReAcquire);
@@ -171,10 +314,11 @@ public class LocalStateQueryAgent extends Agent<LocalStateQueryListener> {
     }
 
     @Override
-    public void reset() {
+    public synchronized void reset() {
         this.currenState = Idle;
         acquiredCommands.clear();
         pendingQueryCommands.clear();
+        rawResultRequests.clear();
     }
 
     public void shutdown() {
@@ -20,6 +20,40 @@ public interface LocalStateQueryListener extends AgentListener {
 
     }
 
+    /**
+     * Called when the result of a query is received. By default, it calls {@link #resultReceived(Query, QueryResult)}
+     *
+     * @param requestId request id of the query, see {@link LocalStateQueryAgent#query(Query)}
+     * @param query     query
+     * @param result    result
+     */
+    default void resultReceived(long requestId, Query query, QueryResult result) {
+        resultReceived(query, result);
+    }
+
+    /**
+     * Called instead of {@link #resultReceived(long, Query, QueryResult)} for a query queued with
+     * {@link LocalStateQueryAgent#query(Query, boolean)} in raw mode
+     *
+     * @param requestId request id of the query
+     * @param query     query
+     * @param result    bytes of MsgResult
+     */
+    default void rawResultReceived(long requestId, Query query, byte[] result) {
+
+    }
+
+    /**
+     * Called when the result of a query can't be deserialized, or the query is dropped because the acquire failed
+     *
+     * @param requestId request id of the query
+     * @param query     query
+     * @param reason    failure reason
+     */
+    default void queryFailed(long requestId, Query query, String reason) {
+
+    }
+
     default void released() {
 
     }
@@ -1,12 +1,10 @@
 package com.bloxbean.cardano.yaci.core.protocol.localstate;
 
-import co.nstant.in.cbor.model.Array;
-import co.nstant.in.cbor.model.DataItem;
-import co.nstant.in.cbor.model.UnsignedInteger;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.RawCborReader;
 import com.bloxbean.cardano.yaci.core.protocol.Message;
 import com.bloxbean.cardano.yaci.core.protocol.State;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgResult;
 import com.bloxbean.cardano.yaci.core.protocol.localstate.serializers.*;
-import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
 import com.bloxbean.cardano.yaci.core.util.HexUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,9 +15,10 @@ public interface LocalStateQueryStateBase extends State {
     @Override
     default Message handleInbound(byte[] bytes) {
         try {
-            DataItem di = CborSerializationUtil.deserializeOne(bytes);
-            Array array = (Array) di;
-            int id = ((UnsignedInteger) array.getDataItems().get(0)).getValue().intValue();
+            //Read only the message id. Results can be large and are decoded by the query.
+            RawCborReader reader = new RawCborReader(bytes);
+            reader.readArrayHeader();
+            int id = (int) reader.readUnsignedInteger();
             switch (id) {
                 case 0:
                 case 8:
@@ -31,7 +30,7 @@ public interface LocalStateQueryStateBase extends State {
                 case 3:
                     return MsgQuerySerializer.INSTANCE.deserialize(bytes);
                 case 4:
-                    return MsgResultSerializer.INSTANCE.deserialize(bytes);
+                    return new MsgResult(bytes);
                 case 5:
                     return MsgReleaseSerializer.INSTANCE.deserialize(bytes);
                 case 6:
@@ -0,0 +1,36 @@
+package com.bloxbean.cardano.yaci.core.protocol.localstate.api;
+
+import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.AcceptVersion;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * A query with a large result which can be decoded one element at a time from the raw result bytes, without
+ * building the full result.
+ *
+ * @param <T> result type of {@link #deserializeResult(AcceptVersion, co.nstant.in.cbor.model.DataItem[])}
+ * @param <E> element type
+ */
+public interface StreamingQuery<T extends QueryResult, E> extends Query<T> {
+
+    /**
+     * Get an iterator which decodes the next element on each {@link Iterator#next()} call
+     *
+     * @param protocolVersion protocol version
+     * @param result          bytes of MsgResult
+     * @return iterator of elements
+     */
+    Iterator<E> resultIterator(AcceptVersion protocolVersion, byte[] result);
+
+    /**
+     * Decode the elements of the result one at a time and pass them to the consumer
+     *
+     * @param protocolVersion protocol version
+     * @param result          bytes of MsgResult
+     * @param consumer        element consumer
+     */
+    default void streamResult(AcceptVersion protocolVersion, byte[] result, Consumer<E> consumer) {
+        resultIterator(protocolVersion, result).forEachRemaining(consumer);
+    }
+}
@@ -14,6 +14,14 @@ import lombok.ToString;
 public class MsgQuery implements Message {
     private Query query;
     private AcceptVersion protocolVersion;
+    /**
+     * Local id to correlate the result with this query. It's not sent to the node.
+     */
+    private long requestId;
+
+    public MsgQuery(Query query, AcceptVersion protocolVersion) {
+        this(query, protocolVersion, 0);
+    }
 
     @Override
     public byte[] serialize() {
@@ -6,15 +6,23 @@ import com.bloxbean.cardano.client.api.model.Amount;
 import com.bloxbean.cardano.client.api.model.Utxo;
 import com.bloxbean.cardano.yaci.core.model.TransactionOutput;
 import com.bloxbean.cardano.yaci.core.model.serializers.TransactionOutputSerializer;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.RawCborReader;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.TransactionBodyExtractor;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.AcceptVersion;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2CVersionTableConstant;
 import com.bloxbean.cardano.yaci.core.protocol.localstate.api.Era;
 import com.bloxbean.cardano.yaci.core.protocol.localstate.api.EraQuery;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.StreamingQuery;
+import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 
 import static com.bloxbean.cardano.yaci.core.util.CborSerializationUtil.toHex;
@@ -22,7 +30,8 @@ import static com.bloxbean.cardano.yaci.core.util.CborSerializationUtil.toInt;
 
 @Getter
 @AllArgsConstructor
-public class UtxoByAddressQuery implements EraQuery<UtxoByAddressQueryResult> {
+public class UtxoByAddressQuery implements EraQuery<UtxoByAddressQueryResult>,
+        StreamingQuery<UtxoByAddressQueryResult, Utxo> {
     private Era era;
     private Address address;
 
@@ -61,21 +70,74 @@ public class UtxoByAddressQuery implements EraQuery<UtxoByAddressQueryResult> {
             int index = toInt(keyDIList.get(1));
 
             TransactionOutput transactionOutput = TransactionOutputSerializer.INSTANCE.deserializeDI(utxoMap.get(key));
-            List<Amount> amountList = transactionOutput.getAmounts().stream()
-                    .map(amount -> new Amount(amount.getUnit(), amount.getQuantity()))
-                    .collect(Collectors.toList());
-            Utxo utxo = Utxo.builder()
-                    .address(transactionOutput.getAddress())
-                    .txHash(txHash)
-                    .outputIndex(index)
-                    .amount(amountList)
-                    .dataHash(transactionOutput.getDatumHash())
-                    .inlineDatum(transactionOutput.getInlineDatum())
-                    .referenceScriptHash(transactionOutput.getScriptRef())
-                    .build();
-            utxoList.add(utxo);
+            utxoList.add(toUtxo(txHash, index, transactionOutput));
         }
 
         return new UtxoByAddressQueryResult(utxoList);
     }
+
+    /**
+     * Decode the utxos one at a time from the raw result. Only the current entry is decoded into {@link DataItem}s,
+     * so the memory used for decoding doesn't grow with the number of utxos.
+     *
+     * @param protocolVersion protocol version
+     * @param result          bytes of MsgResult
+     * @return iterator of utxos
+     */
+    @Override
+    public Iterator<Utxo> resultIterator(AcceptVersion protocolVersion, byte[] result) {
+        //[4, [{[hash, idx] => output}]]
+        RawCborReader reader = new RawCborReader(result);
+        reader.readArrayHeader();
+        reader.readUnsignedInteger();
+        reader.readArrayHeader();
+        long size = reader.readMapHeader();
+
+        return new Iterator<>() {
+            private long remaining = size;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (!done && (size == TransactionBodyExtractor.INFINITY ? reader.readBreak() : remaining == 0))
+                    done = true;
+                return !done;
+            }
+
+            @Override
+            public Utxo next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                remaining--;
+
+                //key is utxo = [hash idx]
+                reader.skipTag();
+                long keyLength = reader.readArrayHeader();
+                String txHash = HexUtil.encodeHexString(reader.readByteString());
+                int index = (int) reader.readUnsignedInteger();
+                if (keyLength == TransactionBodyExtractor.INFINITY)
+                    reader.readBreak();
+
+                int start = reader.position();
+                int end = reader.skip();
+                DataItem outputDI = CborSerializationUtil.deserializeOne(Arrays.copyOfRange(result, start, end));
+                return toUtxo(txHash, index, TransactionOutputSerializer.INSTANCE.deserializeDI(outputDI));
+            }
+        };
+    }
+
+    private static Utxo toUtxo(String txHash, int index, TransactionOutput transactionOutput) {
+        List<Amount> amountList = transactionOutput.getAmounts().stream()
+                .map(amount -> new Amount(amount.getUnit(), amount.getQuantity()))
+                .collect(Collectors.toList());
+        return Utxo.builder()
+                .address(transactionOutput.getAddress())
+                .txHash(txHash)
+                .outputIndex(index)
+                .amount(amountList)
+                .dataHash(transactionOutput.getDatumHash())
+                .inlineDatum(transactionOutput.getInlineDatum())
+                .referenceScriptHash(transactionOutput.getScriptRef())
+                .build();
+    }
 }
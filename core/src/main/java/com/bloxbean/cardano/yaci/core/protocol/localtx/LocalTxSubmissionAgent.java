@@ -12,11 +12,19 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Agent for the local tx-submission mini protocol.
+ * <p>
+ * Submitted transactions are queued and sent as soon as the agent is idle, so the node is kept busy while there are
+ * queued transactions. With {@link #setPipelineDepth(int)}, up to pipelineDepth MsgSubmitTx are in flight. The node
+ * replies in the same order, so each reply is matched with the oldest in-flight transaction.
+ */
 @Slf4j
 public class LocalTxSubmissionAgent extends Agent<LocalTxSubmissionListener> {
     private boolean shutDown;
     private Queue<TxSubmissionRequest> txnQueue;
     private Queue<TxSubmissionRequest> pendingQueue;
+    private volatile int pipelineDepth = 1;
 
     public LocalTxSubmissionAgent() {
         txnQueue = new ConcurrentLinkedQueue<>();
@@ -24,6 +32,28 @@ public class LocalTxSubmissionAgent extends Agent<LocalTxSubmissionListener> {
         this.currenState = LocalTxSubmissionState.Idle;
     }
 
+    /**
+     * Set the max number of MsgSubmitTx in flight. Default is 1 (no pipelining).
+     *
+     * @param pipelineDepth pipeline depth, must be greater than 0
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        if (pipelineDepth < 1)
+            throw new IllegalArgumentException("Pipeline depth should be greater than 0");
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    /**
+     * @return number of submitted transactions waiting for a reply
+     */
+    public int getInFlightCount() {
+        return pendingQueue.size();
+    }
+
     @Override
     public int getProtocolId() {
         return 6;
@@ -61,6 +91,26 @@ public class LocalTxSubmissionAgent extends Agent<LocalTxSubmissionListener> {
         }
     }
 
+    @Override
+    public synchronized void sendRequest(Message message) {
+        boolean agency = hasAgency();
+        super.sendRequest(message);
+
+        if (agency && message instanceof MsgSubmitTx)
+            pipeline();
+    }
+
+    /**
+     * Send more queued transactions while waiting for the replies of the earlier ones
+     */
+    private void pipeline() {
+        while (!shutDown && pendingQueue.size() < pipelineDepth && txnQueue.peek() != null) {
+            TxSubmissionRequest txSubmissionRequest = txnQueue.poll();
+            pendingQueue.add(txSubmissionRequest);
+            writeMessage(new MsgSubmitTx(txSubmissionRequest.getTxBodyType(), txSubmissionRequest.getTxnBytes()));
+        }
+    }
+
     @Override
     protected synchronized void processResponse(Message message) {
         if (message == null) {
@@ -72,6 +122,15 @@ public class LocalTxSubmissionAgent extends Agent<LocalTxSubmissionListener> {
         if (!pendingQueue.isEmpty())
             txSubmissionRequest = pendingQueue.poll();
 
+        //Send the next transactions before notifying the listeners, so that the node doesn't wait for the listeners
+        if (!pendingQueue.isEmpty()) {
+            //Replies of pipelined transactions are pending
+            this.currenState = LocalTxSubmissionState.Busy;
+            pipeline();
+        } else if (txnQueue.peek() != null) {
+            sendNextMessage();
+        }
+
         if (message instanceof MsgAcceptTx) {
             if (log.isDebugEnabled())
                 log.debug("MsgAccept : {}", message);
@@ -102,6 +161,17 @@ public class LocalTxSubmissionAgent extends Agent<LocalTxSubmissionListener> {
         txnQueue.add(txnRequest);
     }
 
+    /**
+     * Send queued transactions. If the agent is idle, the next transaction is sent. If replies are pending, more
+     * transactions are pipelined up to the pipeline depth.
+     */
+    public synchronized void sendQueuedTxs() {
+        if (hasAgency())
+            sendNextMessage();
+        else if (currenState == LocalTxSubmissionState.Busy && !pendingQueue.isEmpty())
+            pipeline();
+    }
+
     @Override
     public synchronized void reset() {
         this.currenState = LocalTxSubmissionState.Idle;
@@ -7,26 +7,35 @@ import com.bloxbean.cardano.yaci.core.protocol.txsubmission.messges.*;
 import com.bloxbean.cardano.yaci.core.protocol.txsubmission.model.TxSubmissionRequest;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Optional;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Slf4j
 public class TxSubmissionAgent extends Agent<TxSubmissionListener> {
-    // txs should be stored in a thread-safe, ordered (tx dependency/chaining) data structure.
-    private final ConcurrentLinkedQueue<TxSubmissionRequest> txs;
+    public static final int DEFAULT_MAX_QUEUED_TXS = Integer.MAX_VALUE;
+    public static final long DEFAULT_MAX_QUEUED_BYTES = Long.MAX_VALUE;
+
+    // txs are kept in insertion order (tx dependency/chaining) and indexed by tx hash
+    private final TxSubmissionQueue txs;
     /**
-     * Is the queue of TX received from client
+     * Number of tx ids requested by the server in the last RequestTxIds, which are not replied yet
      */
-    private final ConcurrentLinkedQueue<String> pendingTxIds;
+    private volatile int requestedTxIdCount;
     /**
      * It's the temporary list of TX ids requested from Server
      */
     private final ConcurrentLinkedQueue<String> requestedTxIds;
 
     public TxSubmissionAgent() {
+        this(DEFAULT_MAX_QUEUED_TXS, DEFAULT_MAX_QUEUED_BYTES);
+    }
+
+    /**
+     * @param maxQueuedTxs   max number of transactions waiting to be acknowledged by the server
+     * @param maxQueuedBytes max total size of transactions waiting to be acknowledged by the server
+     */
+    public TxSubmissionAgent(int maxQueuedTxs, long maxQueuedBytes) {
         this.currenState = TxSubmissionState.Init;
-        this.txs = new ConcurrentLinkedQueue<>();
-        this.pendingTxIds = new ConcurrentLinkedQueue<>();
+        this.txs = new TxSubmissionQueue(maxQueuedTxs, maxQueuedBytes);
         this.requestedTxIds = new ConcurrentLinkedQueue<>();
     }
 
@@ -41,8 +50,10 @@ public class TxSubmissionAgent extends Agent<TxSubmissionListener> {
             case Init:
                 return new Init();
             case TxIdsNonBlocking:
-            case TxIdsBlocking:
                 return getReplyTxIds();
+            case TxIdsBlocking:
+                //A blocking request can't be replied without any tx id. Reply when a tx is enqueued.
+                return txs.hasUnannounced() ? getReplyTxIds() : null;
             case Txs:
                 return getReplyTxs();
             default:
@@ -50,29 +61,18 @@ public class TxSubmissionAgent extends Agent<TxSubmissionListener> {
         }
     }
 
-    private Optional<TxSubmissionRequest> findTxIdAndHash(String id) {
-        return txs.stream().filter(txSubmissionRequest -> txSubmissionRequest.getTxHash().equals(id)).findAny();
-    }
-
-    private Optional<TxSubmissionRequest> removeTxIdAndHash(String id) {
-        var txIdAndHashOpt = txs.stream().filter(txSubmissionRequest -> txSubmissionRequest.getTxHash().equals(id)).findAny();
-        txIdAndHashOpt.ifPresent(txs::remove);
-        return txIdAndHashOpt;
-    }
-
+    /**
+     * Announce only the tx ids which are not announced yet, up to the number requested by the server
+     */
     private ReplyTxIds getReplyTxIds() {
-        if (!pendingTxIds.isEmpty()) {
-            ReplyTxIds replyTxIds = new ReplyTxIds();
-            // Not limiting how many txs to add, as pendingTxIds should be already capped to num of req txs
-            pendingTxIds
-                    .stream()
-                    .flatMap(id -> findTxIdAndHash(id).stream())
-                    .forEach(txSubmissionRequest -> replyTxIds.addTxId(txSubmissionRequest.getTxHash(), txSubmissionRequest.getTxnBytes().length));
-            if (log.isDebugEnabled())
-                log.debug("TxIds: {}", replyTxIds.getTxIdAndSizeMap().size());
-            return replyTxIds;
-        }
-        return new ReplyTxIds();
+        ReplyTxIds replyTxIds = new ReplyTxIds();
+        txs.announce(requestedTxIdCount)
+                .forEach(txSubmissionRequest -> replyTxIds.addTxId(txSubmissionRequest.getTxHash(), txSubmissionRequest.getTxnBytes().length));
+        requestedTxIdCount = 0;
+
+        if (log.isDebugEnabled())
+            log.debug("TxIds: {}", replyTxIds.getTxIdAndSizeMap() != null ? replyTxIds.getTxIdAndSizeMap().size() : 0);
+        return replyTxIds;
     }
 
     private ReplyTxs getReplyTxs() {
@@ -80,7 +80,7 @@ public class TxSubmissionAgent extends Agent<TxSubmissionListener> {
             return new ReplyTxs();
 
         ReplyTxs replyTxs = new ReplyTxs();
-        requestedTxIds.forEach(txId -> findTxIdAndHash(txId).ifPresent(txSubmissionRequest -> replyTxs.addTx(txSubmissionRequest.getTxnBytes())));
+        requestedTxIds.forEach(txId -> txs.get(txId).ifPresent(txSubmissionRequest -> replyTxs.addTx(txSubmissionRequest.getTxnBytes())));
 
         if (log.isDebugEnabled())
             log.debug("Txs: {}", replyTxs.getTxns().size());
@@ -116,68 +116,65 @@ public class TxSubmissionAgent extends Agent<TxSubmissionListener> {
     }
 
     private void handleRequestTxIdsNonBlocking(RequestTxIds requestTxIds) {
-        // process ack
-        removeAcknowledgedTxs(requestTxIds.getAckTxIds());
-        addTxToQueue(requestTxIds.getReqTxIds());
+        acknowledge(requestTxIds.getAckTxIds());
+        requestedTxIdCount = requestTxIds.getReqTxIds();
         getAgentListeners().forEach(listener -> listener.handleRequestTxIdsNonBlocking(requestTxIds));
     }
 
     private void handleRequestTxIdsBlocking(RequestTxIds requestTxIds) {
-        // process ack
-        removeAcknowledgedTxs(requestTxIds.getAckTxIds());
-        addTxToQueue(requestTxIds.getReqTxIds());
+        acknowledge(requestTxIds.getAckTxIds());
+        requestedTxIdCount = requestTxIds.getReqTxIds();
         getAgentListeners().forEach(listener -> listener.handleRequestTxIdsBlocking(requestTxIds));
     }
 
-    private void addTxToQueue(int numTxToAdd) {
-        // pendingTxIds size can't exceed numTxToAdd
-        var txToAdd = numTxToAdd - pendingTxIds.size();
-        if (!txs.isEmpty()) {
-            txs.stream()
-                    .map(TxSubmissionRequest::getTxHash)
-                    .filter(txHash -> !pendingTxIds.contains(txHash))
-                    .limit(txToAdd)
-                    .forEach(pendingTxIds::add);
-        } else {
-            if (log.isDebugEnabled())
-                log.debug("Nothing to do, txs is empty");
-        }
-    }
+    private void acknowledge(int numAcknowledgedTransactions) {
+        if (numAcknowledgedTransactions <= 0)
+            return;
 
-    private void addTxToQueue(String txHash) {
-        if (!pendingTxIds.contains(txHash)) {
-            pendingTxIds.add(txHash);
-        }
+        int removed = txs.acknowledge(numAcknowledgedTransactions);
+        if (removed < numAcknowledgedTransactions)
+            log.warn("Server acknowledged {} txs, but only {} txs were announced", numAcknowledgedTransactions, removed);
     }
 
-    private void removeAcknowledgedTxs(int numAcknowledgedTransactions) {
-        if (numAcknowledgedTransactions > 0) {
-            var numTxToRemove = Math.min(numAcknowledgedTransactions, pendingTxIds.size());
-            for (int i = 0; i < numTxToRemove; i++) {
-                var txHash = pendingTxIds.poll();
-                if (txHash != null) {
-                    // remove from map
-                    removeTxIdAndHash(txHash);
-                }
-            }
-
+    /**
+     * Add a transaction to the outbound queue. The transaction is removed when the server acknowledges it.
+     *
+     * @param txHash     tx hash
+     * @param txBytes    tx bytes
+     * @param txBodyType tx body type
+     * @return false if the queue is full, true if the transaction is queued or is already in the queue
+     */
+    public boolean enqueueTransaction(String txHash, byte[] txBytes, TxBodyType txBodyType) {
+        boolean queued = txs.add(TxSubmissionRequest.builder().txHash(txHash).txnBytes(txBytes).txBodyType(txBodyType).build());
+        if (!queued) {
+            log.warn("Tx submission queue is full. Queued txs: {}, bytes: {}. Tx {} is not added", txs.size(), txs.bytes(), txHash);
+            return false;
         }
 
-    }
-
-    public void enqueueTransaction(String txHash, byte[] txBytes, TxBodyType txBodyType) {
-        if (txs.stream().anyMatch(txSubmissionRequest -> txSubmissionRequest.getTxHash().equals(txHash))) {
-            return;
-        }
-        txs.add(TxSubmissionRequest.builder().txHash(txHash).txnBytes(txBytes).txBodyType(txBodyType).build());
-        if (TxSubmissionState.TxIdsBlocking.equals(currenState)) {
-            addTxToQueue(txHash);
+        if (TxSubmissionState.TxIdsBlocking.equals(currenState))
             this.sendNextMessage();
-        }
+        return true;
     }
 
+    /**
+     * @return true if there are transactions which are not announced to the server yet
+     */
     public boolean hasPendingTx() {
-        return !pendingTxIds.isEmpty();
+        return txs.hasUnannounced();
+    }
+
+    /**
+     * @return number of transactions in the queue, including the announced but unacknowledged ones
+     */
+    public int getQueuedTxCount() {
+        return txs.size();
+    }
+
+    /**
+     * @return total size of the transactions in the queue
+     */
+    public long getQueuedBytes() {
+        return txs.bytes();
     }
 
     @Override
@@ -188,7 +185,7 @@ public class TxSubmissionAgent extends Agent<TxSubmissionListener> {
     @Override
     public void reset() {
         txs.clear();
-        pendingTxIds.clear();
+        requestedTxIdCount = 0;
         requestedTxIds.clear();
         this.currenState = TxSubmissionState.Init;
     }
@@ -0,0 +1,112 @@
+package com.bloxbean.cardano.yaci.core.protocol.txsubmission;
+
+import com.bloxbean.cardano.yaci.core.protocol.txsubmission.model.TxSubmissionRequest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Outbound transactions of {@link TxSubmissionAgent}, in insertion order and indexed by tx hash.
+ * <p>
+ * A transaction is first in the unannounced queue. It moves to the unacknowledged window when its id is sent in
+ * ReplyTxIds, and is removed when the server acknowledges it. Acknowledgements always refer to the oldest announced
+ * ids, so both queues are FIFO and each operation is O(1) per transaction.
+ * <p>
+ * The queue is bounded by the number of transactions and their total size in bytes.
+ */
+class TxSubmissionQueue {
+    private final int maxTxs;
+    private final long maxBytes;
+
+    private final Map<String, TxSubmissionRequest> txs = new HashMap<>();
+    private final Deque<String> unannounced = new ArrayDeque<>();
+    private final Deque<String> unacknowledged = new ArrayDeque<>();
+    private long bytes;
+
+    TxSubmissionQueue(int maxTxs, long maxBytes) {
+        this.maxTxs = maxTxs;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @param request transaction
+     * @return false if the transaction doesn't fit in the queue
+     */
+    synchronized boolean add(TxSubmissionRequest request) {
+        if (txs.containsKey(request.getTxHash()))
+            return true;
+
+        int size = request.getTxnBytes().length;
+        if (txs.size() >= maxTxs || bytes + size > maxBytes)
+            return false;
+
+        txs.put(request.getTxHash(), request);
+        unannounced.addLast(request.getTxHash());
+        bytes += size;
+        return true;
+    }
+
+    /**
+     * Move up to max transactions from the unannounced queue to the unacknowledged window
+     *
+     * @param max max number of transactions
+     * @return announced transactions in insertion order
+     */
+    synchronized List<TxSubmissionRequest> announce(int max) {
+        List<TxSubmissionRequest> announced = new ArrayList<>(Math.min(max, unannounced.size()));
+        while (announced.size() < max && !unannounced.isEmpty()) {
+            String txHash = unannounced.pollFirst();
+            unacknowledged.addLast(txHash);
+            announced.add(txs.get(txHash));
+        }
+        return announced;
+    }
+
+    /**
+     * Remove the oldest announced transactions
+     *
+     * @param count number of acknowledged transactions
+     * @return number of removed transactions. Less than count if fewer transactions are unacknowledged.
+     */
+    synchronized int acknowledge(int count) {
+        int removed = 0;
+        while (removed < count && !unacknowledged.isEmpty()) {
+            TxSubmissionRequest request = txs.remove(unacknowledged.pollFirst());
+            bytes -= request.getTxnBytes().length;
+            removed++;
+        }
+        return removed;
+    }
+
+    synchronized Optional<TxSubmissionRequest> get(String txHash) {
+        return Optional.ofNullable(txs.get(txHash));
+    }
+
+    synchronized boolean hasUnannounced() {
+        return !unannounced.isEmpty();
+    }
+
+    synchronized int unacknowledgedCount() {
+        return unacknowledged.size();
+    }
+
+    synchronized int size() {
+        return txs.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    synchronized void clear() {
+        txs.clear();
+        unannounced.clear();
+        unacknowledged.clear();
+        bytes = 0;
+    }
+}
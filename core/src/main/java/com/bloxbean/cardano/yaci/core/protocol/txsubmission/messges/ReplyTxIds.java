@@ -6,7 +6,7 @@ import com.bloxbean.cardano.yaci.core.protocol.txsubmission.serializers.TxSubmis
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Getter
@@ -23,7 +23,7 @@ public class ReplyTxIds implements Message {
 
     public void addTxId(String id, int size) {
         if (txIdAndSizeMap == null)
-            txIdAndSizeMap = new HashMap<>();
+            txIdAndSizeMap = new LinkedHashMap<>();
         txIdAndSizeMap.put(id, size);
     }
 
@@ -0,0 +1,75 @@
+package com.bloxbean.cardano.yaci.core.storage;
+
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Local store for raw block bytes. Blocks are appended in chain order and can be read back without any network
+ * connection.
+ */
+public interface BlockStore extends Closeable {
+
+    /**
+     * Append a block. If a block with the same hash is already in the store, the stored block is returned.
+     *
+     * @param blockBytes block bytes as received in MsgBlock ([era, block])
+     * @return stored block
+     * @throws IllegalStateException if the block's slot is before the current tip
+     */
+    StoredBlock append(byte[] blockBytes);
+
+    /**
+     * Remove all blocks after the given point. If the point is not in the store, all blocks after the point's slot
+     * are removed.
+     *
+     * @param point rollback point
+     */
+    void rollbackTo(Point point);
+
+    /**
+     * @return last stored block
+     */
+    Optional<StoredBlock> getTip();
+
+    Optional<StoredBlock> getByHash(String hash);
+
+    /**
+     * @param slot absolute slot
+     * @return first block stored at the slot
+     */
+    Optional<StoredBlock> getBySlot(long slot);
+
+    /**
+     * Iterate blocks in chain order
+     *
+     * @param fromSlot from slot (inclusive)
+     * @param toSlot   to slot (inclusive)
+     * @return iterator of stored blocks
+     */
+    Iterator<StoredBlock> iterator(long fromSlot, long toSlot);
+
+    default Stream<StoredBlock> stream(long fromSlot, long toSlot) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(fromSlot, toSlot),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * @return number of stored blocks
+     */
+    long size();
+
+    /**
+     * Force written blocks and index to the storage device
+     */
+    void flush();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,653 @@
+package com.bloxbean.cardano.yaci.core.storage;
+
+import com.bloxbean.cardano.yaci.core.common.GenesisConfig;
+import com.bloxbean.cardano.yaci.core.exception.YaciRuntimeException;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockHashUtil;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.RawCborReader;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * {@link BlockStore} backed by append-only segment files in a directory.
+ * <p>
+ * Block bytes are written back to back to segment files (blocks-00000000.dat, ...), so a segment is a plain CBOR
+ * sequence. A new segment is started when the current one would grow beyond the max segment size.
+ * <p>
+ * Two memory-mapped index files are kept next to the segments:
+ * <ul>
+ *     <li>blocks.idx - fixed size entries in chain order: slot, block number, segment, offset, length and block hash.
+ *     Slot lookups are a binary search over the entries.</li>
+ *     <li>hashes.idx - open addressing hash table from block hash to entry number</li>
+ * </ul>
+ * Segment data is written before the index entry, so a segment tail which is not in the index (e.g. after a crash)
+ * is truncated when the store is opened. A rollback truncates the index and the segments.
+ * <p>
+ * Writes are serialized. Reads can be done concurrently from any thread.
+ */
+@Slf4j
+public class FileBlockStore implements BlockStore {
+    public static final long DEFAULT_SEGMENT_SIZE = 512L * 1024 * 1024;
+
+    private static final String INDEX_FILE = "blocks.idx";
+    private static final String HASH_INDEX_FILE = "hashes.idx";
+    private static final String SEGMENT_PREFIX = "blocks-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private static final int INDEX_MAGIC = 0x59424c4b;
+    private static final int HASH_INDEX_MAGIC = 0x59484153;
+    private static final int VERSION = 1;
+
+    //magic(4), version(4), count(8)
+    private static final int INDEX_HEADER_SIZE = 16;
+    //slot(8), block number(8), offset(8), segment(4), length(4), hash(32)
+    private static final int ENTRY_SIZE = 64;
+    private static final int HASH_OFFSET = 32;
+    private static final long MAX_ENTRIES = (Integer.MAX_VALUE - INDEX_HEADER_SIZE) / ENTRY_SIZE;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    //magic(4), version(4), indexed count(8), used slots(8), capacity(4), reserved(4)
+    private static final int HASH_HEADER_SIZE = 32;
+    private static final int EMPTY = 0;
+
+    private final Path dir;
+    private final long maxSegmentSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, FileChannel> segments = new ConcurrentHashMap<>();
+
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private long capacity;
+    private long count;
+
+    private FileChannel hashChannel;
+    private MappedByteBuffer hashIndex;
+    private int hashCapacity;
+    private long hashUsed;
+
+    private int currentSegment;
+    private long segmentPosition;
+    private boolean closed;
+
+    public FileBlockStore(Path dir) {
+        this(dir, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open or create a store in the directory
+     *
+     * @param dir            store directory
+     * @param maxSegmentSize max size of a segment file in bytes. A block larger than this is written to its own segment.
+     */
+    public FileBlockStore(Path dir, long maxSegmentSize) {
+        this.dir = dir;
+        this.maxSegmentSize = maxSegmentSize;
+
+        try {
+            Files.createDirectories(dir);
+            openIndex();
+            recoverSegments();
+            openHashIndex();
+        } catch (IOException e) {
+            close();
+            throw new YaciRuntimeException("Unable to open block store at " + dir, e);
+        }
+    }
+
+    @Override
+    public StoredBlock append(byte[] blockBytes) {
+        BlockInfo info = blockInfo(blockBytes);
+
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            long existing = find(info.hash);
+            if (existing >= 0)
+                return read(existing);
+
+            if (count > 0 && info.slot < slotAt(count - 1))
+                throw new IllegalStateException("Block at slot " + info.slot + " is before the tip at slot "
+                        + slotAt(count - 1) + ". Rollback the store first.");
+            if (count == MAX_ENTRIES)
+                throw new YaciRuntimeException("Block store is full. Max entries: " + MAX_ENTRIES);
+
+            if (segmentPosition > 0 && segmentPosition + blockBytes.length > maxSegmentSize) {
+                currentSegment++;
+                segmentPosition = 0;
+            }
+
+            writeFully(segment(currentSegment), ByteBuffer.wrap(blockBytes), segmentPosition);
+
+            if (count == capacity)
+                growIndex();
+
+            int pos = entryPosition(count);
+            index.putLong(pos, info.slot);
+            index.putLong(pos + 8, info.blockNumber);
+            index.putLong(pos + 16, segmentPosition);
+            index.putInt(pos + 24, currentSegment);
+            index.putInt(pos + 28, blockBytes.length);
+            for (int i = 0; i < info.hash.length; i++)
+                index.put(pos + HASH_OFFSET + i, info.hash[i]);
+
+            count++;
+            index.putLong(8, count);
+            segmentPosition += blockBytes.length;
+
+            insertHash(count - 1, info.hash);
+            hashIndex.putLong(8, count);
+
+            return new StoredBlock(info.slot, info.blockNumber, HexUtil.encodeHexString(info.hash), blockBytes);
+        } catch (IOException e) {
+            throw new YaciRuntimeException("Unable to write block at slot " + info.slot, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rollbackTo(Point point) {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            long keep;
+            if (point.getHash() == null && point.getSlot() == 0) { //Origin
+                keep = 0;
+            } else {
+                long entry = point.getHash() != null ? find(HexUtil.decodeHexString(point.getHash())) : -1;
+                if (entry >= 0) {
+                    keep = entry + 1;
+                } else {
+                    keep = lowerBound(point.getSlot() + 1);
+                    if (log.isDebugEnabled())
+                        log.debug("Rollback point {} not found in block store. Removing blocks after the slot", point);
+                }
+            }
+
+            truncate(keep);
+        } catch (IOException e) {
+            throw new YaciRuntimeException("Unable to rollback block store to " + point, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<StoredBlock> getTip() {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return count > 0 ? Optional.of(read(count - 1)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<StoredBlock> getByHash(String hash) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            long entry = find(HexUtil.decodeHexString(hash));
+            return entry >= 0 ? Optional.of(read(entry)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<StoredBlock> getBySlot(long slot) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            long entry = lowerBound(slot);
+            return entry < count && slotAt(entry) == slot ? Optional.of(read(entry)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Iterator<StoredBlock> iterator(long fromSlot, long toSlot) {
+        long start;
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            start = lowerBound(fromSlot);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new Iterator<>() {
+            private long next = start;
+
+            @Override
+            public boolean hasNext() {
+                lock.readLock().lock();
+                try {
+                    return !closed && next < count && slotAt(next) <= toSlot;
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+
+            @Override
+            public StoredBlock next() {
+                lock.readLock().lock();
+                try {
+                    if (closed || next >= count || slotAt(next) > toSlot)
+                        throw new NoSuchElementException();
+                    return read(next++);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        };
+    }
+
+    @Override
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            FileChannel channel = segments.get(currentSegment);
+            if (channel != null)
+                channel.force(false);
+            index.force();
+            hashIndex.force();
+        } catch (IOException e) {
+            throw new YaciRuntimeException("Unable to flush block store", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed)
+                return;
+            closed = true;
+
+            if (index != null)
+                index.force();
+            if (hashIndex != null)
+                hashIndex.force();
+            for (FileChannel channel : segments.values())
+                closeQuietly(channel);
+            segments.clear();
+            closeQuietly(indexChannel);
+            closeQuietly(hashChannel);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void openIndex() throws IOException {
+        indexChannel = FileChannel.open(dir.resolve(INDEX_FILE), CREATE, READ, WRITE);
+        boolean newIndex = indexChannel.size() == 0;
+        capacity = newIndex ? INITIAL_CAPACITY : (indexChannel.size() - INDEX_HEADER_SIZE) / ENTRY_SIZE;
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_SIZE + capacity * ENTRY_SIZE);
+
+        if (newIndex) {
+            index.putInt(0, INDEX_MAGIC);
+            index.putInt(4, VERSION);
+            index.putLong(8, 0);
+        } else if (index.getInt(0) != INDEX_MAGIC || index.getInt(4) != VERSION) {
+            throw new YaciRuntimeException("Invalid block store index: " + dir.resolve(INDEX_FILE));
+        }
+
+        count = index.getLong(8);
+    }
+
+    private void growIndex() throws IOException {
+        long newCapacity = Math.min(capacity * 2, MAX_ENTRIES);
+        index.force();
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_HEADER_SIZE + newCapacity * ENTRY_SIZE);
+        capacity = newCapacity;
+    }
+
+    /**
+     * Truncate the segment tail which is not in the index and delete segments after it
+     */
+    private void recoverSegments() throws IOException {
+        setWritePosition();
+
+        try (Stream<Path> files = Files.list(dir)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                int segmentNo = segmentNumber(file);
+                if (segmentNo > currentSegment) {
+                    log.warn("Deleting block store segment not in the index: {}", file);
+                    Files.delete(file);
+                }
+            }
+        }
+
+        FileChannel channel = segment(currentSegment);
+        if (channel.size() > segmentPosition) {
+            log.warn("Truncating block store segment {} from {} to {} bytes", currentSegment, channel.size(),
+                    segmentPosition);
+            channel.truncate(segmentPosition);
+        }
+    }
+
+    private void truncate(long keep) throws IOException {
+        if (keep >= count)
+            return;
+
+        count = keep;
+        index.putLong(8, count);
+        hashIndex.putLong(8, count);
+
+        int lastSegment = currentSegment;
+        setWritePosition();
+        for (int segmentNo = lastSegment; segmentNo > currentSegment; segmentNo--) {
+            FileChannel channel = segments.remove(segmentNo);
+            if (channel != null)
+                channel.close();
+            Files.deleteIfExists(segmentFile(segmentNo));
+        }
+        segment(currentSegment).truncate(segmentPosition);
+    }
+
+    private void setWritePosition() {
+        if (count > 0) {
+            int pos = entryPosition(count - 1);
+            currentSegment = index.getInt(pos + 24);
+            segmentPosition = index.getLong(pos + 16) + index.getInt(pos + 28);
+        } else {
+            currentSegment = 0;
+            segmentPosition = 0;
+        }
+    }
+
+    private void openHashIndex() throws IOException {
+        hashChannel = FileChannel.open(dir.resolve(HASH_INDEX_FILE), CREATE, READ, WRITE);
+        if (hashChannel.size() < HASH_HEADER_SIZE) {
+            rebuildHashIndex(hashCapacityFor(count));
+            return;
+        }
+
+        hashIndex = hashChannel.map(FileChannel.MapMode.READ_WRITE, 0, hashChannel.size());
+        if (hashIndex.getInt(0) != HASH_INDEX_MAGIC || hashIndex.getInt(4) != VERSION) {
+            log.warn("Invalid block hash index. Rebuilding ...");
+            rebuildHashIndex(hashCapacityFor(count));
+            return;
+        }
+
+        hashUsed = hashIndex.getLong(16);
+        hashCapacity = hashIndex.getInt(24);
+
+        //Entries written after the last hash index update
+        long indexed = Math.min(hashIndex.getLong(8), count);
+        if ((hashUsed + count - indexed) * 2 > hashCapacity) {
+            rebuildHashIndex(hashCapacityFor(count));
+            return;
+        }
+        for (long entry = indexed; entry < count; entry++)
+            insertHash(entry, hashAt(entry));
+        hashIndex.putLong(8, count);
+    }
+
+    private void rebuildHashIndex(int newCapacity) throws IOException {
+        if (hashIndex != null)
+            hashIndex.force();
+
+        hashIndex = hashChannel.map(FileChannel.MapMode.READ_WRITE, 0, HASH_HEADER_SIZE + (long) newCapacity * 4);
+        for (int pos = HASH_HEADER_SIZE; pos < hashIndex.capacity(); pos += 4)
+            hashIndex.putInt(pos, EMPTY);
+
+        hashCapacity = newCapacity;
+        hashUsed = 0;
+        hashIndex.putInt(0, HASH_INDEX_MAGIC);
+        hashIndex.putInt(4, VERSION);
+        hashIndex.putInt(24, hashCapacity);
+
+        for (long entry = 0; entry < count; entry++)
+            insertHash(entry, hashAt(entry));
+        hashIndex.putLong(8, count);
+    }
+
+    /**
+     * Slots of entries removed by a rollback are not cleared. They are skipped by {@link #find(byte[])} as the entry
+     * number is beyond the count or the entry's hash doesn't match, and are dropped when the table is rebuilt.
+     */
+    private void insertHash(long entry, byte[] hash) throws IOException {
+        if ((hashUsed + 1) * 2 > hashCapacity) {
+            rebuildHashIndex(hashCapacityFor(count + 1));
+            if (entry < count) //already inserted by the rebuild
+                return;
+        }
+
+        int mask = hashCapacity - 1;
+        int slot = homeSlot(hash) & mask;
+        while (hashIndex.getInt(HASH_HEADER_SIZE + slot * 4) != EMPTY)
+            slot = (slot + 1) & mask;
+
+        hashIndex.putInt(HASH_HEADER_SIZE + slot * 4, (int) entry + 1);
+        hashUsed++;
+        hashIndex.putLong(16, hashUsed);
+    }
+
+    private long find(byte[] hash) {
+        int mask = hashCapacity - 1;
+        int slot = homeSlot(hash) & mask;
+        while (true) {
+            int value = hashIndex.getInt(HASH_HEADER_SIZE + slot * 4);
+            if (value == EMPTY)
+                return -1;
+
+            long entry = value - 1;
+            if (entry < count && hashEquals(entry, hash))
+                return entry;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int homeSlot(byte[] hash) {
+        //Block hashes are uniformly distributed, so the first bytes are good enough
+        return ((hash[0] & 0xff) << 24) | ((hash[1] & 0xff) << 16) | ((hash[2] & 0xff) << 8) | (hash[3] & 0xff);
+    }
+
+    private static int hashCapacityFor(long entries) {
+        long size = Long.highestOneBit(Math.max(INITIAL_CAPACITY, entries * 4) - 1) << 1;
+        return (int) Math.min(size, 1 << 29);
+    }
+
+    private boolean hashEquals(long entry, byte[] hash) {
+        int pos = entryPosition(entry) + HASH_OFFSET;
+        for (int i = 0; i < hash.length; i++) {
+            if (index.get(pos + i) != hash[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return first entry with slot &gt;= the given slot, or count if there is no such entry
+     */
+    private long lowerBound(long slot) {
+        long low = 0;
+        long high = count;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (slotAt(mid) < slot)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private long slotAt(long entry) {
+        return index.getLong(entryPosition(entry));
+    }
+
+    private byte[] hashAt(long entry) {
+        byte[] hash = new byte[32];
+        int pos = entryPosition(entry) + HASH_OFFSET;
+        for (int i = 0; i < hash.length; i++)
+            hash[i] = index.get(pos + i);
+        return hash;
+    }
+
+    private StoredBlock read(long entry) {
+        int pos = entryPosition(entry);
+        long slot = index.getLong(pos);
+        long blockNumber = index.getLong(pos + 8);
+        long offset = index.getLong(pos + 16);
+        int segmentNo = index.getInt(pos + 24);
+        int length = index.getInt(pos + 28);
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            FileChannel channel = segment(segmentNo);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0)
+                    throw new YaciRuntimeException("Unexpected end of block store segment " + segmentNo);
+            }
+        } catch (IOException e) {
+            throw new YaciRuntimeException("Unable to read block at slot " + slot, e);
+        }
+
+        return new StoredBlock(slot, blockNumber, HexUtil.encodeHexString(hashAt(entry)), buffer.array());
+    }
+
+    private FileChannel segment(int segmentNo) throws IOException {
+        FileChannel channel = segments.get(segmentNo);
+        if (channel == null) {
+            channel = FileChannel.open(segmentFile(segmentNo), CREATE, READ, WRITE);
+            FileChannel existing = segments.putIfAbsent(segmentNo, channel);
+            if (existing != null) {
+                channel.close();
+                channel = existing;
+            }
+        }
+        return channel;
+    }
+
+    private Path segmentFile(int segmentNo) {
+        return dir.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentNo, SEGMENT_SUFFIX));
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX))
+            return -1;
+        try {
+            return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int entryPosition(long entry) {
+        return (int) (INDEX_HEADER_SIZE + entry * ENTRY_SIZE);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer, position + buffer.position());
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null)
+            return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Error closing block store file", e);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed)
+            throw new IllegalStateException("Block store is closed");
+    }
+
+    /**
+     * Read slot, block number and block hash from the block header without decoding the block
+     */
+    static BlockInfo blockInfo(byte[] blockBytes) {
+        int era = BlockExtractor.getEraValue(blockBytes);
+        byte[] headerBytes = BlockExtractor.getHeaderBytes(blockBytes);
+        RawCborReader reader = new RawCborReader(headerBytes);
+        reader.readArrayHeader();
+
+        if (era == 0) { //Byron epoch boundary block
+            reader.skip(); //protocol magic
+            reader.skip(); //prev block
+            reader.skip(); //body proof
+            reader.readArrayHeader(); //consensus data
+            long epoch = reader.readUnsignedInteger();
+            reader.readArrayHeader();
+            long difficulty = reader.readUnsignedInteger();
+
+            long slot = GenesisConfig.getInstance().absoluteSlot(Era.Byron, epoch, 0);
+            return new BlockInfo(slot, difficulty, BlockHashUtil.byronBlockHash(0, headerBytes));
+        } else if (era == 1) { //Byron main block
+            reader.skip(); //protocol magic
+            reader.skip(); //prev block
+            reader.skip(); //body proof
+            reader.readArrayHeader(); //consensus data
+            reader.readArrayHeader();
+            long epoch = reader.readUnsignedInteger();
+            long slotInEpoch = reader.readUnsignedInteger();
+            reader.skip(); //pub key
+            reader.readArrayHeader();
+            long difficulty = reader.readUnsignedInteger();
+
+            long slot = GenesisConfig.getInstance().absoluteSlot(Era.Byron, epoch, slotInEpoch);
+            return new BlockInfo(slot, difficulty, BlockHashUtil.byronBlockHash(1, headerBytes));
+        } else { //[header_body, body_signature]
+            reader.readArrayHeader();
+            long blockNumber = reader.readUnsignedInteger();
+            long slot = reader.readUnsignedInteger();
+            return new BlockInfo(slot, blockNumber, BlockHashUtil.blockHash(headerBytes));
+        }
+    }
+
+    static class BlockInfo {
+        final long slot;
+        final long blockNumber;
+        final byte[] hash;
+
+        BlockInfo(long slot, long blockNumber, byte[] hash) {
+            this.slot = slot;
+            this.blockNumber = blockNumber;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.bloxbean.cardano.yaci.core.storage;
+
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Raw block as stored in a {@link BlockStore}. Bytes are the block CBOR as received in MsgBlock ([era, block]).
+ */
+@Getter
+@AllArgsConstructor
+@ToString(exclude = "bytes")
+public class StoredBlock {
+    private final long slot;
+    private final long blockNumber;
+    private final String hash;
+    private final byte[] bytes;
+
+    public Point getPoint() {
+        return new Point(slot, hash);
+    }
+}
@@ -0,0 +1,67 @@
+package com.bloxbean.cardano.yaci.core.util;
+
+import com.bloxbean.cardano.yaci.core.model.RawAddress;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of encoded addresses, used by {@link RawAddress#toAddress()}. Useful for hot addresses like
+ * exchange or DEX script addresses which appear in many outputs.
+ * <p>
+ * The cache is disabled by default. Enable it with {@link #setMaxSize(int)}.
+ */
+public enum AddressCache {
+    INSTANCE;
+
+    private volatile int maxSize;
+    private final LinkedHashMap<RawAddress, String> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RawAddress, String> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * Set the max no of cached addresses. 0 disables the cache.
+     * @param maxSize
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("Max size should not be negative");
+
+        this.maxSize = maxSize;
+        if (cache.size() > maxSize)
+            cache.clear();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String get(RawAddress address) {
+        if (maxSize == 0)
+            return null;
+
+        synchronized (this) {
+            return cache.get(address);
+        }
+    }
+
+    public void put(RawAddress address, String encoded) {
+        if (maxSize == 0)
+            return;
+
+        synchronized (this) {
+            cache.put(address, encoded);
+        }
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+    }
+}
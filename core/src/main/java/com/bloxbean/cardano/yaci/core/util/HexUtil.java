@@ -1,6 +1,8 @@
 package com.bloxbean.cardano.yaci.core.util;
 
 public class HexUtil {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     public static String encodeHexString(byte[] byteArray) {
         if (byteArray == null)
             return null;
@@ -12,13 +14,12 @@ public class HexUtil {
         if (byteArray == null)
             return null;
 
-        StringBuffer hexStringBuffer = new StringBuffer();
+        char[] hexChars = new char[byteArray.length * 2];
         for (int i = 0; i < byteArray.length; i++) {
-            hexStringBuffer.append(byteToHex(byteArray[i]));
+            hexChars[i * 2] = HEX_DIGITS[(byteArray[i] >> 4) & 0xF];
+            hexChars[i * 2 + 1] = HEX_DIGITS[byteArray[i] & 0xF];
         }
-        String hexString = hexStringBuffer.toString();
-        if(hexString == null)
-            return null;
+        String hexString = new String(hexChars);
 
         if(withPrefix)
             return "0x" + hexString;
@@ -26,6 +27,20 @@ public class HexUtil {
             return hexString;
     }
 
+    /**
+     * Hash code of the hex string of the bytes, without creating the string
+     * @param byteArray bytes
+     * @return same value as {@code encodeHexString(byteArray).hashCode()}
+     */
+    public static int hexStringHashCode(byte[] byteArray) {
+        int h = 0;
+        for (byte b : byteArray) {
+            h = 31 * h + HEX_DIGITS[(b >> 4) & 0xF];
+            h = 31 * h + HEX_DIGITS[b & 0xF];
+        }
+        return h;
+    }
+
     public static byte[] decodeHexString(String hexString) {
         if(hexString != null && hexString.startsWith("0x"))
             hexString = hexString.substring(2);
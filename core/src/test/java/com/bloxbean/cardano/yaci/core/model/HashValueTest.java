@@ -0,0 +1,44 @@
+package com.bloxbean.cardano.yaci.core.model;
+
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HashValueTest {
+    private static final String TX_ID = "6e9a0c4bbd1f2b0ab52d7ec2fd0a8f8a7c8a6d7d6a2e3cdb5a4d5b0de0a4c2f1";
+
+    @Test
+    void hexRoundTrip_andHashCodeSameAsHexString() {
+        Hash32 hash = Hash32.fromHex(TX_ID);
+
+        assertThat(hash.toHex()).isEqualTo(TX_ID);
+        assertThat(hash.hashCode()).isEqualTo(TX_ID.hashCode());
+        //Same hash code, but not interchangeable with the hex string
+        assertThat((Object) hash).isNotEqualTo(TX_ID);
+        assertThat(hash).isEqualTo(Hash32.of(HexUtil.decodeHexString(TX_ID)));
+        assertThat(hash.length()).isEqualTo(Hash32.LENGTH);
+    }
+
+    @Test
+    void invalidLength_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> Hash32.of(new byte[28]));
+        assertThrows(IllegalArgumentException.class, () -> Hash28.of(new byte[32]));
+    }
+
+    @Test
+    void transactionInput_equalInStringAndRawMode() {
+        TransactionInput stringInput = new TransactionInput(TX_ID, 1);
+        TransactionInput rawInput = TransactionInput.builder()
+                .transactionIdRaw(Hash32.fromHex(TX_ID))
+                .index(1)
+                .build();
+
+        assertThat(rawInput.getTransactionId()).isEqualTo(TX_ID);
+        assertThat(stringInput.getTransactionIdRaw()).isEqualTo(rawInput.getTransactionIdRaw());
+        assertThat(rawInput).isEqualTo(stringInput);
+        assertThat(stringInput).isEqualTo(rawInput);
+        assertThat(rawInput.hashCode()).isEqualTo(stringInput.hashCode());
+    }
+}
@@ -0,0 +1,57 @@
+package com.bloxbean.cardano.yaci.core.model;
+
+import com.bloxbean.cardano.yaci.core.util.AddressCache;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawAddressTest {
+    private static final String ADDRESS_HEX = "610102030405060708090a0b0c0d0e0f101112131415161718191a1b1c";
+    private static final String ADDRESS = "addr1vyqsyqcyq5rqwzqfpg9scrgwpugpzysnzs23v9ccrydpk8qavsj8u";
+
+    @AfterEach
+    void tearDown() {
+        AddressCache.INSTANCE.setMaxSize(0);
+    }
+
+    @Test
+    void headerAndLazyEncoding() {
+        RawAddress address = RawAddress.of(HexUtil.decodeHexString(ADDRESS_HEX));
+
+        assertThat(address.getHeaderType()).isEqualTo(6);
+        assertThat(address.getNetworkId()).isEqualTo(1);
+        assertThat(address.isByron()).isFalse();
+        assertThat(address.toAddress()).isEqualTo(ADDRESS);
+    }
+
+    @Test
+    void transactionOutput_addressFromRawBytes() {
+        TransactionOutput output = TransactionOutput.builder()
+                .addressRaw(RawAddress.of(HexUtil.decodeHexString(ADDRESS_HEX)))
+                .build();
+
+        assertThat(output.getAddress()).isEqualTo(ADDRESS);
+        assertThat(output).isEqualTo(TransactionOutput.builder().address(ADDRESS).build());
+    }
+
+    @Test
+    void addressCache_boundedLru() {
+        AddressCache cache = AddressCache.INSTANCE;
+        cache.setMaxSize(2);
+
+        RawAddress address1 = RawAddress.of(new byte[]{0x61, 1});
+        RawAddress address2 = RawAddress.of(new byte[]{0x61, 2});
+        RawAddress address3 = RawAddress.of(new byte[]{0x61, 3});
+        cache.put(address1, "addr1");
+        cache.put(address2, "addr2");
+        cache.get(address1);
+        cache.put(address3, "addr3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(RawAddress.of(new byte[]{0x61, 1}))).isEqualTo("addr1");
+        assertThat(cache.get(address2)).isNull();
+        assertThat(cache.get(address3)).isEqualTo("addr3");
+    }
+}
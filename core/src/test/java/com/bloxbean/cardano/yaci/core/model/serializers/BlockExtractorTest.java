@@ -0,0 +1,86 @@
+package com.bloxbean.cardano.yaci.core.model.serializers;
+
+import co.nstant.in.cbor.model.DataItem;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.AuxDataExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockParts;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.TransactionBodyExtractor;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.WitnessUtil;
+import com.bloxbean.cardano.yaci.core.util.CborLoader;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import com.bloxbean.cardano.yaci.core.util.Tuple;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockExtractorTest {
+
+    @Test
+    void extract_matchesRawExtractors() throws Exception {
+        for (String path : List.of("block/preprod286677.txt", "block/preprod292683.txt", "block/preview1300024.txt",
+                "block/preview_definite_length_4134992.txt")) {
+            assertMatchesRawExtractors(path);
+        }
+    }
+
+    private void assertMatchesRawExtractors(String path) throws Exception {
+        byte[] blockBytes = CborLoader.getHexBytes(path);
+
+        BlockParts blockParts = BlockExtractor.extract(blockBytes);
+
+        List<Tuple<DataItem, byte[]>> txBodies = TransactionBodyExtractor.getTxBodiesFromBlock(blockBytes);
+        assertThat(blockParts.getTransactionBodies()).hasSize(txBodies.size());
+        for (int i = 0; i < txBodies.size(); i++) {
+            assertThat(blockParts.getTransactionBodies().get(i)._2).isEqualTo(txBodies.get(i)._2);
+            assertThat(blockParts.getTransactionBodies().get(i)._1).isEqualTo(txBodies.get(i)._1);
+        }
+
+        List<byte[]> witnesses = WitnessUtil.getWitnessRawData(blockBytes);
+        assertThat(blockParts.getTransactionWitnesses()).hasSize(witnesses.size());
+        for (int i = 0; i < witnesses.size(); i++) {
+            assertThat(blockParts.getTransactionWitnesses().get(i)._2).isEqualTo(witnesses.get(i));
+        }
+
+        Map<Integer, byte[]> auxData = AuxDataExtractor.getAuxDataFromBlock(blockBytes);
+        assertThat(blockParts.getAuxiliaryData().keySet()).containsExactlyElementsOf(auxData.keySet());
+        for (var entry : auxData.entrySet()) {
+            assertThat(blockParts.getAuxiliaryData().get(entry.getKey())._2).isEqualTo(entry.getValue());
+        }
+
+        assertThat(blockParts.getEraValue()).isEqualTo(BlockExtractor.getEraValue(blockBytes));
+    }
+
+    @Test
+    void headerBytes_blockHashSameAsReserializedHeader() throws Exception {
+        for (String path : List.of("block/preprod286677.txt", "block/preview1300024.txt")) {
+            byte[] blockBytes = CborLoader.getHexBytes(path);
+            BlockParts blockParts = BlockExtractor.extract(blockBytes);
+            byte[] headerBytes = BlockExtractor.getHeaderBytes(blockBytes);
+
+            assertThat(headerBytes).isEqualTo(blockParts.getHeaderBytes());
+            String blockHash = BlockHeaderSerializer.INSTANCE.getBlockHeaderFromHeaderArray(blockParts.getHeader(), headerBytes)
+                    .getHeaderBody().getBlockHash();
+            assertThat(blockHash).isEqualTo(BlockHeaderSerializer.INSTANCE.getBlockHeaderFromHeaderArray(blockParts.getHeader())
+                    .getHeaderBody().getBlockHash());
+        }
+    }
+
+    @Test
+    void extract_indefiniteArraysAndInvalidTxs() {
+        //[5, [[], [_ {0: []}], [_ {}, {1: []}], {_ 0: {1: 2}}, [0]]]
+        byte[] blockBytes = HexUtil.decodeHexString("82058580" + "9fa10080ff" + "9fa0a10180ff" + "bf00a10102ff" + "8100");
+
+        BlockParts blockParts = BlockExtractor.extract(blockBytes);
+
+        assertThat(blockParts.getEraValue()).isEqualTo(5);
+        assertThat(blockParts.getTransactionBodies()).hasSize(1);
+        assertThat(HexUtil.encodeHexString(blockParts.getTransactionBodies().get(0)._2)).isEqualTo("a10080");
+        assertThat(blockParts.getTransactionWitnesses()).hasSize(2);
+        assertThat(HexUtil.encodeHexString(blockParts.getTransactionWitnesses().get(1)._2)).isEqualTo("a10180");
+        assertThat(HexUtil.encodeHexString(blockParts.getAuxiliaryData().get(0)._2)).isEqualTo("a10102");
+        assertThat(blockParts.getInvalidTransactions()).hasSize(1);
+    }
+}
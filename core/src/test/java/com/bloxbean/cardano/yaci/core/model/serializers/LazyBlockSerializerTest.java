@@ -0,0 +1,73 @@
+package com.bloxbean.cardano.yaci.core.model.serializers;
+
+import com.bloxbean.cardano.yaci.core.config.YaciConfig;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.LazyBlock;
+import com.bloxbean.cardano.yaci.core.util.CborLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyBlockSerializerTest {
+
+    @AfterEach
+    void tearDown() {
+        YaciConfig.INSTANCE.setReturnFullTxCbor(false);
+    }
+
+    @Test
+    void lazyBlock_matchesBlock() {
+        assertLazyBlocksMatchBlocks();
+    }
+
+    @Test
+    void lazyBlock_matchesBlock_withFullTxCbor() {
+        YaciConfig.INSTANCE.setReturnFullTxCbor(true);
+
+        assertLazyBlocksMatchBlocks();
+
+        LazyBlock lazyBlock = LazyBlockSerializer.INSTANCE.deserialize(CborLoader.getHexBytes("block/preprod292683.txt"));
+        Integer txIndex = lazyBlock.getAuxDataTxIndexes().iterator().next();
+        assertThat(lazyBlock.getAuxData(txIndex).getCbor()).isNotNull();
+    }
+
+    private void assertLazyBlocksMatchBlocks() {
+        for (String path : List.of("block/preprod286677.txt", "block/preprod292683.txt", "block/preview1300024.txt",
+                "block/preview_definite_length_4134992.txt")) {
+            byte[] blockBytes = CborLoader.getHexBytes(path);
+
+            Block block = BlockSerializer.INSTANCE.deserialize(blockBytes);
+            LazyBlock lazyBlock = LazyBlockSerializer.INSTANCE.deserialize(blockBytes);
+
+            assertThat(lazyBlock.getEra()).isEqualTo(block.getEra());
+            assertThat(lazyBlock.getHeader().getHeaderBody()).isEqualTo(block.getHeader().getHeaderBody());
+            assertThat(lazyBlock.getTransactionCount()).isEqualTo(block.getTransactionBodies().size());
+            assertThat(lazyBlock.getTransactionBodies()).isEqualTo(block.getTransactionBodies());
+
+            for (int i = 0; i < block.getTransactionWitness().size(); i++) {
+                assertThat(lazyBlock.getWitnesses(i)).isEqualTo(block.getTransactionWitness().get(i));
+            }
+
+            assertThat(lazyBlock.getAuxDataTxIndexes()).containsExactlyElementsOf(block.getAuxiliaryDataMap().keySet());
+            for (Integer txIndex : block.getAuxiliaryDataMap().keySet()) {
+                assertThat(lazyBlock.getAuxData(txIndex)).isEqualTo(block.getAuxiliaryDataMap().get(txIndex));
+            }
+
+            assertThat(lazyBlock.getInvalidTransactions()).isEqualTo(block.getInvalidTransactions());
+        }
+    }
+
+    @Test
+    void lazyBlock_decodesOnlyAccessedParts() {
+        byte[] blockBytes = CborLoader.getHexBytes("block/preprod292683.txt");
+
+        LazyBlock lazyBlock = LazyBlockSerializer.INSTANCE.deserialize(blockBytes);
+
+        assertThat(lazyBlock.getTransactionCount()).isGreaterThan(1);
+        assertThat(lazyBlock.getTransactionBody(1).getTxHash()).isNotNull();
+        assertThat(lazyBlock.getTransactionBody(1)).isSameAs(lazyBlock.getTransactionBody(1));
+    }
+}
@@ -0,0 +1,48 @@
+package com.bloxbean.cardano.yaci.core.network;
+
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventLoopGroupProviderTest {
+
+    @Test
+    void groupSharedPerChannelType_andShutdownAfterLastRelease() {
+        EventLoopGroupProvider provider = new EventLoopGroupProvider();
+        AtomicInteger created = new AtomicInteger();
+
+        EventLoopGroup group1 = provider.acquire(LocalChannel.class, () -> newGroup(created));
+        EventLoopGroup group2 = provider.acquire(LocalChannel.class, () -> newGroup(created));
+        EventLoopGroup otherGroup = provider.acquire(NioSocketChannel.class, () -> newGroup(created));
+
+        assertThat(group1).isSameAs(group2);
+        assertThat(otherGroup).isNotSameAs(group1);
+        assertThat(created.get()).isEqualTo(2);
+        assertThat(provider.getRefCount(LocalChannel.class)).isEqualTo(2);
+
+        provider.release(group1);
+        assertThat(group1.isShuttingDown()).isFalse();
+
+        provider.release(group2);
+        assertThat(group1.isShuttingDown()).isTrue();
+        assertThat(provider.getRefCount(LocalChannel.class)).isZero();
+
+        //A new group is created after the shutdown
+        EventLoopGroup group3 = provider.acquire(LocalChannel.class, () -> newGroup(created));
+        assertThat(group3).isNotSameAs(group1);
+
+        provider.release(group3);
+        provider.release(otherGroup);
+    }
+
+    private static EventLoopGroup newGroup(AtomicInteger counter) {
+        counter.incrementAndGet();
+        return new DefaultEventLoopGroup(1);
+    }
+}
@@ -238,4 +238,32 @@ class NodeClientConfigTest {
         assertEquals(5000, original.getConnectionTimeoutMs(), "Original should be unchanged");
         assertEquals(15000, modified.getConnectionTimeoutMs(), "Modified should have new timeout");
     }
+
+    @Test
+    void testTransportDefaults() {
+        NodeClientConfig config = NodeClientConfig.defaultConfig();
+
+        assertTrue(config.isNativeTransport(), "Native transport should be enabled by default");
+        assertFalse(config.isTcpQuickAck());
+        assertTrue(config.isEpollEdgeTriggered());
+        assertEquals(0, config.getReceiveBufferSize(), "OS default receive buffer size should be used");
+        assertEquals(0, config.getSendBufferSize(), "OS default send buffer size should be used");
+    }
+
+    @Test
+    void testCustomTransportOptions() {
+        NodeClientConfig config = NodeClientConfig.builder()
+                .nativeTransport(false)
+                .tcpQuickAck(true)
+                .epollEdgeTriggered(false)
+                .receiveBufferSize(1024 * 1024)
+                .sendBufferSize(256 * 1024)
+                .build();
+
+        assertFalse(config.isNativeTransport());
+        assertTrue(config.isTcpQuickAck());
+        assertFalse(config.isEpollEdgeTriggered());
+        assertEquals(1024 * 1024, config.getReceiveBufferSize());
+        assertEquals(256 * 1024, config.getSendBufferSize());
+    }
 }
@@ -12,10 +12,16 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SessionTest {
 
@@ -51,6 +57,72 @@ class SessionTest {
         assertEquals(List.of(firstAddress, secondAddress), clientBootstrap.connectAttempts);
     }
 
+    @Test
+    void startAsyncFailsWithoutRetry_whenReconnectIsDisabled() {
+        AtomicInteger resolveAttempts = new AtomicInteger();
+        Supplier<SocketAddress> socketAddressSupplier = () -> {
+            resolveAttempts.incrementAndGet();
+            return new InetSocketAddress("127.0.0.1", 3001);
+        };
+
+        NodeClientConfig config = NodeClientConfig.builder()
+                .autoReconnect(false)
+                .enableConnectionLogging(false)
+                .build();
+
+        Session session = new Session(socketAddressSupplier, new RecordingBootstrap(), config,
+                new DoneHandshakeAgent(), new Agent[0]);
+
+        CompletableFuture<Session> future = session.startAsync();
+
+        assertTrue(future.isCompletedExceptionally());
+        assertEquals(1, resolveAttempts.get());
+    }
+
+    @Test
+    void disposedSession_doesNotRetry() {
+        RecordingBootstrap clientBootstrap = new RecordingBootstrap();
+        NodeClientConfig config = NodeClientConfig.builder()
+                .initialRetryDelayMs(200)
+                .enableConnectionLogging(false)
+                .build();
+
+        Session session = new Session(() -> new InetSocketAddress("127.0.0.1", 3001), clientBootstrap, config,
+                new DoneHandshakeAgent(), new Agent[0]);
+
+        CompletableFuture<Session> future = session.startAsync();
+        session.disableReconnection();
+        session.dispose();
+
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertEquals(1, clientBootstrap.connectAttempts.size());
+    }
+
+    @Test
+    void channelConnectedAfterDispose_isClosed() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        DefaultChannelPromise connectPromise = new DefaultChannelPromise(channel);
+        Bootstrap clientBootstrap = new Bootstrap() {
+            @Override
+            public ChannelFuture connect(SocketAddress remoteAddress) {
+                return connectPromise;
+            }
+        };
+
+        NodeClientConfig config = NodeClientConfig.builder()
+                .enableConnectionLogging(false)
+                .build();
+        Session session = new Session(() -> new InetSocketAddress("127.0.0.1", 3001), clientBootstrap, config,
+                new DoneHandshakeAgent(), new Agent[0]);
+
+        CompletableFuture<Session> future = session.startAsync();
+        session.dispose();
+        connectPromise.setSuccess();
+
+        assertTrue(future.isCompletedExceptionally());
+        assertFalse(channel.isOpen());
+    }
+
     private static class RecordingBootstrap extends Bootstrap {
         private final EmbeddedChannel channel = new EmbeddedChannel();
         private final List<SocketAddress> connectAttempts = new ArrayList<>();
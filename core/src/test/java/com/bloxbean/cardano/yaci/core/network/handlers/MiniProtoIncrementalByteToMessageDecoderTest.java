@@ -0,0 +1,135 @@
+package com.bloxbean.cardano.yaci.core.network.handlers;
+
+import com.bloxbean.cardano.yaci.core.protocol.Segment;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
+import com.bloxbean.cardano.yaci.core.util.CborLoader;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MiniProtoIncrementalByteToMessageDecoderTest {
+
+    @Test
+    void reassemblesBlockSplitAcrossSdus() {
+        byte[] block = CborLoader.getHexBytes("block/preprod286677.txt");
+        //MsgBlock [4, #6.24(bytes .cbor block)]
+        byte[] msgBlock = concat(HexUtil.decodeHexString("8204d818"), byteStringHeader(block.length), block);
+
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoIncrementalByteToMessageDecoder(new BlockfetchAgent()));
+        for (ByteBuf sdu : sdus(3, msgBlock, 1024)) {
+            channel.writeInbound(sdu);
+        }
+
+        List<Segment> segments = readSegments(channel);
+        assertThat(segments).hasSize(1);
+        assertThat(segments.get(0).getProtocol()).isEqualTo((short) 3);
+        assertThat(segments.get(0).getPayload()).isEqualTo(msgBlock);
+        segments.forEach(Segment::release);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void splitsMultipleMessagesInOneSdu() {
+        byte[] msg1 = HexUtil.decodeHexString("8100");             //[0]
+        byte[] msg2 = HexUtil.decodeHexString("83010203");         //[1, 2, 3]
+        byte[] msg3 = HexUtil.decodeHexString("9f0142ab01ff");     //[_ 1, h'ab01']
+
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoIncrementalByteToMessageDecoder());
+        channel.writeInbound(sdu(0, concat(msg1, msg2, msg3)));
+
+        List<Segment> segments = readSegments(channel);
+        assertThat(segments).hasSize(3);
+        assertThat(segments.get(0).getPayload()).isEqualTo(msg1);
+        assertThat(segments.get(1).getPayload()).isEqualTo(msg2);
+        assertThat(segments.get(2).getPayload()).isEqualTo(msg3);
+        segments.forEach(Segment::release);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void keepsTrailingNonArrayItemsInSameMessage() {
+        //[4, [1, 2]] followed by a separate uint item
+        byte[] msg = HexUtil.decodeHexString("82048201021903e8");
+        byte[] next = HexUtil.decodeHexString("8101");
+
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoIncrementalByteToMessageDecoder());
+        channel.writeInbound(sdu(0, concat(msg, next)));
+
+        List<Segment> segments = readSegments(channel);
+        assertThat(segments).hasSize(2);
+        assertThat(segments.get(0).getPayload()).isEqualTo(msg);
+        assertThat(segments.get(1).getPayload()).isEqualTo(next);
+        segments.forEach(Segment::release);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void resumesInsideHeadersAndStrings() {
+        //{1: h'0102030405', 2: [_ "ab", 1.5]}
+        byte[] msg = HexUtil.decodeHexString("8201a201450102030405029f626162f93e00ff");
+
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoIncrementalByteToMessageDecoder());
+        for (ByteBuf sdu : sdus(0, msg, 1)) {
+            channel.writeInbound(sdu);
+        }
+
+        List<Segment> segments = readSegments(channel);
+        assertThat(segments).hasSize(1);
+        assertThat(segments.get(0).getPayload()).isEqualTo(msg);
+        segments.forEach(Segment::release);
+        channel.finishAndReleaseAll();
+    }
+
+    private List<Segment> readSegments(EmbeddedChannel channel) {
+        List<Segment> segments = new ArrayList<>();
+        Segment segment;
+        while ((segment = channel.readInbound()) != null) {
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    private List<ByteBuf> sdus(int protocol, byte[] bytes, int maxSize) {
+        List<ByteBuf> sdus = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += maxSize) {
+            sdus.add(sdu(protocol, Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + maxSize))));
+        }
+        return sdus;
+    }
+
+    private ByteBuf sdu(int protocol, byte[] payload) {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeInt(0);
+        buf.writeShort(protocol | 0x8000); //Responder
+        buf.writeShort(payload.length);
+        buf.writeBytes(payload);
+        return buf;
+    }
+
+    private byte[] byteStringHeader(int length) {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeByte(0x5a);
+        buf.writeInt(length);
+        byte[] header = new byte[buf.readableBytes()];
+        buf.readBytes(header);
+        return header;
+    }
+
+    private byte[] concat(byte[]... arrays) {
+        ByteBuf buf = Unpooled.buffer();
+        for (byte[] array : arrays) {
+            buf.writeBytes(array);
+        }
+        byte[] bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        return bytes;
+    }
+}
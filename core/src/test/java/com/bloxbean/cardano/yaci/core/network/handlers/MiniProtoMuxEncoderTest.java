@@ -0,0 +1,113 @@
+package com.bloxbean.cardano.yaci.core.network.handlers;
+
+import com.bloxbean.cardano.yaci.core.protocol.Segment;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MiniProtoMuxEncoderTest {
+
+    @Test
+    void largeMessageFragmented_interleavedWithOtherProtocols() {
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoMuxEncoder(1000));
+
+        byte[] largePayload = payload(2500, (byte) 1);
+        byte[] smallPayload = payload(10, (byte) 2);
+        ChannelFuture largeFuture = channel.write(Segment.ofBuffer(0, (short) 4, Unpooled.wrappedBuffer(largePayload)));
+        ChannelFuture smallFuture = channel.write(new Segment(0, (short) 2, smallPayload));
+        channel.flush();
+        channel.runPendingTasks();
+
+        //Coalesced in a single write
+        ByteBuf out = channel.readOutbound();
+        assertThat((Object) channel.readOutbound()).isNull();
+
+        List<int[]> sdus = new ArrayList<>();
+        ByteArrayOutputStream large = new ByteArrayOutputStream();
+        while (out.isReadable()) {
+            out.readInt();
+            int protocol = out.readUnsignedShort();
+            int len = out.readUnsignedShort();
+            byte[] bytes = new byte[len];
+            out.readBytes(bytes);
+            if (protocol == 4)
+                large.writeBytes(bytes);
+            else
+                assertThat(bytes).isEqualTo(smallPayload);
+            sdus.add(new int[]{protocol, len});
+        }
+        out.release();
+
+        assertThat(sdus).containsExactly(new int[]{4, 1000}, new int[]{2, 10}, new int[]{4, 1000}, new int[]{4, 500});
+        assertThat(large.toByteArray()).isEqualTo(largePayload);
+        assertThat(largeFuture.isSuccess()).isTrue();
+        assertThat(smallFuture.isSuccess()).isTrue();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void flush_forwardsWritesOfOtherMessages() {
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoMuxEncoder());
+
+        channel.write(Unpooled.wrappedBuffer(payload(10, (byte) 1)));
+        channel.flush();
+
+        //Flushed without waiting for the drain task
+        ByteBuf out = channel.readOutbound();
+        assertThat(out.readableBytes()).isEqualTo(10);
+        out.release();
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void close_writesAllPendingMessages() {
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoMuxEncoder(2000));
+
+        //More SDUs than a single write can hold
+        List<ChannelFuture> futures = new ArrayList<>();
+        for (int i = 0; i < 600; i++)
+            futures.add(channel.write(Segment.ofBuffer(0, (short) 2, Unpooled.wrappedBuffer(payload(1100, (byte) 1)))));
+        channel.close();
+
+        assertThat(futures).allMatch(ChannelFuture::isSuccess);
+        int bytes = 0;
+        ByteBuf out;
+        while ((out = channel.readOutbound()) != null) {
+            bytes += out.readableBytes();
+            out.release();
+        }
+        assertThat(bytes).isEqualTo(600 * (8 + 1100));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void requestDataEncoder_splitsPayloadAboveMaxSduSize() {
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoRequestDataEncoder());
+
+        byte[] payload = payload(70000, (byte) 3);
+        channel.writeAndFlush(Segment.ofBuffer(0, (short) 3, Unpooled.wrappedBuffer(payload)));
+
+        ByteBuf out = channel.readOutbound();
+        out.skipBytes(6);
+        assertThat(out.readUnsignedShort()).isEqualTo(65535);
+        out.skipBytes(65535 + 6);
+        assertThat(out.readUnsignedShort()).isEqualTo(70000 - 65535);
+        out.release();
+        channel.finishAndReleaseAll();
+    }
+
+    private static byte[] payload(int len, byte value) {
+        byte[] bytes = new byte[len];
+        Arrays.fill(bytes, value);
+        return bytes;
+    }
+}
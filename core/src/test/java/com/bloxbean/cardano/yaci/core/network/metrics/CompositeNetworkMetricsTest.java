@@ -0,0 +1,31 @@
+package com.bloxbean.cardano.yaci.core.network.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompositeNetworkMetricsTest {
+
+    @Test
+    void forwardsToAllMetrics() {
+        SimpleNetworkMetrics first = new SimpleNetworkMetrics();
+        SimpleNetworkMetrics second = new SimpleNetworkMetrics();
+        NetworkMetrics metrics = CompositeNetworkMetrics.of(first, NetworkMetrics.NOOP, second);
+
+        metrics.connected();
+        metrics.sduReceived(3, 100);
+
+        assertThat(first.getConnections()).isEqualTo(1);
+        assertThat(second.getConnections()).isEqualTo(1);
+        assertThat(first.getBytesReceived()).isEqualTo(108);
+        assertThat(second.getBytesReceived()).isEqualTo(108);
+    }
+
+    @Test
+    void singleMetrics_isNotWrapped() {
+        SimpleNetworkMetrics metrics = new SimpleNetworkMetrics();
+
+        assertThat(CompositeNetworkMetrics.of(NetworkMetrics.NOOP, metrics, null)).isSameAs(metrics);
+        assertThat(CompositeNetworkMetrics.of(NetworkMetrics.NOOP)).isSameAs(NetworkMetrics.NOOP);
+    }
+}
@@ -0,0 +1,79 @@
+package com.bloxbean.cardano.yaci.core.network.metrics;
+
+import com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoIncrementalByteToMessageDecoder;
+import com.bloxbean.cardano.yaci.core.network.handlers.MiniProtoRequestDataEncoder;
+import com.bloxbean.cardano.yaci.core.protocol.Segment;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimpleNetworkMetricsTest {
+
+    @Test
+    void inboundSdusAndMessages() {
+        SimpleNetworkMetrics metrics = new SimpleNetworkMetrics();
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoIncrementalByteToMessageDecoder(metrics, new BlockfetchAgent()));
+
+        //[1, 2, 3] split across two SDUs, followed by [0] in the second SDU
+        channel.writeInbound(sdu(3, HexUtil.decodeHexString("8301")));
+        assertThat(metrics.getProtocolStats(3).getInboundBuffered()).isEqualTo(2);
+
+        channel.writeInbound(sdu(3, HexUtil.decodeHexString("02038100")));
+
+        SimpleNetworkMetrics.ProtocolStats stats = metrics.getProtocolStats(3);
+        assertThat(stats.getSdusReceived()).isEqualTo(2);
+        assertThat(stats.getBytesReceived()).isEqualTo(2 + 4 + 2 * 8);
+        assertThat(stats.getMessagesReceived()).isEqualTo(2);
+        assertThat(stats.getInboundBuffered()).isZero();
+        assertThat(metrics.getBytesReceived()).isEqualTo(22);
+
+        Segment segment;
+        while ((segment = channel.readInbound()) != null) {
+            segment.release();
+        }
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void outboundSdus() {
+        SimpleNetworkMetrics metrics = new SimpleNetworkMetrics();
+        EmbeddedChannel channel = new EmbeddedChannel(new MiniProtoRequestDataEncoder(metrics));
+
+        channel.writeAndFlush(new Segment(0, (short) 2, new byte[70000]));
+
+        assertThat(metrics.getProtocolStats(2).getSdusSent()).isEqualTo(2);
+        assertThat(metrics.getBytesSent()).isEqualTo(70000 + 2 * 8);
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void histogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.getPercentile(99)).isZero();
+
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMean()).isEqualTo(149.0);
+        assertThat(histogram.getPercentile(50)).isEqualTo(127);
+        assertThat(histogram.getPercentile(99)).isEqualTo(127);
+        assertThat(histogram.getPercentile(100)).isEqualTo(8191);
+    }
+
+    private ByteBuf sdu(int protocol, byte[] payload) {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeInt(0);
+        buf.writeShort(protocol | 0x8000); //Responder
+        buf.writeShort(payload.length);
+        buf.writeBytes(payload);
+        return buf;
+    }
+}
@@ -3,17 +3,42 @@ package com.bloxbean.cardano.yaci.core.protocol.blockfetch;
 import co.nstant.in.cbor.model.Array;
 import co.nstant.in.cbor.model.UnsignedInteger;
 import com.bloxbean.cardano.yaci.core.exception.BlockParseRuntimeException;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.serializers.BlockSerializer;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.BatchDone;
 import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.MsgBlock;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.RequestRange;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.StartBatch;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.storage.BlockStore;
+import com.bloxbean.cardano.yaci.core.storage.FileBlockStore;
+import com.bloxbean.cardano.yaci.core.storage.StoredBlock;
+import com.bloxbean.cardano.yaci.core.util.CborLoader;
 import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
 import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultEventLoop;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 
 public class BlockfetchAgentTest {
 
+    @TempDir
+    Path dir;
+
     @Test
     void testParseErrorHandling() {
         BlockfetchAgent blockfetchAgent = new BlockfetchAgent();
@@ -42,4 +67,244 @@ public class BlockfetchAgentTest {
 
         verify(mockListener, times(1)).onParsingError(any(BlockParseRuntimeException.class));
     }
+
+    @Test
+    void parallelDecoding_deliversBlocksInOrder() throws Exception {
+        DefaultEventLoop eventLoop = new DefaultEventLoop();
+        try {
+            Channel channel = mock(Channel.class, RETURNS_DEEP_STUBS);
+            when(channel.eventLoop()).thenReturn(eventLoop);
+
+            BlockfetchAgent blockfetchAgent = new BlockfetchAgent();
+            blockfetchAgent.setChannel(channel);
+            blockfetchAgent.enableParallelDecoding(4);
+
+            List<String> events = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch batchDone = new CountDownLatch(1);
+            blockfetchAgent.addListener(new BlockfetchAgentListener() {
+                @Override
+                public void blockFound(Block block) {
+                    events.add(block.getHeader().getHeaderBody().getBlockHash());
+                }
+
+                @Override
+                public void batchDone() {
+                    events.add("batchDone");
+                    batchDone.countDown();
+                }
+            });
+
+            List<String> expected = new ArrayList<>();
+            List<MsgBlock> msgBlocks = new ArrayList<>();
+            for (String path : List.of("block/preprod286677.txt", "block/preprod286853.txt", "block/preprod287339.txt",
+                    "block/preprod287361.txt", "block/preprod292507.txt", "block/preprod292683.txt")) {
+                byte[] bytes = CborLoader.getHexBytes(path);
+                expected.add(BlockSerializer.INSTANCE.deserialize(bytes).getHeader().getHeaderBody().getBlockHash());
+
+                MsgBlock msgBlock = mock(MsgBlock.class);
+                when(msgBlock.getBytes()).thenReturn(bytes);
+                msgBlocks.add(msgBlock);
+            }
+            expected.add("batchDone");
+
+            //Same as the event loop delivering the messages
+            eventLoop.submit(() -> {
+                blockfetchAgent.receiveResponse(new StartBatch());
+                msgBlocks.forEach(blockfetchAgent::receiveResponse);
+                blockfetchAgent.receiveResponse(new BatchDone());
+            }).sync();
+
+            assertThat(batchDone.await(30, TimeUnit.SECONDS)).isTrue();
+            assertThat(events).containsExactlyElementsOf(expected);
+
+            blockfetchAgent.shutdown();
+        } finally {
+            eventLoop.shutdownGracefully();
+        }
+    }
+
+    @Test
+    void listenerException_isReportedAsParsingError() {
+        BlockfetchAgent blockfetchAgent = new BlockfetchAgent();
+        BlockfetchAgentListener mockListener = mock(BlockfetchAgentListener.class);
+        doThrow(new IllegalStateException("listener error")).when(mockListener).blockFound(any(Block.class));
+        blockfetchAgent.addListener(mockListener);
+
+        MsgBlock msgBlock = mock(MsgBlock.class);
+        when(msgBlock.getBytes()).thenReturn(CborLoader.getHexBytes("block/preprod286677.txt"));
+
+        blockfetchAgent.processResponse(msgBlock);
+
+        verify(mockListener, times(1)).blockFound(any(Block.class));
+        verify(mockListener, times(1)).onParsingError(any(BlockParseRuntimeException.class));
+    }
+
+    @Test
+    void parallelDecoding_listenerException_isReportedAsParsingError() throws Exception {
+        DefaultEventLoop eventLoop = new DefaultEventLoop();
+        try {
+            Channel channel = mock(Channel.class, RETURNS_DEEP_STUBS);
+            when(channel.eventLoop()).thenReturn(eventLoop);
+
+            BlockfetchAgent blockfetchAgent = new BlockfetchAgent();
+            blockfetchAgent.setChannel(channel);
+            blockfetchAgent.enableParallelDecoding(2);
+
+            List<BlockParseRuntimeException> errors = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch batchDone = new CountDownLatch(1);
+            blockfetchAgent.addListener(new BlockfetchAgentListener() {
+                @Override
+                public void blockFound(Block block) {
+                    throw new IllegalStateException("listener error");
+                }
+
+                @Override
+                public void onParsingError(BlockParseRuntimeException e) {
+                    errors.add(e);
+                }
+
+                @Override
+                public void batchDone() {
+                    batchDone.countDown();
+                }
+            });
+
+            byte[] bytes = CborLoader.getHexBytes("block/preprod286677.txt");
+            MsgBlock msgBlock = mock(MsgBlock.class);
+            when(msgBlock.getBytes()).thenReturn(bytes);
+
+            eventLoop.submit(() -> {
+                blockfetchAgent.receiveResponse(new StartBatch());
+                blockfetchAgent.receiveResponse(msgBlock);
+                blockfetchAgent.receiveResponse(new BatchDone());
+            }).sync();
+
+            assertThat(batchDone.await(30, TimeUnit.SECONDS)).isTrue();
+            assertThat(errors).hasSize(1);
+            assertThat(errors.get(0).getCause()).isInstanceOf(IllegalStateException.class);
+
+            blockfetchAgent.shutdown();
+        } finally {
+            eventLoop.shutdownGracefully();
+        }
+    }
+
+    @Test
+    void parallelDecoding_corruptEraHeader_isReportedAsParsingError() throws Exception {
+        DefaultEventLoop eventLoop = new DefaultEventLoop();
+        try {
+            Channel channel = mock(Channel.class, RETURNS_DEEP_STUBS);
+            when(channel.eventLoop()).thenReturn(eventLoop);
+
+            BlockfetchAgent blockfetchAgent = new BlockfetchAgent();
+            blockfetchAgent.setChannel(channel);
+            blockfetchAgent.enableParallelDecoding(2);
+
+            List<BlockParseRuntimeException> errors = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch batchDone = new CountDownLatch(1);
+            blockfetchAgent.addListener(new BlockfetchAgentListener() {
+                @Override
+                public void onParsingError(BlockParseRuntimeException e) {
+                    errors.add(e);
+                }
+
+                @Override
+                public void batchDone() {
+                    batchDone.countDown();
+                }
+            });
+
+            //[text, ...] instead of [era, block]
+            MsgBlock msgBlock = mock(MsgBlock.class);
+            when(msgBlock.getBytes()).thenReturn(new byte[]{(byte) 0x82, 0x61, 0x61, 0x00});
+
+            eventLoop.submit(() -> {
+                blockfetchAgent.receiveResponse(new StartBatch());
+                blockfetchAgent.receiveResponse(msgBlock);
+                blockfetchAgent.receiveResponse(new BatchDone());
+            }).sync();
+
+            assertThat(batchDone.await(30, TimeUnit.SECONDS)).isTrue();
+            assertThat(errors).hasSize(1);
+            assertThat(errors.get(0).getBlockNumber()).isNull();
+
+            blockfetchAgent.shutdown();
+        } finally {
+            eventLoop.shutdownGracefully();
+        }
+    }
+
+    @Test
+    void rollbackDuringBatch_dropsBlocksAfterRollbackPoint() {
+        List<byte[]> blocks = new ArrayList<>();
+        List<Block> decodedBlocks = new ArrayList<>();
+        for (String path : List.of("block/preprod286677.txt", "block/preprod286853.txt", "block/preprod287339.txt")) {
+            byte[] bytes = CborLoader.getHexBytes(path);
+            blocks.add(bytes);
+            decodedBlocks.add(BlockSerializer.INSTANCE.deserialize(bytes));
+        }
+
+        try (FileBlockStore store = new FileBlockStore(dir)) {
+            BlockfetchAgent blockfetchAgent = new BlockfetchAgent();
+            blockfetchAgent.setBlockStore(store);
+
+            List<Long> received = new ArrayList<>();
+            blockfetchAgent.addListener(new BlockfetchAgentListener() {
+                @Override
+                public void blockFound(Block block) {
+                    received.add(block.getHeader().getHeaderBody().getBlockNumber());
+                }
+            });
+
+            Point rollbackPoint = point(decodedBlocks.get(0));
+            blockfetchAgent.sendRequest(new RequestRange(rollbackPoint, point(decodedBlocks.get(2))));
+            blockfetchAgent.receiveResponse(new StartBatch());
+            blockfetchAgent.receiveResponse(msgBlock(blocks.get(0)));
+
+            //Rollback while the rest of the batch is in flight
+            blockfetchAgent.rollbackTo(rollbackPoint);
+            blockfetchAgent.receiveResponse(msgBlock(blocks.get(1)));
+            blockfetchAgent.receiveResponse(msgBlock(blocks.get(2)));
+            blockfetchAgent.receiveResponse(new BatchDone());
+
+            assertThat(received).containsExactly(decodedBlocks.get(0).getHeader().getHeaderBody().getBlockNumber());
+            assertThat(store.stream(0, Long.MAX_VALUE).map(StoredBlock::getPoint).collect(Collectors.toList()))
+                    .containsExactly(rollbackPoint);
+
+            //Next batch is not filtered
+            blockfetchAgent.sendRequest(new RequestRange(point(decodedBlocks.get(1)), point(decodedBlocks.get(1))));
+            blockfetchAgent.receiveResponse(new StartBatch());
+            blockfetchAgent.receiveResponse(msgBlock(blocks.get(1)));
+            blockfetchAgent.receiveResponse(new BatchDone());
+
+            assertThat(received).hasSize(2);
+            assertThat(store.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void blockStoreFailure_isReportedToListeners() {
+        BlockStore blockStore = mock(BlockStore.class);
+        when(blockStore.append(any())).thenThrow(new IllegalStateException("store error"));
+
+        BlockfetchAgent blockfetchAgent = new BlockfetchAgent();
+        blockfetchAgent.setBlockStore(blockStore);
+        BlockfetchAgentListener mockListener = mock(BlockfetchAgentListener.class);
+        blockfetchAgent.addListener(mockListener);
+
+        blockfetchAgent.processResponse(msgBlock(CborLoader.getHexBytes("block/preprod286677.txt")));
+
+        verify(mockListener, times(1)).onBlockStoreError(any(IllegalStateException.class));
+        verify(mockListener, times(1)).blockFound(any(Block.class));
+    }
+
+    private static MsgBlock msgBlock(byte[] bytes) {
+        MsgBlock msgBlock = mock(MsgBlock.class);
+        when(msgBlock.getBytes()).thenReturn(bytes);
+        return msgBlock;
+    }
+
+    private static Point point(Block block) {
+        return new Point(block.getHeader().getHeaderBody().getSlot(), block.getHeader().getHeaderBody().getBlockHash());
+    }
 }
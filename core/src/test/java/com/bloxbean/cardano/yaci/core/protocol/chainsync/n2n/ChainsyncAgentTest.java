@@ -0,0 +1,212 @@
+package com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n;
+
+import co.nstant.in.cbor.model.Array;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.HeaderBody;
+import com.bloxbean.cardano.yaci.core.protocol.Segment;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.*;
+import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChainsyncAgentTest {
+    private static final int MSG_REQUEST_NEXT = 0;
+    private static final int MSG_FIND_INTERSECT = 4;
+    private static final Point START_POINT = new Point(0, "00");
+
+    private EmbeddedChannel channel;
+    private List<Long> rollforwardSlots;
+    private List<Point> rollbackPoints;
+
+    @BeforeEach
+    void setup() {
+        channel = new EmbeddedChannel();
+        rollforwardSlots = new ArrayList<>();
+        rollbackPoints = new ArrayList<>();
+    }
+
+    @Test
+    void pipelinedRequests_farFromTip() {
+        ChainsyncAgent agent = startAgent(10, 10000);
+
+        agent.sendNextMessage();
+
+        assertThat(agent.getInFlightRequests()).isEqualTo(10);
+        assertThat(readMessages()).hasSize(10).allMatch(message -> messageId(message) == MSG_REQUEST_NEXT);
+
+        agent.receiveResponse(rollForward(2, 10000));
+        agent.receiveResponse(rollForward(3, 10000));
+
+        assertThat(agent.getInFlightRequests()).isEqualTo(8);
+        assertThat(agent.hasAgency()).isTrue();
+        assertThat(rollforwardSlots).containsExactly(1L, 2L, 3L);
+
+        //Top up the pipeline
+        agent.sendNextMessage();
+        assertThat(agent.getInFlightRequests()).isEqualTo(10);
+        assertThat(readMessages()).hasSize(2);
+    }
+
+    @Test
+    void noPipelining_nearTip() {
+        ChainsyncAgent agent = startAgent(10, 20);
+
+        agent.sendNextMessage();
+
+        assertThat(agent.getInFlightRequests()).isEqualTo(1);
+        assertThat(readMessages()).hasSize(1);
+    }
+
+    @Test
+    void confirmBlock_confirmsInOrder() {
+        ChainsyncAgent agent = startAgent(10, 10000);
+        agent.sendNextMessage();
+        agent.receiveResponse(rollForward(2, 10000));
+        agent.receiveResponse(rollForward(3, 10000));
+
+        agent.confirmBlock(point(2));
+        assertThat(agent.getCurrentPoint()).isEqualTo(point(2));
+
+        //Already confirmed
+        agent.confirmBlock(point(1));
+        assertThat(agent.getCurrentPoint()).isEqualTo(point(2));
+
+        agent.confirmBlock(point(3));
+        assertThat(agent.getCurrentPoint()).isEqualTo(point(3));
+    }
+
+    @Test
+    void confirmBlock_pointDroppedFromUnconfirmed_advancesCurrentPoint() {
+        ChainsyncAgent agent = startAgent(10, 100000);
+        for (long blockNo = 2; blockNo <= 5000; blockNo++) {
+            if (agent.hasAgency())
+                agent.sendNextMessage();
+            agent.receiveResponse(rollForward(blockNo, 100000));
+            readMessages();
+        }
+
+        //Point 5 is no longer in the unconfirmed list, but still newer than the current point
+        agent.confirmBlock(point(5));
+        assertThat(agent.getCurrentPoint()).isEqualTo(point(5));
+
+        agent.confirmBlock(point(3));
+        assertThat(agent.getCurrentPoint()).isEqualTo(point(5));
+
+        agent.confirmBlock(point(5000));
+        assertThat(agent.getCurrentPoint()).isEqualTo(point(5000));
+    }
+
+    @Test
+    void rollbackward_discardsPipelinedResponsesAndFindsIntersect() {
+        ChainsyncAgent agent = startAgent(10, 10000);
+        agent.sendNextMessage();
+        readMessages();
+
+        agent.receiveResponse(rollForward(2, 10000));
+        agent.receiveResponse(rollForward(3, 10000));
+        agent.confirmBlock(point(3));
+
+        agent.receiveResponse(new Rollbackward(point(2), tip(10000)));
+
+        assertThat(rollbackPoints).containsExactly(START_POINT, point(2));
+        assertThat(agent.getCurrentPoint()).isEqualTo(point(2));
+        assertThat(agent.hasAgency()).isFalse();
+
+        //Responses of the remaining requests are discarded
+        int pending = agent.getInFlightRequests();
+        assertThat(pending).isEqualTo(7);
+        for (int i = 0; i < pending; i++) {
+            agent.receiveResponse(rollForward(10 + i, 10000));
+        }
+
+        assertThat(rollforwardSlots).containsExactly(1L, 2L, 3L);
+        assertThat(agent.getInFlightRequests()).isZero();
+
+        List<Array> messages = readMessages();
+        assertThat(messages).hasSize(1);
+        assertThat(messageId(messages.get(0))).isEqualTo(MSG_FIND_INTERSECT);
+        Array points = (Array) messages.get(0).getDataItems().get(1);
+        Array intersectPoint = (Array) points.getDataItems().get(0);
+        assertThat(CborSerializationUtil.toLong(intersectPoint.getDataItems().get(0))).isEqualTo(2);
+    }
+
+    @Test
+    void reset_clearsInFlightRequests() {
+        ChainsyncAgent agent = startAgent(10, 10000);
+        agent.sendNextMessage();
+
+        agent.reset();
+
+        assertThat(agent.getInFlightRequests()).isZero();
+        assertThat(agent.hasAgency()).isTrue();
+    }
+
+    /**
+     * Create an agent with an intersection and one block received, so that the distance to the tip is known
+     */
+    private ChainsyncAgent startAgent(int pipelineDepth, long tipBlock) {
+        ChainsyncAgent agent = new ChainsyncAgent(new Point[]{START_POINT}, pipelineDepth);
+        agent.setChannel(channel);
+        agent.addListener(new ChainSyncAgentListener() {
+            @Override
+            public void rollforward(Tip tip, BlockHeader blockHeader) {
+                rollforwardSlots.add(blockHeader.getHeaderBody().getSlot());
+            }
+
+            @Override
+            public void rollbackward(Tip tip, Point toPoint) {
+                rollbackPoints.add(toPoint);
+            }
+        });
+
+        agent.sendNextMessage();
+        agent.receiveResponse(new IntersectFound(START_POINT, tip(tipBlock)));
+        agent.sendNextMessage();
+        agent.receiveResponse(new Rollbackward(START_POINT, tip(tipBlock)));
+        agent.sendNextMessage();
+        agent.receiveResponse(rollForward(1, tipBlock));
+        agent.confirmBlock(point(1));
+
+        readMessages();
+        return agent;
+    }
+
+    /**
+     * Read the outbound messages as CBOR arrays. The first item is the message id.
+     */
+    private List<Array> readMessages() {
+        List<Array> messages = new ArrayList<>();
+        Segment segment;
+        while ((segment = channel.readOutbound()) != null) {
+            messages.add((Array) CborSerializationUtil.deserializeOne(segment.getPayload()));
+        }
+        return messages;
+    }
+
+    private static int messageId(Array message) {
+        return CborSerializationUtil.toInt(message.getDataItems().get(0));
+    }
+
+    private static RollForward rollForward(long blockNo, long tipBlock) {
+        HeaderBody headerBody = HeaderBody.builder()
+                .slot(blockNo)
+                .blockNumber(blockNo)
+                .blockHash(String.format("%02x", blockNo))
+                .build();
+        return new RollForward(null, null, BlockHeader.builder().headerBody(headerBody).build(), tip(tipBlock));
+    }
+
+    private static Point point(long blockNo) {
+        return new Point(blockNo, String.format("%02x", blockNo));
+    }
+
+    private static Tip tip(long tipBlock) {
+        return new Tip(new Point(tipBlock, "ff"), tipBlock);
+    }
+}
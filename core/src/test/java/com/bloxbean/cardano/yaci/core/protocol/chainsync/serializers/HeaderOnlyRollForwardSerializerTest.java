@@ -0,0 +1,61 @@
+package com.bloxbean.cardano.yaci.core.protocol.chainsync.serializers;
+
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.ByteString;
+import co.nstant.in.cbor.model.UnsignedInteger;
+import com.bloxbean.cardano.yaci.core.model.HeaderBody;
+import com.bloxbean.cardano.yaci.core.model.serializers.util.BlockExtractor;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.RollForward;
+import com.bloxbean.cardano.yaci.core.util.CborLoader;
+import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeaderOnlyRollForwardSerializerTest {
+
+    @Test
+    void minimalHeader_sameAsFullHeader() {
+        for (String path : List.of("block/preprod286677.txt", "block/preview1300024.txt")) {
+            byte[] rollForwardBytes = rollForward(CborLoader.getHexBytes(path));
+
+            RollForward full = RollForwardSerializer.INSTANCE.deserialize(rollForwardBytes);
+            RollForward minimal = HeaderOnlyRollForwardSerializer.INSTANCE.deserialize(rollForwardBytes);
+
+            HeaderBody fullBody = full.getBlockHeader().getHeaderBody();
+            HeaderBody minimalBody = minimal.getBlockHeader().getHeaderBody();
+            assertThat(minimalBody.getSlot()).isEqualTo(fullBody.getSlot());
+            assertThat(minimalBody.getBlockNumber()).isEqualTo(fullBody.getBlockNumber());
+            assertThat(minimalBody.getBlockHash()).isEqualTo(fullBody.getBlockHash());
+            assertThat(minimalBody.getPrevHash()).isEqualTo(fullBody.getPrevHash());
+            assertThat(minimalBody.getVrfVkey()).isNull();
+            assertThat(minimal.getTip()).isEqualTo(full.getTip());
+        }
+    }
+
+    //[2, [era, #6.24(header bytes)], [[slot, hash], block]]
+    private static byte[] rollForward(byte[] blockBytes) {
+        ByteString header = new ByteString(BlockExtractor.getHeaderBytes(blockBytes));
+        header.setTag(24);
+
+        Array wrappedHeader = new Array();
+        wrappedHeader.add(new UnsignedInteger(BlockExtractor.getEraValue(blockBytes) - 1));
+        wrappedHeader.add(header);
+
+        Array point = new Array();
+        point.add(new UnsignedInteger(1000));
+        point.add(new ByteString(HexUtil.decodeHexString("ab01")));
+        Array tip = new Array();
+        tip.add(point);
+        tip.add(new UnsignedInteger(10));
+
+        Array rollForward = new Array();
+        rollForward.add(new UnsignedInteger(2));
+        rollForward.add(wrappedHeader);
+        rollForward.add(tip);
+        return CborSerializationUtil.serialize(rollForward);
+    }
+}
@@ -0,0 +1,111 @@
+package com.bloxbean.cardano.yaci.core.protocol.localstate.queries;
+
+import co.nstant.in.cbor.model.*;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.Era;
+import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UtxoByAddressQueryTest {
+    private final UtxoByAddressQuery query = new UtxoByAddressQuery(Era.Conway, null);
+
+    @Test
+    void streamedUtxosMatchDecodedResult() {
+        byte[] result = result(false);
+
+        List<Utxo> decoded = query.deserializeResult(null, CborSerializationUtil.deserialize(result)).getUtxoList();
+        List<Utxo> streamed = new ArrayList<>();
+        query.streamResult(null, result, streamed::add);
+
+        assertThat(streamed).hasSize(3);
+        assertThat(streamed).isEqualTo(decoded);
+        assertThat(streamed.get(1).getTxHash()).isEqualTo(HexUtil.encodeHexString(bytes(32, 0xbb)));
+        assertThat(streamed.get(1).getOutputIndex()).isEqualTo(3);
+        assertThat(streamed.get(1).getDataHash()).isEqualTo(HexUtil.encodeHexString(bytes(32, 0xcc)));
+        assertThat(streamed.get(2).getAmount()).hasSize(2);
+    }
+
+    @Test
+    void streamIndefiniteLengthMap() {
+        List<Utxo> decoded = query.deserializeResult(null, CborSerializationUtil.deserialize(result(false))).getUtxoList();
+
+        Iterator<Utxo> iterator = query.resultIterator(null, result(true));
+        List<Utxo> streamed = new ArrayList<>();
+        while (iterator.hasNext())
+            streamed.add(iterator.next());
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(streamed).isEqualTo(decoded);
+    }
+
+    @Test
+    void streamEmptyResult() {
+        //[4, [{}]]
+        assertThat(query.resultIterator(null, HexUtil.decodeHexString("820481a0")).hasNext()).isFalse();
+    }
+
+    private static byte[] result(boolean indefinite) {
+        byte[] address = new byte[29];
+        address[0] = 0x60;
+
+        Map lovelaceOutput = new Map();
+        lovelaceOutput.put(new UnsignedInteger(0), new ByteString(address));
+        lovelaceOutput.put(new UnsignedInteger(1), new UnsignedInteger(1000000));
+
+        Array legacyOutput = new Array();
+        legacyOutput.add(new ByteString(address));
+        legacyOutput.add(new UnsignedInteger(2000000));
+        legacyOutput.add(new ByteString(bytes(32, 0xcc)));
+
+        Map assets = new Map();
+        assets.put(new ByteString("token".getBytes()), new UnsignedInteger(7));
+        Map multiAssets = new Map();
+        multiAssets.put(new ByteString(bytes(28, 0xee)), assets);
+        Array value = new Array();
+        value.add(new UnsignedInteger(BigInteger.valueOf(5000)));
+        value.add(multiAssets);
+        Array datumOption = new Array();
+        datumOption.add(new UnsignedInteger(0));
+        datumOption.add(new ByteString(bytes(32, 0x11)));
+        Map multiAssetOutput = new Map();
+        multiAssetOutput.put(new UnsignedInteger(0), new ByteString(address));
+        multiAssetOutput.put(new UnsignedInteger(1), value);
+        multiAssetOutput.put(new UnsignedInteger(2), datumOption);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(HexUtil.decodeHexString("820481"));
+        out.write(indefinite ? 0xbf : 0xa3);
+        writeEntry(out, 0xaa, 0, lovelaceOutput);
+        writeEntry(out, 0xbb, 3, legacyOutput);
+        writeEntry(out, 0xdd, 1, multiAssetOutput);
+        if (indefinite)
+            out.write(0xff);
+
+        return out.toByteArray();
+    }
+
+    private static void writeEntry(ByteArrayOutputStream out, int hashByte, int index, DataItem output) {
+        Array key = new Array();
+        key.add(new ByteString(bytes(32, hashByte)));
+        key.add(new UnsignedInteger(index));
+
+        out.writeBytes(CborSerializationUtil.serialize(key));
+        out.writeBytes(CborSerializationUtil.serialize(output));
+    }
+
+    private static byte[] bytes(int length, int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+}
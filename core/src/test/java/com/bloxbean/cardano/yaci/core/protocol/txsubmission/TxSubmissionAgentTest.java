@@ -0,0 +1,104 @@
+package com.bloxbean.cardano.yaci.core.protocol.txsubmission;
+
+import com.bloxbean.cardano.yaci.core.common.TxBodyType;
+import com.bloxbean.cardano.yaci.core.protocol.txsubmission.messges.*;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TxSubmissionAgentTest {
+    private TxSubmissionAgent agent;
+
+    @BeforeEach
+    void setup() {
+        agent = new TxSubmissionAgent(3, 100);
+        agent.receiveResponse(new Init());
+    }
+
+    @Test
+    void announceOnlyNewTxIdsInOrder() {
+        for (int i = 0; i < 3; i++)
+            assertThat(enqueue("0" + i, 10)).isTrue();
+
+        ReplyTxIds reply = requestTxIds(false, 0, 2);
+        assertThat(reply.getTxIdAndSizeMap()).containsExactly(entry("00", 10), entry("01", 10));
+
+        reply = requestTxIds(false, 0, 5);
+        assertThat(reply.getTxIdAndSizeMap()).containsExactly(entry("02", 10));
+
+        reply = requestTxIds(false, 0, 5);
+        assertThat(reply.getTxIdAndSizeMap()).isNull();
+        assertThat(agent.getQueuedTxCount()).isEqualTo(3);
+    }
+
+    @Test
+    void acknowledgeOldestAnnouncedTxs() {
+        enqueue("00", 10);
+        enqueue("01", 20);
+        enqueue("02", 30);
+        requestTxIds(false, 0, 2);
+
+        agent.receiveResponse(new RequestTxs(List.of("01")));
+        ReplyTxs replyTxs = (ReplyTxs) agent.buildNextMessage();
+        assertThat(replyTxs.getTxns()).hasSize(1);
+        assertThat(replyTxs.getTxns().get(0)).hasSize(20);
+        agent.receiveResponse(replyTxs);
+
+        //Acks more than announced are ignored
+        ReplyTxIds reply = requestTxIds(false, 5, 1);
+        assertThat(reply.getTxIdAndSizeMap()).containsExactly(entry("02", 30));
+        assertThat(agent.getQueuedTxCount()).isEqualTo(1);
+        assertThat(agent.getQueuedBytes()).isEqualTo(30);
+    }
+
+    @Test
+    void enforceQueueLimits() {
+        assertThat(enqueue("00", 60)).isTrue();
+        assertThat(enqueue("00", 60)).isTrue(); //already queued
+        assertThat(enqueue("01", 50)).isFalse(); //byte budget
+        assertThat(enqueue("02", 20)).isTrue();
+        assertThat(enqueue("03", 10)).isTrue();
+        assertThat(enqueue("04", 1)).isFalse(); //max txs
+
+        requestTxIds(false, 0, 3);
+        requestTxIds(false, 2, 0);
+        assertThat(enqueue("04", 1)).isTrue();
+        assertThat(agent.getQueuedBytes()).isEqualTo(11);
+    }
+
+    @Test
+    void blockingRequestWaitsForTx() {
+        agent.receiveResponse(new RequestTxIds(true, (short) 0, (short) 3));
+        assertThat(agent.hasPendingTx()).isFalse();
+        assertThat(agent.buildNextMessage()).isNull();
+
+        //The reply is sent as soon as a tx is enqueued
+        EmbeddedChannel channel = new EmbeddedChannel();
+        agent.setChannel(channel);
+        enqueue("00", 10);
+
+        assertThat((Object) channel.readOutbound()).isNotNull();
+        assertThat(agent.hasPendingTx()).isFalse();
+        assertThat(agent.hasAgency()).isFalse();
+    }
+
+    private boolean enqueue(String txHash, int size) {
+        return agent.enqueueTransaction(txHash, new byte[size], TxBodyType.BABBAGE);
+    }
+
+    private ReplyTxIds requestTxIds(boolean blocking, int ack, int req) {
+        agent.receiveResponse(new RequestTxIds(blocking, (short) ack, (short) req));
+        ReplyTxIds reply = (ReplyTxIds) agent.buildNextMessage();
+        agent.receiveResponse(reply);
+        return reply;
+    }
+
+    private static Map.Entry<String, Integer> entry(String txHash, int size) {
+        return Map.entry(txHash, size);
+    }
+}
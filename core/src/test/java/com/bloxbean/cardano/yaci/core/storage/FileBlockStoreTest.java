@@ -0,0 +1,135 @@
+package com.bloxbean.cardano.yaci.core.storage;
+
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.serializers.BlockSerializer;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.util.CborLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileBlockStoreTest {
+    private static final String[] BLOCK_FILES = {
+            "block/preprod286677.txt", "block/preprod286853.txt", "block/preprod287339.txt",
+            "block/preprod287361.txt", "block/preprod292507.txt", "block/preprod292683.txt"
+    };
+
+    @TempDir
+    Path dir;
+
+    private final List<byte[]> blocks = new ArrayList<>();
+    private final List<Block> decodedBlocks = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        for (String file : BLOCK_FILES) {
+            byte[] bytes = CborLoader.getHexBytes(file);
+            blocks.add(bytes);
+            decodedBlocks.add(BlockSerializer.INSTANCE.deserialize(bytes));
+        }
+    }
+
+    @Test
+    void appendAndLookup() {
+        try (FileBlockStore store = new FileBlockStore(dir)) {
+            for (int i = 0; i < blocks.size(); i++) {
+                StoredBlock storedBlock = store.append(blocks.get(i));
+                assertThat(storedBlock.getSlot()).isEqualTo(slot(i));
+                assertThat(storedBlock.getHash()).isEqualTo(hash(i));
+                assertThat(storedBlock.getBlockNumber())
+                        .isEqualTo(decodedBlocks.get(i).getHeader().getHeaderBody().getBlockNumber());
+            }
+
+            //Idempotent
+            store.append(blocks.get(2));
+            assertThat(store.size()).isEqualTo(blocks.size());
+
+            assertThat(store.getByHash(hash(3)).get().getBytes()).isEqualTo(blocks.get(3));
+            assertThat(store.getBySlot(slot(4)).get().getHash()).isEqualTo(hash(4));
+            assertThat(store.getBySlot(slot(4) + 1)).isEmpty();
+            assertThat(store.getTip().get().getPoint()).isEqualTo(new Point(slot(5), hash(5)));
+
+            List<String> hashes = store.stream(slot(1), slot(4))
+                    .map(StoredBlock::getHash)
+                    .collect(Collectors.toList());
+            assertThat(hashes).containsExactly(hash(1), hash(2), hash(3), hash(4));
+        }
+    }
+
+    @Test
+    void rejectBlockBeforeTip() {
+        try (FileBlockStore store = new FileBlockStore(dir)) {
+            store.append(blocks.get(3));
+            assertThatThrownBy(() -> store.append(blocks.get(1)))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void reopenAndRollback() {
+        try (FileBlockStore store = new FileBlockStore(dir, 1)) { //One block per segment
+            blocks.forEach(store::append);
+        }
+
+        try (FileBlockStore store = new FileBlockStore(dir, 1)) {
+            assertThat(store.size()).isEqualTo(blocks.size());
+            assertThat(store.getByHash(hash(5)).get().getBytes()).isEqualTo(blocks.get(5));
+
+            store.rollbackTo(new Point(slot(2), hash(2)));
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.getByHash(hash(3))).isEmpty();
+            assertThat(store.getTip().get().getHash()).isEqualTo(hash(2));
+
+            //Slot only rollback
+            store.rollbackTo(new Point(slot(2) - 1, "0000000000000000000000000000000000000000000000000000000000000000"));
+            assertThat(store.size()).isEqualTo(2);
+
+            store.append(blocks.get(2));
+            store.append(blocks.get(4));
+            assertThat(store.stream(0, Long.MAX_VALUE).map(StoredBlock::getHash).collect(Collectors.toList()))
+                    .containsExactly(hash(0), hash(1), hash(2), hash(4));
+
+            store.rollbackTo(Point.ORIGIN);
+            assertThat(store.size()).isZero();
+            assertThat(store.getTip()).isEmpty();
+        }
+    }
+
+    @Test
+    void truncateSegmentTailNotInIndex() throws IOException {
+        try (FileBlockStore store = new FileBlockStore(dir)) {
+            store.append(blocks.get(0));
+            store.append(blocks.get(1));
+        }
+
+        Path segment = dir.resolve("blocks-00000000.dat");
+        long size = Files.size(segment);
+        Files.write(segment, blocks.get(2), StandardOpenOption.APPEND);
+
+        try (FileBlockStore store = new FileBlockStore(dir)) {
+            assertThat(Files.size(segment)).isEqualTo(size);
+            assertThat(store.size()).isEqualTo(2);
+            store.append(blocks.get(2));
+            assertThat(store.getBySlot(slot(2)).get().getBytes()).isEqualTo(blocks.get(2));
+        }
+    }
+
+    private long slot(int i) {
+        return decodedBlocks.get(i).getHeader().getHeaderBody().getSlot();
+    }
+
+    private String hash(int i) {
+        return decodedBlocks.get(i).getHeader().getHeaderBody().getBlockHash();
+    }
+}
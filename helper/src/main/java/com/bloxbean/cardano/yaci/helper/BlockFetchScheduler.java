@@ -0,0 +1,318 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.common.GenesisConfig;
+import com.bloxbean.cardano.yaci.core.exception.BlockParseRuntimeException;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlock;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronMainBlock;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainSyncAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainsyncAgent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Drives {@link BlockfetchAgent} from the headers received by {@link ChainsyncAgent}.
+ * <p>
+ * Headers are accumulated and fetched with one RequestRange for up to batchSize contiguous blocks. When batchSize is
+ * greater than 1, chain-sync keeps receiving the headers of the next batch while a batch is being fetched. Fetched
+ * blocks are confirmed to {@link ChainsyncAgent} once per batch. With the default batchSize of 1, each header is
+ * fetched when it's received and the next header is requested only after the block is received.
+ * <p>
+ * A header at the tip is fetched immediately, and the next header is requested only after that block is received.
+ * So near the tip, blocks and rollbacks are delivered in the same order as with one block per request.
+ * <p>
+ * On rollback, blocks of the batch in flight after the rollback point are dropped by {@link BlockfetchAgent}. If the
+ * node has no blocks for a range, the range is requested again. After {@link #MAX_RANGE_RETRIES} attempts, no more
+ * blocks are fetched until a rollback removes the range.
+ * <p>
+ * In header-only mode, no blocks are fetched. Each header is confirmed when it's received and the next header is
+ * requested.
+ * <p>
+ * The scheduler registers its own listeners to both agents. It should be created before application listeners are
+ * added, so that application listeners are invoked first.
+ */
+@Slf4j
+public class BlockFetchScheduler {
+    public static final int DEFAULT_BATCH_SIZE = 1;
+    public static final int MAX_RANGE_RETRIES = 3;
+
+    private final ChainsyncAgent chainSyncAgent;
+    private final BlockfetchAgent blockFetchAgent;
+    private int batchSize;
+    private boolean headerOnly;
+
+    //Headers received, but not requested through block-fetch yet
+    private final Deque<Point> pendingPoints = new ArrayDeque<>();
+    //Headers of the batch in flight which are not received yet
+    private final Deque<Point> inFlightPoints = new ArrayDeque<>();
+    private boolean fetchInProgress;
+    private int rangeRetries;
+    private boolean stalled;
+    private boolean lastHeaderAtTip;
+    private Point lastFetchedPoint;
+
+    public BlockFetchScheduler(ChainsyncAgent chainSyncAgent, BlockfetchAgent blockFetchAgent) {
+        this(chainSyncAgent, blockFetchAgent, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create a BlockFetchScheduler and register listeners to the agents
+     *
+     * @param chainSyncAgent  chain-sync agent
+     * @param blockFetchAgent block-fetch agent
+     * @param batchSize       max number of blocks in one RequestRange
+     */
+    public BlockFetchScheduler(ChainsyncAgent chainSyncAgent, BlockfetchAgent blockFetchAgent, int batchSize) {
+        this.chainSyncAgent = chainSyncAgent;
+        this.blockFetchAgent = blockFetchAgent;
+        setBatchSize(batchSize);
+
+        chainSyncAgent.addListener(new ChainSyncAgentListener() {
+            @Override
+            public void rollforward(Tip tip, BlockHeader blockHeader) {
+                onHeader(tip, new Point(blockHeader.getHeaderBody().getSlot(), blockHeader.getHeaderBody().getBlockHash()),
+                        blockHeader.getHeaderBody().getBlockNumber());
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronBlockHead byronHead) {
+                onHeader(tip, new Point(byronHead.getConsensusData().getAbsoluteSlot(), byronHead.getBlockHash()),
+                        byronHead.getConsensusData().getDifficulty().longValue());
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronEbHead byronEbHead) {
+                onHeader(tip, new Point(byronEbHead.getConsensusData().getAbsoluteSlot(), byronEbHead.getBlockHash()),
+                        byronEbHead.getConsensusData().getDifficulty().longValue());
+            }
+
+            @Override
+            public void rollbackward(Tip tip, Point toPoint) {
+                onRollback(toPoint);
+            }
+
+            @Override
+            public void onDisconnect() {
+                onDisconnected();
+            }
+        });
+
+        blockFetchAgent.addListener(new BlockfetchAgentListener() {
+            @Override
+            public void blockFound(Block block) {
+                onBlockFetched(new Point(block.getHeader().getHeaderBody().getSlot(),
+                        block.getHeader().getHeaderBody().getBlockHash()));
+            }
+
+            @Override
+            public void byronBlockFound(ByronMainBlock byronBlock) {
+                long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
+                        byronBlock.getHeader().getConsensusData().getSlotId().getEpoch(),
+                        byronBlock.getHeader().getConsensusData().getSlotId().getSlot());
+                onBlockFetched(new Point(absoluteSlot, byronBlock.getHeader().getBlockHash()));
+            }
+
+            @Override
+            public void byronEbBlockFound(ByronEbBlock byronEbBlock) {
+                long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
+                        byronEbBlock.getHeader().getConsensusData().getEpoch(), 0);
+                onBlockFetched(new Point(absoluteSlot, byronEbBlock.getHeader().getBlockHash()));
+            }
+
+            @Override
+            public void readyForNextBatch() {
+                onBatchDone();
+            }
+
+            @Override
+            public void noBlockFound(Point from, Point to) {
+                onNoBlocks(from, to);
+            }
+
+            @Override
+            public void onParsingError(BlockParseRuntimeException e) {
+                onBlockParsingError();
+            }
+        });
+    }
+
+    /**
+     * Set max number of blocks in one RequestRange. Default is {@link #DEFAULT_BATCH_SIZE}
+     *
+     * @param batchSize batch size, must be greater than 0
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size should be greater than 0");
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set to true to sync headers only without block-fetch
+     *
+     * @param headerOnly true for header-only sync
+     */
+    public void setHeaderOnly(boolean headerOnly) {
+        this.headerOnly = headerOnly;
+    }
+
+    public boolean isHeaderOnly() {
+        return headerOnly;
+    }
+
+    synchronized void onHeader(Tip tip, Point point, long blockNumber) {
+        if (log.isDebugEnabled())
+            log.debug("Rolled to slot: {}, block: {}", point.getSlot(), point.getHash());
+
+        if (headerOnly) {
+            chainSyncAgent.confirmBlock(point);
+            chainSyncAgent.sendNextMessage();
+            return;
+        }
+
+        pendingPoints.addLast(point);
+        lastHeaderAtTip = tip == null || blockNumber >= tip.getBlock();
+
+        if (!fetchInProgress && (pendingPoints.size() >= batchSize || lastHeaderAtTip))
+            fetchNextBatch();
+
+        requestHeaders();
+    }
+
+    synchronized void onBlockFetched(Point point) {
+        lastFetchedPoint = point;
+
+        //Blocks are received in the order of the headers
+        while (!inFlightPoints.isEmpty() && inFlightPoints.peekFirst().getSlot() <= point.getSlot())
+            inFlightPoints.removeFirst();
+    }
+
+    synchronized void onBlockParsingError() {
+        //The block is received, but can't be decoded. It's reported to the listeners and the sync continues.
+        Point point = inFlightPoints.pollFirst();
+        if (point != null)
+            lastFetchedPoint = point;
+    }
+
+    synchronized void onNoBlocks(Point from, Point to) {
+        if (inFlightPoints.isEmpty()) { //Rolled back while in flight
+            onBatchDone();
+            return;
+        }
+
+        if (++rangeRetries > MAX_RANGE_RETRIES) {
+            log.error("No blocks found for range {} - {} after {} attempts. Waiting for a rollback", from, to,
+                    MAX_RANGE_RETRIES);
+            stalled = true;
+            requestHeaders();
+            return;
+        }
+
+        log.warn("No blocks found for range {} - {}. Requesting the range again", from, to);
+        requestRange();
+    }
+
+    synchronized void onBatchDone() {
+        fetchInProgress = false;
+        inFlightPoints.clear();
+        rangeRetries = 0;
+        confirmFetchedBlocks();
+
+        if (!pendingPoints.isEmpty() && (pendingPoints.size() >= batchSize || lastHeaderAtTip))
+            fetchNextBatch();
+
+        requestHeaders();
+    }
+
+    synchronized void onRollback(Point point) {
+        //Blocks of the batch in flight after the rollback point are not delivered to the listeners
+        blockFetchAgent.rollbackTo(point);
+
+        //Headers after the rollback point are not valid anymore
+        pendingPoints.removeIf(pendingPoint -> pendingPoint.getSlot() > point.getSlot());
+        inFlightPoints.removeIf(inFlightPoint -> inFlightPoint.getSlot() > point.getSlot());
+        if (lastFetchedPoint != null && lastFetchedPoint.getSlot() > point.getSlot())
+            lastFetchedPoint = point;
+        lastHeaderAtTip = false;
+
+        if (stalled) {
+            stalled = false;
+            rangeRetries = 0;
+            if (inFlightPoints.isEmpty())
+                onBatchDone();
+            else
+                requestRange();
+        }
+
+        chainSyncAgent.sendNextMessage();
+    }
+
+    synchronized void onDisconnected() {
+        //Blocks received before the disconnection are already delivered to the listeners
+        confirmFetchedBlocks();
+        pendingPoints.clear();
+        inFlightPoints.clear();
+        fetchInProgress = false;
+        rangeRetries = 0;
+        stalled = false;
+        lastHeaderAtTip = false;
+    }
+
+    private void fetchNextBatch() {
+        for (int i = 0; i < batchSize && !pendingPoints.isEmpty(); i++) {
+            inFlightPoints.addLast(pendingPoints.removeFirst());
+        }
+
+        fetchInProgress = true;
+        requestRange();
+    }
+
+    private void requestRange() {
+        Point from = inFlightPoints.peekFirst();
+        Point to = inFlightPoints.peekLast();
+
+        if (log.isDebugEnabled())
+            log.debug("Trying to fetch blocks from {} to {}", from, to);
+
+        blockFetchAgent.resetPoints(from, to);
+        blockFetchAgent.sendNextMessage();
+    }
+
+    /**
+     * Request more headers unless the next batch is already full or a block at the tip is being fetched. With one
+     * block per batch, the next header is requested only after the block is received.
+     */
+    private void requestHeaders() {
+        if (pendingPoints.size() >= batchSize)
+            return;
+
+        if (fetchInProgress && batchSize == 1 && !stalled)
+            return;
+
+        if (lastHeaderAtTip && (fetchInProgress || !pendingPoints.isEmpty()))
+            return;
+
+        chainSyncAgent.sendNextMessage();
+    }
+
+    private void confirmFetchedBlocks() {
+        if (lastFetchedPoint != null) {
+            chainSyncAgent.confirmBlock(lastFetchedPoint);
+            lastFetchedPoint = null;
+        }
+    }
+}
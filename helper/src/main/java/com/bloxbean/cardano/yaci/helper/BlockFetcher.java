@@ -1,6 +1,7 @@
 package com.bloxbean.cardano.yaci.helper;
 
 import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.network.NodeClientConfig;
 import com.bloxbean.cardano.yaci.core.network.TCPNodeClient;
 import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
 import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgentListener;
@@ -10,9 +11,13 @@ import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.VersionTable;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2NVersionTableConstant;
 import com.bloxbean.cardano.yaci.core.protocol.keepalive.KeepAliveAgent;
+import com.bloxbean.cardano.yaci.core.storage.BlockStore;
 import com.bloxbean.cardano.yaci.helper.api.Fetcher;
+import com.bloxbean.cardano.yaci.helper.listener.SyncProgressListener;
+import com.bloxbean.cardano.yaci.helper.model.SyncProgress;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.function.Consumer;
 
 /**
@@ -54,6 +59,9 @@ public class BlockFetcher implements Fetcher<Block> {
     private KeepAliveAgent keepAliveAgent;
     private BlockfetchAgent blockfetchAgent;
     private TCPNodeClient n2nClient;
+    private SyncProgressTracker progressTracker;
+    private BlockfetchAgentListener listenerTimer;
+    private NodeClientConfig nodeClientConfig;
 
     private int lastKeepAliveResponseCookie = 0;
     private long lastKeepAliveResponseTime = 0;
@@ -75,9 +83,22 @@ public class BlockFetcher implements Fetcher<Block> {
      * @param versionTable VersionTable for N2N protocol
      */
     public BlockFetcher(String host, int port, VersionTable versionTable) {
+        this(host, port, versionTable, NodeClientConfig.defaultConfig());
+    }
+
+    /**
+     * Constructor to create BlockFetcher instance with a custom connection config. The fetcher's progress tracker is
+     * added to the config's metrics.
+     * @param host Cardano node host
+     * @param port Cardano node port
+     * @param versionTable VersionTable for N2N protocol
+     * @param nodeClientConfig connection config
+     */
+    public BlockFetcher(String host, int port, VersionTable versionTable, NodeClientConfig nodeClientConfig) {
         this.host = host;
         this.port = port;
         this.versionTable = versionTable;
+        this.nodeClientConfig = nodeClientConfig;
         init();
     }
 
@@ -85,7 +106,13 @@ public class BlockFetcher implements Fetcher<Block> {
         handshakeAgent = new HandshakeAgent(versionTable);
         keepAliveAgent = new KeepAliveAgent();
         blockfetchAgent = new BlockfetchAgent();
-        n2nClient = new TCPNodeClient(host, port, handshakeAgent, keepAliveAgent, blockfetchAgent);
+        progressTracker = new SyncProgressTracker();
+        //Added before the application's listeners, so that it runs after them
+        blockfetchAgent.addListener(progressTracker.blockFetchListener());
+        listenerTimer = progressTracker.listenerTimer();
+
+        n2nClient = new TCPNodeClient(host, port, progressTracker.withMetrics(nodeClientConfig), handshakeAgent,
+                keepAliveAgent, blockfetchAgent);
 
         handshakeAgent.addListener(new HandshakeAgentListener() {
             @Override
@@ -101,6 +128,32 @@ public class BlockFetcher implements Fetcher<Block> {
         });
     }
 
+    /**
+     * Decode blocks on the given number of worker threads instead of the network I/O thread.
+     * Blocks are still delivered to the listeners in the order they are received.
+     *
+     * @param parallelism number of decoder threads
+     */
+    public void setDecodeParallelism(int parallelism) {
+        if (this.isRunning())
+            throw new IllegalStateException("Decode parallelism can be set only before start() call");
+
+        blockfetchAgent.enableParallelDecoding(parallelism);
+    }
+
+    /**
+     * Write the raw bytes of fetched blocks to a {@link BlockStore}. Blocks should be fetched in chain order.
+     * The store is not closed by the fetcher.
+     *
+     * @param blockStore block store
+     */
+    public void setBlockStore(BlockStore blockStore) {
+        if (this.isRunning())
+            throw new IllegalStateException("Block store can be set only before start() call");
+
+        blockfetchAgent.setBlockStore(blockStore);
+    }
+
     /**
      * Invoke this method to establish the connection with remote Cardano node.
      * This method should be called only once.
@@ -114,6 +167,7 @@ public class BlockFetcher implements Fetcher<Block> {
                     receiver.accept(block);
             }
         });
+        addListenerTimer();
 
         if (!n2nClient.isRunning())
             n2nClient.start();
@@ -129,6 +183,7 @@ public class BlockFetcher implements Fetcher<Block> {
         if (!n2nClient.isRunning())
             throw new IllegalStateException("fetch() should be called after start()");
 
+        progressTracker.onTarget(to);
         blockfetchAgent.resetPoints(from, to);
         if (!blockfetchAgent.isDone())
             blockfetchAgent.sendNextMessage();
@@ -144,8 +199,44 @@ public class BlockFetcher implements Fetcher<Block> {
         if (this.isRunning())
             throw new IllegalStateException("Listener can be added only before start() call");
 
-        if (listener != null)
+        if (listener != null) {
             blockfetchAgent.addListener(listener);
+            addListenerTimer();
+        }
+    }
+
+    //Keep the timer after the application's listeners, so that it runs before them
+    private void addListenerTimer() {
+        blockfetchAgent.removeListener(listenerTimer);
+        blockfetchAgent.addListener(listenerTimer);
+    }
+
+    /**
+     * Get the current fetch progress. Slots behind are calculated to the end point of the last fetch.
+     *
+     * @return progress snapshot
+     */
+    public SyncProgress getProgress() {
+        return progressTracker.getProgress();
+    }
+
+    /**
+     * Add a listener to receive the fetch progress every {@link SyncProgressTracker#DEFAULT_REPORT_INTERVAL}
+     *
+     * @param listener progress listener
+     */
+    public void addProgressListener(SyncProgressListener listener) {
+        progressTracker.addListener(listener);
+    }
+
+    /**
+     * Add a listener to receive the fetch progress at most once per interval
+     *
+     * @param listener progress listener
+     * @param interval report interval
+     */
+    public void addProgressListener(SyncProgressListener listener, Duration interval) {
+        progressTracker.addListener(listener, interval);
     }
 
     /**
@@ -3,10 +3,18 @@ package com.bloxbean.cardano.yaci.helper;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
 import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
 import com.bloxbean.cardano.yaci.helper.listener.BlockFetchAgentListenerAdapter;
+import com.bloxbean.cardano.yaci.helper.listener.SyncProgressListener;
+import com.bloxbean.cardano.yaci.helper.model.SyncProgress;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * A high level helper class to fetch blockchain data from point1 to point2. This class uses node-to-no mini protocol to fetch blocks.
  * Fetched blocks are received in an instance of {@link BlockChainDataListener}
+ * <p>
+ * To fetch a large range from multiple nodes in parallel, use {@link MultiPeerBlockRangeSync}
  */
 public class BlockRangeSync {
     private String host;
@@ -14,6 +22,7 @@ public class BlockRangeSync {
     private long protocolMagic;
 
     private BlockFetcher blockFetcher;
+    private final Map<SyncProgressListener, Duration> progressListeners = new LinkedHashMap<>();
 
     /**
      * Construct a {@link BlockRangeSync} instance
@@ -33,12 +42,44 @@ public class BlockRangeSync {
      */
     public void start(BlockChainDataListener blockChainDataListener) {
         blockFetcher = new BlockFetcher(host, port, protocolMagic);
+        progressListeners.forEach(blockFetcher::addProgressListener);
 
         BlockFetchAgentListenerAdapter blockfetchAgentListener = new BlockFetchAgentListenerAdapter(blockChainDataListener);
         blockFetcher.addBlockFetchListener(blockfetchAgentListener);
         blockFetcher.start();
     }
 
+    /**
+     * Get the current fetch progress
+     *
+     * @return progress snapshot. Null if not started
+     */
+    public SyncProgress getProgress() {
+        return blockFetcher != null ? blockFetcher.getProgress() : null;
+    }
+
+    /**
+     * Add a listener to receive the fetch progress every {@link SyncProgressTracker#DEFAULT_REPORT_INTERVAL}.
+     * Applied on the next start / restart call.
+     *
+     * @param listener progress listener
+     */
+    public void addProgressListener(SyncProgressListener listener) {
+        addProgressListener(listener, SyncProgressTracker.DEFAULT_REPORT_INTERVAL);
+    }
+
+    /**
+     * Add a listener to receive the fetch progress at most once per interval.
+     * Applied on the next start / restart call.
+     *
+     * @param listener progress listener
+     * @param interval report interval
+     */
+    public void addProgressListener(SyncProgressListener listener, Duration interval) {
+        if (listener != null)
+            progressListeners.put(listener, interval);
+    }
+
     /**
      * Restart with a new listener
      * @param blockChainDataListener
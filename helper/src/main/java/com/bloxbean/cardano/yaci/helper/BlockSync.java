@@ -1,11 +1,19 @@
 package com.bloxbean.cardano.yaci.helper;
 
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.VersionTable;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2NVersionTableConstant;
 import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
 import com.bloxbean.cardano.yaci.helper.listener.BlockFetchAgentListenerAdapter;
 import com.bloxbean.cardano.yaci.helper.listener.ChainSyncListenerAdapter;
+import com.bloxbean.cardano.yaci.helper.listener.SyncProgressListener;
+import com.bloxbean.cardano.yaci.helper.model.SyncProgress;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * A high level helper class to sync blockchain data from tip or from a particular point using node-to-node miniprotocol
@@ -16,6 +24,12 @@ public class BlockSync {
     private int port;
     private Point wellKnownPoint;
     private VersionTable versionTable;
+    private int pipelineDepth = 1;
+    private int blockFetchBatchSize = BlockFetchScheduler.DEFAULT_BATCH_SIZE;
+    private int decodeParallelism;
+    private boolean headerOnly;
+    private boolean fullHeader;
+    private final Map<SyncProgressListener, Duration> progressListeners = new LinkedHashMap<>();
 
     private N2NChainSyncFetcher n2NChainSyncFetcher;
 
@@ -44,6 +58,92 @@ public class BlockSync {
         this.versionTable = versionTable;
     }
 
+    /**
+     * Set the max number of chain-sync requests in flight. Default is 1 (no pipelining).
+     * Applied on the next startSync / startSyncFromTip call.
+     * @param pipelineDepth chain-sync pipeline depth
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        if (pipelineDepth < 1)
+            throw new IllegalArgumentException("Pipeline depth should be greater than 0");
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    /**
+     * Set the max number of blocks fetched with one block-fetch range request. Default is 1.
+     * Applied on the next startSync / startSyncFromTip call.
+     * @param blockFetchBatchSize block-fetch batch size
+     */
+    public void setBlockFetchBatchSize(int blockFetchBatchSize) {
+        if (blockFetchBatchSize < 1)
+            throw new IllegalArgumentException("Batch size should be greater than 0");
+        this.blockFetchBatchSize = blockFetchBatchSize;
+    }
+
+    /**
+     * Decode blocks on the given number of worker threads instead of the network I/O thread.
+     * Default is 0 (decode on the I/O thread). Applied on the next startSync / startSyncFromTip call.
+     * @param decodeParallelism number of decoder threads
+     */
+    public void setDecodeParallelism(int decodeParallelism) {
+        if (decodeParallelism < 0)
+            throw new IllegalArgumentException("Decode parallelism should not be negative");
+        this.decodeParallelism = decodeParallelism;
+    }
+
+    /**
+     * Sync headers only without fetching blocks. Only slot, block number, block hash and prev hash of the headers
+     * are decoded. Same as {@code setHeaderOnly(headerOnly, false)}.
+     * @param headerOnly true for header-only sync
+     */
+    public void setHeaderOnly(boolean headerOnly) {
+        setHeaderOnly(headerOnly, false);
+    }
+
+    /**
+     * Sync headers only without fetching blocks. Headers are received through
+     * {@link BlockChainDataListener#onHeader(Tip, BlockHeader)} and the Byron equivalents.
+     * Applied on the next startSync / startSyncFromTip call.
+     * @param headerOnly true for header-only sync
+     * @param fullHeader true to decode all header fields. Otherwise, only slot, block number, block hash and
+     *                   prev hash are decoded
+     */
+    public void setHeaderOnly(boolean headerOnly, boolean fullHeader) {
+        this.headerOnly = headerOnly;
+        this.fullHeader = fullHeader;
+    }
+
+    /**
+     * Get the current sync progress
+     *
+     * @return progress snapshot. Null if the sync is not started
+     */
+    public SyncProgress getProgress() {
+        return n2NChainSyncFetcher != null ? n2NChainSyncFetcher.getProgress() : null;
+    }
+
+    /**
+     * Add a listener to receive the sync progress every {@link SyncProgressTracker#DEFAULT_REPORT_INTERVAL}.
+     * Applied on the next startSync / startSyncFromTip call.
+     *
+     * @param listener progress listener
+     */
+    public void addProgressListener(SyncProgressListener listener) {
+        addProgressListener(listener, SyncProgressTracker.DEFAULT_REPORT_INTERVAL);
+    }
+
+    /**
+     * Add a listener to receive the sync progress at most once per interval.
+     * Applied on the next startSync / startSyncFromTip call.
+     *
+     * @param listener progress listener
+     * @param interval report interval
+     */
+    public void addProgressListener(SyncProgressListener listener, Duration interval) {
+        if (listener != null)
+            progressListeners.put(listener, interval);
+    }
+
     /**
      * Start sync from a given point
      * @param point point to start sync from
@@ -58,6 +158,13 @@ public class BlockSync {
 
     private void initializeAgentAndStart(Point point, BlockChainDataListener blockChainDataListener, boolean syncFromTip) {
         n2NChainSyncFetcher = new N2NChainSyncFetcher(host, port, point, versionTable, syncFromTip);
+        n2NChainSyncFetcher.setPipelineDepth(pipelineDepth);
+        n2NChainSyncFetcher.setBlockFetchBatchSize(blockFetchBatchSize);
+        if (decodeParallelism > 0)
+            n2NChainSyncFetcher.setDecodeParallelism(decodeParallelism);
+        if (headerOnly)
+            n2NChainSyncFetcher.setHeaderOnly(true, fullHeader);
+        progressListeners.forEach(n2NChainSyncFetcher::addProgressListener);
 
         BlockFetchAgentListenerAdapter blockfetchAgentListener = new BlockFetchAgentListenerAdapter(blockChainDataListener);
         ChainSyncListenerAdapter chainSyncAgentListener = new ChainSyncListenerAdapter(blockChainDataListener);
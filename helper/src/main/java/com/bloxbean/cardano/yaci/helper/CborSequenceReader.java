@@ -0,0 +1,146 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.exception.YaciRuntimeException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits a CBOR sequence, e.g. a file of concatenated blocks, into the raw bytes of each top level item.
+ * Only the item headers are read to find the end of an item. Nothing is decoded.
+ */
+class CborSequenceReader implements Iterator<byte[]>, Closeable {
+    private static final int BREAK = 0xff;
+
+    private final InputStream in;
+    private final ByteArrayOutputStream item = new ByteArrayOutputStream();
+    private final byte[] copyBuffer = new byte[8192];
+    private byte[] next;
+    private boolean eof;
+
+    CborSequenceReader(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !eof) {
+            try {
+                next = readItem();
+            } catch (IOException e) {
+                throw new YaciRuntimeException("Unable to read CBOR sequence", e);
+            }
+            eof = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public byte[] next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        byte[] bytes = next;
+        next = null;
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private byte[] readItem() throws IOException {
+        int initialByte = in.read();
+        if (initialByte < 0)
+            return null;
+
+        item.reset();
+        copyItem(initialByte);
+        return item.toByteArray();
+    }
+
+    private void copyItem(int initialByte) throws IOException {
+        item.write(initialByte);
+        int majorType = initialByte >>> 5;
+        int additionalInfo = initialByte & 0x1f;
+
+        if (additionalInfo == 31) { //Indefinite length
+            if (majorType < 2 || majorType > 5)
+                throw new IOException("Unexpected indefinite length for major type " + majorType);
+
+            int b;
+            while ((b = readByte()) != BREAK)
+                copyItem(b);
+            item.write(BREAK);
+            return;
+        }
+
+        long length = copyArgument(additionalInfo);
+        switch (majorType) {
+            case 2: //byte string
+            case 3: //text string
+                copyBytes(length);
+                break;
+            case 4: //array
+                for (long i = 0; i < length; i++)
+                    copyItem(readByte());
+                break;
+            case 5: //map
+                for (long i = 0; i < length * 2; i++)
+                    copyItem(readByte());
+                break;
+            case 6: //tag
+                copyItem(readByte());
+                break;
+            default: //integers and simple values
+                break;
+        }
+    }
+
+    private long copyArgument(int additionalInfo) throws IOException {
+        if (additionalInfo < 24)
+            return additionalInfo;
+
+        int size;
+        switch (additionalInfo) {
+            case 24: size = 1; break;
+            case 25: size = 2; break;
+            case 26: size = 4; break;
+            case 27: size = 8; break;
+            default:
+                throw new IOException("Invalid additional info: " + additionalInfo);
+        }
+
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            int b = readByte();
+            item.write(b);
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+
+    private void copyBytes(long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(copyBuffer, 0, (int) Math.min(copyBuffer.length, remaining));
+            if (read < 0)
+                throw new EOFException("Truncated CBOR item");
+            item.write(copyBuffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+        if (b < 0)
+            throw new EOFException("Truncated CBOR item");
+        return b;
+    }
+}
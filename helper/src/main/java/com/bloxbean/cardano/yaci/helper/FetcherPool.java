@@ -0,0 +1,269 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.helper.api.Fetcher;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A keyed pool of started fetchers, so that short-lived tasks can reuse an established and handshaken connection to
+ * the same node instead of opening a new one.
+ * <p>
+ * A fetcher is borrowed with {@link #borrow(String, Supplier)} and returned with {@link #release(String, Fetcher)}.
+ * Idle fetchers above the max idle count of a key or above the max idle count of the pool are shut down, oldest
+ * first. Idle fetchers which are not running anymore or idle for more than the idle timeout are shut down on the
+ * next borrow or release of any key, or with {@link #evictExpired()}. Only fetchers which can be reused after a
+ * request (e.g. {@link TipFinder#find()}, {@link PeerDiscovery#discover()}) should be pooled.
+ *
+ * <pre>
+ * {@code
+ * FetcherPool<TipFinder> pool = new FetcherPool<>();
+ * TipFinder tipFinder = pool.borrow(host + ":" + port, () -> new TipFinder(host, port, wellKnownPoint, protocolMagic));
+ * Tip tip = tipFinder.find().block(Duration.ofSeconds(10));
+ * pool.release(host + ":" + port, tipFinder);
+ * }
+ * </pre>
+ *
+ * @param <T> fetcher type
+ */
+@Slf4j
+public class FetcherPool<T extends Fetcher<?>> {
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 60000;
+    public static final int DEFAULT_MAX_IDLE_PER_KEY = 2;
+    public static final int DEFAULT_MAX_IDLE_TOTAL = 64;
+
+    private final long idleTimeoutMs;
+    private final int maxIdlePerKey;
+    private final int maxIdleTotal;
+    private final LongSupplier clock;
+    private final Map<String, Deque<IdleFetcher<T>>> idleFetchers = new HashMap<>();
+    //All idle fetchers in release order, oldest first
+    private final Set<IdleFetcher<T>> idleOrder = new LinkedHashSet<>();
+    private boolean closed;
+
+    public FetcherPool() {
+        this(DEFAULT_IDLE_TIMEOUT_MS, DEFAULT_MAX_IDLE_PER_KEY);
+    }
+
+    /**
+     * Create a FetcherPool
+     *
+     * @param idleTimeoutMs max time in milliseconds a fetcher can stay idle in the pool
+     * @param maxIdlePerKey max number of idle fetchers per key
+     */
+    public FetcherPool(long idleTimeoutMs, int maxIdlePerKey) {
+        this(idleTimeoutMs, maxIdlePerKey, DEFAULT_MAX_IDLE_TOTAL);
+    }
+
+    /**
+     * Create a FetcherPool
+     *
+     * @param idleTimeoutMs max time in milliseconds a fetcher can stay idle in the pool
+     * @param maxIdlePerKey max number of idle fetchers per key
+     * @param maxIdleTotal  max number of idle fetchers of all keys
+     */
+    public FetcherPool(long idleTimeoutMs, int maxIdlePerKey, int maxIdleTotal) {
+        this(idleTimeoutMs, maxIdlePerKey, maxIdleTotal, System::currentTimeMillis);
+    }
+
+    FetcherPool(long idleTimeoutMs, int maxIdlePerKey, int maxIdleTotal, LongSupplier clock) {
+        if (maxIdlePerKey < 0)
+            throw new IllegalArgumentException("Max idle per key should not be negative");
+        if (maxIdleTotal < 0)
+            throw new IllegalArgumentException("Max idle total should not be negative");
+
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxIdlePerKey = maxIdlePerKey;
+        this.maxIdleTotal = maxIdleTotal;
+        this.clock = clock;
+    }
+
+    /**
+     * Get an idle fetcher for the key, or create and start a new one
+     *
+     * @param key     connection key, e.g. host:port
+     * @param factory creates a new fetcher. The fetcher is started by the pool
+     * @return a running fetcher
+     */
+    public T borrow(String key, Supplier<T> factory) {
+        List<T> expired = new ArrayList<>();
+        T fetcher = null;
+        synchronized (this) {
+            if (closed)
+                throw new IllegalStateException("Pool is closed");
+
+            long now = clock.getAsLong();
+            evictIdle(now, expired);
+
+            Deque<IdleFetcher<T>> idle = idleFetchers.get(key);
+            while (idle != null && !idle.isEmpty()) {
+                IdleFetcher<T> idleFetcher = idle.peekLast();
+                removeIdle(idleFetcher);
+                if (isExpired(idleFetcher, now)) {
+                    expired.add(idleFetcher.fetcher);
+                } else {
+                    fetcher = idleFetcher.fetcher;
+                    break;
+                }
+            }
+        }
+
+        shutdown(expired);
+
+        if (fetcher != null) {
+            if (log.isDebugEnabled())
+                log.debug("Reusing connection for {}", key);
+            return fetcher;
+        }
+
+        fetcher = factory.get();
+        if (!fetcher.isRunning())
+            fetcher.start();
+        return fetcher;
+    }
+
+    /**
+     * Return a fetcher to the pool. The fetcher is shut down if it can't be kept.
+     *
+     * @param key     key used in {@link #borrow(String, Supplier)}
+     * @param fetcher fetcher to return
+     */
+    public void release(String key, T fetcher) {
+        List<T> discarded = new ArrayList<>();
+        synchronized (this) {
+            if (closed || !fetcher.isRunning()) {
+                discarded.add(fetcher);
+            } else {
+                long now = clock.getAsLong();
+                IdleFetcher<T> idleFetcher = new IdleFetcher<>(key, fetcher, now);
+                Deque<IdleFetcher<T>> idle = idleFetchers.computeIfAbsent(key, k -> new ArrayDeque<>());
+                idle.addLast(idleFetcher);
+                idleOrder.add(idleFetcher);
+                while (!idle.isEmpty() && idle.size() > maxIdlePerKey) {
+                    IdleFetcher<T> oldest = idle.peekFirst();
+                    removeIdle(oldest);
+                    discarded.add(oldest.fetcher);
+                }
+
+                evictIdle(now, discarded);
+            }
+        }
+
+        shutdown(discarded);
+    }
+
+    /**
+     * Shutdown the idle fetchers which are not running anymore or idle for more than the idle timeout. This is also
+     * done on each borrow and release. Call it periodically to close idle connections of a pool which is not used.
+     */
+    public void evictExpired() {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            evictIdle(clock.getAsLong(), expired);
+        }
+
+        shutdown(expired);
+    }
+
+    /**
+     * Shutdown a borrowed fetcher which should not be reused, e.g. after an error
+     *
+     * @param fetcher fetcher to shut down
+     */
+    public void invalidate(T fetcher) {
+        shutdown(List.of(fetcher));
+    }
+
+    /**
+     * Shutdown all idle fetchers. Fetchers released after this call are shut down.
+     */
+    public void close() {
+        List<T> fetchers = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            idleFetchers.values().forEach(idle -> idle.forEach(idleFetcher -> fetchers.add(idleFetcher.fetcher)));
+            idleFetchers.clear();
+            idleOrder.clear();
+        }
+
+        shutdown(fetchers);
+    }
+
+    public synchronized int getIdleCount(String key) {
+        Deque<IdleFetcher<T>> idle = idleFetchers.get(key);
+        return idle != null ? idle.size() : 0;
+    }
+
+    /**
+     * @return number of idle fetchers of all keys
+     */
+    public synchronized int getIdleCount() {
+        return idleOrder.size();
+    }
+
+    /**
+     * @return number of keys with idle fetchers
+     */
+    public synchronized int getIdleKeyCount() {
+        return idleFetchers.size();
+    }
+
+    /**
+     * Remove the oldest idle fetchers while they are expired or above the max idle total
+     */
+    private void evictIdle(long now, List<T> evicted) {
+        Iterator<IdleFetcher<T>> iterator = idleOrder.iterator();
+        while (iterator.hasNext()) {
+            IdleFetcher<T> idleFetcher = iterator.next();
+            if (idleOrder.size() <= maxIdleTotal && !isExpired(idleFetcher, now))
+                break;
+
+            iterator.remove();
+            removeFromKey(idleFetcher);
+            evicted.add(idleFetcher.fetcher);
+        }
+    }
+
+    private void removeIdle(IdleFetcher<T> idleFetcher) {
+        idleOrder.remove(idleFetcher);
+        removeFromKey(idleFetcher);
+    }
+
+    private void removeFromKey(IdleFetcher<T> idleFetcher) {
+        Deque<IdleFetcher<T>> idle = idleFetchers.get(idleFetcher.key);
+        if (idle == null)
+            return;
+
+        idle.remove(idleFetcher);
+        if (idle.isEmpty())
+            idleFetchers.remove(idleFetcher.key);
+    }
+
+    private boolean isExpired(IdleFetcher<T> idleFetcher, long now) {
+        return now - idleFetcher.releasedAt > idleTimeoutMs || !idleFetcher.fetcher.isRunning();
+    }
+
+    private void shutdown(List<T> fetchers) {
+        for (T fetcher : fetchers) {
+            try {
+                fetcher.shutdown();
+            } catch (Exception e) {
+                log.warn("Error in fetcher shutdown", e);
+            }
+        }
+    }
+
+    private static class IdleFetcher<T> {
+        private final String key;
+        private final T fetcher;
+        private final long releasedAt;
+
+        private IdleFetcher(String key, T fetcher, long releasedAt) {
+            this.key = key;
+            this.fetcher = fetcher;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
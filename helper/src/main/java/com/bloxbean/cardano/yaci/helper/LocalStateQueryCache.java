@@ -0,0 +1,159 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.AcceptVersion;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.EraQuery;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.Query;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.QueryResult;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgQuery;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.queries.*;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Result cache for {@link LocalStateQueryClient#executeQuery(Query)}. Set it with
+ * {@link LocalStateQueryClient#setQueryCache(LocalStateQueryCache)}.
+ * <p>
+ * Results are keyed by the serialized query, i.e. the query type and its parameters, and the acquired point.
+ * The ledger state of an acquired point doesn't change, so the results are valid until the client acquires another
+ * point or re-acquires the tip. Results of epoch-stable queries (e.g. protocol parameters) are keyed by the epoch
+ * instead, so they are kept across re-acquires until the epoch changes. The epoch is checked with an
+ * {@link EpochNoQuery}, which is cached per acquired point.
+ * <p>
+ * Concurrent requests for the same query share one node round trip. Failed results are not cached.
+ */
+@Slf4j
+public class LocalStateQueryCache {
+    private static final String TIP = "tip";
+
+    private final Map<String, Mono<QueryResult>> pointEntries = new ConcurrentHashMap<>();
+    private final Map<String, Mono<QueryResult>> epochEntries = new ConcurrentHashMap<>();
+    private final Set<Class<? extends Query>> epochStableQueries = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private long epoch = -1;
+
+    public LocalStateQueryCache() {
+        epochStableQueries.add(CurrentProtocolParamsQuery.class);
+        epochStableQueries.add(StakeDistributionQuery.class);
+        epochStableQueries.add(GenesisConfigQuery.class);
+        epochStableQueries.add(ConstitutionQuery.class);
+        epochStableQueries.add(SystemStartQuery.class);
+    }
+
+    /**
+     * Cache the results of the given query type per epoch instead of per acquired point
+     *
+     * @param queryClass query class
+     */
+    public void addEpochStableQuery(Class<? extends Query> queryClass) {
+        epochStableQueries.add(queryClass);
+    }
+
+    /**
+     * Remove the results cached for the acquired point. Epoch-stable results are kept.
+     * <p>
+     * The client calls this method when a point is acquired or released. Queries queued after that run against a
+     * new ledger state, e.g. a new tip.
+     */
+    public void invalidate() {
+        pointEntries.clear();
+    }
+
+    /**
+     * Remove all cached results
+     */
+    public void invalidateAll() {
+        pointEntries.clear();
+        epochEntries.clear();
+    }
+
+    /**
+     * @return number of requests served from the cache, including the ones which joined an in-flight request
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of requests sent to the node
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return number of cached results
+     */
+    public int size() {
+        return pointEntries.size() + epochEntries.size();
+    }
+
+    Mono<QueryResult> executeQuery(Query query, AcceptVersion protocolVersion, Point acquiredPoint,
+                                   Function<Query, Mono<QueryResult>> executor) {
+        String pointKey = acquiredPoint != null ? acquiredPoint.getSlot() + "." + acquiredPoint.getHash() : TIP;
+        String queryKey = queryKey(query, protocolVersion);
+
+        if (!epochStableQueries.contains(query.getClass()))
+            return lookup(pointEntries, pointKey + ":" + queryKey, () -> executor.apply(query));
+
+        if (!(query instanceof EraQuery)) {
+            //Not era specific, e.g. system start. Valid for the current epoch.
+            return lookup(epochEntries, queryKey, () -> executor.apply(query));
+        }
+
+        EpochNoQuery epochNoQuery = new EpochNoQuery(((EraQuery) query).getEra());
+        return lookup(pointEntries, pointKey + ":" + queryKey(epochNoQuery, protocolVersion),
+                () -> executor.apply(epochNoQuery))
+                .flatMap(result -> {
+                    long epochNo = ((EpochNoQueryResult) result).getEpochNo();
+                    epochSeen(epochNo);
+                    return lookup(epochEntries, epochNo + ":" + queryKey, () -> executor.apply(query));
+                });
+    }
+
+    private Mono<QueryResult> lookup(Map<String, Mono<QueryResult>> entries, String key,
+                                     Supplier<Mono<QueryResult>> loader) {
+        Mono<QueryResult> cached = entries.get(key);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return cached;
+        }
+
+        return entries.computeIfAbsent(key, k -> {
+            missCount.incrementAndGet();
+            AtomicReference<Mono<QueryResult>> entry = new AtomicReference<>();
+            entry.set(Mono.defer(loader)
+                    .doOnError(e -> entries.remove(k, entry.get()))
+                    .cache());
+            return entry.get();
+        });
+    }
+
+    private synchronized void epochSeen(long epochNo) {
+        if (epochNo <= epoch)
+            return;
+
+        if (epoch != -1 && log.isDebugEnabled())
+            log.debug("New epoch: {}. Invalidating epoch-stable results", epochNo);
+        epoch = epochNo;
+        //Results of older epochs, and results which are not keyed by epoch
+        String prefix = epochNo + ":";
+        epochEntries.keySet().removeIf(key -> !key.startsWith(prefix));
+    }
+
+    private static String queryKey(Query query, AcceptVersion protocolVersion) {
+        return query.getClass().getName() + ":"
+                + HexUtil.encodeHexString(new MsgQuery(query, protocolVersion).serialize());
+    }
+}
@@ -6,15 +6,21 @@ import com.bloxbean.cardano.yaci.core.protocol.localstate.LocalStateQueryListene
 import com.bloxbean.cardano.yaci.core.protocol.localstate.LocalStateQueryState;
 import com.bloxbean.cardano.yaci.core.protocol.localstate.api.Query;
 import com.bloxbean.cardano.yaci.core.protocol.localstate.api.QueryResult;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.StreamingQuery;
 import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgAcquire;
 import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgFailure;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgQuery;
 import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgReAcquire;
 import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgRelease;
 import com.bloxbean.cardano.yaci.helper.api.QueryClient;
+import com.bloxbean.cardano.yaci.helper.model.QueryResponse;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Use this to query local ledger state using Node-to-client local-state-query mini-protocol
@@ -34,12 +40,24 @@ import java.util.Optional;
  *
  *  Mono<SystemStartResult> queryResultMono = localStateQueryClient.executeQuery(new SystemStartQuery());
  *  SystemStartResult result = queryResultMono.block();
+ *
+ *  //Run many queries against one acquired point
+ *  LocalStateQuerySession session = localStateQueryClient.openSession().block();
+ *  List<QueryResponse> responses = session.executeQueries(queries).collectList().block();
+ *  session.release().block();
  * }
  * </pre>
  */
 @Slf4j
 public class LocalStateQueryClient extends QueryClient {
+    //Queries which are not bound to a session
+    private static final long ANY_GENERATION = -1;
+
     private LocalStateQueryAgent localStateQueryAgent;
+    private volatile LocalStateQueryCache queryCache;
+    private volatile Point acquiredPoint;
+    //Changes with each acquire or release, to detect sessions of an earlier acquire
+    private final AtomicLong acquireGeneration = new AtomicLong();
 
     /**
      * Construct a LocalStateQueryClient
@@ -54,8 +72,18 @@ public class LocalStateQueryClient extends QueryClient {
     private void init() {
         localStateQueryAgent.addListener(new LocalStateQueryListener() {
             @Override
-            public void resultReceived(Query query, QueryResult result) {
-                applyMonoSuccess(query, result);
+            public void resultReceived(long requestId, Query query, QueryResult result) {
+                applyMonoSuccess(requestId, new QueryResponse(requestId, query, result));
+            }
+
+            @Override
+            public void rawResultReceived(long requestId, Query query, byte[] result) {
+                applyMonoSuccess(requestId, result);
+            }
+
+            @Override
+            public void queryFailed(long requestId, Query query, String reason) {
+                applyMonoError(requestId, reason);
             }
 
             @Override
@@ -83,22 +111,99 @@ public class LocalStateQueryClient extends QueryClient {
 
             @Override
             public void onDisconnect() {
+                acquireGeneration.incrementAndGet();
+                invalidateCache();
                 applyError("Connection Error !!!");
             }
         });
     }
 
+    /**
+     * Set the max number of queries sent to the node without waiting for the result. Default is 1.
+     *
+     * @param pipelineDepth pipeline depth
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        localStateQueryAgent.setPipelineDepth(pipelineDepth);
+    }
+
+    /**
+     * Set a cache for the results of {@link #executeQuery(Query)}. Set null to disable the cache.
+     *
+     * @param queryCache query cache
+     */
+    public void setQueryCache(LocalStateQueryCache queryCache) {
+        this.queryCache = queryCache;
+    }
+
+    public LocalStateQueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Acquire the tip of the chain and open a session to run queries against it
+     *
+     * @return Mono with the session
+     */
+    public Mono<LocalStateQuerySession> openSession() {
+        return openSession(null);
+    }
+
+    /**
+     * Acquire the given point and open a session to run queries against it. If a point is already acquired,
+     * the given point is re-acquired.
+     * <p>
+     * The session ends when it's released or when another point is acquired through this client. Queries of an
+     * ended session fail with {@link IllegalStateException}.
+     *
+     * @param point point to acquire, or null for the tip
+     * @return Mono with the session. Fails with {@link IllegalStateException} if an acquire or queries are pending.
+     */
+    public Mono<LocalStateQuerySession> openSession(Point point) {
+        return Mono.defer(() -> {
+            AtomicLong generation = new AtomicLong();
+            return Mono.<Optional<Point>>create(monoSink -> {
+                synchronized (localStateQueryAgent) {
+                    LocalStateQueryState state = (LocalStateQueryState) localStateQueryAgent.getCurrentState();
+                    if (state != LocalStateQueryState.Idle && state != LocalStateQueryState.Acquired) {
+                        monoSink.error(new IllegalStateException("Can't open a session in state " + state
+                                + ". Wait for the pending acquire or queries to complete"));
+                        return;
+                    }
+
+                    Object msg = state == LocalStateQueryState.Acquired
+                            ? localStateQueryAgent.reAcquire(point) : localStateQueryAgent.acquire(point);
+                    generation.set(acquiring(point));
+                    storeMonoSinkReference(msg, monoSink);
+
+                    localStateQueryAgent.sendNextMessage();
+                }
+            }).map(p -> new LocalStateQuerySession(this, point, generation.get()));
+        });
+    }
+
     /**
      * Release the acquired position
      *
      * @return
      */
     public Mono<Void> release() {
+        return release(ANY_GENERATION);
+    }
+
+    Mono<Void> release(long generation) {
         return Mono.create(monoSink -> {
             if (log.isDebugEnabled())
                 log.debug("Release()");
-            MsgRelease msgRelease = localStateQueryAgent.release();
-            localStateQueryAgent.sendNextMessage();
+            synchronized (localStateQueryAgent) {
+                //Nothing to do if the session was already released, or ended by another acquire
+                if (isCurrent(generation)) {
+                    localStateQueryAgent.release();
+                    acquireGeneration.incrementAndGet();
+                    invalidateCache();
+                    localStateQueryAgent.sendNextMessage();
+                }
+            }
             monoSink.success(null);
         });
     }
@@ -127,10 +232,13 @@ public class LocalStateQueryClient extends QueryClient {
         return Mono.create(monoSink -> {
             if (log.isDebugEnabled())
                 log.debug("Try to acquire again");
-            MsgAcquire msgAcquire = localStateQueryAgent.acquire(point);
-            storeMonoSinkReference(msgAcquire, monoSink);
+            synchronized (localStateQueryAgent) {
+                MsgAcquire msgAcquire = localStateQueryAgent.acquire(point);
+                acquiring(point);
+                storeMonoSinkReference(msgAcquire, monoSink);
 
-            localStateQueryAgent.sendNextMessage();
+                localStateQueryAgent.sendNextMessage();
+            }
         });
     }
 
@@ -153,39 +261,119 @@ public class LocalStateQueryClient extends QueryClient {
         return Mono.create(monoSink -> {
             if (log.isDebugEnabled())
                 log.debug("Try to reAcquire at point : {}", point);
-            MsgReAcquire msgReAcquire = localStateQueryAgent.reAcquire(point);
-            storeMonoSinkReference(msgReAcquire, monoSink);
+            synchronized (localStateQueryAgent) {
+                MsgReAcquire msgReAcquire = localStateQueryAgent.reAcquire(point);
+                acquiring(point);
+                storeMonoSinkReference(msgReAcquire, monoSink);
 
-            localStateQueryAgent.sendNextMessage();
+                localStateQueryAgent.sendNextMessage();
+            }
         });
     }
 
     /**
-     * Execute a query
+     * Execute a query. If a {@link LocalStateQueryCache} is set, the result may be served from the cache.
      *
      * @param query Pass a query object
      * @param <T>
      * @return Mono with instance of {@link QueryResult}
      */
     public <T extends QueryResult> Mono<T> executeQuery(Query query) {
-        if (localStateQueryAgent.getCurrentState() == LocalStateQueryState.Idle) {
-            //Auto acquire
-            return Mono.create(monoSink -> {
-                acquire()
-                        .doOnNext(point -> {
-                            localStateQueryAgent.query(query);
-                            storeMonoSinkReference(query, monoSink);
-                            localStateQueryAgent.sendNextMessage();
-                        })
-                        .doOnError(throwable -> monoSink.error(throwable))
-                        .subscribe();
-            });
-        } else {
-            return Mono.create(monoSink -> {
-                localStateQueryAgent.query(query);
-                storeMonoSinkReference(query, monoSink);
-                localStateQueryAgent.sendNextMessage();
+        return executeQuery(query, ANY_GENERATION);
+    }
+
+    <T extends QueryResult> Mono<T> executeQuery(Query query, long generation) {
+        LocalStateQueryCache cache = queryCache;
+        if (cache != null) {
+            return Mono.defer(() -> {
+                //Don't serve a cached result of the new point to an ended session
+                if (!isCurrent(generation))
+                    return Mono.error(sessionEnded());
+                return cache.executeQuery(query, localStateQueryAgent.getProtocolVersion(), acquiredPoint,
+                                q -> executeQueryWithId(q, generation).map(QueryResponse::getResult))
+                        .map(result -> (T) result);
             });
         }
+
+        return executeQueryWithId(query, generation)
+                .map(queryResponse -> (T) queryResponse.getResult());
+    }
+
+    /**
+     * Execute a query and get the result with the request id of the query. Queries are queued and sent to the node
+     * in order, so many queries can be executed without waiting for the earlier results. If no point is acquired,
+     * the tip is acquired first.
+     *
+     * @param query query
+     * @return Mono with {@link QueryResponse}
+     */
+    public Mono<QueryResponse> executeQueryWithId(Query query) {
+        return executeQueryWithId(query, ANY_GENERATION);
+    }
+
+    Mono<QueryResponse> executeQueryWithId(Query query, long generation) {
+        return Mono.create(monoSink -> queueQuery(query, false, monoSink, generation));
+    }
+
+    /**
+     * Execute a query with a large result, e.g. a {@link com.bloxbean.cardano.yaci.core.protocol.localstate.queries.UtxoByAddressQuery}
+     * for an address with many utxos. The result is kept as raw bytes and each element is decoded when it's
+     * requested by the subscriber, so the decoded objects in memory are bounded by one element instead of the whole
+     * result.
+     * <p>
+     * The elements are emitted on the connection thread. Use publishOn to process them on another thread.
+     * The result isn't cached by {@link LocalStateQueryCache}.
+     *
+     * @param query streaming query
+     * @param <E>   element type
+     * @return Flux of elements in the order of the result
+     */
+    public <E> Flux<E> executeStreamingQuery(StreamingQuery<?, E> query) {
+        return Mono.<byte[]>create(monoSink -> queueQuery(query, true, monoSink, ANY_GENERATION))
+                .flatMapMany(result -> {
+                    Iterable<E> elements = () -> query.resultIterator(localStateQueryAgent.getProtocolVersion(), result);
+                    return Flux.fromIterable(elements);
+                });
+    }
+
+    private void queueQuery(Query query, boolean rawResult, MonoSink<?> monoSink, long generation) {
+        //Hold the agent lock, so that the result can't be processed before the sink is stored
+        synchronized (localStateQueryAgent) {
+            if (!isCurrent(generation)) {
+                monoSink.error(sessionEnded());
+                return;
+            }
+
+            if (localStateQueryAgent.getCurrentState() == LocalStateQueryState.Idle) {
+                //Auto acquire. Cached results were already invalidated when the previous point was released.
+                localStateQueryAgent.acquire();
+                acquiredPoint = null;
+                acquireGeneration.incrementAndGet();
+            }
+
+            MsgQuery msgQuery = localStateQueryAgent.query(query, rawResult);
+            storeMonoSinkReference(msgQuery.getRequestId(), monoSink);
+            localStateQueryAgent.sendQueuedCommands();
+        }
+    }
+
+    private long acquiring(Point point) {
+        this.acquiredPoint = point;
+        invalidateCache();
+        return acquireGeneration.incrementAndGet();
+    }
+
+    private boolean isCurrent(long generation) {
+        return generation == ANY_GENERATION || generation == acquireGeneration.get();
+    }
+
+    private static IllegalStateException sessionEnded() {
+        return new IllegalStateException("Session is released or another point was acquired");
+    }
+
+    private void invalidateCache() {
+        LocalStateQueryCache cache = queryCache;
+        if (cache != null)
+            cache.invalidate();
     }
 }
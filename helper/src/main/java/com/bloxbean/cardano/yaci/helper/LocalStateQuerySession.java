@@ -0,0 +1,76 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.Query;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.QueryResult;
+import com.bloxbean.cardano.yaci.helper.model.QueryResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A batch of local state queries against one acquired point. Use {@link LocalStateQueryClient#openSession(Point)}
+ * to get an instance.
+ * <p>
+ * All queries of {@link #executeQueries(List)} are queued at once and sent back-to-back, so the node doesn't wait for
+ * the caller between two queries. Each result is returned with the request id of its query.
+ * <p>
+ * The session uses the connection of the {@link LocalStateQueryClient}, which has one acquired point at a time.
+ * The session ends when it's released or when another point is acquired through the client. Queries of an ended
+ * session fail with {@link IllegalStateException}, so they never run against another point.
+ */
+public class LocalStateQuerySession {
+    private final LocalStateQueryClient localStateQueryClient;
+    private final Point point;
+    private final long generation;
+
+    LocalStateQuerySession(LocalStateQueryClient localStateQueryClient, Point point, long generation) {
+        this.localStateQueryClient = localStateQueryClient;
+        this.point = point;
+        this.generation = generation;
+    }
+
+    /**
+     * @return the acquired point, or empty if the tip was acquired
+     */
+    public Optional<Point> getPoint() {
+        return Optional.ofNullable(point);
+    }
+
+    /**
+     * Execute a query against the acquired point
+     *
+     * @param query query
+     * @param <T>
+     * @return Mono with instance of {@link QueryResult}. Fails with {@link IllegalStateException} if the session
+     * has ended.
+     */
+    public <T extends QueryResult> Mono<T> executeQuery(Query query) {
+        return localStateQueryClient.executeQuery(query, generation);
+    }
+
+    /**
+     * Execute queries against the acquired point. All queries are queued when the returned Flux is subscribed.
+     *
+     * @param queries queries
+     * @return responses in the same order as the queries
+     */
+    public Flux<QueryResponse> executeQueries(List<? extends Query> queries) {
+        if (queries.isEmpty())
+            return Flux.empty();
+
+        return Flux.fromIterable(queries)
+                .flatMapSequential(query -> localStateQueryClient.executeQueryWithId(query, generation), queries.size(), 1);
+    }
+
+    /**
+     * Release the acquired point. Does nothing if the session has already ended.
+     *
+     * @return Mono which completes when the release is sent
+     */
+    public Mono<Void> release() {
+        return localStateQueryClient.release(generation);
+    }
+}
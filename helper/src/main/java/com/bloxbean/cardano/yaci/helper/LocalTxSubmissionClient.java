@@ -8,7 +8,13 @@ import com.bloxbean.cardano.yaci.core.protocol.localtx.model.TxSubmissionRequest
 import com.bloxbean.cardano.yaci.helper.api.QueryClient;
 import com.bloxbean.cardano.yaci.helper.model.TxResult;
 import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Use this helper to submit transactions to a Cardano node through Node-to-client mini-protocol.
@@ -29,11 +35,21 @@ import reactor.core.publisher.Mono;
  * txResultMono.subscribe(txResult -> {
  *      String txId = txResult.getTxHash();
  * });
+ *
+ * //Batch submission. Results are in the same order as the requests
+ * Flux<TxResult> txResults = localTxSubmissionClient.submitTxs(Flux.fromIterable(txnRequests));
  * }</pre>
  */
 @Slf4j
 public class LocalTxSubmissionClient extends QueryClient {
+    public static final int DEFAULT_BATCH_CONCURRENCY = 32;
+
     private final LocalTxSubmissionAgent localTxSubmissionAgent;
+    /**
+     * Transactions submitted through this client, in the order they are queued in the agent. The agent replies in
+     * the same order, so a reply always belongs to the head of this queue.
+     */
+    private final Queue<PendingTx> pendingTxs = new ConcurrentLinkedQueue<>();
 
     public LocalTxSubmissionClient(LocalTxSubmissionAgent localTxSubmissionAgent) {
         this.localTxSubmissionAgent = localTxSubmissionAgent;
@@ -49,7 +65,7 @@ public class LocalTxSubmissionClient extends QueryClient {
                         .accepted(true)
                         .build();
 
-                applyMonoSuccess(txSubmissionRequest, txResult);
+                complete(txSubmissionRequest, txResult);
             }
 
             @Override
@@ -60,24 +76,38 @@ public class LocalTxSubmissionClient extends QueryClient {
                         .errorCbor(msgRejectTx.getReasonCbor())
                         .build();
 
-                applyMonoSuccess(txSubmissionRequest, txResult);
+                complete(txSubmissionRequest, txResult);
             }
 
             @Override
             public void onDisconnect() {
                 applyError("Connection Error !!!");
+
+                PendingTx pendingTx;
+                while ((pendingTx = pendingTxs.poll()) != null) {
+                    if (pendingTx.sink != null)
+                        pendingTx.sink.error(new RuntimeException("Connection Error !!!"));
+                }
             }
         });
     }
 
+    /**
+     * Set the max number of transactions sent to the node without waiting for the reply. Default is 1.
+     *
+     * @param pipelineDepth pipeline depth
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        localTxSubmissionAgent.setPipelineDepth(pipelineDepth);
+    }
+
     /**
      * Submit transaction to the Cardano network and get the result through registered {@link LocalTxSubmissionListener}
      *
      * @param txSubmissionRequest
      */
     public void submitTxCallback(TxSubmissionRequest txSubmissionRequest) {
-        localTxSubmissionAgent.submitTx(txSubmissionRequest);
-        localTxSubmissionAgent.sendNextMessage();
+        enqueue(txSubmissionRequest, null);
     }
 
     /**
@@ -86,10 +116,66 @@ public class LocalTxSubmissionClient extends QueryClient {
      * @return Mono with TxResult
      */
     public Mono<TxResult> submitTx(TxSubmissionRequest txSubmissionRequest) {
-        return Mono.create(monoSink -> {
+        return Mono.create(monoSink -> enqueue(txSubmissionRequest, monoSink));
+    }
+
+    /**
+     * Submit transactions to the local Cardano network with up to {@link #DEFAULT_BATCH_CONCURRENCY} transactions
+     * waiting for the result.
+     *
+     * @param txSubmissionRequests transactions
+     * @return results in the same order as the transactions
+     * @see #submitTxs(Publisher, int)
+     */
+    public Flux<TxResult> submitTxs(Publisher<TxSubmissionRequest> txSubmissionRequests) {
+        return submitTxs(txSubmissionRequests, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    /**
+     * Submit transactions to the local Cardano network. Up to maxConcurrency transactions are queued or waiting for
+     * the result. More transactions are requested from the source only when the earlier ones are completed.
+     * <p>
+     * Use {@link #setPipelineDepth(int)} to also send more than one transaction to the node without waiting for the
+     * reply.
+     *
+     * @param txSubmissionRequests transactions
+     * @param maxConcurrency       max number of transactions waiting for the result
+     * @return results in the same order as the transactions
+     */
+    public Flux<TxResult> submitTxs(Publisher<TxSubmissionRequest> txSubmissionRequests, int maxConcurrency) {
+        return Flux.from(txSubmissionRequests)
+                .flatMapSequential(this::submitTx, maxConcurrency, 1);
+    }
+
+    private void enqueue(TxSubmissionRequest txSubmissionRequest, MonoSink<TxResult> sink) {
+        //The order of pendingTxs and the agent's queue should be the same
+        synchronized (pendingTxs) {
+            pendingTxs.add(new PendingTx(txSubmissionRequest, sink));
             localTxSubmissionAgent.submitTx(txSubmissionRequest);
-            storeMonoSinkReference(txSubmissionRequest, monoSink);
-            localTxSubmissionAgent.sendNextMessage();
-        });
+        }
+        localTxSubmissionAgent.sendQueuedTxs();
+    }
+
+    private void complete(TxSubmissionRequest txSubmissionRequest, TxResult txResult) {
+        PendingTx pendingTx = pendingTxs.peek();
+        if (pendingTx == null || pendingTx.request != txSubmissionRequest) {
+            //Not submitted through this client
+            applyMonoSuccess(txSubmissionRequest, txResult);
+            return;
+        }
+
+        pendingTxs.poll();
+        if (pendingTx.sink != null)
+            pendingTx.sink.success(txResult);
+    }
+
+    private static class PendingTx {
+        private final TxSubmissionRequest request;
+        private final MonoSink<TxResult> sink;
+
+        PendingTx(TxSubmissionRequest request, MonoSink<TxResult> sink) {
+            this.request = request;
+            this.sink = sink;
+        }
     }
 }
@@ -0,0 +1,676 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.exception.BlockParseRuntimeException;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlock;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronMainBlock;
+import com.bloxbean.cardano.yaci.core.network.NodeClientConfig;
+import com.bloxbean.cardano.yaci.core.network.TCPNodeClient;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainSyncAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainsyncAgent;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgent;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.VersionTable;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2NVersionTableConstant;
+import com.bloxbean.cardano.yaci.core.protocol.keepalive.KeepAliveAgent;
+import com.bloxbean.cardano.yaci.core.protocol.peersharing.messages.PeerAddress;
+import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
+import com.bloxbean.cardano.yaci.helper.listener.BlockFetchAgentListenerAdapter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * A high level helper class to fetch blockchain data from point1 to point2 from multiple Cardano nodes in parallel.
+ * <p>
+ * The headers in the range are read through chain-sync from the first peer and split into chunks of
+ * {@link #getChunkSize()} blocks. Each chunk is fetched with one block-fetch RequestRange from a free peer. Blocks
+ * are buffered per chunk and delivered to {@link BlockChainDataListener} in chain order, so the listener receives the
+ * same stream as with {@link BlockRangeSync}. A chunk which fails (NoBlocks or disconnection) is retried on another
+ * peer. If a chunk fails {@link #getMaxAttempts()} times, {@link BlockChainDataListener#noBlockFound(Point, Point)} is
+ * called for the chunk's range.
+ * <p>
+ * This class is meant for historical (immutable) ranges. Chunks are not re-created if the chain rolls back while the
+ * headers are being read.
+ *
+ * <pre>
+ * {@code
+ * MultiPeerBlockRangeSync rangeSync = MultiPeerBlockRangeSync.withPeerDiscovery(host, port, protocolMagic, 4);
+ * rangeSync.start(listener);
+ * rangeSync.fetch(from, to);
+ * }
+ * </pre>
+ */
+@Slf4j
+public class MultiPeerBlockRangeSync {
+    public static final int DEFAULT_CHUNK_SIZE = 100;
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final int HEADER_PIPELINE_DEPTH = 10;
+    private static final Duration PEER_DISCOVERY_TIMEOUT = Duration.ofSeconds(30);
+
+    private final List<PeerAddress> peerAddresses;
+    private final VersionTable versionTable;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+
+    private BlockChainDataListener blockChainDataListener;
+    private BlockFetchAgentListenerAdapter listenerAdapter;
+    private final List<PeerConnection> peers = new ArrayList<>();
+    private TCPNodeClient headerClient;
+    private ChainsyncAgent headerChainsyncAgent;
+    private final Object deliveryLock = new Object();
+
+    //Chunks waiting for a peer. Retried chunks are picked before the later chunks
+    private final NavigableSet<RangeChunk> queuedChunks = new TreeSet<>(Comparator.comparingInt((RangeChunk chunk) -> chunk.seq));
+    //All chunks which are not delivered yet, in chain order
+    private final Deque<RangeChunk> undeliveredChunks = new ArrayDeque<>();
+    private int nextSeq;
+    private Point chunkStart;
+    private Point chunkEnd;
+    private int chunkBlocks;
+    private Point to;
+    private boolean rangeInProgress;
+    private boolean headersDone;
+    private boolean headersPaused;
+
+    /**
+     * Construct a {@link MultiPeerBlockRangeSync} instance
+     * @param peerAddresses Cardano node addresses. Headers are read from the first node
+     * @param protocolMagic protocol magic
+     */
+    public MultiPeerBlockRangeSync(List<PeerAddress> peerAddresses, long protocolMagic) {
+        this(peerAddresses, N2NVersionTableConstant.v4AndAbove(protocolMagic));
+    }
+
+    /**
+     * Construct a {@link MultiPeerBlockRangeSync} instance
+     * @param peerAddresses Cardano node addresses. Headers are read from the first node
+     * @param versionTable VersionTable for N2N protocol
+     */
+    public MultiPeerBlockRangeSync(List<PeerAddress> peerAddresses, VersionTable versionTable) {
+        if (peerAddresses == null || peerAddresses.isEmpty())
+            throw new IllegalArgumentException("At least one peer is required");
+
+        this.peerAddresses = new ArrayList<>(peerAddresses);
+        this.versionTable = versionTable;
+    }
+
+    /**
+     * Create a {@link MultiPeerBlockRangeSync} with the given node and the peers shared by that node.
+     * If peer discovery fails, only the given node is used.
+     *
+     * @param host Cardano node host. Headers are read from this node
+     * @param port Cardano node port
+     * @param protocolMagic protocol magic
+     * @param maxPeers max number of nodes, including the given node
+     * @return MultiPeerBlockRangeSync
+     */
+    public static MultiPeerBlockRangeSync withPeerDiscovery(String host, int port, long protocolMagic, int maxPeers) {
+        List<PeerAddress> peerAddresses = new ArrayList<>();
+        peerAddresses.add(PeerAddress.ipv4(host, port));
+
+        if (maxPeers > 1) {
+            PeerDiscovery peerDiscovery = new PeerDiscovery(host, port, protocolMagic, maxPeers);
+            try {
+                List<PeerAddress> discovered = peerDiscovery.discover()
+                        .block(PEER_DISCOVERY_TIMEOUT);
+                if (discovered != null) {
+                    discovered.stream()
+                            .filter(peerAddress -> !peerAddresses.contains(peerAddress))
+                            .limit(maxPeers - 1)
+                            .forEach(peerAddresses::add);
+                }
+            } catch (Exception e) {
+                log.warn("Peer discovery failed for {}:{}. Only this node will be used", host, port, e);
+            } finally {
+                peerDiscovery.shutdown();
+            }
+        }
+
+        return new MultiPeerBlockRangeSync(peerAddresses, N2NVersionTableConstant.v4AndAbove(protocolMagic));
+    }
+
+    /**
+     * Set max number of blocks in a chunk. Default is {@link #DEFAULT_CHUNK_SIZE}
+     * @param chunkSize chunk size, must be greater than 0
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size should be greater than 0");
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Set max number of attempts to fetch a chunk. Default is {@link #DEFAULT_MAX_ATTEMPTS}
+     * @param maxAttempts max attempts, must be greater than 0
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("Max attempts should be greater than 0");
+        this.maxAttempts = maxAttempts;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Establish the connections to all peers
+     * @param blockChainDataListener listener to receive blocks in chain order
+     */
+    public void start(BlockChainDataListener blockChainDataListener) {
+        init(blockChainDataListener);
+
+        NodeClientConfig peerConfig = failFastConfig();
+        for (PeerAddress peerAddress : peerAddresses) {
+            HandshakeAgent handshakeAgent = new HandshakeAgent(versionTable);
+            KeepAliveAgent keepAliveAgent = new KeepAliveAgent();
+            BlockfetchAgent blockfetchAgent = new BlockfetchAgent();
+            TCPNodeClient nodeClient = new TCPNodeClient(peerAddress.getAddress(), peerAddress.getPort(), peerConfig,
+                    handshakeAgent, keepAliveAgent, blockfetchAgent);
+
+            PeerConnection peer = addPeer(peerAddress.getAddress() + ":" + peerAddress.getPort(), blockfetchAgent, nodeClient);
+            handshakeAgent.addListener(new HandshakeAgentListener() {
+                @Override
+                public void handshakeOk() {
+                    keepAliveAgent.sendKeepAlive(1234);
+                    onPeerReady(peer);
+                }
+            });
+
+            nodeClient.start();
+        }
+    }
+
+    /**
+     * Start to fetch blocks. Blocks from both points are included.
+     * @param from from point
+     * @param to to point
+     */
+    public void fetch(Point from, Point to) {
+        if (listenerAdapter == null)
+            throw new IllegalStateException("Please call start before fetch");
+        if (from.getSlot() > to.getSlot())
+            throw new IllegalArgumentException("From point should not be after the to point");
+
+        beginRange(from, to);
+
+        if (from.getSlot() == to.getSlot()) {
+            onHeader(to);
+            return;
+        }
+
+        PeerAddress headerPeer = peerAddresses.get(0);
+        HandshakeAgent handshakeAgent = new HandshakeAgent(versionTable);
+        ChainsyncAgent chainsyncAgent = new ChainsyncAgent(new Point[]{from}, HEADER_PIPELINE_DEPTH);
+        TCPNodeClient nodeClient = new TCPNodeClient(headerPeer.getAddress(), headerPeer.getPort(), failFastConfig(),
+                handshakeAgent, chainsyncAgent);
+
+        handshakeAgent.addListener(new HandshakeAgentListener() {
+            @Override
+            public void handshakeOk() {
+                chainsyncAgent.sendNextMessage();
+            }
+        });
+
+        chainsyncAgent.addListener(new ChainSyncAgentListener() {
+            @Override
+            public void intersactFound(Tip tip, Point point) {
+                chainsyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void intersactNotFound(Tip tip) {
+                log.error("From point {} is not found on the chain", from);
+                onHeadersFailed();
+            }
+
+            @Override
+            public void rollbackward(Tip tip, Point toPoint) {
+                if (toPoint.getSlot() < from.getSlot())
+                    log.warn("Rollback to {} before the from point. The fetched range may not be valid", toPoint);
+                chainsyncAgent.sendNextMessage();
+            }
+
+            @Override
+            public void rollforward(Tip tip, BlockHeader blockHeader) {
+                onHeaderReceived(chainsyncAgent, new Point(blockHeader.getHeaderBody().getSlot(),
+                        blockHeader.getHeaderBody().getBlockHash()));
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronBlockHead byronHead) {
+                onHeaderReceived(chainsyncAgent, new Point(byronHead.getConsensusData().getAbsoluteSlot(),
+                        byronHead.getBlockHash()));
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronEbHead byronEbHead) {
+                onHeaderReceived(chainsyncAgent, new Point(byronEbHead.getConsensusData().getAbsoluteSlot(),
+                        byronEbHead.getBlockHash()));
+            }
+
+            @Override
+            public void onDisconnect() {
+                synchronized (MultiPeerBlockRangeSync.this) {
+                    if (headerChainsyncAgent != chainsyncAgent || !rangeInProgress || headersDone)
+                        return;
+                }
+                log.error("Header connection to {}:{} is closed", headerPeer.getAddress(), headerPeer.getPort());
+                onHeadersFailed();
+            }
+        });
+
+        synchronized (this) {
+            headerClient = nodeClient;
+            headerChainsyncAgent = chainsyncAgent;
+        }
+        nodeClient.start();
+    }
+
+    /**
+     * Stop all connections
+     */
+    public void stop() {
+        synchronized (this) {
+            rangeInProgress = false;
+            queuedChunks.clear();
+            undeliveredChunks.clear();
+        }
+
+        shutdownHeaderClient();
+        for (PeerConnection peer : peers) {
+            peer.blockfetchAgent.shutdown();
+            if (peer.nodeClient != null)
+                peer.nodeClient.shutdown();
+        }
+    }
+
+    /**
+     * Check if any connection is alive
+     */
+    public boolean isRunning() {
+        return peers.stream().anyMatch(peer -> peer.nodeClient != null && peer.nodeClient.isRunning());
+    }
+
+    void init(BlockChainDataListener blockChainDataListener) {
+        this.blockChainDataListener = blockChainDataListener;
+        this.listenerAdapter = new BlockFetchAgentListenerAdapter(blockChainDataListener);
+    }
+
+    PeerConnection addPeer(String name, BlockfetchAgent blockfetchAgent, TCPNodeClient nodeClient) {
+        PeerConnection peer = new PeerConnection(name, blockfetchAgent, nodeClient);
+        blockfetchAgent.addListener(peer);
+        peers.add(peer);
+        return peer;
+    }
+
+    synchronized void beginRange(Point from, Point to) {
+        if (rangeInProgress)
+            throw new IllegalStateException("A fetch is already in progress");
+
+        this.to = to;
+        this.chunkStart = from;
+        this.chunkEnd = from;
+        this.chunkBlocks = 1;
+        this.rangeInProgress = true;
+        this.headersDone = false;
+        this.headersPaused = false;
+
+        blockChainDataListener.batchStarted();
+    }
+
+    /**
+     * Add the point of the next block in the range to the current chunk
+     * @return true if more headers are required now
+     */
+    synchronized boolean onHeader(Point point) {
+        if (!rangeInProgress || headersDone)
+            return false;
+
+        if (point.getSlot() > to.getSlot()) {
+            //The to point is not on the chain. Fetch up to the previous block
+            log.warn("To point {} is not found. Fetching up to {}", to, chunkEnd);
+            closeChunk();
+            headersDone = true;
+        } else {
+            if (point.getSlot() > chunkEnd.getSlot()) {
+                if (chunkStart == null) {
+                    chunkStart = point;
+                    chunkBlocks = 0;
+                }
+                chunkEnd = point;
+                chunkBlocks++;
+            }
+
+            if (point.getSlot() == to.getSlot()) {
+                closeChunk();
+                headersDone = true;
+            } else if (chunkBlocks >= chunkSize) {
+                closeChunk();
+            }
+        }
+
+        dispatch();
+
+        if (headersDone)
+            return false;
+
+        headersPaused = undeliveredChunks.size() >= maxBufferedChunks();
+        return !headersPaused;
+    }
+
+    synchronized void onPeerReady(PeerConnection peer) {
+        peer.ready = true;
+        dispatch();
+    }
+
+    private void onHeaderReceived(ChainsyncAgent chainsyncAgent, Point point) {
+        //Blocks are fetched through block-fetch. Headers can be confirmed immediately
+        chainsyncAgent.confirmBlock(point);
+
+        boolean requestMore = onHeader(point);
+        if (requestMore) {
+            chainsyncAgent.sendNextMessage();
+        } else {
+            synchronized (this) {
+                if (headersDone)
+                    shutdownHeaderClient();
+            }
+            //The range may be already completed if the to point is not found
+            deliver();
+        }
+    }
+
+    private void onHeadersFailed() {
+        synchronized (this) {
+            //Fetch the headers received so far
+            closeChunk();
+            headersDone = true;
+            dispatch();
+        }
+
+        shutdownHeaderClient();
+        deliver();
+    }
+
+    private void closeChunk() {
+        if (chunkStart == null)
+            return;
+
+        RangeChunk chunk = new RangeChunk(nextSeq++, chunkStart, chunkEnd);
+        queuedChunks.add(chunk);
+        undeliveredChunks.addLast(chunk);
+
+        chunkStart = null;
+        chunkBlocks = 0;
+    }
+
+    /**
+     * Assign queued chunks to the free peers
+     */
+    private void dispatch() {
+        for (PeerConnection peer : peers) {
+            if (queuedChunks.isEmpty())
+                return;
+
+            if (!peer.ready || peer.current != null)
+                continue;
+
+            RangeChunk chunk = pollChunkFor(peer);
+            if (chunk == null)
+                continue;
+
+            if (log.isDebugEnabled())
+                log.debug("Fetching chunk {} ({} - {}) from {}", chunk.seq, chunk.from, chunk.to, peer.name);
+
+            peer.current = chunk;
+            peer.blockfetchAgent.resetPoints(chunk.from, chunk.to);
+            peer.blockfetchAgent.sendNextMessage();
+        }
+    }
+
+    /**
+     * Get the first queued chunk which has not failed on this peer. A chunk which has failed on all available peers
+     * can be retried on any peer.
+     */
+    private RangeChunk pollChunkFor(PeerConnection peer) {
+        long availablePeers = peers.stream().filter(p -> p.ready).count();
+
+        for (RangeChunk chunk : queuedChunks) {
+            if (!chunk.failedPeers.contains(peer) || chunk.failedPeers.size() >= availablePeers) {
+                queuedChunks.remove(chunk);
+                return chunk;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void onChunkDone(PeerConnection peer) {
+        RangeChunk chunk = peer.current;
+        if (chunk == null)
+            return;
+
+        peer.current = null;
+        chunk.done = true;
+        dispatch();
+    }
+
+    private synchronized void onChunkFailed(PeerConnection peer, String reason) {
+        RangeChunk chunk = peer.current;
+        if (chunk == null)
+            return;
+
+        peer.current = null;
+        chunk.attempts++;
+        chunk.failedPeers.add(peer);
+        chunk.actions.clear();
+
+        if (chunk.attempts >= maxAttempts) {
+            log.error("Chunk {} - {} could not be fetched after {} attempts. Last error: {}", chunk.from, chunk.to,
+                    chunk.attempts, reason);
+            Point from = chunk.from;
+            Point to = chunk.to;
+            chunk.actions.add(() -> listenerAdapter.noBlockFound(from, to));
+            chunk.done = true;
+        } else {
+            log.warn("Chunk {} - {} failed on {}: {}. Retrying", chunk.from, chunk.to, peer.name, reason);
+            queuedChunks.add(chunk);
+        }
+
+        dispatch();
+    }
+
+    private void onPeerDisconnected(PeerConnection peer) {
+        boolean noPeerLeft;
+        synchronized (this) {
+            peer.ready = false;
+            onChunkFailed(peer, "disconnected");
+            noPeerLeft = rangeInProgress && peers.stream().noneMatch(p -> p.ready);
+        }
+
+        if (noPeerLeft) {
+            log.error("All peers are disconnected");
+            synchronized (deliveryLock) {
+                blockChainDataListener.onDisconnect();
+            }
+        }
+    }
+
+    /**
+     * Deliver the completed chunks at the head of the range. Only one thread delivers at a time, so the listener
+     * receives the blocks in chain order.
+     */
+    private void deliver() {
+        boolean resumeHeaders = false;
+        synchronized (deliveryLock) {
+            RangeChunk chunk;
+            while ((chunk = nextDeliverableChunk()) != null) {
+                for (Runnable action : chunk.actions) {
+                    try {
+                        action.run();
+                    } catch (Exception e) {
+                        log.error("Error in listener", e);
+                    }
+                }
+                chunk.actions.clear();
+            }
+
+            synchronized (this) {
+                if (headersPaused && undeliveredChunks.size() < maxBufferedChunks()) {
+                    headersPaused = false;
+                    resumeHeaders = true;
+                }
+            }
+
+            checkCompleted();
+        }
+
+        if (resumeHeaders)
+            resumeHeaders();
+    }
+
+    private synchronized RangeChunk nextDeliverableChunk() {
+        RangeChunk head = undeliveredChunks.peekFirst();
+        if (head == null || !head.done)
+            return null;
+
+        return undeliveredChunks.removeFirst();
+    }
+
+    private void checkCompleted() {
+        boolean completed;
+        synchronized (this) {
+            completed = rangeInProgress && headersDone && undeliveredChunks.isEmpty();
+            if (completed)
+                rangeInProgress = false;
+        }
+
+        if (completed) {
+            synchronized (deliveryLock) {
+                blockChainDataListener.batchDone();
+            }
+        }
+    }
+
+    private void resumeHeaders() {
+        ChainsyncAgent chainsyncAgent;
+        synchronized (this) {
+            chainsyncAgent = headerClient != null ? headerChainsyncAgent : null;
+        }
+
+        if (chainsyncAgent != null)
+            chainsyncAgent.sendNextMessage();
+    }
+
+    private synchronized void shutdownHeaderClient() {
+        if (headerClient != null) {
+            headerClient.shutdown();
+            headerClient = null;
+            headerChainsyncAgent = null;
+        }
+    }
+
+    /**
+     * Fail fast. A failed peer's chunks are moved to other peers, and a failed header connection ends the range with
+     * the headers received so far.
+     */
+    private static NodeClientConfig failFastConfig() {
+        return NodeClientConfig.builder()
+                .autoReconnect(false)
+                .connectionTimeoutMs(10000)
+                .build();
+    }
+
+    private int maxBufferedChunks() {
+        return Math.max(peers.size(), 1) * 2;
+    }
+
+    private static class RangeChunk {
+        private final int seq;
+        private final Point from;
+        private final Point to;
+        //Listener calls, run when the chunk is delivered
+        private final List<Runnable> actions = new ArrayList<>();
+        private final Set<PeerConnection> failedPeers = new HashSet<>();
+        private int attempts;
+        private boolean done;
+
+        private RangeChunk(int seq, Point from, Point to) {
+            this.seq = seq;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    class PeerConnection implements BlockfetchAgentListener {
+        private final String name;
+        private final BlockfetchAgent blockfetchAgent;
+        private final TCPNodeClient nodeClient;
+        private boolean ready;
+        private RangeChunk current;
+
+        private PeerConnection(String name, BlockfetchAgent blockfetchAgent, TCPNodeClient nodeClient) {
+            this.name = name;
+            this.blockfetchAgent = blockfetchAgent;
+            this.nodeClient = nodeClient;
+        }
+
+        @Override
+        public void blockFound(Block block) {
+            addAction(() -> listenerAdapter.blockFound(block));
+        }
+
+        @Override
+        public void byronBlockFound(ByronMainBlock byronBlock) {
+            addAction(() -> listenerAdapter.byronBlockFound(byronBlock));
+        }
+
+        @Override
+        public void byronEbBlockFound(ByronEbBlock byronEbBlock) {
+            addAction(() -> listenerAdapter.byronEbBlockFound(byronEbBlock));
+        }
+
+        @Override
+        public void onParsingError(BlockParseRuntimeException e) {
+            addAction(() -> listenerAdapter.onParsingError(e));
+        }
+
+        @Override
+        public void readyForNextBatch() {
+            onChunkDone(this);
+            deliver();
+        }
+
+        @Override
+        public void noBlockFound(Point from, Point to) {
+            onChunkFailed(this, "no blocks found");
+            deliver();
+        }
+
+        @Override
+        public void onDisconnect() {
+            onPeerDisconnected(this);
+            deliver();
+        }
+
+        private void addAction(Runnable action) {
+            synchronized (MultiPeerBlockRangeSync.this) {
+                if (current != null)
+                    current.actions.add(action);
+            }
+        }
+    }
+}
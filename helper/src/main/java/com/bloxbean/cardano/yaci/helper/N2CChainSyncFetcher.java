@@ -4,6 +4,7 @@ import com.bloxbean.cardano.yaci.core.model.Block;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlock;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronMainBlock;
 import com.bloxbean.cardano.yaci.core.network.NodeClient;
+import com.bloxbean.cardano.yaci.core.network.NodeClientConfig;
 import com.bloxbean.cardano.yaci.core.network.TCPNodeClient;
 import com.bloxbean.cardano.yaci.core.network.UnixSocketNodeClient;
 import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
@@ -19,8 +20,11 @@ import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.VersionTable;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2CVersionTableConstant;
 import com.bloxbean.cardano.yaci.helper.api.Fetcher;
+import com.bloxbean.cardano.yaci.helper.listener.SyncProgressListener;
+import com.bloxbean.cardano.yaci.helper.model.SyncProgress;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.function.Consumer;
 
 /**
@@ -43,6 +47,9 @@ public class N2CChainSyncFetcher implements Fetcher<Block> {
     private HandshakeAgent handshakeAgent;
     private LocalChainSyncAgent chainSyncAgent;
     private NodeClient n2CClient;
+    private SyncProgressTracker progressTracker;
+    private LocalChainSyncAgentListener listenerTimer;
+    private NodeClientConfig nodeClientConfig;
 
     private String host;
     private int port;
@@ -90,10 +97,26 @@ public class N2CChainSyncFetcher implements Fetcher<Block> {
      * @param syncFromLatest true if sync from tip, false if sync from wellKnownPoint
      */
     public N2CChainSyncFetcher(String nodeSocketFile, Point wellKnownPoint, VersionTable versionTable, boolean syncFromLatest) {
+        this(nodeSocketFile, wellKnownPoint, versionTable, syncFromLatest, NodeClientConfig.defaultConfig());
+    }
+
+    /**
+     * Use this constructor to sync blocks with a custom connection config. The fetcher's progress tracker is added to
+     * the config's metrics.
+     *
+     * @param nodeSocketFile   path to local Cardano node's socket file
+     * @param wellKnownPoint
+     * @param versionTable
+     * @param syncFromLatest   true if sync from tip, false if sync from wellKnownPoint
+     * @param nodeClientConfig connection config
+     */
+    public N2CChainSyncFetcher(String nodeSocketFile, Point wellKnownPoint, VersionTable versionTable, boolean syncFromLatest,
+                               NodeClientConfig nodeClientConfig) {
         this.nodeSocketFile = nodeSocketFile;
         this.versionTable = versionTable;
         this.wellKnownPoint = wellKnownPoint;
         this.syncFromLatest = syncFromLatest;
+        this.nodeClientConfig = nodeClientConfig;
 
         init();
     }
@@ -149,11 +172,28 @@ public class N2CChainSyncFetcher implements Fetcher<Block> {
      * @param syncFromLatest true if sync from tip, false if sync from wellKnownPoint
      */
     public N2CChainSyncFetcher(String host, int port, Point wellKnownPoint, VersionTable versionTable, boolean syncFromLatest) {
+        this(host, port, wellKnownPoint, versionTable, syncFromLatest, NodeClientConfig.defaultConfig());
+    }
+
+    /**
+     * Use this constructor to sync blocks using host and port with a custom connection config. The fetcher's progress
+     * tracker is added to the config's metrics.
+     *
+     * @param host             address to Cardano node node-to-client via tcp
+     * @param port             port to Cardano node node-to-client via tcp
+     * @param wellKnownPoint
+     * @param versionTable
+     * @param syncFromLatest   true if sync from tip, false if sync from wellKnownPoint
+     * @param nodeClientConfig connection config
+     */
+    public N2CChainSyncFetcher(String host, int port, Point wellKnownPoint, VersionTable versionTable, boolean syncFromLatest,
+                               NodeClientConfig nodeClientConfig) {
         this.host = host;
         this.port = port;
         this.wellKnownPoint = wellKnownPoint;
         this.versionTable = versionTable;
         this.syncFromLatest = syncFromLatest;
+        this.nodeClientConfig = nodeClientConfig;
 
         init();
     }
@@ -232,11 +272,66 @@ public class N2CChainSyncFetcher implements Fetcher<Block> {
             }
         });
 
+        progressTracker = new SyncProgressTracker();
+        //Added before the application's listeners, so that it runs after them
+        chainSyncAgent.addListener(new LocalChainSyncAgentListener() {
+            @Override
+            public void intersactFound(Tip tip, Point point) {
+                progressTracker.onTip(tip);
+            }
+
+            @Override
+            public void rollforward(Tip tip, Block block) {
+                progressTracker.listenerFinished();
+                progressTracker.onTip(tip);
+                progressTracker.onBlock(block);
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronMainBlock byronMainBlock) {
+                progressTracker.listenerFinished();
+                progressTracker.onTip(tip);
+                progressTracker.onByronBlock(byronMainBlock);
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronEbBlock byronEbBlock) {
+                progressTracker.listenerFinished();
+                progressTracker.onTip(tip);
+                progressTracker.onByronEbBlock(byronEbBlock);
+            }
+
+            @Override
+            public void rollbackward(Tip tip, Point toPoint) {
+                progressTracker.onTip(tip);
+                progressTracker.onRollback(toPoint);
+            }
+        });
+
+        //Marks the start of the application's listeners. It's kept as the last added listener, so that it runs first
+        listenerTimer = new LocalChainSyncAgentListener() {
+            @Override
+            public void rollforward(Tip tip, Block block) {
+                progressTracker.listenerStarted();
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronMainBlock byronMainBlock) {
+                progressTracker.listenerStarted();
+            }
+
+            @Override
+            public void rollforwardByronEra(Tip tip, ByronEbBlock byronEbBlock) {
+                progressTracker.listenerStarted();
+            }
+        };
+
+        NodeClientConfig config = progressTracker.withMetrics(nodeClientConfig);
         if (nodeSocketFile != null && !nodeSocketFile.isEmpty()) {
-            n2CClient = new UnixSocketNodeClient(nodeSocketFile, handshakeAgent,
+            n2CClient = new UnixSocketNodeClient(nodeSocketFile, config, handshakeAgent,
                     chainSyncAgent);
         } else if (host != null && !host.isEmpty())
-            n2CClient = new TCPNodeClient(host, port, handshakeAgent, chainSyncAgent);
+            n2CClient = new TCPNodeClient(host, port, config, handshakeAgent, chainSyncAgent);
     }
 
     /**
@@ -252,10 +347,39 @@ public class N2CChainSyncFetcher implements Fetcher<Block> {
                     consumer.accept(block);
             }
         });
+        addListenerTimer();
 
         n2CClient.start();
     }
 
+    /**
+     * Get the current sync progress. Fetch latency is not available, as blocks are received through chain-sync.
+     *
+     * @return progress snapshot
+     */
+    public SyncProgress getProgress() {
+        return progressTracker.getProgress();
+    }
+
+    /**
+     * Add a listener to receive the sync progress every {@link SyncProgressTracker#DEFAULT_REPORT_INTERVAL}
+     *
+     * @param listener progress listener
+     */
+    public void addProgressListener(SyncProgressListener listener) {
+        progressTracker.addListener(listener);
+    }
+
+    /**
+     * Add a listener to receive the sync progress at most once per interval
+     *
+     * @param listener progress listener
+     * @param interval report interval
+     */
+    public void addProgressListener(SyncProgressListener listener, Duration interval) {
+        progressTracker.addListener(listener, interval);
+    }
+
     /**
      * Add a {@link LocalChainSyncAgentListener} to listen {@link LocalChainSyncAgent} events
      * @param listener
@@ -264,8 +388,16 @@ public class N2CChainSyncFetcher implements Fetcher<Block> {
         if (this.isRunning())
             throw new IllegalStateException("Listener can be added only before start() call");
 
-        if (listener != null)
+        if (listener != null) {
             chainSyncAgent.addListener(listener);
+            addListenerTimer();
+        }
+    }
+
+    //Keep the timer after the application's listeners, so that it runs before them
+    private void addListenerTimer() {
+        chainSyncAgent.removeListener(listenerTimer);
+        chainSyncAgent.addListener(listenerTimer);
     }
 
     /**
@@ -1,13 +1,11 @@
 package com.bloxbean.cardano.yaci.helper;
 
 import com.bloxbean.cardano.yaci.core.common.Constants;
-import com.bloxbean.cardano.yaci.core.exception.BlockParseRuntimeException;
 import com.bloxbean.cardano.yaci.core.model.Block;
 import com.bloxbean.cardano.yaci.core.model.BlockHeader;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
-import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlock;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
-import com.bloxbean.cardano.yaci.core.model.byron.ByronMainBlock;
+import com.bloxbean.cardano.yaci.core.network.NodeClientConfig;
 import com.bloxbean.cardano.yaci.core.network.TCPNodeClient;
 import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
 import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgentListener;
@@ -20,11 +18,13 @@ import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.VersionTable;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2NVersionTableConstant;
 import com.bloxbean.cardano.yaci.core.protocol.keepalive.KeepAliveAgent;
+import com.bloxbean.cardano.yaci.core.storage.BlockStore;
 import com.bloxbean.cardano.yaci.helper.api.Fetcher;
-import com.bloxbean.cardano.yaci.core.common.GenesisConfig;
-import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.helper.listener.SyncProgressListener;
+import com.bloxbean.cardano.yaci.helper.model.SyncProgress;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.function.Consumer;
 
 /**
@@ -49,6 +49,12 @@ public class N2NChainSyncFetcher implements Fetcher<Block> {
     private BlockfetchAgent blockFetchAgent;
     private TCPNodeClient n2nClient;
 
+    private BlockFetchScheduler blockFetchScheduler;
+    private SyncProgressTracker progressTracker;
+    private BlockfetchAgentListener listenerTimer;
+    private NodeClientConfig nodeClientConfig;
+    private boolean headerOnly;
+
     private int lastKeepAliveResponseCookie = 0;
     private long lastKeepAliveResponseTime = 0;
 
@@ -98,11 +104,28 @@ public class N2NChainSyncFetcher implements Fetcher<Block> {
      * @param syncFromLatest true if sync from latest block, false if sync from the well known point
      */
     public N2NChainSyncFetcher(String host, int port, Point wellKnownPoint, VersionTable versionTable, boolean syncFromLatest) {
+        this(host, port, wellKnownPoint, versionTable, syncFromLatest, NodeClientConfig.defaultConfig());
+    }
+
+    /**
+     * Construct {@link N2NChainSyncFetcher} to sync the blockchain with a custom connection config. The fetcher's
+     * progress tracker is added to the config's metrics.
+     *
+     * @param host             Cardano node host
+     * @param port             Cardano node port
+     * @param wellKnownPoint   a well known point
+     * @param versionTable     N2N version table
+     * @param syncFromLatest   true if sync from latest block, false if sync from the well known point
+     * @param nodeClientConfig connection config
+     */
+    public N2NChainSyncFetcher(String host, int port, Point wellKnownPoint, VersionTable versionTable, boolean syncFromLatest,
+                               NodeClientConfig nodeClientConfig) {
         this.host = host;
         this.port = port;
         this.versionTable = versionTable;
         this.wellKnownPoint = wellKnownPoint;
         this.syncFromLatest = syncFromLatest;
+        this.nodeClientConfig = nodeClientConfig;
 
         init();
     }
@@ -150,108 +173,163 @@ public class N2NChainSyncFetcher implements Fetcher<Block> {
             public void intersactNotFound(Tip tip) {
                 log.error("IntersactNotFound: {}", tip);
             }
+        });
 
+        progressTracker = new SyncProgressTracker();
+        chainSyncAgent.addListener(new ChainSyncAgentListener() {
             @Override
-            public void rollforward(Tip tip, BlockHeader blockHeader) {
-                long slot = blockHeader.getHeaderBody().getSlot();
-                String hash = blockHeader.getHeaderBody().getBlockHash();
+            public void intersactFound(Tip tip, Point point) {
+                progressTracker.onTip(tip);
+            }
 
-                resetBlockFetchAgentAndFetchBlock(slot, hash);
+            @Override
+            public void rollforward(Tip tip, BlockHeader blockHeader) {
+                progressTracker.onTip(tip);
+                if (headerOnly)
+                    progressTracker.onBlock(new Point(blockHeader.getHeaderBody().getSlot(),
+                            blockHeader.getHeaderBody().getBlockHash()), blockHeader.getHeaderBody().getBlockNumber(), 0);
             }
 
             @Override
-            public void rollforwardByronEra(Tip tip, ByronBlockHead byronHead) {
-                long absoluteSlot = byronHead.getConsensusData().getAbsoluteSlot();
-                String hash = byronHead.getBlockHash();
-                resetBlockFetchAgentAndFetchBlock(absoluteSlot, hash);
+            public void rollforwardByronEra(Tip tip, ByronBlockHead byronBlockHead) {
+                progressTracker.onTip(tip);
+                if (headerOnly)
+                    progressTracker.onByronHeader(byronBlockHead, 0);
             }
 
             @Override
             public void rollforwardByronEra(Tip tip, ByronEbHead byronEbHead) {
-                long epoch = byronEbHead.getConsensusData().getEpoch();
-                String hash = byronEbHead.getBlockHash();
-                resetBlockFetchAgentAndFetchBlock(byronEbHead.getConsensusData().getAbsoluteSlot(), hash);
+                progressTracker.onTip(tip);
+                if (headerOnly)
+                    progressTracker.onByronEbHeader(byronEbHead);
             }
 
             @Override
             public void rollbackward(Tip tip, Point toPoint) {
-                chainSyncAgent.sendNextMessage();
+                progressTracker.onTip(tip);
+                progressTracker.onRollback(toPoint);
             }
         });
 
-        blockFetchAgent.addListener(new BlockfetchAgentListener() {
-            @Override
-            public void blockFound(Block block) {
-                if (log.isDebugEnabled()) {
-                    log.debug("Block Found >> " + block);
-                }
+        blockFetchScheduler = new BlockFetchScheduler(chainSyncAgent, blockFetchAgent);
+        //Added before the application's listeners, so that it runs after them
+        blockFetchAgent.addListener(progressTracker.blockFetchListener());
+        listenerTimer = progressTracker.listenerTimer();
 
-                Point fetchedPoint = new Point(
-                    block.getHeader().getHeaderBody().getSlot(),
-                    block.getHeader().getHeaderBody().getBlockHash()
-                );
-                chainSyncAgent.confirmBlock(fetchedPoint);
+        keepAliveAgent.addListener(response -> {
+            lastKeepAliveResponseCookie = response.getCookie();
+            lastKeepAliveResponseTime = System.currentTimeMillis();
+        });
 
-                chainSyncAgent.sendNextMessage();
-            }
+        n2nClient = new TCPNodeClient(host, port, progressTracker.withMetrics(nodeClientConfig), handshakeAgent,
+                keepAliveAgent, chainSyncAgent, blockFetchAgent);
+    }
 
-            @Override
-            public void byronBlockFound(ByronMainBlock byronBlock) {
-                long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
-                        byronBlock.getHeader().getConsensusData().getSlotId().getEpoch(),
-                        byronBlock.getHeader().getConsensusData().getSlotId().getSlot());
+    /**
+     * Set the max number of chain-sync RequestNext messages in flight. Default is 1.
+     * A higher value (e.g. 50 - 100) avoids one network round trip per block during catch-up from a remote node.
+     *
+     * @param pipelineDepth chain-sync pipeline depth
+     */
+    public void setPipelineDepth(int pipelineDepth) {
+        if (this.isRunning())
+            throw new IllegalStateException("Pipeline depth can be set only before start() call");
 
-                Point fetchedPoint = new Point(
-                    absoluteSlot,
-                    byronBlock.getHeader().getBlockHash()
-                );
+        chainSyncAgent.setPipelineDepth(pipelineDepth);
+    }
 
-                chainSyncAgent.confirmBlock(fetchedPoint);
+    /**
+     * Set the max number of blocks fetched with one block-fetch range request. Default is 1.
+     * Headers are accumulated through chain-sync until a batch is full or the tip is reached.
+     *
+     * @param batchSize block-fetch batch size
+     */
+    public void setBlockFetchBatchSize(int batchSize) {
+        if (this.isRunning())
+            throw new IllegalStateException("Batch size can be set only before start() call");
 
-                chainSyncAgent.sendNextMessage();
-            }
+        blockFetchScheduler.setBatchSize(batchSize);
+    }
 
-            @Override
-            public void byronEbBlockFound(ByronEbBlock byronEbBlock) {
-                long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(
-                    Era.Byron,
-                    byronEbBlock.getHeader().getConsensusData().getEpoch(),
-                    0
-                );
-                Point fetchedPoint = new Point(
-                    absoluteSlot,
-                    byronEbBlock.getHeader().getBlockHash()
-                );
-                chainSyncAgent.confirmBlock(fetchedPoint);
+    /**
+     * Sync headers only without block-fetch. Only slot, block number, block hash and prev hash of the headers are
+     * decoded. Headers are received through {@link ChainSyncAgentListener}s. Use with {@link #setPipelineDepth(int)}
+     * to walk the header chain quickly.
+     *
+     * @param headerOnly true for header-only sync
+     */
+    public void setHeaderOnly(boolean headerOnly) {
+        setHeaderOnly(headerOnly, false);
+    }
 
-                chainSyncAgent.sendNextMessage();
-            }
+    /**
+     * Sync headers only without block-fetch
+     *
+     * @param headerOnly true for header-only sync
+     * @param fullHeader true to decode all fields of the headers
+     */
+    public void setHeaderOnly(boolean headerOnly, boolean fullHeader) {
+        if (this.isRunning())
+            throw new IllegalStateException("Header only mode can be set only before start() call");
 
-            @Override
-            public void onParsingError(BlockParseRuntimeException e) {
-                chainSyncAgent.sendNextMessage();
-            }
-        });
+        this.headerOnly = headerOnly;
+        blockFetchScheduler.setHeaderOnly(headerOnly);
+        chainSyncAgent.setHeaderOnly(headerOnly && !fullHeader);
+    }
 
-        keepAliveAgent.addListener(response -> {
-            lastKeepAliveResponseCookie = response.getCookie();
-            lastKeepAliveResponseTime = System.currentTimeMillis();
-        });
+    /**
+     * Get the current sync progress
+     *
+     * @return progress snapshot
+     */
+    public SyncProgress getProgress() {
+        return progressTracker.getProgress();
+    }
 
-        n2nClient = new TCPNodeClient(host, port, handshakeAgent, keepAliveAgent,
-                chainSyncAgent, blockFetchAgent);
+    /**
+     * Add a listener to receive the sync progress every {@link SyncProgressTracker#DEFAULT_REPORT_INTERVAL}
+     *
+     * @param listener progress listener
+     */
+    public void addProgressListener(SyncProgressListener listener) {
+        progressTracker.addListener(listener);
     }
 
-    private void resetBlockFetchAgentAndFetchBlock(long slot, String hash) {
-        if (log.isDebugEnabled()) {
-            log.debug("Rolled to slot: {}, block: {}", slot, hash);
-        }
+    /**
+     * Add a listener to receive the sync progress at most once per interval
+     *
+     * @param listener progress listener
+     * @param interval report interval
+     */
+    public void addProgressListener(SyncProgressListener listener, Duration interval) {
+        progressTracker.addListener(listener, interval);
+    }
 
-        blockFetchAgent.resetPoints(new Point(slot, hash), new Point(slot, hash));
+    /**
+     * Decode blocks on the given number of worker threads instead of the network I/O thread.
+     * Blocks are still delivered to the listeners in the order they are received.
+     *
+     * @param parallelism number of decoder threads
+     */
+    public void setDecodeParallelism(int parallelism) {
+        if (this.isRunning())
+            throw new IllegalStateException("Decode parallelism can be set only before start() call");
 
-        if (log.isDebugEnabled())
-            log.debug("Trying to fetch block for {}", new Point(slot, hash));
-        blockFetchAgent.sendNextMessage();
+        blockFetchAgent.enableParallelDecoding(parallelism);
+    }
+
+    /**
+     * Write the raw bytes of fetched blocks to a {@link BlockStore}. The store is rolled back to the chain-sync
+     * rollback point on rollback. Store failures are reported through
+     * {@link BlockfetchAgentListener#onBlockStoreError(Exception)}. The store is not closed by the fetcher.
+     *
+     * @param blockStore block store
+     */
+    public void setBlockStore(BlockStore blockStore) {
+        if (this.isRunning())
+            throw new IllegalStateException("Block store can be set only before start() call");
+
+        blockFetchAgent.setBlockStore(blockStore);
     }
 
     /**
@@ -268,6 +346,7 @@ public class N2NChainSyncFetcher implements Fetcher<Block> {
                     consumer.accept(block);
             }
         });
+        addListenerTimer();
 
         n2nClient.start();
     }
@@ -281,8 +360,16 @@ public class N2NChainSyncFetcher implements Fetcher<Block> {
         if (this.isRunning())
             throw new IllegalStateException("Listener can be added only before start() call");
 
-        if (listener != null)
+        if (listener != null) {
             blockFetchAgent.addListener(listener);
+            addListenerTimer();
+        }
+    }
+
+    //Keep the timer after the application's listeners, so that it runs before them
+    private void addListenerTimer() {
+        blockFetchAgent.removeListener(listenerTimer);
+        blockFetchAgent.addListener(listenerTimer);
     }
 
     /**
@@ -0,0 +1,386 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.exception.YaciRuntimeException;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockDecoder;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgentListener;
+import com.bloxbean.cardano.yaci.core.storage.BlockStore;
+import com.bloxbean.cardano.yaci.core.storage.StoredBlock;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import com.bloxbean.cardano.yaci.helper.api.Fetcher;
+import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
+import com.bloxbean.cardano.yaci.helper.listener.BlockFetchAgentListenerAdapter;
+import com.bloxbean.cardano.yaci.helper.listener.SyncProgressListener;
+import com.bloxbean.cardano.yaci.helper.model.SyncProgress;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Fetcher} which replays raw blocks from local storage instead of fetching them from a Cardano node.
+ * Blocks are delivered to the same {@link BlockfetchAgentListener} and {@link BlockChainDataListener} callbacks as
+ * with the network fetchers, so an indexer can be re-run at disk speed without a network connection.
+ * <p>
+ * Blocks can be read from a {@link BlockStore}, a directory with one block per file, or a CBOR sequence of blocks
+ * (e.g. a segment file of {@link com.bloxbean.cardano.yaci.core.storage.FileBlockStore}).
+ * <p>
+ * Blocks are replayed in a separate thread. With {@link #setDecodeParallelism(int)}, blocks are decoded on a pool
+ * of worker threads, but listeners are still invoked from the replay thread in the source order. The whole replay
+ * is one batch unless a batch size is set. The replay stops at the first exception thrown by a listener or the block
+ * source. The exception is rethrown by {@link #awaitCompletion()}.
+ */
+@Slf4j
+public class OfflineBlockFetcher implements Fetcher<Block> {
+    private static final AtomicInteger fetcherCounter = new AtomicInteger();
+
+    private final Iterator<byte[]> blocks;
+    private final List<BlockfetchAgentListener> listeners = new ArrayList<>();
+    private final SyncProgressTracker progressTracker = new SyncProgressTracker();
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    private int parallelism = 1;
+    private int batchSize;
+    private int blocksInBatch;
+    private List<BlockfetchAgentListener> targets;
+
+    private volatile boolean started;
+    private volatile boolean running;
+    private volatile boolean shutdown;
+    private volatile Exception failure;
+
+    /**
+     * @param blocks raw block bytes ([era, block]) in chain order. If the iterator is {@link Closeable}, it's closed
+     *               at the end of the replay.
+     */
+    public OfflineBlockFetcher(Iterator<byte[]> blocks) {
+        this.blocks = blocks;
+    }
+
+    /**
+     * Replay all blocks in a block store
+     *
+     * @param blockStore block store
+     * @return fetcher
+     */
+    public static OfflineBlockFetcher fromBlockStore(BlockStore blockStore) {
+        return fromBlockStore(blockStore, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Replay the blocks of a slot range in a block store
+     *
+     * @param blockStore block store
+     * @param fromSlot   from slot (inclusive)
+     * @param toSlot     to slot (inclusive)
+     * @return fetcher
+     */
+    public static OfflineBlockFetcher fromBlockStore(BlockStore blockStore, long fromSlot, long toSlot) {
+        Iterator<StoredBlock> iterator = blockStore.iterator(fromSlot, toSlot);
+        return new OfflineBlockFetcher(new MappingIterator<>(iterator, StoredBlock::getBytes));
+    }
+
+    /**
+     * Replay a directory with one block per file. Files are replayed in file name order. A file can contain the
+     * block CBOR as binary or as a hex string.
+     *
+     * @param dir directory
+     * @return fetcher
+     */
+    public static OfflineBlockFetcher fromDirectory(Path dir) {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new YaciRuntimeException("Unable to list block files in " + dir, e);
+        }
+
+        return new OfflineBlockFetcher(new MappingIterator<>(files.iterator(), OfflineBlockFetcher::readBlockFile));
+    }
+
+    /**
+     * Replay a recorded stream of blocks, i.e. block CBOR items written back to back. The stream is closed at the
+     * end of the replay.
+     *
+     * @param in input stream
+     * @return fetcher
+     */
+    public static OfflineBlockFetcher fromCborSequence(InputStream in) {
+        return new OfflineBlockFetcher(new CborSequenceReader(new BufferedInputStream(in)));
+    }
+
+    /**
+     * Decode blocks on the given number of worker threads. Listeners are still invoked in the source order.
+     *
+     * @param parallelism number of decoder threads
+     */
+    public void setDecodeParallelism(int parallelism) {
+        if (started)
+            throw new IllegalStateException("Decode parallelism can be set only before start() call");
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism should be greater than 0");
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Notify batchDone and batchStarted after every batchSize blocks, e.g. for listeners which commit per batch.
+     * By default, the whole replay is one batch.
+     *
+     * @param batchSize number of blocks per batch
+     */
+    public void setBatchSize(int batchSize) {
+        if (started)
+            throw new IllegalStateException("Batch size can be set only before start() call");
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size should be greater than 0");
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Add a {@link BlockfetchAgentListener}. Listeners are invoked in the order they are added.
+     *
+     * @param listener listener
+     */
+    public void addBlockFetchListener(BlockfetchAgentListener listener) {
+        if (started)
+            throw new IllegalStateException("Listener can be added only before start() call");
+
+        if (listener != null)
+            listeners.add(listener);
+    }
+
+    /**
+     * Add a {@link BlockChainDataListener}. Blocks are converted to transactions as with
+     * {@link BlockFetchAgentListenerAdapter}.
+     *
+     * @param listener listener
+     */
+    public void addBlockChainDataListener(BlockChainDataListener listener) {
+        if (listener != null)
+            addBlockFetchListener(new BlockFetchAgentListenerAdapter(listener));
+    }
+
+    /**
+     * Start the replay in a separate thread. This method can be called only once.
+     *
+     * @param consumer Consumer function to receive {@link Block}
+     */
+    @Override
+    public void start(Consumer<Block> consumer) {
+        if (started)
+            throw new IllegalStateException("Fetcher is already started");
+
+        if (consumer != null) {
+            listeners.add(new BlockfetchAgentListener() {
+                @Override
+                public void blockFound(Block block) {
+                    consumer.accept(block);
+                }
+            });
+        }
+
+        targets = new ArrayList<>();
+        targets.add(progressTracker.listenerTimer());
+        targets.addAll(listeners);
+        targets.add(progressTracker.blockFetchListener());
+
+        started = true;
+        running = true;
+        Thread thread = new Thread(this::replay, "yaci-offline-fetcher-" + fetcherCounter.incrementAndGet());
+        thread.start();
+    }
+
+    /**
+     * Wait until all blocks are replayed or the fetcher is shutdown
+     *
+     * @throws InterruptedException if interrupted while waiting
+     * @throws YaciRuntimeException if the replay failed
+     */
+    public void awaitCompletion() throws InterruptedException {
+        completed.await();
+
+        if (failure != null)
+            throw new YaciRuntimeException("Offline block replay failed", failure);
+    }
+
+    /**
+     * @return exception which stopped the replay, if any
+     */
+    public Optional<Exception> getFailure() {
+        return Optional.ofNullable(failure);
+    }
+
+    /**
+     * Get the current replay progress
+     *
+     * @return progress snapshot
+     */
+    public SyncProgress getProgress() {
+        return progressTracker.getProgress();
+    }
+
+    /**
+     * Add a listener to receive the replay progress every {@link SyncProgressTracker#DEFAULT_REPORT_INTERVAL}
+     *
+     * @param listener progress listener
+     */
+    public void addProgressListener(SyncProgressListener listener) {
+        progressTracker.addListener(listener);
+    }
+
+    /**
+     * Add a listener to receive the replay progress at most once per interval
+     *
+     * @param listener progress listener
+     * @param interval min interval between two reports
+     */
+    public void addProgressListener(SyncProgressListener listener, Duration interval) {
+        progressTracker.addListener(listener, interval);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void replay() {
+        ExecutorService executor = parallelism > 1
+                ? Executors.newFixedThreadPool(parallelism, decoderThreadFactory()) : null;
+        Deque<CompletableFuture<Consumer<BlockfetchAgentListener>>> pending = new ArrayDeque<>();
+        int maxPending = parallelism * 4;
+
+        try {
+            notifyListeners(BlockfetchAgentListener::batchStarted);
+            while (!shutdown && blocks.hasNext()) {
+                byte[] body = blocks.next();
+                if (executor == null) {
+                    dispatch(BlockDecoder.decode(body));
+                } else {
+                    pending.addLast(CompletableFuture.supplyAsync(() -> BlockDecoder.decode(body), executor));
+                    while (!shutdown && pending.size() >= maxPending)
+                        dispatch(pending.removeFirst().join());
+                }
+            }
+
+            while (!shutdown && !pending.isEmpty())
+                dispatch(pending.removeFirst().join());
+
+            if (!shutdown)
+                notifyListeners(BlockfetchAgentListener::batchDone);
+        } catch (Exception e) {
+            log.error("Error in offline block replay", e);
+            failure = e;
+        } finally {
+            if (executor != null)
+                executor.shutdownNow();
+            if (blocks instanceof Closeable) {
+                try {
+                    ((Closeable) blocks).close();
+                } catch (IOException e) {
+                    log.warn("Error closing block source", e);
+                }
+            }
+
+            running = false;
+            completed.countDown();
+        }
+    }
+
+    private void dispatch(Consumer<BlockfetchAgentListener> callback) {
+        if (batchSize > 0 && blocksInBatch == batchSize) {
+            notifyListeners(BlockfetchAgentListener::batchDone);
+            notifyListeners(BlockfetchAgentListener::batchStarted);
+            blocksInBatch = 0;
+        }
+
+        notifyListeners(callback);
+        blocksInBatch++;
+    }
+
+    private void notifyListeners(Consumer<BlockfetchAgentListener> callback) {
+        for (BlockfetchAgentListener listener : targets)
+            callback.accept(listener);
+    }
+
+    private static byte[] readBlockFile(Path file) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new YaciRuntimeException("Unable to read block file " + file, e);
+        }
+
+        //Block CBOR starts with an array header, which is not an ASCII hex digit
+        if (bytes.length > 0 && Character.digit(bytes[0], 16) >= 0)
+            return HexUtil.decodeHexString(new String(bytes, StandardCharsets.US_ASCII).trim());
+        else
+            return bytes;
+    }
+
+    //Iterator adapter which keeps the source closeable, so that it's closed at the end of the replay
+    private static class MappingIterator<T> implements Iterator<byte[]>, Closeable {
+        private final Iterator<T> source;
+        private final Function<T, byte[]> mapper;
+
+        private MappingIterator(Iterator<T> source, Function<T, byte[]> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return source.hasNext();
+        }
+
+        @Override
+        public byte[] next() {
+            return mapper.apply(source.next());
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (source instanceof Closeable)
+                ((Closeable) source).close();
+        }
+    }
+
+    private static ThreadFactory decoderThreadFactory() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, "yaci-offline-decoder-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,423 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.common.GenesisConfig;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlock;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronMainBlock;
+import com.bloxbean.cardano.yaci.core.network.NodeClientConfig;
+import com.bloxbean.cardano.yaci.core.network.metrics.CompositeNetworkMetrics;
+import com.bloxbean.cardano.yaci.core.network.metrics.NetworkMetrics;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgentListener;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import com.bloxbean.cardano.yaci.helper.listener.SyncProgressListener;
+import com.bloxbean.cardano.yaci.helper.model.SyncProgress;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the sync progress of a fetcher: current point vs tip, and blocks, txs and bytes per second, average
+ * block-fetch latency and time spent in the application's listeners over a sliding window of per second buckets.
+ * <p>
+ * Progress can be polled with {@link #getProgress()} or pushed to {@link SyncProgressListener}s. Listeners are
+ * invoked from the thread which processes the blocks, at most once per report interval.
+ * <p>
+ * The tracker is also a {@link NetworkMetrics} implementation, which is used to count the received bytes and the
+ * block-fetch requests of the connection.
+ */
+@Slf4j
+public class SyncProgressTracker implements NetworkMetrics {
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(60);
+    public static final Duration DEFAULT_REPORT_INTERVAL = Duration.ofSeconds(10);
+
+    private static final long NANOS_PER_SEC = 1_000_000_000L;
+    private static final int SDU_HEADER_SIZE = 8;
+    private static final int BLOCK_FETCH_PROTOCOL = 3;
+
+    private final LongSupplier clock;
+    private final int windowSeconds;
+    //Time is measured from the creation of the tracker. A nanoTime clock may be negative
+    private final long createdAt;
+    private final List<ListenerEntry> listeners = new CopyOnWriteArrayList<>();
+
+    //Sliding window buckets. One bucket per second
+    private final long[] bucketSeconds;
+    private final long[] blocks;
+    private final long[] txs;
+    private final long[] bytes;
+    private final long[] fetchLatency;
+    private final long[] fetches;
+    private final long[] listenerTime;
+    private final long[] listenerCalls;
+
+    private Tip tip;
+    private Point target;
+    private Point currentPoint;
+    private long currentBlock = -1;
+    private long totalBlocks;
+    private long totalTxs;
+    private long totalBytes;
+    private long firstEventAt = -1;
+    private long fetchRequestedAt = -1;
+    private long listenerStartedAt = -1;
+
+    public SyncProgressTracker() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * Create a tracker
+     *
+     * @param window sliding window for rates and averages. Min 1 second
+     */
+    public SyncProgressTracker(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    SyncProgressTracker(Duration window, LongSupplier clock) {
+        if (window.getSeconds() < 1)
+            throw new IllegalArgumentException("Window should be at least 1 second");
+
+        this.clock = clock;
+        this.createdAt = clock.getAsLong();
+        this.windowSeconds = (int) window.getSeconds();
+        this.bucketSeconds = new long[windowSeconds];
+        this.blocks = new long[windowSeconds];
+        this.txs = new long[windowSeconds];
+        this.bytes = new long[windowSeconds];
+        this.fetchLatency = new long[windowSeconds];
+        this.fetches = new long[windowSeconds];
+        this.listenerTime = new long[windowSeconds];
+        this.listenerCalls = new long[windowSeconds];
+    }
+
+    /**
+     * Add a listener which receives the progress every {@link #DEFAULT_REPORT_INTERVAL}
+     *
+     * @param listener progress listener
+     */
+    public void addListener(SyncProgressListener listener) {
+        addListener(listener, DEFAULT_REPORT_INTERVAL);
+    }
+
+    /**
+     * Add a listener which receives the progress at most once per interval
+     *
+     * @param listener progress listener
+     * @param interval report interval
+     */
+    public void addListener(SyncProgressListener listener, Duration interval) {
+        if (listener != null)
+            listeners.add(new ListenerEntry(listener, interval.toNanos()));
+    }
+
+    public void removeListener(SyncProgressListener listener) {
+        listeners.removeIf(entry -> entry.listener == listener);
+    }
+
+    public synchronized void onTip(Tip tip) {
+        if (tip != null)
+            this.tip = tip;
+    }
+
+    /**
+     * Set the end point of a block range fetch. It's used to calculate slots behind when the tip is not known.
+     *
+     * @param target end point
+     */
+    public synchronized void onTarget(Point target) {
+        this.target = target;
+    }
+
+    /**
+     * Record a processed block
+     *
+     * @param point       block point
+     * @param blockNumber block number
+     * @param txCount     no of transactions in the block
+     */
+    public void onBlock(Point point, long blockNumber, int txCount) {
+        long now = clock.getAsLong();
+        synchronized (this) {
+            int i = bucket(now);
+            blocks[i]++;
+            txs[i] += txCount;
+            totalBlocks++;
+            totalTxs += txCount;
+            currentPoint = point;
+            currentBlock = blockNumber;
+        }
+
+        report(now);
+    }
+
+    public synchronized void onRollback(Point point) {
+        currentPoint = point;
+    }
+
+    /**
+     * Record the start of a block-fetch request
+     */
+    public synchronized void onFetchRequested() {
+        fetchRequestedAt = clock.getAsLong();
+    }
+
+    /**
+     * Record the end of a block-fetch request, i.e. the last block of the batch is received
+     */
+    public synchronized void onFetchCompleted() {
+        if (fetchRequestedAt < 0)
+            return;
+
+        long now = clock.getAsLong();
+        int i = bucket(now);
+        fetchLatency[i] += now - fetchRequestedAt;
+        fetches[i]++;
+        fetchRequestedAt = -1;
+    }
+
+    synchronized void listenerStarted() {
+        listenerStartedAt = clock.getAsLong();
+    }
+
+    synchronized void listenerFinished() {
+        if (listenerStartedAt < 0)
+            return;
+
+        long now = clock.getAsLong();
+        int i = bucket(now);
+        listenerTime[i] += now - listenerStartedAt;
+        listenerCalls[i]++;
+        listenerStartedAt = -1;
+    }
+
+    @Override
+    public synchronized void sduReceived(int protocolId, int payloadLength) {
+        int i = bucket(clock.getAsLong());
+        bytes[i] += payloadLength + SDU_HEADER_SIZE;
+        totalBytes += payloadLength + SDU_HEADER_SIZE;
+    }
+
+    @Override
+    public void messageSent(int protocolId, int length) {
+        //The block-fetch client only sends range requests, except the final done message
+        if (protocolId == BLOCK_FETCH_PROTOCOL)
+            onFetchRequested();
+    }
+
+    /**
+     * Get the current progress
+     *
+     * @return progress snapshot
+     */
+    public synchronized SyncProgress getProgress() {
+        long now = clock.getAsLong();
+        long nowSecond = second(now);
+
+        long windowBlocks = 0, windowTxs = 0, windowBytes = 0;
+        long windowFetchLatency = 0, windowFetches = 0, windowListenerTime = 0, windowListenerCalls = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (nowSecond - bucketSeconds[i] >= windowSeconds)
+                continue;
+
+            windowBlocks += blocks[i];
+            windowTxs += txs[i];
+            windowBytes += bytes[i];
+            windowFetchLatency += fetchLatency[i];
+            windowFetches += fetches[i];
+            windowListenerTime += listenerTime[i];
+            windowListenerCalls += listenerCalls[i];
+        }
+
+        //Rates are calculated over the elapsed time until the window is full
+        double seconds = firstEventAt < 0 ? 1
+                : Math.max(1, Math.min(windowSeconds, (double) (now - firstEventAt) / NANOS_PER_SEC));
+
+        Point reference = tip != null ? tip.getPoint() : target;
+        long slotsBehind = reference != null && currentPoint != null
+                ? Math.max(0, reference.getSlot() - currentPoint.getSlot()) : -1;
+        long blocksBehind = tip != null && currentBlock >= 0 ? Math.max(0, tip.getBlock() - currentBlock) : -1;
+
+        return SyncProgress.builder()
+                .tip(tip)
+                .currentPoint(currentPoint)
+                .currentBlock(currentBlock)
+                .slotsBehind(slotsBehind)
+                .blocksBehind(blocksBehind)
+                .blocksPerSec(windowBlocks / seconds)
+                .txPerSec(windowTxs / seconds)
+                .bytesPerSec(windowBytes / seconds)
+                .avgFetchLatencyMillis(windowFetches == 0 ? 0 : windowFetchLatency / 1e6 / windowFetches)
+                .avgListenerTimeMillis(windowListenerCalls == 0 ? 0 : windowListenerTime / 1e6 / windowListenerCalls)
+                .totalBlocks(totalBlocks)
+                .totalTxs(totalTxs)
+                .totalBytes(totalBytes)
+                .build();
+    }
+
+    /**
+     * Copy of the given config with this tracker added to its metrics. Other options and the caller's metrics are kept.
+     *
+     * @param config client config, or null for the default config
+     * @return config to create the client with
+     */
+    NodeClientConfig withMetrics(NodeClientConfig config) {
+        NodeClientConfig base = config != null ? config : NodeClientConfig.defaultConfig();
+        return base.toBuilder()
+                .metrics(CompositeNetworkMetrics.of(base.getMetrics(), this))
+                .build();
+    }
+
+    /**
+     * Listener to record the fetched blocks and the end of the fetch requests. Add it before the application's
+     * listeners, so that it runs after them.
+     */
+    BlockfetchAgentListener blockFetchListener() {
+        return new BlockfetchAgentListener() {
+            @Override
+            public void blockFound(Block block) {
+                listenerFinished();
+                onBlock(block);
+            }
+
+            @Override
+            public void byronBlockFound(ByronMainBlock byronBlock) {
+                listenerFinished();
+                onByronBlock(byronBlock);
+            }
+
+            @Override
+            public void byronEbBlockFound(ByronEbBlock byronEbBlock) {
+                listenerFinished();
+                onByronEbBlock(byronEbBlock);
+            }
+
+            @Override
+            public void batchDone() {
+                onFetchCompleted();
+            }
+        };
+    }
+
+    /**
+     * Listener to mark the start of the application's listeners. It should be the last listener added, so that it
+     * runs before the application's listeners. Fetchers add it again after each application listener.
+     */
+    BlockfetchAgentListener listenerTimer() {
+        return new BlockfetchAgentListener() {
+            @Override
+            public void blockFound(Block block) {
+                listenerStarted();
+            }
+
+            @Override
+            public void byronBlockFound(ByronMainBlock byronBlock) {
+                listenerStarted();
+            }
+
+            @Override
+            public void byronEbBlockFound(ByronEbBlock byronEbBlock) {
+                listenerStarted();
+            }
+        };
+    }
+
+    void onBlock(Block block) {
+        onBlock(new Point(block.getHeader().getHeaderBody().getSlot(), block.getHeader().getHeaderBody().getBlockHash()),
+                block.getHeader().getHeaderBody().getBlockNumber(), block.getTransactionBodies().size());
+    }
+
+    void onByronBlock(ByronMainBlock block) {
+        int txCount = block.getBody().getTxPayload() != null ? block.getBody().getTxPayload().size() : 0;
+        onByronHeader(block.getHeader(), txCount);
+    }
+
+    void onByronEbBlock(ByronEbBlock block) {
+        onByronEbHeader(block.getHeader());
+    }
+
+    /**
+     * Record a Byron main block header, e.g. in header-only sync
+     */
+    void onByronHeader(ByronBlockHead header, int txCount) {
+        long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
+                header.getConsensusData().getSlotId().getEpoch(),
+                header.getConsensusData().getSlotId().getSlot());
+        onBlock(new Point(absoluteSlot, header.getBlockHash()),
+                header.getConsensusData().getDifficulty().longValue(), txCount);
+    }
+
+    /**
+     * Record a Byron epoch boundary block header, e.g. in header-only sync
+     */
+    void onByronEbHeader(ByronEbHead header) {
+        long absoluteSlot = GenesisConfig.getInstance().absoluteSlot(Era.Byron,
+                header.getConsensusData().getEpoch(), 0);
+        onBlock(new Point(absoluteSlot, header.getBlockHash()),
+                header.getConsensusData().getDifficulty().longValue(), 0);
+    }
+
+    private int bucket(long now) {
+        if (firstEventAt < 0)
+            firstEventAt = now;
+
+        long second = second(now);
+        int i = (int) (second % windowSeconds);
+        if (bucketSeconds[i] != second) {
+            bucketSeconds[i] = second;
+            blocks[i] = 0;
+            txs[i] = 0;
+            bytes[i] = 0;
+            fetchLatency[i] = 0;
+            fetches[i] = 0;
+            listenerTime[i] = 0;
+            listenerCalls[i] = 0;
+        }
+        return i;
+    }
+
+    private long second(long now) {
+        return (now - createdAt) / NANOS_PER_SEC;
+    }
+
+    private void report(long now) {
+        if (listeners.isEmpty())
+            return;
+
+        SyncProgress progress = null;
+        for (ListenerEntry entry : listeners) {
+            synchronized (entry) {
+                if (entry.lastReportAt >= 0 && now - entry.lastReportAt < entry.intervalNanos)
+                    continue;
+                entry.lastReportAt = now;
+            }
+
+            if (progress == null)
+                progress = getProgress();
+
+            try {
+                entry.listener.onProgress(progress);
+            } catch (Exception e) {
+                log.error("Error in sync progress listener", e);
+            }
+        }
+    }
+
+    private static class ListenerEntry {
+        private final SyncProgressListener listener;
+        private final long intervalNanos;
+        private long lastReportAt = -1;
+
+        private ListenerEntry(SyncProgressListener listener, long intervalNanos) {
+            this.listener = listener;
+            this.intervalNanos = intervalNanos;
+        }
+    }
+}
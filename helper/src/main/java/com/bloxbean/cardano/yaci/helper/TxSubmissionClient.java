@@ -29,17 +29,32 @@ public class TxSubmissionClient {
     private TxSubmissionAgent txSubmissionAgent;
     private KeepAliveAgent keepAliveAgent;
     private TCPNodeClient n2nClient;
+    private final int maxQueuedTxs;
+    private final long maxQueuedBytes;
 
     public TxSubmissionClient(String host, int port, VersionTable versionTable) {
+        this(host, port, versionTable, TxSubmissionAgent.DEFAULT_MAX_QUEUED_TXS, TxSubmissionAgent.DEFAULT_MAX_QUEUED_BYTES);
+    }
+
+    /**
+     * @param host           host
+     * @param port           port
+     * @param versionTable   version table
+     * @param maxQueuedTxs   max number of transactions waiting to be acknowledged by the server
+     * @param maxQueuedBytes max total size of transactions waiting to be acknowledged by the server
+     */
+    public TxSubmissionClient(String host, int port, VersionTable versionTable, int maxQueuedTxs, long maxQueuedBytes) {
         this.host = host;
         this.port = port;
         this.versionTable = versionTable;
+        this.maxQueuedTxs = maxQueuedTxs;
+        this.maxQueuedBytes = maxQueuedBytes;
         init();
     }
 
     private void init() {
         handshakeAgent = new HandshakeAgent(versionTable);
-        txSubmissionAgent = new TxSubmissionAgent();
+        txSubmissionAgent = new TxSubmissionAgent(maxQueuedTxs, maxQueuedBytes);
         keepAliveAgent = new KeepAliveAgent();
 
         n2nClient = new TCPNodeClient(host, port, handshakeAgent, txSubmissionAgent, keepAliveAgent);
@@ -103,13 +118,34 @@ public class TxSubmissionClient {
         return n2nClient.isRunning();
     }
 
-    public void submitTxBytes(byte[] txBytes) {
+    /**
+     * Queue a Babbage era transaction
+     *
+     * @param txBytes tx bytes
+     * @return false if the queue is full and the transaction is not queued
+     */
+    public boolean submitTxBytes(byte[] txBytes) {
         var txHash = TransactionUtil.getTxHash(txBytes);
-        this.submitTxBytes(txHash, txBytes, BABBAGE);
+        return this.submitTxBytes(txHash, txBytes, BABBAGE);
+    }
+
+    /**
+     * Queue a transaction. It's announced to the server when the server requests tx ids.
+     *
+     * @param txHash     tx hash
+     * @param txBytes    tx bytes
+     * @param txBodyType tx body type
+     * @return false if the queue is full and the transaction is not queued
+     */
+    public boolean submitTxBytes(String txHash, byte[] txBytes, TxBodyType txBodyType) {
+        return txSubmissionAgent.enqueueTransaction(txHash, txBytes, txBodyType);
     }
 
-    public void submitTxBytes(String txHash, byte[] txBytes, TxBodyType txBodyType) {
-        txSubmissionAgent.enqueueTransaction(txHash, txBytes, txBodyType);
+    /**
+     * @return number of transactions waiting to be acknowledged by the server
+     */
+    public int getQueuedTxCount() {
+        return txSubmissionAgent.getQueuedTxCount();
     }
 
     public void sendKeepAlive() {
@@ -2,8 +2,11 @@ package com.bloxbean.cardano.yaci.helper.listener;
 
 import com.bloxbean.cardano.yaci.core.exception.BlockParseRuntimeException;
 import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
 import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlock;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
 import com.bloxbean.cardano.yaci.core.model.byron.ByronMainBlock;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
 import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
@@ -18,6 +21,17 @@ public interface BlockChainDataListener {
     default void onBlock(Era era, Block block, List<Transaction> transactions) {}
     default void onRollback(Point point) {}
 
+    /**
+     * Called when a header is received through chain-sync. This is available only for
+     * {@link com.bloxbean.cardano.yaci.helper.BlockSync}. In header-only sync, only slot, block number, block hash
+     * and prev hash are set unless full header decoding is enabled.
+     * @param tip
+     * @param blockHeader
+     */
+    default void onHeader(Tip tip, BlockHeader blockHeader) {}
+    default void onByronHeader(Tip tip, ByronBlockHead byronBlockHead) {}
+    default void onByronEbHeader(Tip tip, ByronEbHead byronEbHead) {}
+
     /**
      * Called when a batch fetch starts (Block Fetch protocol)
      */
@@ -23,7 +23,7 @@ public class ChainSyncListenerAdapter implements ChainSyncAgentListener {
     }
 
     public void rollforward(Tip tip, BlockHeader blockHeader) {
-
+        blockChainDataListener.onHeader(tip, blockHeader);
     }
 
     public void rollbackward(Tip tip, Point toPoint) {
@@ -32,12 +32,12 @@ public class ChainSyncListenerAdapter implements ChainSyncAgentListener {
 
     @Override
     public void rollforwardByronEra(Tip tip, ByronEbHead byronEbHead) {
-
+        blockChainDataListener.onByronEbHeader(tip, byronEbHead);
     }
 
     @Override
     public void rollforwardByronEra(Tip tip, ByronBlockHead byronBlockHead) {
-
+        blockChainDataListener.onByronHeader(tip, byronBlockHead);
     }
 
     @Override
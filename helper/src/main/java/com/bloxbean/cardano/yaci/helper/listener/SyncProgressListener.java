@@ -0,0 +1,11 @@
+package com.bloxbean.cardano.yaci.helper.listener;
+
+import com.bloxbean.cardano.yaci.helper.model.SyncProgress;
+
+/**
+ * Receives {@link SyncProgress} updates periodically while blocks are processed
+ */
+@FunctionalInterface
+public interface SyncProgressListener {
+    void onProgress(SyncProgress progress);
+}
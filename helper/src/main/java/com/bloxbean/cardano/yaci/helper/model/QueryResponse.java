@@ -0,0 +1,19 @@
+package com.bloxbean.cardano.yaci.helper.model;
+
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.Query;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.api.QueryResult;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Result of a local state query with the request id assigned when the query was queued
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class QueryResponse {
+    private long requestId;
+    private Query query;
+    private QueryResult result;
+}
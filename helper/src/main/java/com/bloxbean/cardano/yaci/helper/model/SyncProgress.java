@@ -0,0 +1,37 @@
+package com.bloxbean.cardano.yaci.helper.model;
+
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import lombok.*;
+
+/**
+ * Snapshot of the sync progress of a fetcher. Rates and averages are calculated over a sliding window.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class SyncProgress {
+    //Latest tip received from the node. Null if not known, e.g. for a block range fetch
+    private Tip tip;
+    //Point of the last processed block
+    private Point currentPoint;
+    private long currentBlock;
+    //Slots to the tip, or to the end point of a block range fetch. -1 if not known
+    private long slotsBehind;
+    //Blocks to the tip. -1 if not known
+    private long blocksBehind;
+
+    private double blocksPerSec;
+    private double txPerSec;
+    private double bytesPerSec;
+    //Average time from a block-fetch request to the last block of the batch
+    private double avgFetchLatencyMillis;
+    //Average time spent in the application's listeners per block
+    private double avgListenerTimeMillis;
+
+    private long totalBlocks;
+    private long totalTxs;
+    private long totalBytes;
+}
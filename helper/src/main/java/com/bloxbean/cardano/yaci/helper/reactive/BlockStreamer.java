@@ -2,7 +2,6 @@ package com.bloxbean.cardano.yaci.helper.reactive;
 
 import com.bloxbean.cardano.yaci.core.common.NetworkType;
 import com.bloxbean.cardano.yaci.core.model.Block;
-import com.bloxbean.cardano.yaci.core.model.BlockHeader;
 import com.bloxbean.cardano.yaci.core.network.TCPNodeClient;
 import com.bloxbean.cardano.yaci.core.protocol.State;
 import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
@@ -14,6 +13,7 @@ import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainsyncAgent;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgent;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.HandshakeAgentListener;
 import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.VersionTable;
+import com.bloxbean.cardano.yaci.helper.BlockFetchScheduler;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 
@@ -36,6 +36,7 @@ import static com.bloxbean.cardano.yaci.core.common.Constants.*;
 public class BlockStreamer {
     private TCPNodeClient n2nClient;
     private Flux<Block> blockFlux;
+    private BlockFetchScheduler blockFetchScheduler;
 
     private BlockStreamer() {
 
@@ -120,6 +121,19 @@ public class BlockStreamer {
             n2nClient.shutdown();
     }
 
+    /**
+     * Set the max number of blocks fetched with one block-fetch range request. Default is 1.
+     * This method should be called before subscribing to the stream. Not applicable to {@link #forRange} streams.
+     *
+     * @param batchSize block-fetch batch size
+     */
+    public void setBlockFetchBatchSize(int batchSize) {
+        if (blockFetchScheduler == null)
+            throw new IllegalStateException("Batch size is not applicable to range stream");
+
+        blockFetchScheduler.setBatchSize(batchSize);
+    }
+
     /**
      * Get a reactive {@link Flux} which can be used to receive incoming {@link Block}
      *
@@ -135,6 +149,7 @@ public class BlockStreamer {
         ChainsyncAgent chainSyncAgent = new ChainsyncAgent(new Point[]{wellKnownPoint});
         BlockfetchAgent blockFetch = new BlockfetchAgent();
         HandshakeAgent handshakeAgent = new HandshakeAgent(versionTable);
+        blockFetchScheduler = new BlockFetchScheduler(chainSyncAgent, blockFetch);
 
         handshakeAgent.addListener(new HandshakeAgentListener() {
             @Override
@@ -160,14 +175,6 @@ public class BlockStreamer {
                                 log.trace("Block found {}", block);
                             }
                             sink.next(block);
-
-                            Point fetchedPoint = new Point(
-                                block.getHeader().getHeaderBody().getSlot(),
-                                block.getHeader().getHeaderBody().getBlockHash()
-                            );
-                            chainSyncAgent.confirmBlock(fetchedPoint);
-
-                            chainSyncAgent.sendNextMessage();
                         }
 
                         @Override
@@ -205,26 +212,10 @@ public class BlockStreamer {
                 log.error("IntersactNotFound: {}", tip);
             }
 
-            @Override
-            public void rollforward(Tip tip, BlockHeader blockHeader) {
-                long slot = blockHeader.getHeaderBody().getSlot();
-                String hash = blockHeader.getHeaderBody().getBlockHash();
-
-                blockFetch.resetPoints(new Point(slot, hash), new Point(slot, hash));
-
-                if (log.isDebugEnabled())
-                    log.debug("Trying to fetch block for {}", new Point(slot, hash));
-
-                blockFetch.sendNextMessage();
-            }
-
             @Override
             public void rollbackward(Tip tip, Point toPoint) {
                 if (log.isDebugEnabled())
                     log.debug("Rolling backward {}", toPoint);
-
-                //Rolled back. Find the next message
-                chainSyncAgent.sendNextMessage();
             }
 
             @Override
@@ -0,0 +1,27 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.protocol.Agent;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * {@link EmbeddedChannel} for client tests without a node. Agents attached to it write their messages to the channel,
+ * and responses are passed with {@link Agent#receiveResponse}.
+ */
+class AgentTestChannel {
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+
+    <T extends Agent<?>> T attach(T agent) {
+        agent.setChannel(channel);
+        return agent;
+    }
+
+    /**
+     * @return number of messages sent since the last call
+     */
+    int sentMessages() {
+        int count = 0;
+        while (channel.readOutbound() != null)
+            count++;
+        return count;
+    }
+}
@@ -0,0 +1,243 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import co.nstant.in.cbor.model.Array;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.HeaderBody;
+import com.bloxbean.cardano.yaci.core.protocol.Segment;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.BatchDone;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.NoBlocks;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.StartBatch;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.*;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.n2n.ChainsyncAgent;
+import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockFetchSchedulerTest {
+    private static final Point START_POINT = new Point(0, "00");
+
+    private EmbeddedChannel chainSyncChannel;
+    private EmbeddedChannel blockFetchChannel;
+    private ChainsyncAgent chainSyncAgent;
+    private BlockfetchAgent blockFetchAgent;
+    private BlockFetchScheduler scheduler;
+
+    @BeforeEach
+    void setup() {
+        chainSyncChannel = new EmbeddedChannel();
+        blockFetchChannel = new EmbeddedChannel();
+
+        chainSyncAgent = new ChainsyncAgent(new Point[]{START_POINT});
+        chainSyncAgent.setChannel(chainSyncChannel);
+        blockFetchAgent = new BlockfetchAgent();
+        blockFetchAgent.setChannel(blockFetchChannel);
+        scheduler = new BlockFetchScheduler(chainSyncAgent, blockFetchAgent, 3);
+    }
+
+    @Test
+    void fetchesBlocksInBatches() {
+        findIntersect(10000);
+
+        chainSyncAgent.receiveResponse(rollForward(1, 10000));
+        chainSyncAgent.receiveResponse(rollForward(2, 10000));
+        assertThat(readMessages(blockFetchChannel)).isEmpty();
+
+        chainSyncAgent.receiveResponse(rollForward(3, 10000));
+
+        List<Array> requests = readMessages(blockFetchChannel);
+        assertThat(requests).hasSize(1);
+        assertThat(rangeSlots(requests.get(0))).containsExactly(1L, 3L);
+
+        //Headers for the next batch are requested while the batch is being fetched
+        assertThat(readMessages(chainSyncChannel)).hasSize(3);
+
+        blockFetchAgent.receiveResponse(new StartBatch());
+        scheduler.onBlockFetched(point(1));
+        scheduler.onBlockFetched(point(2));
+        scheduler.onBlockFetched(point(3));
+        blockFetchAgent.receiveResponse(new BatchDone());
+
+        assertThat(chainSyncAgent.getCurrentPoint()).isEqualTo(point(3));
+    }
+
+    @Test
+    void stopsRequestingHeaders_whenNextBatchIsFull() {
+        findIntersect(10000);
+
+        for (int i = 1; i <= 6; i++) {
+            chainSyncAgent.receiveResponse(rollForward(i, 10000));
+        }
+
+        //Batch 1 - 3 is in progress and batch 4 - 6 is full. So no request after the 6th header
+        assertThat(readMessages(chainSyncChannel)).hasSize(5);
+        assertThat(chainSyncAgent.hasAgency()).isTrue();
+
+        blockFetchAgent.receiveResponse(new StartBatch());
+        blockFetchAgent.receiveResponse(new BatchDone());
+
+        List<Array> requests = readMessages(blockFetchChannel);
+        assertThat(requests).hasSize(2);
+        assertThat(rangeSlots(requests.get(1))).containsExactly(4L, 6L);
+        assertThat(readMessages(chainSyncChannel)).hasSize(1);
+    }
+
+    @Test
+    void fetchesTipBlockImmediately() {
+        findIntersect(1);
+
+        chainSyncAgent.receiveResponse(rollForward(1, 1));
+
+        List<Array> requests = readMessages(blockFetchChannel);
+        assertThat(requests).hasSize(1);
+        assertThat(rangeSlots(requests.get(0))).containsExactly(1L, 1L);
+
+        //Next header is requested only after the block at the tip is received
+        assertThat(readMessages(chainSyncChannel)).isEmpty();
+
+        blockFetchAgent.receiveResponse(new StartBatch());
+        scheduler.onBlockFetched(point(1));
+        blockFetchAgent.receiveResponse(new BatchDone());
+
+        assertThat(chainSyncAgent.getCurrentPoint()).isEqualTo(point(1));
+        assertThat(readMessages(chainSyncChannel)).hasSize(1);
+    }
+
+    @Test
+    void rollbackward_removesPendingHeaders() {
+        findIntersect(10000);
+
+        for (int i = 1; i <= 5; i++) {
+            chainSyncAgent.receiveResponse(rollForward(i, 10000));
+        }
+        chainSyncAgent.receiveResponse(new Rollbackward(point(4), tip(10000)));
+        chainSyncAgent.receiveResponse(new IntersectFound(point(4), tip(10000)));
+        chainSyncAgent.sendNextMessage();
+        chainSyncAgent.receiveResponse(rollForward(7, 10000));
+        chainSyncAgent.receiveResponse(rollForward(8, 10000));
+
+        blockFetchAgent.receiveResponse(new StartBatch());
+        blockFetchAgent.receiveResponse(new BatchDone());
+
+        List<Array> requests = readMessages(blockFetchChannel);
+        assertThat(requests).hasSize(2);
+        assertThat(rangeSlots(requests.get(1))).containsExactly(4L, 8L);
+    }
+
+    @Test
+    void defaultBatchSize_requestsNextHeaderAfterBlock() {
+        chainSyncAgent = new ChainsyncAgent(new Point[]{START_POINT});
+        chainSyncAgent.setChannel(chainSyncChannel);
+        blockFetchAgent = new BlockfetchAgent();
+        blockFetchAgent.setChannel(blockFetchChannel);
+        scheduler = new BlockFetchScheduler(chainSyncAgent, blockFetchAgent);
+        findIntersect(10000);
+
+        chainSyncAgent.receiveResponse(rollForward(1, 10000));
+
+        assertThat(rangeSlots(readMessages(blockFetchChannel).get(0))).containsExactly(1L, 1L);
+        assertThat(readMessages(chainSyncChannel)).isEmpty();
+
+        blockFetchAgent.receiveResponse(new StartBatch());
+        scheduler.onBlockFetched(point(1));
+        blockFetchAgent.receiveResponse(new BatchDone());
+
+        assertThat(chainSyncAgent.getCurrentPoint()).isEqualTo(point(1));
+        assertThat(readMessages(chainSyncChannel)).hasSize(1);
+    }
+
+    @Test
+    void noBlocks_requestsRangeAgainWithoutConfirming() {
+        findIntersect(10000);
+
+        for (int i = 1; i <= 3; i++) {
+            chainSyncAgent.receiveResponse(rollForward(i, 10000));
+        }
+        readMessages(blockFetchChannel);
+
+        blockFetchAgent.receiveResponse(new NoBlocks());
+
+        List<Array> requests = readMessages(blockFetchChannel);
+        assertThat(requests).hasSize(1);
+        assertThat(rangeSlots(requests.get(0))).containsExactly(1L, 3L);
+        assertThat(chainSyncAgent.getCurrentPoint()).isEqualTo(START_POINT);
+
+        //Gives up after max attempts, until a rollback removes the range
+        for (int i = 0; i < BlockFetchScheduler.MAX_RANGE_RETRIES; i++) {
+            blockFetchAgent.receiveResponse(new NoBlocks());
+        }
+        assertThat(readMessages(blockFetchChannel)).hasSize(BlockFetchScheduler.MAX_RANGE_RETRIES - 1);
+
+        chainSyncAgent.receiveResponse(new Rollbackward(point(1), tip(10000)));
+
+        requests = readMessages(blockFetchChannel);
+        assertThat(requests).hasSize(1);
+        assertThat(rangeSlots(requests.get(0))).containsExactly(1L, 1L);
+    }
+
+    @Test
+    void rollbackward_duringBatch_confirmsOnlyBlocksBeforeRollbackPoint() {
+        findIntersect(10000);
+
+        for (int i = 1; i <= 3; i++) {
+            chainSyncAgent.receiveResponse(rollForward(i, 10000));
+        }
+
+        blockFetchAgent.receiveResponse(new StartBatch());
+        scheduler.onBlockFetched(point(1));
+        scheduler.onBlockFetched(point(2));
+        chainSyncAgent.receiveResponse(new Rollbackward(point(1), tip(10000)));
+        blockFetchAgent.receiveResponse(new BatchDone());
+
+        assertThat(chainSyncAgent.getCurrentPoint()).isEqualTo(point(1));
+    }
+
+    private void findIntersect(long tipBlock) {
+        chainSyncAgent.sendNextMessage();
+        chainSyncAgent.receiveResponse(new IntersectFound(START_POINT, tip(tipBlock)));
+        chainSyncAgent.sendNextMessage();
+        chainSyncAgent.receiveResponse(new Rollbackward(START_POINT, tip(tipBlock)));
+        readMessages(chainSyncChannel);
+    }
+
+    private static List<Array> readMessages(EmbeddedChannel channel) {
+        List<Array> messages = new ArrayList<>();
+        Segment segment;
+        while ((segment = channel.readOutbound()) != null) {
+            messages.add((Array) CborSerializationUtil.deserializeOne(segment.getPayload()));
+        }
+        return messages;
+    }
+
+    private static List<Long> rangeSlots(Array requestRange) {
+        List<Long> slots = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            Array point = (Array) requestRange.getDataItems().get(i);
+            slots.add(CborSerializationUtil.toLong(point.getDataItems().get(0)));
+        }
+        return slots;
+    }
+
+    private static RollForward rollForward(long blockNo, long tipBlock) {
+        HeaderBody headerBody = HeaderBody.builder()
+                .slot(blockNo)
+                .blockNumber(blockNo)
+                .blockHash(String.format("%02x", blockNo))
+                .build();
+        return new RollForward(null, null, BlockHeader.builder().headerBody(headerBody).build(), tip(tipBlock));
+    }
+
+    private static Point point(long blockNo) {
+        return new Point(blockNo, String.format("%02x", blockNo));
+    }
+
+    private static Tip tip(long tipBlock) {
+        return new Tip(new Point(tipBlock, "ff"), tipBlock);
+    }
+}
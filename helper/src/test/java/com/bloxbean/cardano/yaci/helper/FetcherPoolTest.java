@@ -0,0 +1,112 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.helper.api.Fetcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FetcherPoolTest {
+    private static final String KEY = "localhost:3001";
+
+    private final AtomicLong time = new AtomicLong();
+    private final FetcherPool<TestFetcher> pool = new FetcherPool<>(1000, 1, 3, time::get);
+
+    @Test
+    void releasedFetcherIsReused() {
+        TestFetcher fetcher = pool.borrow(KEY, TestFetcher::new);
+        assertThat(fetcher.isRunning()).isTrue();
+
+        pool.release(KEY, fetcher);
+        assertThat(pool.getIdleCount(KEY)).isEqualTo(1);
+
+        assertThat(pool.borrow(KEY, TestFetcher::new)).isSameAs(fetcher);
+        assertThat(pool.getIdleCount(KEY)).isZero();
+
+        //Not shared with other keys
+        assertThat(pool.borrow("other:3001", TestFetcher::new)).isNotSameAs(fetcher);
+    }
+
+    @Test
+    void expiredOrStoppedFetchersAreNotReused() {
+        TestFetcher fetcher1 = pool.borrow(KEY, TestFetcher::new);
+        pool.release(KEY, fetcher1);
+
+        time.addAndGet(1001);
+        TestFetcher fetcher2 = pool.borrow(KEY, TestFetcher::new);
+        assertThat(fetcher2).isNotSameAs(fetcher1);
+        assertThat(fetcher1.isRunning()).isFalse();
+
+        fetcher2.shutdown();
+        pool.release(KEY, fetcher2);
+        assertThat(pool.getIdleCount(KEY)).isZero();
+    }
+
+    @Test
+    void fetchersAboveMaxIdleAreShutdown() {
+        TestFetcher fetcher1 = pool.borrow(KEY, TestFetcher::new);
+        TestFetcher fetcher2 = pool.borrow(KEY, TestFetcher::new);
+
+        pool.release(KEY, fetcher1);
+        pool.release(KEY, fetcher2);
+
+        assertThat(pool.getIdleCount(KEY)).isEqualTo(1);
+        assertThat(fetcher1.isRunning()).isFalse();
+        assertThat(fetcher2.isRunning()).isTrue();
+
+        pool.close();
+        assertThat(fetcher2.isRunning()).isFalse();
+    }
+
+    @Test
+    void idleFetchersOfOtherKeysAreEvicted() {
+        List<TestFetcher> fetchers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TestFetcher fetcher = pool.borrow("peer" + i, TestFetcher::new);
+            pool.release("peer" + i, fetcher);
+            fetchers.add(fetcher);
+            time.addAndGet(10);
+        }
+
+        //Max idle total
+        assertThat(pool.getIdleCount()).isEqualTo(3);
+        assertThat(pool.getIdleKeyCount()).isEqualTo(3);
+        assertThat(fetchers.subList(0, 97)).noneMatch(TestFetcher::isRunning);
+        assertThat(fetchers.subList(97, 100)).allMatch(TestFetcher::isRunning);
+
+        //Expired while other keys are used
+        time.addAndGet(1000);
+        pool.release("new", pool.borrow("new", TestFetcher::new));
+        assertThat(fetchers).noneMatch(TestFetcher::isRunning);
+        assertThat(pool.getIdleCount()).isEqualTo(1);
+        assertThat(pool.getIdleKeyCount()).isEqualTo(1);
+
+        time.addAndGet(1001);
+        pool.evictExpired();
+        assertThat(pool.getIdleCount()).isZero();
+        assertThat(pool.getIdleKeyCount()).isZero();
+    }
+
+    static class TestFetcher implements Fetcher<String> {
+        private boolean running;
+
+        @Override
+        public void start(Consumer<String> consumer) {
+            running = true;
+        }
+
+        @Override
+        public void shutdown() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+}
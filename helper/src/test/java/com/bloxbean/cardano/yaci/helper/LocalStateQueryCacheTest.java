@@ -0,0 +1,102 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.protocol.localstate.LocalStateQueryAgent;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgAcquired;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgResult;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.queries.BlockHeightQuery;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.queries.BlockHeightQueryResult;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.queries.StakeDistributionQuery;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.queries.StakeDistributionQueryResult;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalStateQueryCacheTest {
+    private final AgentTestChannel channel = new AgentTestChannel();
+    private LocalStateQueryAgent agent;
+    private LocalStateQueryClient client;
+    private LocalStateQueryCache cache;
+
+    @BeforeEach
+    void setup() {
+        agent = channel.attach(new LocalStateQueryAgent());
+        client = new LocalStateQueryClient(agent);
+        cache = new LocalStateQueryCache();
+        client.setQueryCache(cache);
+    }
+
+    @Test
+    void coalesceAndInvalidateOnReAcquire() {
+        List<Long> heights = new ArrayList<>();
+        for (int i = 0; i < 2; i++)
+            client.<BlockHeightQueryResult>executeQuery(new BlockHeightQuery())
+                    .subscribe(result -> heights.add(result.getBlockHeight()));
+
+        assertThat(channel.sentMessages()).isEqualTo(1); //acquire
+        agent.receiveResponse(new MsgAcquired());
+        assertThat(channel.sentMessages()).isEqualTo(1); //one query for both requests
+        agent.receiveResponse(result("82010a"));
+
+        client.<BlockHeightQueryResult>executeQuery(new BlockHeightQuery())
+                .subscribe(result -> heights.add(result.getBlockHeight()));
+        assertThat(channel.sentMessages()).isZero();
+        assertThat(heights).containsExactly(10L, 10L, 10L);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+
+        //New tip
+        reAcquire();
+        client.<BlockHeightQueryResult>executeQuery(new BlockHeightQuery())
+                .subscribe(result -> heights.add(result.getBlockHeight()));
+        assertThat(channel.sentMessages()).isEqualTo(1);
+        agent.receiveResponse(result("82010b"));
+
+        assertThat(heights).containsExactly(10L, 10L, 10L, 11L);
+    }
+
+    @Test
+    void epochStableQueryCachedUntilEpochChanges() {
+        List<StakeDistributionQueryResult> results = new ArrayList<>();
+        client.<StakeDistributionQueryResult>executeQuery(new StakeDistributionQuery()).subscribe(results::add);
+        agent.receiveResponse(new MsgAcquired());
+        assertThat(channel.sentMessages()).isEqualTo(2); //acquire, epoch query
+        agent.receiveResponse(result("8105"));
+        assertThat(channel.sentMessages()).isEqualTo(1); //stake distribution query
+        agent.receiveResponse(result("81a0"));
+
+        //Same epoch after re-acquire. Only the epoch is queried.
+        reAcquire();
+        client.<StakeDistributionQueryResult>executeQuery(new StakeDistributionQuery()).subscribe(results::add);
+        assertThat(channel.sentMessages()).isEqualTo(1);
+        agent.receiveResponse(result("8105"));
+        assertThat(channel.sentMessages()).isZero();
+        assertThat(results).hasSize(2);
+        assertThat(results.get(1)).isSameAs(results.get(0));
+
+        //New epoch
+        reAcquire();
+        client.<StakeDistributionQueryResult>executeQuery(new StakeDistributionQuery()).subscribe(results::add);
+        agent.receiveResponse(result("8106"));
+        assertThat(channel.sentMessages()).isEqualTo(2);
+        agent.receiveResponse(result("81a0"));
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(2)).isNotSameAs(results.get(0));
+    }
+
+    private void reAcquire() {
+        client.reAcquire().subscribe();
+        agent.receiveResponse(new MsgAcquired());
+        assertThat(channel.sentMessages()).isEqualTo(1);
+    }
+
+    private static MsgResult result(String resultHex) {
+        //[4, result]
+        return new MsgResult(HexUtil.decodeHexString("8204" + resultHex));
+    }
+}
@@ -0,0 +1,167 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.client.address.Address;
+import com.bloxbean.cardano.client.api.model.Utxo;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.messages.AcceptVersion;
+import com.bloxbean.cardano.yaci.core.protocol.handshake.util.N2CVersionTableConstant;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.LocalStateQueryAgent;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgAcquired;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgFailure;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.messages.MsgResult;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.queries.BlockHeightQuery;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.queries.BlockHeightQueryResult;
+import com.bloxbean.cardano.yaci.core.protocol.localstate.queries.UtxoByAddressQuery;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import com.bloxbean.cardano.yaci.helper.model.QueryResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalStateQueryClientTest {
+    private final AgentTestChannel channel = new AgentTestChannel();
+    private LocalStateQueryAgent agent;
+    private LocalStateQueryClient client;
+
+    @BeforeEach
+    void setup() {
+        agent = channel.attach(new LocalStateQueryAgent());
+        client = new LocalStateQueryClient(agent);
+    }
+
+    @Test
+    void sessionPipelinesEqualQueriesWithDistinctRequestIds() {
+        client.setPipelineDepth(3);
+        AtomicReference<LocalStateQuerySession> session = new AtomicReference<>();
+        client.openSession().subscribe(session::set);
+        assertThat(channel.sentMessages()).isEqualTo(1);
+
+        agent.receiveResponse(new MsgAcquired());
+        assertThat(session.get()).isNotNull();
+        assertThat(session.get().getPoint()).isEmpty();
+
+        List<BlockHeightQuery> queries = List.of(new BlockHeightQuery(), new BlockHeightQuery(),
+                new BlockHeightQuery(), new BlockHeightQuery());
+        List<QueryResponse> responses = new ArrayList<>();
+        session.get().executeQueries(queries).subscribe(responses::add);
+
+        assertThat(channel.sentMessages()).isEqualTo(3);
+        assertThat(agent.getInFlightCount()).isEqualTo(3);
+
+        for (int i = 0; i < queries.size(); i++)
+            agent.receiveResponse(blockHeightResult(10 + i));
+
+        assertThat(channel.sentMessages()).isEqualTo(1);
+        assertThat(agent.getInFlightCount()).isZero();
+        assertThat(responses.stream().map(r -> ((BlockHeightQueryResult) r.getResult()).getBlockHeight())
+                .collect(Collectors.toList())).containsExactly(10L, 11L, 12L, 13L);
+        assertThat(responses.stream().map(QueryResponse::getRequestId).distinct().count()).isEqualTo(4);
+        for (int i = 0; i < queries.size(); i++)
+            assertThat(responses.get(i).getQuery()).isSameAs(queries.get(i));
+    }
+
+    @Test
+    void sessionQueriesFailAfterReleaseOrAnotherAcquire() {
+        AtomicReference<LocalStateQuerySession> released = new AtomicReference<>();
+        client.openSession().subscribe(released::set);
+        agent.receiveResponse(new MsgAcquired());
+        released.get().release().block();
+        assertThat(channel.sentMessages()).isEqualTo(2);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        released.get().executeQuery(new BlockHeightQuery()).subscribe(result -> {}, error::set);
+        assertThat(error.get()).isInstanceOf(IllegalStateException.class);
+        assertThat(channel.sentMessages()).isZero();
+
+        AtomicReference<LocalStateQuerySession> superseded = new AtomicReference<>();
+        client.openSession().subscribe(superseded::set);
+        agent.receiveResponse(new MsgAcquired());
+        client.openSession().subscribe();
+        agent.receiveResponse(new MsgAcquired());
+        assertThat(channel.sentMessages()).isEqualTo(2);
+
+        error.set(null);
+        superseded.get().executeQueries(List.of(new BlockHeightQuery())).subscribe(result -> {}, error::set);
+        assertThat(error.get()).isInstanceOf(IllegalStateException.class);
+        assertThat(channel.sentMessages()).isZero();
+
+        //Release of an ended session doesn't release the current point
+        superseded.get().release().block();
+        assertThat(channel.sentMessages()).isZero();
+    }
+
+    @Test
+    void openSessionWhileAcquiringFails() {
+        client.openSession().subscribe();
+        assertThat(channel.sentMessages()).isEqualTo(1);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        client.openSession().subscribe(session -> {}, error::set);
+
+        assertThat(error.get()).isInstanceOf(IllegalStateException.class);
+        assertThat(channel.sentMessages()).isZero();
+    }
+
+    @Test
+    void executeQueryAutoAcquiresAndSendsQueuedQuery() {
+        List<Long> heights = new ArrayList<>();
+        client.<BlockHeightQueryResult>executeQuery(new BlockHeightQuery())
+                .subscribe(result -> heights.add(result.getBlockHeight()));
+        client.<BlockHeightQueryResult>executeQuery(new BlockHeightQuery())
+                .subscribe(result -> heights.add(result.getBlockHeight()));
+
+        //Only the acquire is sent. The queries are sent once acquired, one after another.
+        assertThat(channel.sentMessages()).isEqualTo(1);
+        agent.receiveResponse(new MsgAcquired());
+        assertThat(channel.sentMessages()).isEqualTo(1);
+        agent.receiveResponse(blockHeightResult(20));
+        assertThat(channel.sentMessages()).isEqualTo(1);
+        agent.receiveResponse(blockHeightResult(21));
+
+        assertThat(heights).containsExactly(20L, 21L);
+    }
+
+    @Test
+    void queuedQueryFailsWhenAcquireFails() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        client.executeQuery(new BlockHeightQuery()).subscribe(result -> {}, error::set);
+
+        agent.receiveResponse(new MsgFailure(MsgFailure.Reason.ACQUIRE_FAILURE_POINT_NOT_ON_CHAIN));
+
+        assertThat(error.get()).isNotNull();
+        assertThat(agent.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void streamingQueryDecodesUtxosFromRawResult() {
+        agent.setProtocolVersion(new AcceptVersion(N2CVersionTableConstant.PROTOCOL_V16, null));
+        byte[] address = new byte[29];
+        address[0] = 0x60;
+
+        List<Utxo> utxos = new ArrayList<>();
+        client.executeStreamingQuery(new UtxoByAddressQuery(new Address(address))).subscribe(utxos::add);
+        agent.receiveResponse(new MsgAcquired());
+        assertThat(channel.sentMessages()).isEqualTo(2);
+
+        //[4, [{[hash, 0]: [address, 1000]}]]
+        String txHash = "aa".repeat(32);
+        agent.receiveResponse(new MsgResult(HexUtil.decodeHexString("820481a1" + "825820" + txHash + "00"
+                + "82581d" + HexUtil.encodeHexString(address) + "1903e8")));
+
+        assertThat(utxos).hasSize(1);
+        assertThat(utxos.get(0).getTxHash()).isEqualTo(txHash);
+        assertThat(utxos.get(0).getOutputIndex()).isZero();
+        assertThat(utxos.get(0).getAmount().get(0).getQuantity()).isEqualTo(BigInteger.valueOf(1000));
+    }
+
+    private static MsgResult blockHeightResult(int height) {
+        //[4, [1, height]]
+        return new MsgResult(HexUtil.decodeHexString(String.format("82048201%02x", height)));
+    }
+}
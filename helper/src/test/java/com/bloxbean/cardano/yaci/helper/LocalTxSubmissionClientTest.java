@@ -0,0 +1,77 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.common.TxBodyType;
+import com.bloxbean.cardano.yaci.core.protocol.localtx.LocalTxSubmissionAgent;
+import com.bloxbean.cardano.yaci.core.protocol.localtx.messages.MsgAcceptTx;
+import com.bloxbean.cardano.yaci.core.protocol.localtx.messages.MsgRejectTx;
+import com.bloxbean.cardano.yaci.core.protocol.localtx.model.TxSubmissionRequest;
+import com.bloxbean.cardano.yaci.helper.model.TxResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTxSubmissionClientTest {
+    private final AgentTestChannel channel = new AgentTestChannel();
+    private LocalTxSubmissionAgent agent;
+    private LocalTxSubmissionClient client;
+
+    @BeforeEach
+    void setup() {
+        agent = channel.attach(new LocalTxSubmissionAgent());
+        client = new LocalTxSubmissionClient(agent);
+    }
+
+    @Test
+    void submitTxsPipelinedInOrder() {
+        client.setPipelineDepth(3);
+        List<TxSubmissionRequest> requests = requests(5);
+        List<TxResult> results = new ArrayList<>();
+        client.submitTxs(Flux.fromIterable(requests), 4).subscribe(results::add);
+
+        assertThat(channel.sentMessages()).isEqualTo(3);
+        assertThat(agent.getInFlightCount()).isEqualTo(3);
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (i % 2 == 0)
+                agent.receiveResponse(new MsgAcceptTx());
+            else
+                agent.receiveResponse(new MsgRejectTx("8200"));
+        }
+
+        assertThat(channel.sentMessages()).isEqualTo(2);
+        assertThat(agent.getInFlightCount()).isZero();
+        assertThat(results.stream().map(TxResult::getTxHash).collect(Collectors.toList()))
+                .containsExactly("tx0", "tx1", "tx2", "tx3", "tx4");
+        assertThat(results.stream().map(TxResult::isAccepted).collect(Collectors.toList()))
+                .containsExactly(true, false, true, false, true);
+        assertThat(results.get(1).getErrorCbor()).isEqualTo("8200");
+    }
+
+    @Test
+    void queuedTxsSentWithoutPipelining() {
+        List<TxResult> results = new ArrayList<>();
+        requests(3).forEach(request -> client.submitTx(request).subscribe(results::add));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(channel.sentMessages()).isEqualTo(1);
+            agent.receiveResponse(new MsgAcceptTx());
+        }
+
+        assertThat(channel.sentMessages()).isZero();
+        assertThat(results.stream().map(TxResult::getTxHash).collect(Collectors.toList()))
+                .containsExactly("tx0", "tx1", "tx2");
+    }
+
+    private List<TxSubmissionRequest> requests(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TxSubmissionRequest(TxBodyType.BABBAGE, new byte[]{(byte) i}, "tx" + i))
+                .collect(Collectors.toList());
+    }
+}
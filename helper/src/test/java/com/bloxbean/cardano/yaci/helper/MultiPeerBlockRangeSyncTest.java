@@ -0,0 +1,188 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import co.nstant.in.cbor.model.Array;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.BlockHeader;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.HeaderBody;
+import com.bloxbean.cardano.yaci.core.protocol.Segment;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgent;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.BatchDone;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.NoBlocks;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.messages.StartBatch;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.peersharing.messages.PeerAddress;
+import com.bloxbean.cardano.yaci.core.util.CborSerializationUtil;
+import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiPeerBlockRangeSyncTest {
+    private MultiPeerBlockRangeSync rangeSync;
+    private List<Long> receivedSlots;
+    private List<Point> noBlockRanges;
+    private boolean batchDone;
+
+    private EmbeddedChannel channel1;
+    private EmbeddedChannel channel2;
+    private BlockfetchAgent agent1;
+    private BlockfetchAgent agent2;
+    private MultiPeerBlockRangeSync.PeerConnection peer1;
+    private MultiPeerBlockRangeSync.PeerConnection peer2;
+
+    @BeforeEach
+    void setup() {
+        receivedSlots = new ArrayList<>();
+        noBlockRanges = new ArrayList<>();
+
+        rangeSync = new MultiPeerBlockRangeSync(List.of(PeerAddress.ipv4("localhost", 3001)), 1);
+        rangeSync.setChunkSize(2);
+        rangeSync.setMaxAttempts(2);
+        rangeSync.init(new BlockChainDataListener() {
+            @Override
+            public void onBlock(Era era, Block block, List<Transaction> transactions) {
+                receivedSlots.add(block.getHeader().getHeaderBody().getSlot());
+            }
+
+            @Override
+            public void noBlockFound(Point from, Point to) {
+                noBlockRanges.add(from);
+                noBlockRanges.add(to);
+            }
+
+            @Override
+            public void batchDone() {
+                batchDone = true;
+            }
+        });
+
+        channel1 = new EmbeddedChannel();
+        channel2 = new EmbeddedChannel();
+        agent1 = new BlockfetchAgent();
+        agent1.setChannel(channel1);
+        agent2 = new BlockfetchAgent();
+        agent2.setChannel(channel2);
+        peer1 = rangeSync.addPeer("peer1", agent1, null);
+        peer2 = rangeSync.addPeer("peer2", agent2, null);
+        rangeSync.onPeerReady(peer1);
+        rangeSync.onPeerReady(peer2);
+    }
+
+    @Test
+    void chunksFetchedInParallel_deliveredInOrder() {
+        receiveHeaders(0, 5);
+
+        assertThat(requestedRanges(channel1)).containsExactly(List.of(0L, 1L));
+        assertThat(requestedRanges(channel2)).containsExactly(List.of(2L, 3L));
+
+        //Second chunk is completed first. It's not delivered until the first chunk is completed
+        fetchBlocks(agent2, peer2, 2, 3);
+        assertThat(receivedSlots).isEmpty();
+        assertThat(requestedRanges(channel2)).containsExactly(List.of(4L, 5L));
+
+        fetchBlocks(agent1, peer1, 0, 1);
+        assertThat(receivedSlots).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(batchDone).isFalse();
+
+        fetchBlocks(agent2, peer2, 4, 5);
+        assertThat(receivedSlots).containsExactly(0L, 1L, 2L, 3L, 4L, 5L);
+        assertThat(batchDone).isTrue();
+    }
+
+    @Test
+    void failedChunk_retriedOnAnotherPeer() {
+        receiveHeaders(0, 3);
+        requestedRanges(channel1);
+        requestedRanges(channel2);
+
+        agent1.receiveResponse(new NoBlocks());
+        //Not retried on the same peer
+        assertThat(requestedRanges(channel1)).isEmpty();
+
+        fetchBlocks(agent2, peer2, 2, 3);
+        assertThat(requestedRanges(channel2)).containsExactly(List.of(0L, 1L));
+
+        fetchBlocks(agent2, peer2, 0, 1);
+        assertThat(receivedSlots).containsExactly(0L, 1L, 2L, 3L);
+        assertThat(noBlockRanges).isEmpty();
+        assertThat(batchDone).isTrue();
+    }
+
+    @Test
+    void chunkFailedMaxAttempts_noBlockFound() {
+        receiveHeaders(0, 3);
+
+        agent1.receiveResponse(new NoBlocks());
+        fetchBlocks(agent2, peer2, 2, 3);
+        agent2.receiveResponse(new NoBlocks());
+
+        assertThat(receivedSlots).containsExactly(2L, 3L);
+        assertThat(noBlockRanges).containsExactly(point(0), point(1));
+        assertThat(batchDone).isTrue();
+    }
+
+    @Test
+    void disconnectedPeer_chunkMovedToAnotherPeer() {
+        receiveHeaders(0, 3);
+        requestedRanges(channel1);
+        requestedRanges(channel2);
+
+        peer1.onDisconnect();
+        fetchBlocks(agent2, peer2, 2, 3);
+
+        assertThat(requestedRanges(channel2)).containsExactly(List.of(0L, 1L));
+    }
+
+    private void receiveHeaders(long from, long to) {
+        rangeSync.beginRange(point(from), point(to));
+        for (long slot = from + 1; slot <= to; slot++) {
+            rangeSync.onHeader(point(slot));
+        }
+    }
+
+    private void fetchBlocks(BlockfetchAgent agent, MultiPeerBlockRangeSync.PeerConnection peer, long... slots) {
+        agent.receiveResponse(new StartBatch());
+        for (long slot : slots) {
+            peer.blockFound(block(slot));
+        }
+        agent.receiveResponse(new BatchDone());
+    }
+
+    private static List<List<Long>> requestedRanges(EmbeddedChannel channel) {
+        List<List<Long>> ranges = new ArrayList<>();
+        Segment segment;
+        while ((segment = channel.readOutbound()) != null) {
+            Array requestRange = (Array) CborSerializationUtil.deserializeOne(segment.getPayload());
+            List<Long> slots = new ArrayList<>();
+            for (int i = 1; i <= 2; i++) {
+                Array point = (Array) requestRange.getDataItems().get(i);
+                slots.add(CborSerializationUtil.toLong(point.getDataItems().get(0)));
+            }
+            ranges.add(slots);
+        }
+        return ranges;
+    }
+
+    private static Block block(long slot) {
+        HeaderBody headerBody = HeaderBody.builder()
+                .slot(slot)
+                .blockNumber(slot)
+                .blockHash(String.format("%02x", slot))
+                .build();
+        return Block.builder()
+                .era(Era.Babbage)
+                .header(BlockHeader.builder().headerBody(headerBody).build())
+                .build();
+    }
+
+    private static Point point(long slot) {
+        return new Point(slot, String.format("%02x", slot));
+    }
+}
@@ -0,0 +1,175 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.exception.YaciRuntimeException;
+import com.bloxbean.cardano.yaci.core.model.Block;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.protocol.blockfetch.BlockfetchAgentListener;
+import com.bloxbean.cardano.yaci.core.storage.BlockStore;
+import com.bloxbean.cardano.yaci.core.storage.FileBlockStore;
+import com.bloxbean.cardano.yaci.core.storage.StoredBlock;
+import com.bloxbean.cardano.yaci.core.util.HexUtil;
+import com.bloxbean.cardano.yaci.helper.listener.BlockChainDataListener;
+import com.bloxbean.cardano.yaci.helper.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OfflineBlockFetcherTest {
+    private static final String[] BLOCK_FILES = {
+            "preprod286677.txt", "preprod286853.txt", "preprod287339.txt",
+            "preprod287361.txt", "preprod292507.txt", "preprod292683.txt"
+    };
+    private static final List<Long> BLOCK_NUMBERS = List.of(286677L, 286853L, 287339L, 287361L, 292507L, 292683L);
+
+    @TempDir
+    Path dir;
+
+    private final List<byte[]> blocks = new ArrayList<>();
+
+    @BeforeEach
+    void setup() throws Exception {
+        for (String file : BLOCK_FILES) {
+            try (InputStream resource = getClass().getClassLoader().getResourceAsStream("block/" + file)) {
+                blocks.add(HexUtil.decodeHexString(new String(resource.readAllBytes()).trim()));
+            }
+        }
+    }
+
+    @Test
+    void replayDirectoryInOrderWithParallelDecoding() throws Exception {
+        Path blockDir = Files.createDirectory(dir.resolve("blocks"));
+        for (int i = 0; i < blocks.size(); i++) {
+            Path file = blockDir.resolve(String.format("block-%02d", i));
+            if (i % 2 == 0)
+                Files.write(file, blocks.get(i));
+            else
+                Files.write(file, HexUtil.encodeHexString(blocks.get(i)).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        OfflineBlockFetcher fetcher = OfflineBlockFetcher.fromDirectory(blockDir);
+        fetcher.setDecodeParallelism(4);
+        fetcher.setBatchSize(4);
+
+        List<String> events = new ArrayList<>();
+        fetcher.addBlockFetchListener(new BlockfetchAgentListener() {
+            @Override
+            public void batchStarted() {
+                events.add("start");
+            }
+
+            @Override
+            public void batchDone() {
+                events.add("done");
+            }
+        });
+
+        List<Long> blockNumbers = new ArrayList<>();
+        fetcher.start(block -> blockNumbers.add(block.getHeader().getHeaderBody().getBlockNumber()));
+        fetcher.awaitCompletion();
+
+        assertThat(blockNumbers).isEqualTo(BLOCK_NUMBERS);
+        assertThat(events).containsExactly("start", "done", "start", "done");
+        assertThat(fetcher.isRunning()).isFalse();
+        assertThat(fetcher.getProgress().getTotalBlocks()).isEqualTo(blocks.size());
+    }
+
+    @Test
+    void replayCborSequenceToBlockChainDataListener() throws Exception {
+        ByteArrayOutputStream recorded = new ByteArrayOutputStream();
+        for (byte[] block : blocks)
+            recorded.write(block);
+
+        OfflineBlockFetcher fetcher = OfflineBlockFetcher.fromCborSequence(new ByteArrayInputStream(recorded.toByteArray()));
+        List<Long> blockNumbers = new ArrayList<>();
+        List<Integer> txCounts = new ArrayList<>();
+        List<Integer> expectedTxCounts = new ArrayList<>();
+        fetcher.addBlockChainDataListener(new BlockChainDataListener() {
+            @Override
+            public void onBlock(Era era, Block block, List<Transaction> transactions) {
+                blockNumbers.add(block.getHeader().getHeaderBody().getBlockNumber());
+                txCounts.add(transactions.size());
+                expectedTxCounts.add(block.getTransactionBodies().size());
+            }
+        });
+        fetcher.start();
+        fetcher.awaitCompletion();
+
+        assertThat(blockNumbers).isEqualTo(BLOCK_NUMBERS);
+        assertThat(txCounts).isEqualTo(expectedTxCounts);
+    }
+
+    @Test
+    void replayBlockStoreRange() throws Exception {
+        List<Long> slots = new ArrayList<>();
+        List<Long> blockNumbers = new ArrayList<>();
+        try (FileBlockStore store = new FileBlockStore(dir.resolve("store"))) {
+            blocks.forEach(block -> slots.add(store.append(block).getSlot()));
+
+            OfflineBlockFetcher fetcher = OfflineBlockFetcher.fromBlockStore(store, slots.get(1), slots.get(3));
+            fetcher.setDecodeParallelism(2);
+            fetcher.start(block -> blockNumbers.add(block.getHeader().getHeaderBody().getBlockNumber()));
+            fetcher.awaitCompletion();
+        }
+
+        assertThat(blockNumbers).isEqualTo(BLOCK_NUMBERS.subList(1, 4));
+    }
+
+    @Test
+    void listenerFailure_isRethrownAndSourceIsClosed() throws Exception {
+        ClosableBlockIterator iterator = new ClosableBlockIterator(blocks.iterator());
+        BlockStore blockStore = mock(BlockStore.class);
+        when(blockStore.iterator(anyLong(), anyLong())).thenReturn(iterator);
+
+        OfflineBlockFetcher fetcher = OfflineBlockFetcher.fromBlockStore(blockStore);
+        fetcher.start(block -> {
+            throw new IllegalStateException("listener error");
+        });
+
+        assertThatThrownBy(fetcher::awaitCompletion)
+                .isInstanceOf(YaciRuntimeException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(fetcher.getFailure()).isPresent();
+        assertThat(iterator.closed).isTrue();
+    }
+
+    private static class ClosableBlockIterator implements Iterator<StoredBlock>, Closeable {
+        private final Iterator<byte[]> blocks;
+        private boolean closed;
+
+        private ClosableBlockIterator(Iterator<byte[]> blocks) {
+            this.blocks = blocks;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return blocks.hasNext();
+        }
+
+        @Override
+        public StoredBlock next() {
+            return new StoredBlock(0, 0, null, blocks.next());
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.bloxbean.cardano.yaci.helper;
+
+import com.bloxbean.cardano.yaci.core.common.GenesisConfig;
+import com.bloxbean.cardano.yaci.core.model.Epoch;
+import com.bloxbean.cardano.yaci.core.model.Era;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockCons;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronBlockHead;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbBlockCons;
+import com.bloxbean.cardano.yaci.core.model.byron.ByronEbHead;
+import com.bloxbean.cardano.yaci.core.network.NodeClientConfig;
+import com.bloxbean.cardano.yaci.core.network.metrics.SimpleNetworkMetrics;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Point;
+import com.bloxbean.cardano.yaci.core.protocol.chainsync.messages.Tip;
+import com.bloxbean.cardano.yaci.helper.model.SyncProgress;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SyncProgressTrackerTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(100 * SECOND);
+    private final SyncProgressTracker tracker = new SyncProgressTracker(Duration.ofSeconds(10), clock::get);
+
+    @Test
+    void progressAgainstTip() {
+        tracker.onTip(new Tip(new Point(1000, "tip"), 100));
+        for (int i = 0; i < 20; i++) {
+            tracker.onBlock(new Point(500 + i, "h" + i), 50 + i, 3);
+            clock.addAndGet(SECOND / 4);
+        }
+
+        SyncProgress progress = tracker.getProgress();
+        assertThat(progress.getCurrentPoint()).isEqualTo(new Point(519, "h19"));
+        assertThat(progress.getCurrentBlock()).isEqualTo(69);
+        assertThat(progress.getSlotsBehind()).isEqualTo(481);
+        assertThat(progress.getBlocksBehind()).isEqualTo(31);
+        assertThat(progress.getTotalBlocks()).isEqualTo(20);
+        assertThat(progress.getTotalTxs()).isEqualTo(60);
+        assertThat(progress.getBlocksPerSec()).isCloseTo(4, within(0.01));
+        assertThat(progress.getTxPerSec()).isCloseTo(12, within(0.01));
+    }
+
+    @Test
+    void byronHeadersAdvanceProgress() {
+        tracker.onByronEbHeader(ByronEbHead.builder()
+                .blockHash("eb")
+                .consensusData(new ByronEbBlockCons(2, BigInteger.valueOf(40)))
+                .build());
+        tracker.onByronHeader(ByronBlockHead.builder()
+                .blockHash("h")
+                .consensusData(ByronBlockCons.builder()
+                        .slotId(new Epoch(2, 5))
+                        .difficulty(BigInteger.valueOf(41))
+                        .build())
+                .build(), 0);
+
+        SyncProgress progress = tracker.getProgress();
+        long epochStart = GenesisConfig.getInstance().absoluteSlot(Era.Byron, 2, 0);
+        assertThat(progress.getCurrentPoint()).isEqualTo(new Point(epochStart + 5, "h"));
+        assertThat(progress.getCurrentBlock()).isEqualTo(41);
+        assertThat(progress.getTotalBlocks()).isEqualTo(2);
+    }
+
+    @Test
+    void slidingWindowDropsOldBuckets() {
+        tracker.onBlock(new Point(1, "h1"), 1, 100);
+        clock.addAndGet(5 * SECOND);
+        tracker.onBlock(new Point(2, "h2"), 2, 10);
+        clock.addAndGet(7 * SECOND);
+
+        SyncProgress progress = tracker.getProgress();
+        assertThat(progress.getTotalTxs()).isEqualTo(110);
+        //Only the second block is in the 10 second window
+        assertThat(progress.getTxPerSec()).isCloseTo(1, within(0.01));
+        assertThat(progress.getBlocksBehind()).isEqualTo(-1);
+        assertThat(progress.getSlotsBehind()).isEqualTo(-1);
+    }
+
+    @Test
+    void negativeClockValues() {
+        AtomicLong negativeClock = new AtomicLong(-100 * SECOND - 1);
+        SyncProgressTracker negativeTracker = new SyncProgressTracker(Duration.ofSeconds(10), negativeClock::get);
+
+        for (int i = 0; i < 30; i++) {
+            negativeTracker.onBlock(new Point(i, "h" + i), i, 1);
+            negativeClock.addAndGet(SECOND);
+        }
+
+        SyncProgress progress = negativeTracker.getProgress();
+        assertThat(progress.getTotalTxs()).isEqualTo(30);
+        //The 9 blocks of the last 9 seconds are in the 10 second window
+        assertThat(progress.getTxPerSec()).isCloseTo(0.9, within(0.01));
+    }
+
+    @Test
+    void fetchLatencyListenerTimeAndBytes() {
+        tracker.messageSent(3, 20);
+        clock.addAndGet(SECOND / 10);
+        tracker.listenerStarted();
+        clock.addAndGet(SECOND / 50);
+        tracker.listenerFinished();
+        tracker.onFetchCompleted();
+        tracker.sduReceived(3, 992);
+        tracker.onTarget(new Point(100, "end"));
+        tracker.onBlock(new Point(40, "h"), 10, 0);
+
+        SyncProgress progress = tracker.getProgress();
+        assertThat(progress.getAvgFetchLatencyMillis()).isCloseTo(120, within(0.01));
+        assertThat(progress.getAvgListenerTimeMillis()).isCloseTo(20, within(0.01));
+        assertThat(progress.getTotalBytes()).isEqualTo(1000);
+        assertThat(progress.getSlotsBehind()).isEqualTo(60);
+    }
+
+    @Test
+    void listenersNotifiedOncePerInterval() {
+        List<SyncProgress> reports = new ArrayList<>();
+        tracker.addListener(reports::add, Duration.ofSeconds(2));
+
+        for (int i = 0; i < 10; i++) {
+            tracker.onBlock(new Point(i, "h" + i), i, 0);
+            clock.addAndGet(SECOND / 2);
+        }
+
+        assertThat(reports).hasSize(3);
+        assertThat(reports.get(0).getCurrentBlock()).isEqualTo(0);
+        assertThat(reports.get(1).getCurrentBlock()).isEqualTo(4);
+        assertThat(reports.get(2).getCurrentBlock()).isEqualTo(8);
+    }
+
+    @Test
+    void withMetrics_keepsCallerConfigAndMetrics() {
+        SimpleNetworkMetrics appMetrics = new SimpleNetworkMetrics();
+        NodeClientConfig config = NodeClientConfig.builder()
+                .autoReconnect(false)
+                .muxEncoder(true)
+                .metrics(appMetrics)
+                .build();
+
+        NodeClientConfig trackerConfig = tracker.withMetrics(config);
+        trackerConfig.getMetrics().sduReceived(3, 92);
+
+        assertThat(trackerConfig.isAutoReconnect()).isFalse();
+        assertThat(trackerConfig.isMuxEncoder()).isTrue();
+        assertThat(appMetrics.getBytesReceived()).isEqualTo(100);
+        assertThat(tracker.getProgress().getTotalBytes()).isEqualTo(100);
+    }
+}